@@ -0,0 +1,94 @@
+package com.example.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.example.model.Autosave;
+import com.example.model.GameModel;
+import com.example.model.config.ConfigManager;
+import com.example.simulation.Bot;
+import com.example.simulation.GreedyBot;
+
+/**
+ * AutosaveBenchmark Class; measures how long an autosave holds up the caller, against Autosave.BUDGET_NANOS
+ * Runs on a four player game that greedy bots have played for a while, saving as fast as it can, so the
+ * writer thread is always behind and only the newest snapshot gets written.
+ * Usage: gradle autosaveBenchmark [-Pargs="<saves per round> <rounds> <turns played first>"]
+ */
+public class AutosaveBenchmark {
+
+    private static final int DEFAULT_SAVES = 2_000;
+    private static final int DEFAULT_ROUNDS = 5;
+    private static final int DEFAULT_TURNS = 60;
+    private static final int ROBBER_ROLL = 7;
+
+    public static void main(String[] args) throws Exception {
+        int saves = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SAVES;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        int turns = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_TURNS;
+
+        ConfigManager.loadAll();
+        GameModel game = playedGame(turns);
+        Path dir = Files.createTempDirectory("autosave-benchmark");
+        Path file = dir.resolve("autosave.sav");
+        try (Autosave autosave = new Autosave(file)) {
+            // warm up so the JIT has compiled the save path before timing
+            runRound(autosave, game, saves);
+
+            for (int round = 1; round <= rounds; round++) {
+                long[] times = runRound(autosave, game, saves);
+                System.out.printf("round %d: median %.1f us, p99 %.1f us, max %.1f us, budget %.1f us%n", round,
+                        times[times.length / 2] / 1_000.0, times[times.length * 99 / 100] / 1_000.0,
+                        times[times.length - 1] / 1_000.0, Autosave.BUDGET_NANOS / 1_000.0);
+            }
+            autosave.flush();
+            System.out.printf("over budget: %d of %d saves%n", autosave.getOverBudgetCount(), saves * (rounds + 1L));
+        } finally {
+            Files.deleteIfExists(dir.resolve("autosave.sav.tmp"));
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    // Helper function; a four player game after some turns of greedy play
+    private static GameModel playedGame(int turns) {
+        SplittableRandom random = new SplittableRandom(1);
+        Bot bot = new GreedyBot();
+        while (true) {
+            GameModel game = new GameModel(ConfigManager.getSnapshot(), random.nextLong());
+            game.initializePlayers(new ArrayList<>(List.of("Alice", "Bob", "Charlie", "Dana")));
+            if (!game.initializeBoard()) continue;
+            int playerID = 0;
+            for (int turn = 0; turn < turns && !game.checkIfGameOver(); turn++) {
+                game.rollDice();
+                if (game.getDice1() + game.getDice2() == ROBBER_ROLL) {
+                    game.checkPlayerResources();
+                    game.moveRobber(bot.chooseRobberTile(game, playerID, random));
+                    int vertex = bot.chooseStealVertex(game, playerID, random);
+                    if (vertex >= 0) {
+                        game.stealResource(vertex, playerID);
+                    }
+                }
+                bot.playTurn(game, playerID, random);
+                game.updateLongestRoad();
+                game.updateCleanestEnvironment();
+                playerID = game.nextPlayer(playerID);
+            }
+            return game;
+        }
+    }
+
+    // Helper function; the caller's nanoseconds of each save, sorted
+    private static long[] runRound(Autosave autosave, GameModel game, int saves) {
+        long[] times = new long[saves];
+        for (int i = 0; i < saves; i++) {
+            times[i] = autosave.save(game, i % game.getPlayers().size());
+        }
+        Arrays.sort(times);
+        return times;
+    }
+}
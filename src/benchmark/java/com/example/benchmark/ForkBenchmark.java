@@ -0,0 +1,53 @@
+package com.example.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.model.GameModel;
+import com.example.model.config.ConfigManager;
+
+/**
+ * ForkBenchmark Class; measures how many GameModel forks can be made per second
+ * Runs on a standard 19 hex board after the opening placements, which is where lookahead search starts.
+ * Usage: gradle benchmark [-Pargs="<forks per round> <rounds>"]
+ */
+public class ForkBenchmark {
+
+    private static final int DEFAULT_FORKS = 1_000_000;
+    private static final int DEFAULT_ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        int forks = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_FORKS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+
+        ConfigManager.loadAll();
+        GameModel game = new GameModel();
+        game.initializePlayers(new ArrayList<>(List.of("Alice", "Bob", "Charlie", "Dana")));
+        if (!game.initializeBoard()) {
+            throw new IllegalStateException("Could not set up the opening placements");
+        }
+
+        // warm up so the JIT has compiled the copy constructors before timing
+        runRound(game, forks);
+
+        for (int round = 1; round <= rounds; round++) {
+            long start = System.nanoTime();
+            int check = runRound(game, forks);
+            long elapsed = System.nanoTime() - start;
+
+            double nsPerFork = (double) elapsed / forks;
+            System.out.printf("round %d: %.1f ns/fork, %.2f million forks/s (check %d)%n",
+                    round, nsPerFork, 1_000.0 / nsPerFork, check);
+        }
+    }
+
+    // Helper function; forks the game repeatedly, reading from each fork so the copy is not optimised away
+    private static int runRound(GameModel game, int forks) {
+        int check = 0;
+        for (int i = 0; i < forks; i++) {
+            GameModel fork = game.fork();
+            check += fork.getPlayers().size();
+        }
+        return check;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.example.model.GameModel;
+import com.example.model.GameSave;
+import com.example.model.config.ConfigManager;
+import com.example.simulation.Bot;
+import com.example.simulation.GreedyBot;
+
+/**
+ * SaveBenchmark Class; measures how long saving a game to a file and loading it back takes
+ * Runs on a four player game that greedy bots have played for a while, so the board, hands and decks
+ * are those of a game in progress.
+ * Usage: gradle saveBenchmark [-Pargs="<round trips per round> <rounds> <turns played first>"]
+ */
+public class SaveBenchmark {
+
+    private static final int DEFAULT_ROUND_TRIPS = 5_000;
+    private static final int DEFAULT_ROUNDS = 5;
+    private static final int DEFAULT_TURNS = 60;
+    private static final int ROBBER_ROLL = 7;
+
+    public static void main(String[] args) throws Exception {
+        int roundTrips = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ROUND_TRIPS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        int turns = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_TURNS;
+
+        ConfigManager.loadAll();
+        GameModel game = playedGame(turns);
+        Path file = Files.createTempFile("save-benchmark", ".sav");
+        try {
+            GameSave.save(game, file);
+            System.out.printf("save size: %d bytes after %d turns%n", Files.size(file), turns);
+
+            // warm up so the JIT has compiled the codec before timing
+            runRound(game, file, roundTrips);
+
+            for (int round = 1; round <= rounds; round++) {
+                long[] times = runRound(game, file, roundTrips);
+                System.out.printf("round %d: save %.1f us, load %.1f us, round trip %.1f us (check %d)%n",
+                        round, times[0] / 1_000.0 / roundTrips, times[1] / 1_000.0 / roundTrips,
+                        (times[0] + times[1]) / 1_000.0 / roundTrips, times[2]);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // Helper function; a four player game after some turns of greedy play
+    private static GameModel playedGame(int turns) {
+        SplittableRandom random = new SplittableRandom(1);
+        Bot bot = new GreedyBot();
+        while (true) {
+            GameModel game = new GameModel(ConfigManager.getSnapshot(), random.nextLong());
+            game.initializePlayers(new ArrayList<>(List.of("Alice", "Bob", "Charlie", "Dana")));
+            if (!game.initializeBoard()) continue;
+            int playerID = 0;
+            for (int turn = 0; turn < turns && !game.checkIfGameOver(); turn++) {
+                game.rollDice();
+                if (game.getDice1() + game.getDice2() == ROBBER_ROLL) {
+                    game.checkPlayerResources();
+                    game.moveRobber(bot.chooseRobberTile(game, playerID, random));
+                    int vertex = bot.chooseStealVertex(game, playerID, random);
+                    if (vertex >= 0) {
+                        game.stealResource(vertex, playerID);
+                    }
+                }
+                bot.playTurn(game, playerID, random);
+                game.updateLongestRoad();
+                game.updateCleanestEnvironment();
+                playerID = game.nextPlayer(playerID);
+            }
+            return game;
+        }
+    }
+
+    // Helper function; saves and loads the game repeatedly; returns save and load nanoseconds and a check
+    // value read from each loaded game so the load is not optimised away
+    private static long[] runRound(GameModel game, Path file, int roundTrips) throws Exception {
+        long saveTime = 0;
+        long loadTime = 0;
+        long check = 0;
+        for (int i = 0; i < roundTrips; i++) {
+            long start = System.nanoTime();
+            GameSave.save(game, file);
+            long saved = System.nanoTime();
+            GameModel loaded = GameSave.load(game.getConfig(), file);
+            long end = System.nanoTime();
+            saveTime += saved - start;
+            loadTime += end - saved;
+            check += loaded.getPlayer(0).getTotalVictoryPoints();
+        }
+        return new long[] {saveTime, loadTime, check};
+    }
+}
@@ -0,0 +1,352 @@
+package com.example.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+import com.example.model.config.ConfigSnapshot;
+
+/**
+ * ActionLog Class; append-only log of a game's actions, for getting a game back after a crash
+ * The file starts with a GameSave of the game when the log was made and where the turn was, then one
+ * record per action applied through the log, failed ones included. Each record holds the state of the
+ * game's random source before the action and the dice after it, so every random draw (rolls, steals,
+ * discards, disasters) replays exactly even if something else drew from the random in between.
+ * Layout, little endian: magic, version, current player, turn flags, save length, save; then records of
+ * body length, the ActionRecord and a CRC32 of it.
+ * Appending only encodes the record into memory. A writer thread takes everything appended since its
+ * last write, writes it in one go and forces it to disk (group commit), so the caller never waits on I/O.
+ * A write failure stops the log and deletes its file, so recovery falls back to the autosave rather than
+ * rebuilding the game as it was when logging stopped; the failure is thrown from flush and close.
+ */
+public final class ActionLog implements Closeable {
+
+    public static final Path DEFAULT_FILE = Path.of("game.log");
+    public static final int MAGIC = 0x474F4C43; // "CLOG" read little endian
+    public static final int VERSION = 1;
+
+    private static final int ROLLED_FLAG = 1;
+    private static final int ROBBER_PENDING_FLAG = 2;
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+    private static final int ROBBER_ROLL = 7;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final Thread writer;
+    private final CRC32 crc = new CRC32(); // used by appenders, under the lock
+
+    private final Object lock = new Object();
+    private ByteBuffer pending = newBuffer(INITIAL_BUFFER_SIZE); // records not yet handed to the writer
+    private ByteBuffer writing = newBuffer(INITIAL_BUFFER_SIZE); // records being written; writer only
+    private long appended; // records appended
+    private long durable;  // records forced to disk
+    private boolean closed;
+    private IOException failure;
+
+    private ActionLog(Path file, FileChannel channel) {
+        this.file = file;
+        this.channel = channel;
+        this.writer = new Thread(this::writeLoop, "action-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Starts a log for a game, replacing any log already in the file
+     * The header is written to a temporary file, forced and moved over the old log in one step, so a crash
+     * leaves either the old log or the new one.
+     * @param file file to log to
+     * @param game game to log; must be past setup
+     * @param currentPlayer ID of the player whose turn it is
+     * @param rolled whether that player has rolled this turn
+     * @param robberPending whether that player rolled a seven and has not moved the robber yet
+     * @return the log, open for appending
+     * @throws IOException if the file cannot be written
+     */
+    public static ActionLog create(Path file, GameModel game, int currentPlayer, boolean rolled,
+            boolean robberPending) throws IOException {
+        byte[] save = GameSave.toBytes(game);
+
+        ByteBuffer header = newBuffer(12 + save.length);
+        header.putInt(MAGIC);
+        header.putShort((short) VERSION);
+        header.put((byte) currentPlayer);
+        header.put((byte) ((rolled ? ROLLED_FLAG : 0) | (robberPending ? ROBBER_PENDING_FLAG : 0)));
+        header.putInt(save.length);
+        header.put(save);
+        header.flip();
+
+        Path absolute = file.toAbsolutePath();
+        Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+            out.force(true);
+        }
+        Files.move(temp, absolute, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return new ActionLog(absolute, FileChannel.open(absolute, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+    }
+
+    /**
+     * Applies an action to the game and appends it to the log
+     * Does no I/O; the record is on disk once a later flush returns.
+     * @param game game the log was made for
+     * @param action action to apply
+     * @return whether the model accepted the action
+     */
+    public boolean apply(GameModel game, GameAction action) {
+        ActionRecord record = ActionRecord.apply(game, action);
+        append(record);
+        return record.success();
+    }
+
+    /**
+     * Appends an action already applied to the game; does no I/O
+     * @param record the action and how it went, from ActionRecord.apply
+     */
+    public void append(ActionRecord record) {
+        int length = record.size();
+        synchronized (lock) {
+            if (closed) {
+                return; // stopped by a failure; it is reported from flush and close
+            }
+            if (pending.remaining() < 2 + length + 4) {
+                ByteBuffer bigger = newBuffer(Math.max(pending.capacity() * 2, pending.position() + length + 6));
+                pending.flip();
+                bigger.put(pending);
+                pending = bigger;
+            }
+            pending.putShort((short) length);
+            int start = pending.position();
+            record.write(pending);
+            crc.reset();
+            crc.update(pending.duplicate().position(start).limit(start + length));
+            pending.putInt((int) crc.getValue());
+            appended++;
+            lock.notifyAll();
+        }
+    }
+
+    // Helper function; the writer thread: writes and forces whatever has been appended, until closed
+    private void writeLoop() {
+        while (true) {
+            ByteBuffer batch;
+            long target;
+            synchronized (lock) {
+                while (pending.position() == 0 && !closed) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (pending.position() == 0 || failure != null) {
+                    return; // closed with nothing left to write
+                }
+                batch = pending;
+                pending = writing;
+                writing = batch;
+                target = appended;
+            }
+
+            try {
+                batch.flip();
+                while (batch.hasRemaining()) {
+                    channel.write(batch);
+                }
+                channel.force(false);
+                batch.clear();
+                synchronized (lock) {
+                    durable = target;
+                    lock.notifyAll();
+                }
+            } catch (IOException e) {
+                System.err.println("Action log stopped: " + e.getMessage());
+                synchronized (lock) {
+                    failure = e;
+                    closed = true;
+                    lock.notifyAll();
+                }
+                try {
+                    Files.deleteIfExists(file); // the actions from here on are lost, so the log is out of date
+                } catch (IOException deleteFailure) {
+                    System.err.println("Could not delete the stopped action log: " + deleteFailure.getMessage());
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Waits until every action applied so far is on disk
+     * @throws IOException if the log could not be written
+     */
+    public void flush() throws IOException {
+        synchronized (lock) {
+            while (durable < appended && failure == null) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted waiting for the action log");
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Writes out what is left and closes the file; the log stays on disk unless writing it failed
+     * @throws IOException if the log could not be written
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        synchronized (lock) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Closes the log and deletes its file; for when the game is over and there is nothing to recover
+     * @throws IOException if the file cannot be deleted
+     */
+    public void delete() throws IOException {
+        try {
+            close();
+        } catch (IOException e) {
+            // the file is going anyway
+        }
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Recovery Record; a game rebuilt from its log, and where its turn was
+     * @param game the game, as it was after the last logged action
+     * @param currentPlayer ID of the player whose turn it is
+     * @param rolled whether that player has rolled
+     * @param robberPending whether that player rolled a seven and has not moved the robber yet
+     * @param actions how many logged actions were replayed
+     */
+    public record Recovery(GameModel game, int currentPlayer, boolean rolled, boolean robberPending, int actions) {}
+
+    /**
+     * Rebuilds a game from its log
+     * Replay stops at the first record that was not fully written or fails its checksum, which is where
+     * a crash cut the log off.
+     * @param config configs the game was played with
+     * @param file log file
+     * @return the rebuilt game and its turn
+     * @throws IOException if the file cannot be read, its header is damaged, or an action replays differently
+     */
+    public static Recovery recover(ConfigSnapshot config, Path file) throws IOException {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+            return replay(config, mapped);
+        }
+    }
+
+    // Helper function; reads the header and replays every complete record
+    private static Recovery replay(ConfigSnapshot config, ByteBuffer buffer) throws IOException {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        GameModel game;
+        int currentPlayer;
+        boolean rolled;
+        boolean robberPending;
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not an action log");
+            }
+            int version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported action log version " + version);
+            }
+            currentPlayer = buffer.get();
+            int flags = buffer.get();
+            rolled = (flags & ROLLED_FLAG) != 0;
+            robberPending = (flags & ROBBER_PENDING_FLAG) != 0;
+            int saveLength = buffer.getInt();
+            if (saveLength < 0 || saveLength > buffer.remaining()) {
+                throw new IOException("Damaged action log");
+            }
+            game = GameSave.read(config, buffer.slice(buffer.position(), saveLength));
+            buffer.position(buffer.position() + saveLength);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Damaged action log", e);
+        }
+
+        CRC32 crc = new CRC32();
+        int actions = 0;
+        while (buffer.remaining() >= 2) {
+            int length = Short.toUnsignedInt(buffer.getShort());
+            if (length < ActionRecord.MIN_SIZE || buffer.remaining() < length + 4) {
+                break; // torn tail
+            }
+            int start = buffer.position();
+            crc.reset();
+            crc.update(buffer.duplicate().limit(start + length));
+            if (buffer.getInt(start + length) != (int) crc.getValue()) {
+                break;
+            }
+            ActionRecord record = ActionRecord.read(buffer, length);
+            buffer.position(start + length + 4);
+
+            boolean same;
+            try {
+                same = record.replay(game);
+            } catch (RuntimeException e) {
+                throw new IOException("Action " + actions + " in the log cannot be replayed", e);
+            }
+            if (!same) {
+                throw new IOException("Action " + actions + " in the log replays differently");
+            }
+            actions++;
+
+            switch (record.action().type()) {
+                case ROLL -> {
+                    rolled = true;
+                    robberPending = record.die1() + record.die2() == ROBBER_ROLL;
+                }
+                case MOVE_ROBBER -> robberPending = false;
+                case END_TURN -> {
+                    currentPlayer = game.nextPlayer(currentPlayer);
+                    rolled = false;
+                    robberPending = false;
+                }
+                default -> {
+                    // no change to the turn
+                }
+            }
+        }
+        return new Recovery(game, currentPlayer, rolled, robberPending, actions);
+    }
+
+    private static ByteBuffer newBuffer(int capacity) {
+        return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * ActionRecord Record; an action as it was applied to a game, with what it takes to apply it again exactly
+ * The state of the game's random source before the action is kept rather than the draws themselves, so
+ * rolls, steals, discards and disasters all repeat, whatever else drew from the random in between.
+ * The dice after the action are kept to check that a replay rolled the same.
+ * Encoded, little endian: type, player, random state, success, dice, argument count, args as shorts.
+ * @param action the action
+ * @param randomState state of the game's random source before it
+ * @param success whether the model accepted it
+ * @param die1 first die after it
+ * @param die2 second die after it
+ */
+public record ActionRecord(GameAction action, long randomState, boolean success, int die1, int die2) {
+
+    static final int MIN_SIZE = 14; // encoded size of an action without args
+    static final int MAX_ARGS = 0xFF;
+
+    /**
+     * Applies an action to a game and records how it went
+     * @param game game to apply it to
+     * @param action action to apply
+     * @return the record; success says whether the model accepted the action
+     */
+    public static ActionRecord apply(GameModel game, GameAction action) {
+        long randomState = game.getRandom().getState();
+        boolean success = action.apply(game);
+        return new ActionRecord(action, randomState, success, game.getDice1(), game.getDice2());
+    }
+
+    /**
+     * Applies the action again to a game in the state it was first applied to
+     * @param game game to apply it to
+     * @return whether it went the same way, accepted or not and with the same dice
+     */
+    boolean replay(GameModel game) {
+        game.getRandom().setState(randomState);
+        return action.apply(game) == success && game.getDice1() == die1 && game.getDice2() == die2;
+    }
+
+    // encoded size in bytes
+    int size() {
+        if (action.args().length > MAX_ARGS) {
+            throw new IllegalArgumentException("Action has too many arguments to record");
+        }
+        return MIN_SIZE + 2 * action.args().length;
+    }
+
+    // Helper function; encodes the record at the buffer's position (size bytes); the buffer must be little endian
+    void write(ByteBuffer buffer) {
+        int[] args = action.args();
+        buffer.put((byte) action.type().ordinal());
+        buffer.put((byte) action.playerID());
+        buffer.putLong(randomState);
+        buffer.put((byte) (success ? 1 : 0));
+        buffer.put((byte) die1);
+        buffer.put((byte) die2);
+        buffer.put((byte) args.length);
+        for (int arg : args) {
+            buffer.putShort((short) arg);
+        }
+    }
+
+    /**
+     * Decodes a record written with write
+     * @param buffer little endian buffer at the start of the record
+     * @param length encoded size of the record
+     * @return the record
+     * @throws IOException if the bytes are not a record of that size
+     */
+    static ActionRecord read(ByteBuffer buffer, int length) throws IOException {
+        GameAction.Type[] types = GameAction.Type.values();
+        if (length < MIN_SIZE) {
+            throw new IOException("Damaged action record");
+        }
+        int type = buffer.get();
+        int playerID = buffer.get();
+        long randomState = buffer.getLong();
+        boolean success = buffer.get() != 0;
+        int die1 = buffer.get();
+        int die2 = buffer.get();
+        int[] args = new int[Byte.toUnsignedInt(buffer.get())];
+        if (type < 0 || type >= types.length || length != MIN_SIZE + 2 * args.length) {
+            throw new IOException("Damaged action record");
+        }
+        for (int i = 0; i < args.length; i++) {
+            args[i] = buffer.getShort();
+        }
+        return new ActionRecord(new GameAction(types[type], playerID, args), randomState, success, die1, die2);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 public class AdjacencyMaps {
     // { Top, URight, DRight, Down, DLeft, ULeft }
@@ -99,18 +100,161 @@ public class AdjacencyMaps {
     };
 
 
-    public static ArrayList<Integer> getAdjacentVertices(int vertex) { // helper function, used in board setup
-        ArrayList<Integer> connections = new ArrayList<>();
+    public static final int NUMBER_OF_VERTICES = 54;
+    public static final int NO_EDGE = -1;
+    public static final int NO_PORT = -1;
+
+    // Incidence tables in compressed sparse row form, built once from the arrays above.
+    // The entries for vertex v live at [OFFSETS[v], OFFSETS[v + 1]) of the matching data array.
+    private static final int[] VERTEX_EDGE_OFFSETS = new int[NUMBER_OF_VERTICES + 1];
+    private static final int[] VERTEX_EDGES; // incident edge indices
+    private static final int[] VERTEX_NEIGHBOURS; // the vertex at the other end of the edge in the same slot
+
+    private static final int[] VERTEX_TILE_OFFSETS = new int[NUMBER_OF_VERTICES + 1];
+    private static final int[] VERTEX_TILES; // adjacent tile indices, in tile order
+
+    private static final int[] VERTEX_PORT = new int[NUMBER_OF_VERTICES]; // port index, or NO_PORT
+
+    // (v1 * NUMBER_OF_VERTICES + v2) -> edge index, or NO_EDGE; filled for both orders
+    private static final byte[] EDGE_LOOKUP = new byte[NUMBER_OF_VERTICES * NUMBER_OF_VERTICES];
+
+    static {
+        // vertex -> edges / neighbours
+        for (int[] edge : RoadConnections) {
+            VERTEX_EDGE_OFFSETS[edge[0] + 1]++;
+            VERTEX_EDGE_OFFSETS[edge[1] + 1]++;
+        }
+        for (int v = 0; v < NUMBER_OF_VERTICES; v++) {
+            VERTEX_EDGE_OFFSETS[v + 1] += VERTEX_EDGE_OFFSETS[v];
+        }
+        VERTEX_EDGES = new int[VERTEX_EDGE_OFFSETS[NUMBER_OF_VERTICES]];
+        VERTEX_NEIGHBOURS = new int[VERTEX_EDGES.length];
+        int[] fill = new int[NUMBER_OF_VERTICES];
+        Arrays.fill(EDGE_LOOKUP, (byte) NO_EDGE);
+        for (int e = 0; e < RoadConnections.length; e++) {
+            int v1 = RoadConnections[e][0];
+            int v2 = RoadConnections[e][1];
+
+            int slot = VERTEX_EDGE_OFFSETS[v1] + fill[v1]++;
+            VERTEX_EDGES[slot] = e;
+            VERTEX_NEIGHBOURS[slot] = v2;
+
+            slot = VERTEX_EDGE_OFFSETS[v2] + fill[v2]++;
+            VERTEX_EDGES[slot] = e;
+            VERTEX_NEIGHBOURS[slot] = v1;
 
-        for (int[] edge : AdjacencyMaps.RoadConnections) {
-            if (edge[0] == vertex) {
-                connections.add(edge[1]);
+            EDGE_LOOKUP[v1 * NUMBER_OF_VERTICES + v2] = (byte) e;
+            EDGE_LOOKUP[v2 * NUMBER_OF_VERTICES + v1] = (byte) e;
+        }
+
+        // vertex -> tiles
+        for (int[] vertices : TileVertices) {
+            for (int v : vertices) {
+                VERTEX_TILE_OFFSETS[v + 1]++;
+            }
+        }
+        for (int v = 0; v < NUMBER_OF_VERTICES; v++) {
+            VERTEX_TILE_OFFSETS[v + 1] += VERTEX_TILE_OFFSETS[v];
+        }
+        VERTEX_TILES = new int[VERTEX_TILE_OFFSETS[NUMBER_OF_VERTICES]];
+        Arrays.fill(fill, 0);
+        for (int t = 0; t < TileVertices.length; t++) {
+            for (int v : TileVertices[t]) {
+                VERTEX_TILES[VERTEX_TILE_OFFSETS[v] + fill[v]++] = t;
             }
-            if (edge[1] == vertex) {
-                connections.add(edge[0]);
+        }
+
+        // vertex -> port
+        Arrays.fill(VERTEX_PORT, NO_PORT);
+        for (int p = 0; p < PortVertices.length; p++) {
+            for (int v : PortVertices[p]) {
+                VERTEX_PORT[v] = p;
             }
         }
+    }
+
+    public static boolean isValidVertex(int vertex) {
+        return vertex >= 0 && vertex < NUMBER_OF_VERTICES;
+    }
+
+    /**
+     * Gets the number of edges touching a vertex (2 or 3 on the standard board)
+     * @param vertex vertex index
+     * @return degree of the vertex
+     */
+    public static int vertexDegree(int vertex) {
+        return VERTEX_EDGE_OFFSETS[vertex + 1] - VERTEX_EDGE_OFFSETS[vertex];
+    }
+
+    /**
+     * Gets the i-th edge touching a vertex
+     * @param vertex vertex index
+     * @param i slot, from 0 to vertexDegree(vertex) - 1
+     * @return edge index
+     */
+    public static int incidentEdge(int vertex, int i) {
+        return VERTEX_EDGES[VERTEX_EDGE_OFFSETS[vertex] + i];
+    }
+
+    /**
+     * Gets the vertex at the far end of the i-th edge touching a vertex
+     * @param vertex vertex index
+     * @param i slot, from 0 to vertexDegree(vertex) - 1
+     * @return neighbouring vertex index
+     */
+    public static int neighbour(int vertex, int i) {
+        return VERTEX_NEIGHBOURS[VERTEX_EDGE_OFFSETS[vertex] + i];
+    }
+
+    /**
+     * Gets the number of tiles a vertex touches (1 to 3)
+     * @param vertex vertex index
+     * @return number of adjacent tiles
+     */
+    public static int vertexTileCount(int vertex) {
+        return VERTEX_TILE_OFFSETS[vertex + 1] - VERTEX_TILE_OFFSETS[vertex];
+    }
+
+    /**
+     * Gets the i-th tile touching a vertex; tiles are in ascending index order
+     * @param vertex vertex index
+     * @param i slot, from 0 to vertexTileCount(vertex) - 1
+     * @return tile index
+     */
+    public static int adjacentTile(int vertex, int i) {
+        return VERTEX_TILES[VERTEX_TILE_OFFSETS[vertex] + i];
+    }
+
+    /**
+     * Gets the port a vertex gives access to
+     * @param vertex vertex index
+     * @return port index, or NO_PORT
+     */
+    public static int portAtVertex(int vertex) {
+        return VERTEX_PORT[vertex];
+    }
+
+    /**
+     * Gets the edge joining two vertices in O(1); order of the vertices does not matter
+     * @param vertex1 first vertex
+     * @param vertex2 second vertex
+     * @return edge index, or NO_EDGE if the vertices are invalid or not adjacent
+     */
+    public static int edgeIndex(int vertex1, int vertex2) {
+        if (!isValidVertex(vertex1) || !isValidVertex(vertex2)) {
+            return NO_EDGE;
+        }
+        return EDGE_LOOKUP[vertex1 * NUMBER_OF_VERTICES + vertex2];
+    }
+
+    public static ArrayList<Integer> getAdjacentVertices(int vertex) { // helper function, used in board setup
+        int degree = vertexDegree(vertex);
+        ArrayList<Integer> connections = new ArrayList<>(degree);
+
+        for (int i = 0; i < degree; i++) {
+            connections.add(neighbour(vertex, i));
+        }
 
         return connections;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,262 @@
+package com.example.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import com.example.model.config.ConfigSnapshot;
+
+/**
+ * Autosave Class; saves the game in the background without holding up the caller
+ * save encodes the game into a fresh buffer on the caller's thread, which is the consistent snapshot:
+ * a GameSave is a few hundred bytes and encodes in tens of microseconds, well under BUDGET_NANOS, and
+ * is cheaper than copying the model. A writer thread then writes it to a temporary file, forces it and
+ * renames it over the autosave in one step, so a crash leaves the old autosave or the new one, never half
+ * of one. If saves come faster than the disk, only the newest waiting one is written.
+ * Layout, little endian: magic, version, current player, then a GameSave.
+ */
+public final class Autosave implements Closeable {
+
+    public static final Path DEFAULT_FILE = Path.of("autosave.sav");
+    public static final int MAGIC = 0x54554143; // "CAUT" read little endian
+    public static final int VERSION = 1;
+    public static final long BUDGET_NANOS = 500_000; // most a save may take on the caller's thread
+
+    private static final int HEADER_SIZE = 7;
+    private static final int SAVE_BUFFER_SIZE = 4096;
+
+    private final Path file;
+    private final Path temp;
+    private final Thread writer;
+
+    private final Object lock = new Object();
+    private ByteBuffer pending; // newest snapshot not yet taken by the writer
+    private long requested;     // snapshots taken
+    private long written;       // snapshots written or replaced by a newer one
+    private boolean closed;
+    private IOException failure; // last write failure, until reported
+
+    private long lastSnapshotNanos;
+    private long maxSnapshotNanos;
+    private long overBudget; // saves that took longer than BUDGET_NANOS on the caller's thread
+
+    /**
+     * Starts an autosave; nothing is written until the first save
+     * @param file file to autosave to
+     */
+    public Autosave(Path file) {
+        this.file = file.toAbsolutePath();
+        this.temp = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+        this.writer = new Thread(this::writeLoop, "autosave-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Snapshots the game and hands it to the writer thread
+     * @param game game to save; not changed, and free to change as soon as this returns
+     * @param currentPlayer ID of the player whose turn starts
+     * @return nanoseconds spent on the caller's thread
+     * @throws IllegalStateException if the game is in setup
+     */
+    public long save(GameModel game, int currentPlayer) {
+        long start = System.nanoTime();
+        ByteBuffer buffer = encode(game, currentPlayer);
+        synchronized (lock) {
+            if (!closed) {
+                pending = buffer; // a snapshot still waiting is out of date; the writer skips it
+                requested++;
+                lock.notifyAll();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        lastSnapshotNanos = elapsed;
+        if (elapsed > maxSnapshotNanos) {
+            maxSnapshotNanos = elapsed;
+        }
+        if (elapsed > BUDGET_NANOS) {
+            overBudget++;
+        }
+        return elapsed;
+    }
+
+    // Helper function; the header and save in a buffer of their own, ready to write
+    private static ByteBuffer encode(GameModel game, int currentPlayer) {
+        for (int size = SAVE_BUFFER_SIZE; ; size *= 2) {
+            ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC);
+            buffer.putShort((short) VERSION);
+            buffer.put((byte) currentPlayer);
+            try {
+                GameSave.write(game, buffer);
+                return buffer.flip();
+            } catch (BufferOverflowException e) {
+                // long player names; try again with room for them
+            }
+        }
+    }
+
+    // Helper function; the writer thread: writes the newest snapshot each time one comes, until closed
+    private void writeLoop() {
+        while (true) {
+            ByteBuffer buffer;
+            long target;
+            synchronized (lock) {
+                while (pending == null && !closed) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (pending == null) {
+                    return; // closed with nothing left to write
+                }
+                buffer = pending;
+                pending = null;
+                target = requested;
+            }
+
+            IOException error = null;
+            try {
+                write(buffer);
+            } catch (IOException e) {
+                System.err.println("Autosave failed: " + e.getMessage());
+                error = e;
+            }
+            synchronized (lock) {
+                written = target;
+                if (error != null) {
+                    failure = error;
+                }
+                lock.notifyAll();
+            }
+        }
+    }
+
+    // Helper function; writes and forces the temporary file, then renames it over the autosave
+    private void write(ByteBuffer buffer) throws IOException {
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Waits until the newest snapshot is on disk
+     * @throws IOException if a write failed since the last flush
+     */
+    public void flush() throws IOException {
+        synchronized (lock) {
+            while (written < requested) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted waiting for the autosave");
+                }
+            }
+            if (failure != null) {
+                IOException e = failure;
+                failure = null;
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Writes the newest snapshot if it is still waiting, then stops the writer; the autosave stays on disk
+     * @throws IOException if a write failed since the last flush
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    /**
+     * Stops the autosave and deletes its file; for when the game is over
+     * @throws IOException if the file cannot be deleted
+     */
+    public void delete() throws IOException {
+        synchronized (lock) {
+            closed = true;
+            pending = null;
+            written = requested;
+            lock.notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Files.deleteIfExists(temp);
+        Files.deleteIfExists(file);
+    }
+
+    // nanoseconds the last save spent on the caller's thread
+    public long getLastSnapshotNanos() {
+        return lastSnapshotNanos;
+    }
+
+    // most nanoseconds any save spent on the caller's thread
+    public long getMaxSnapshotNanos() {
+        return maxSnapshotNanos;
+    }
+
+    // saves that spent longer than BUDGET_NANOS on the caller's thread
+    public long getOverBudgetCount() {
+        return overBudget;
+    }
+
+    /**
+     * Loads an autosave, ready to carry on at the start of the saved player's turn
+     * @param config configs the game was played with
+     * @param file autosave file
+     * @return the game and whose turn it is; not rolled, no robber pending
+     * @throws IOException if the file cannot be read, is damaged, or was saved with other configs
+     */
+    public static ActionLog.Recovery load(ConfigSnapshot config, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+                throw new IOException("Not an autosave");
+            }
+            int version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported autosave version " + version);
+            }
+            int currentPlayer = buffer.get();
+            GameModel game = GameSave.read(config, buffer);
+            if (currentPlayer < 0 || currentPlayer >= game.getPlayers().size()) {
+                throw new IOException("Damaged autosave");
+            }
+            return new ActionLog.Recovery(game, currentPlayer, false, false, 0);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Damaged autosave", e);
+        }
+    }
+}
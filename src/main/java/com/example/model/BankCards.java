@@ -1,77 +1,127 @@
 package com.example.model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import static java.util.Collections.shuffle;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
+import com.example.model.config.ConfigManager;
+import com.example.model.config.ConfigSnapshot;
 import com.example.model.config.DevCardConfig;
 import com.example.model.config.DisasterCardConfig;
 import com.example.model.config.PlayerInfrastructureConfig;
 import com.example.model.config.ResourceConfig;
-import com.example.model.config.service.ConfigService;
 
 public class BankCards {
 
+    private final ConfigSnapshot config;
+
     //store how many of each resource card are left and how many dev cards
-    private Map<String, Integer> resourceCards;
-    private ArrayList<String> developmentCards;
-    private ArrayList<String> disasterCards;
+    private int[] resourceCards; // indexed by ResourceConfig ordinal
+    // decks are shuffled once and only ever drawn from the top, so forks share the arrays and copy the counts
+    private String[] developmentCards;
+    private int developmentCardsLeft;
+    private String[] disasterCards;
+    private int disasterCardsLeft;
+
+    private Journal journal; // records changes so GameModel can undo them; null when not recording
+
+    //constructor; uses the default config snapshot
+    public BankCards() {
+        this(ConfigManager.getSnapshot(), new SplittableRandom());
+    }
 
     //constructor
     //each resource card starts with 19
     //dev cards start at 25
-    public BankCards() {
+    //decks are shuffled with the game's random
+    public BankCards(ConfigSnapshot config, RandomGenerator random) {
+        this.config = config;
         initilizeResourceCards();
-        initilizeDevelopmentCards();
-        initilizeDisasterCards();
-        shuffle(developmentCards);
-        shuffle(disasterCards);
+        initilizeDevelopmentCards(random);
+        initilizeDisasterCards(random);
+    }
+
+    //copy constructor; used when forking a game
+    BankCards(BankCards other) {
+        this.config = other.config;
+        this.resourceCards = other.resourceCards.clone();
+        this.developmentCards = other.developmentCards;
+        this.developmentCardsLeft = other.developmentCardsLeft;
+        this.disasterCards = other.disasterCards;
+        this.disasterCardsLeft = other.disasterCardsLeft;
+    }
+
+    void setJournal(Journal journal) {
+        this.journal = journal;
+    }
+
+    // Helper function; checks whether changes should be pushed to the journal
+    private boolean recording() {
+        return journal != null && journal.isRecording();
     }
 
     private void initilizeResourceCards() {
-        resourceCards = new HashMap<>();
-        Collection<ResourceConfig> resources= ConfigService.getAllResources();
+        Collection<ResourceConfig> resources= config.getAllResources();
+        resourceCards = new int[resources.size()];
         for (ResourceConfig resource : resources) {
-            resourceCards.put(resource.id, resource.maxQuantity);
+            resourceCards[resource.getOrdinal()] = resource.maxQuantity;
         }
     }
 
-    private void initilizeDevelopmentCards() {
-        developmentCards = new ArrayList<String>();
-        Collection<DevCardConfig> devCards = ConfigService.getAllDevCards();
+    private void initilizeDevelopmentCards(RandomGenerator random) {
+        ArrayList<String> deck = new ArrayList<String>();
+        Collection<DevCardConfig> devCards = config.getAllDevCards();
         for (DevCardConfig devCard : devCards) {
             for (int i = 0; i < devCard.count; i++) {
-                developmentCards.add(devCard.id);
+                deck.add(devCard.id);
             }
         }
+        Shuffle.shuffle(deck, random);
+        developmentCards = deck.toArray(new String[0]);
+        developmentCardsLeft = developmentCards.length;
     }
 
-    private void initilizeDisasterCards() {
-        disasterCards = new ArrayList<String>();
-        Collection<DisasterCardConfig> disasterCardsConfig = ConfigService.getAllDisasterCards();
+    private void initilizeDisasterCards(RandomGenerator random) {
+        ArrayList<String> deck = new ArrayList<String>();
+        Collection<DisasterCardConfig> disasterCardsConfig = config.getAllDisasterCards();
         for (DisasterCardConfig disasterCard : disasterCardsConfig) {
             for (int i = 0; i < disasterCard.count; i++) {
-                disasterCards.add(disasterCard.tileAffected);
+                deck.add(disasterCard.tileAffected);
             }
         }
+        Shuffle.shuffle(deck, random);
+        disasterCards = deck.toArray(new String[0]);
+        disasterCardsLeft = disasterCards.length;
     }
 
     //get how many cards of a type are left
     public int getResourceCount(ResourceConfig resource) {
-        if (resource == null) return 0;
-        return resourceCards.getOrDefault(resource.id, 0);
+        if (!hasResourceType(resource)) return 0;
+        return resourceCards[resource.getOrdinal()];
+    }
+
+    //same as above, by resource ordinal
+    public int getResourceCount(int ordinal) {
+        return resourceCards[ordinal];
     }
 
     //gives cards to player from bank
     //returns true if there are enough cards and reduces card count
     //returns false if there are not enough cards in deck
     public boolean giveResourceCard(ResourceConfig resource, int amount) {
-        if (resource == null) return false;
-        int current = getResourceCount(resource);
-        if (current >= amount) {
-            resourceCards.put(resource.id, current - amount);
+        if (!hasResourceType(resource)) return false;
+        return giveResourceCard(resource.getOrdinal(), amount);
+    }
+
+    //same as above, by resource ordinal
+    public boolean giveResourceCard(int ordinal, int amount) {
+        if (resourceCards[ordinal] >= amount) {
+            resourceCards[ordinal] -= amount;
+            if (amount != 0 && recording()) {
+                journal.push(ordinal, -amount, Journal.BANK_RESOURCE);
+            }
             return true;
         }
         return false;
@@ -79,68 +129,125 @@ public class BankCards {
 
     //returns empty string if deck is empty
     public String giveDevelopmentCard() {
-        if (!developmentCards.isEmpty()) {
-            String devCard = developmentCards.get(developmentCards.size()-1);
-            developmentCards.remove(developmentCards.size()-1);
-            return devCard;
+        if (developmentCardsLeft > 0) {
+            if (recording()) {
+                journal.push(Journal.BANK_DEV_CARD_DRAWN);
+            }
+            return developmentCards[--developmentCardsLeft];
         }
         return "";
     }
 
     //returns empty string if deck is empty
     public String giveDisasterCard() {
-        if (!disasterCards.isEmpty()) {
-            String disCard = disasterCards.get(disasterCards.size()-1);
-            disasterCards.remove(disasterCards.size()-1);
-            return disCard;
+        if (disasterCardsLeft > 0) {
+            if (recording()) {
+                journal.push(Journal.BANK_DISASTER_CARD_DRAWN);
+            }
+            return disasterCards[--disasterCardsLeft];
         }
         return "";
     }
 
     //receive cards from player and adds them to the bank
     public void returnResourceCard(ResourceConfig resource, int amount) {
-        int current = getResourceCount(resource);
-        resourceCards.put(resource.id, current + amount);
+        returnResourceCard(resource.getOrdinal(), amount);
+    }
+
+    //same as above, by resource ordinal
+    public void returnResourceCard(int ordinal, int amount) {
+        resourceCards[ordinal] += amount;
+        if (amount != 0 && recording()) {
+            journal.push(ordinal, amount, Journal.BANK_RESOURCE);
+        }
+    }
+
+    // cards still in the development card deck, bottom first; the last one is drawn next
+    String[] getDevelopmentDeck() {
+        return Arrays.copyOf(developmentCards, developmentCardsLeft);
+    }
+
+    // cards still in the disaster card deck, bottom first; the last one is drawn next
+    String[] getDisasterDeck() {
+        return Arrays.copyOf(disasterCards, disasterCardsLeft);
+    }
+
+    /**
+     * Replaces the bank's contents, e.g. when loading a save; not recorded in the journal
+     * @param resources count of each resource, indexed by ordinal
+     * @param developmentDeck development cards left, bottom first
+     * @param disasterDeck disaster cards left, bottom first
+     */
+    void restore(int[] resources, String[] developmentDeck, String[] disasterDeck) {
+        this.resourceCards = resources.clone();
+        this.developmentCards = developmentDeck;
+        this.developmentCardsLeft = developmentDeck.length;
+        this.disasterCards = disasterDeck;
+        this.disasterCardsLeft = disasterDeck.length;
+    }
+
+    // puts the last drawn card back on top of its deck; only used by undo
+    void undrawDevelopmentCard() {
+        developmentCardsLeft++;
+    }
+
+    void undrawDisasterCard() {
+        disasterCardsLeft++;
+    }
+
+    // Helper function; checks the resource has a slot in the bank's vector
+    private boolean hasResourceType(ResourceConfig resource) {
+        return resource != null && resource.getOrdinal() >= 0 && resource.getOrdinal() < resourceCards.length;
     }
 
     //print bank status
     public void printStatus() {
-        Collection<ResourceConfig> resources= ConfigService.getAllResources();
+        Collection<ResourceConfig> resources= config.getAllResources();
         for (ResourceConfig resource : resources) {
             System.out.println(resource.id + ": " + getResourceCount(resource));
         }
-        System.out.println("Development cards: " + developmentCards);
+        System.out.println("Development cards: " + Arrays.asList(developmentCards).subList(0, developmentCardsLeft));
     }
 
     public boolean hasDevelopmentCards() {
-        return !developmentCards.isEmpty();
+        return developmentCardsLeft > 0;
     }
 
     public void addStructureResourcesToBank(String structureID) {
-        // when a settlement or city is built, the resources used to build it are returned to the bank
-        // this method adds those resources back to the bank
-        // get the resource cost of the structure from the config
-        PlayerInfrastructureConfig config = ConfigService.getInfrastructure(structureID);
-        Map<String, Integer> resourceCost = config.constructionCosts;
-        for (Map.Entry<String, Integer> entry : resourceCost.entrySet()) {
-            String resourceID = entry.getKey();
-            int amount = entry.getValue();
-            ResourceConfig resourceConfig = ConfigService.getResource(resourceID);
-            returnResourceCard(resourceConfig, amount);
+        addStructureResourcesToBank(config.getInfrastructure(structureID));
+    }
+
+    // when a settlement or city is built, the resources used to build it are returned to the bank
+    public void addStructureResourcesToBank(PlayerInfrastructureConfig structure) {
+        int[] cost = structure.getCostVector();
+        for (int i = 0; i < cost.length; i++) {
+            resourceCards[i] += cost[i];
+        }
+        if (recording()) {
+            journal.push(structure.getHandle(), Journal.BANK_STRUCTURE_COST);
+        }
+    }
+
+    // takes a structure's cost back out of the bank; only used to undo addStructureResourcesToBank
+    void undoStructureResources(PlayerInfrastructureConfig structure) {
+        int[] cost = structure.getCostVector();
+        for (int i = 0; i < cost.length; i++) {
+            resourceCards[i] -= cost[i];
         }
     }
 
     public void removeStructureResourcesFromBank(String structureID) {
-        // when a settlement or city is built, the resources used to build it are removed from the bank
-        // this method removes those resources from the bank
-        // get the resource cost of the structure from the config
-        PlayerInfrastructureConfig config = ConfigService.getInfrastructure(structureID);
-        Map<String, Integer> resourceCost = config.constructionCosts;
-        for (Map.Entry<String, Integer> entry : resourceCost.entrySet()) {
-            String resourceID = entry.getKey();
-            int amount = entry.getValue();
-            ResourceConfig resourceConfig = ConfigService.getResource(resourceID);
-            giveResourceCard(resourceConfig, amount);
+        removeStructureResourcesFromBank(config.getInfrastructure(structureID));
+    }
+
+    // when a settlement or city is built, the resources used to build it are removed from the bank
+    // each resource is only removed if the bank has enough of it
+    public void removeStructureResourcesFromBank(PlayerInfrastructureConfig structure) {
+        int[] cost = structure.getCostVector();
+        for (int i = 0; i < cost.length; i++) {
+            if (cost[i] > 0) {
+                giveResourceCard(i, cost[i]);
+            }
         }
     }
 
@@ -0,0 +1,132 @@
+package com.example.model;
+
+import java.util.Arrays;
+
+/**
+ * Bitboards Class; precomputed 64-bit masks over the board graph
+ * Vertex v is bit v of a single long (54 vertices fit in one word).
+ * Edges need two words: edge e is bit (e & 63) of the low word when e < 64, otherwise of the high word.
+ */
+public final class Bitboards {
+
+    public static final int NUMBER_OF_VERTICES = 54;
+    public static final int NUMBER_OF_EDGES = 72;
+
+    // vertex -> mask of every vertex one edge away
+    private static final long[] VERTEX_NEIGHBOURS = new long[NUMBER_OF_VERTICES];
+
+    // edge -> mask of the two vertices it connects
+    private static final long[] EDGE_ENDPOINTS = new long[NUMBER_OF_EDGES];
+
+    // vertex -> two-word mask of the edges touching it
+    private static final long[] VERTEX_EDGES_LO = new long[NUMBER_OF_VERTICES];
+    private static final long[] VERTEX_EDGES_HI = new long[NUMBER_OF_VERTICES];
+
+    static {
+        for (int e = 0; e < NUMBER_OF_EDGES; e++) {
+            int v1 = AdjacencyMaps.RoadConnections[e][0];
+            int v2 = AdjacencyMaps.RoadConnections[e][1];
+
+            VERTEX_NEIGHBOURS[v1] |= vertexBit(v2);
+            VERTEX_NEIGHBOURS[v2] |= vertexBit(v1);
+
+            EDGE_ENDPOINTS[e] = vertexBit(v1) | vertexBit(v2);
+
+            if (isLowEdge(e)) {
+                VERTEX_EDGES_LO[v1] |= edgeBit(e);
+                VERTEX_EDGES_LO[v2] |= edgeBit(e);
+            } else {
+                VERTEX_EDGES_HI[v1] |= edgeBit(e);
+                VERTEX_EDGES_HI[v2] |= edgeBit(e);
+            }
+        }
+    }
+
+    private Bitboards() {} // prevent instantiation
+
+    /**
+     * Gets the single bit for a vertex
+     * @param vertex vertex index (0 to 53)
+     * @return mask with only the vertex's bit set
+     */
+    public static long vertexBit(int vertex) {
+        return 1L << vertex;
+    }
+
+    /**
+     * Gets the bit for an edge within its word; use isLowEdge to pick the word
+     * @param edge edge index (0 to 71)
+     * @return mask with only the edge's bit set
+     */
+    public static long edgeBit(int edge) {
+        return 1L << (edge & 63);
+    }
+
+    /**
+     * Checks which word an edge lives in
+     * @param edge edge index (0 to 71)
+     * @return true if the edge is in the low word; false if in the high word
+     */
+    public static boolean isLowEdge(int edge) {
+        return edge < 64;
+    }
+
+    /**
+     * Checks whether an edge is set in a two-word edge mask
+     * @param lo low word of the mask
+     * @param hi high word of the mask
+     * @param edge edge index (0 to 71)
+     * @return whether the edge's bit is set
+     */
+    public static boolean hasEdge(long lo, long hi, int edge) {
+        return ((isLowEdge(edge) ? lo : hi) & edgeBit(edge)) != 0;
+    }
+
+    public static long neighbours(int vertex) {
+        return VERTEX_NEIGHBOURS[vertex];
+    }
+
+    public static long endpoints(int edge) {
+        return EDGE_ENDPOINTS[edge];
+    }
+
+    public static long incidentEdgesLo(int vertex) {
+        return VERTEX_EDGES_LO[vertex];
+    }
+
+    public static long incidentEdgesHi(int vertex) {
+        return VERTEX_EDGES_HI[vertex];
+    }
+
+    /**
+     * Gets the mask of vertices touched by any edge in a two-word edge mask
+     * @param lo low word of the edge mask
+     * @param hi high word of the edge mask
+     * @return vertex mask of every endpoint
+     */
+    public static long endpointsOf(long lo, long hi) {
+        long vertices = 0L;
+        while (lo != 0) {
+            vertices |= EDGE_ENDPOINTS[Long.numberOfTrailingZeros(lo)];
+            lo &= lo - 1;
+        }
+        while (hi != 0) {
+            vertices |= EDGE_ENDPOINTS[64 + Long.numberOfTrailingZeros(hi)];
+            hi &= hi - 1;
+        }
+        return vertices;
+    }
+
+    /**
+     * Helper function; returns a per player mask array with room for the given player ID
+     * @param masks current array (may be shorter than needed)
+     * @param playerID ID that must fit in the array
+     * @return the same array if large enough, otherwise a grown copy
+     */
+    static long[] ensureCapacity(long[] masks, int playerID) {
+        if (playerID < masks.length) {
+            return masks;
+        }
+        return Arrays.copyOf(masks, Math.max(playerID + 1, masks.length * 2));
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.model;
+
+import com.example.model.config.ConfigSnapshot;
+import com.example.model.config.PortConfig;
+import com.example.model.config.ResourceConfig;
+
+/**
+ * BoardFairness Class; rates how even a board is before anyone has placed on it
+ * Three things make a board lopsided: a resource whose tiles roll far more or less often than its
+ * share, a single vertex touching so many pips that the first player takes it and runs, and a 2:1
+ * port sitting next to good tiles of its own resource. Each is measured and turned into a penalty;
+ * the score is 100 minus the penalties, so 100 is as fair as this measure can tell.
+ */
+public final class BoardFairness {
+
+    public static final double MAX_SCORE = 100;
+
+    private static final double RESOURCE_WEIGHT = 4; // per pip a resource is off its fair share
+    private static final double VERTEX_WEIGHT = 6; // per pip the best vertex has over FAIR_VERTEX_PIPS
+    private static final int FAIR_VERTEX_PIPS = 11; // e.g. 6, 9, 10; more than this is a standout spot
+    private static final double PORT_WEIGHT = 2; // per pip of a 2:1 port's own resource next to it
+
+    /**
+     * Score Record; the measures of one board and the score they add up to
+     * @param resourceImbalance largest gap, in pips, between a resource's total and its fair share
+     * @param maxVertexPips most pips touching any one vertex
+     * @param portAlignment most pips of a 2:1 port's resource on tiles touching that port
+     * @param score MAX_SCORE minus the weighted measures, never below 0
+     */
+    public record Score(double resourceImbalance, int maxVertexPips, int portAlignment, double score) {}
+
+    private BoardFairness() {}
+
+    /**
+     * Scores a board
+     * @param config configs the board's tile and port IDs refer to
+     * @param board the board
+     * @return its measures and score
+     */
+    public static Score score(ConfigSnapshot config, BoardLayout board) {
+        int hexes = board.tileIDs().length;
+        int[] resources = new int[hexes]; // resource ordinal of each tile, -1 for the desert
+        int[] pips = new int[hexes];
+        for (int i = 0; i < hexes; i++) {
+            ResourceConfig resource = config.getTileResource(board.tileIDs()[i]);
+            resources[i] = resource == null ? -1 : resource.getOrdinal();
+            pips[i] = resource == null ? 0 : LayoutGenerator.pips(board.numbers()[i]);
+        }
+
+        double resourceImbalance = resourceImbalance(config.getResourceCount(), resources, pips);
+
+        int maxVertexPips = 0;
+        for (int vertex = 0; vertex < AdjacencyMaps.NUMBER_OF_VERTICES; vertex++) {
+            int sum = 0;
+            for (int i = 0; i < AdjacencyMaps.vertexTileCount(vertex); i++) {
+                sum += pips[AdjacencyMaps.adjacentTile(vertex, i)];
+            }
+            maxVertexPips = Math.max(maxVertexPips, sum);
+        }
+
+        int portAlignment = 0;
+        for (int port = 0; port < board.portIDs().length; port++) {
+            PortConfig portConfig = config.getPort(board.portIDs()[port]);
+            ResourceConfig resource = portConfig.resourceID == null || portConfig.resourceID.isEmpty()
+                    ? null : config.getResource(portConfig.resourceID);
+            if (resource == null) continue; // generic ports favour nobody's resource
+            portAlignment = Math.max(portAlignment, portPips(AdjacencyMaps.PortVertices[port], resource.getOrdinal(),
+                    resources, pips));
+        }
+
+        double score = MAX_SCORE - RESOURCE_WEIGHT * resourceImbalance
+                - VERTEX_WEIGHT * Math.max(0, maxVertexPips - FAIR_VERTEX_PIPS)
+                - PORT_WEIGHT * portAlignment;
+        return new Score(resourceImbalance, maxVertexPips, portAlignment, Math.max(0, score));
+    }
+
+    // Helper function; largest distance of a resource's pips from its share by tile count
+    private static double resourceImbalance(int resourceCount, int[] resources, int[] pips) {
+        int[] resourcePips = new int[resourceCount];
+        int[] resourceTiles = new int[resourceCount];
+        int totalPips = 0;
+        int producing = 0;
+        for (int i = 0; i < resources.length; i++) {
+            if (resources[i] < 0) continue;
+            resourcePips[resources[i]] += pips[i];
+            resourceTiles[resources[i]]++;
+            totalPips += pips[i];
+            producing++;
+        }
+        double worst = 0;
+        for (int r = 0; r < resourceCount; r++) {
+            double fair = (double) totalPips * resourceTiles[r] / producing;
+            worst = Math.max(worst, Math.abs(resourcePips[r] - fair));
+        }
+        return worst;
+    }
+
+    // Helper function; pips of the resource on the tiles touching the port, each tile counted once
+    private static int portPips(int[] portVertices, int resource, int[] resources, int[] pips) {
+        int sum = 0;
+        int counted = 0; // bitset of tiles already added
+        for (int vertex : portVertices) {
+            for (int i = 0; i < AdjacencyMaps.vertexTileCount(vertex); i++) {
+                int tile = AdjacencyMaps.adjacentTile(vertex, i);
+                if (resources[tile] == resource && (counted & (1 << tile)) == 0) {
+                    counted |= 1 << tile;
+                    sum += pips[tile];
+                }
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+import com.example.model.config.ConfigSnapshot;
+import com.example.model.config.PortConfig;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * BoardLayout Record; everything that is random about a board before the game starts
+ * Boards can be generated ahead of time, scored and stored, then handed to a GameModel. The arrays
+ * are not copied, so a layout must not be modified once made.
+ * @param tileIDs tile of each hex, indexed like AdjacencyMaps.TileVertices
+ * @param numbers number token of each hex, 0 for the desert
+ * @param portIDs port at each location, indexed like AdjacencyMaps.PortVertices
+ */
+public record BoardLayout(String[] tileIDs, int[] numbers, String[] portIDs) {
+
+    @JsonCreator
+    public BoardLayout(
+            @JsonProperty("tileIDs") String[] tileIDs,
+            @JsonProperty("numbers") int[] numbers,
+            @JsonProperty("portIDs") String[] portIDs) {
+        if (tileIDs.length != Tiles.NUMBER_OF_HEXES || numbers.length != Tiles.NUMBER_OF_HEXES
+                || portIDs.length != AdjacencyMaps.PortVertices.length) {
+            throw new IllegalArgumentException("Board layout does not fit a " + Tiles.NUMBER_OF_HEXES + " hex board");
+        }
+        this.tileIDs = tileIDs;
+        this.numbers = numbers;
+        this.portIDs = portIDs;
+    }
+
+    /**
+     * Generates a board the same way a new game does
+     * @param config configs supplying the tiles, number tokens, ports and layout constraints
+     * @param random source of every random choice
+     * @return the board
+     */
+    public static BoardLayout generate(ConfigSnapshot config, RandomGenerator random) {
+        return of(new Tiles(config, random), new Ports(config, random));
+    }
+
+    /**
+     * Checks that the board could have been generated with the configs, e.g. for a board read from a file
+     * Every tile must be a known tile, at most its maxQuantity times; the resource tiles must carry exactly
+     * the configured number tokens and the deserts none; the ports must be exactly the configured ports.
+     * @param config configs the board is to be played with
+     * @throws IllegalArgumentException describing the first mismatch
+     */
+    public void checkFits(ConfigSnapshot config) {
+        Map<String, Integer> tileCounts = new HashMap<>();
+        Map<Integer, Integer> tokenCounts = new HashMap<>();
+        for (int i = 0; i < tileIDs.length; i++) {
+            if (config.getTile(tileIDs[i]) == null) {
+                throw new IllegalArgumentException("Unknown tile " + tileIDs[i]);
+            }
+            if (tileCounts.merge(tileIDs[i], 1, Integer::sum) > config.getTile(tileIDs[i]).maxQuantity) {
+                throw new IllegalArgumentException("More than " + config.getTile(tileIDs[i]).maxQuantity + " "
+                        + tileIDs[i] + " tiles");
+            }
+            if (config.getTileResource(tileIDs[i]) != null) {
+                tokenCounts.merge(numbers[i], 1, Integer::sum);
+            } else if (numbers[i] != 0) {
+                throw new IllegalArgumentException("Hex " + i + " has no resource but number " + numbers[i]);
+            }
+        }
+
+        Map<Integer, Integer> tokens = new HashMap<>();
+        config.getNumberTokens().forEach((number, count) -> {
+            if (number >= 0) tokens.put(number, count); // negative tokens are desert placeholders
+        });
+        if (!tokens.equals(tokenCounts)) {
+            throw new IllegalArgumentException("Number tokens " + tokenCounts + " do not match the configured " + tokens);
+        }
+
+        Map<String, Integer> ports = new HashMap<>();
+        for (PortConfig port : config.getAllPorts()) {
+            ports.put(port.id, port.occurrences);
+        }
+        Map<String, Integer> portCounts = new HashMap<>();
+        for (String portID : portIDs) {
+            portCounts.merge(portID, 1, Integer::sum);
+        }
+        if (!ports.equals(portCounts)) {
+            throw new IllegalArgumentException("Ports " + portCounts + " do not match the configured " + ports);
+        }
+    }
+
+    // layout of an existing board
+    static BoardLayout of(Tiles tiles, Ports ports) {
+        Tile[] hexes = tiles.getTiles();
+        String[] tileIDs = new String[hexes.length];
+        int[] numbers = new int[hexes.length];
+        for (int i = 0; i < hexes.length; i++) {
+            tileIDs[i] = hexes[i].getTileID();
+            numbers[i] = hexes[i].getNumber();
+        }
+        ArrayList<Port> portList = ports.getPorts();
+        String[] portIDs = new String[portList.size()];
+        for (int i = 0; i < portIDs.length; i++) {
+            portIDs[i] = portList.get(i).getPortID();
+        }
+        return new BoardLayout(tileIDs, numbers, portIDs);
+    }
+}
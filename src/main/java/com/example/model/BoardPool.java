@@ -0,0 +1,152 @@
+package com.example.model;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.random.RandomGenerator;
+
+import com.example.model.config.ConfigSnapshot;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * BoardPool Class; a stock of boards that all scored at least minScore with BoardFairness
+ * Generating and filtering boards is done once, ahead of time and in parallel, and the pool is
+ * saved as JSON; starting a game then only has to draw one. Board i of a generated pool depends
+ * only on the seed and i, so the same arguments give the same pool whatever the thread count.
+ */
+public final class BoardPool {
+
+    private static final int BOARDS_PER_TASK = 64; // leaf size of the generation tasks
+    private static final int MAX_ATTEMPTS = 10_000; // boards tried per pool entry before the threshold is deemed too high
+    private static final long SEED_STRIDE = 0x9E3779B97F4A7C15L;
+
+    private final double minScore;
+    private final List<BoardLayout> boards;
+
+    /**
+     * BoardPool Constructor
+     * @param minScore score every board met when the pool was made
+     * @param boards the boards; must not be empty
+     */
+    @JsonCreator
+    public BoardPool(
+            @JsonProperty("minScore") double minScore,
+            @JsonProperty("boards") List<BoardLayout> boards) {
+        if (boards == null || boards.isEmpty()) {
+            throw new IllegalArgumentException("A board pool needs at least one board");
+        }
+        this.minScore = minScore;
+        this.boards = Collections.unmodifiableList(Arrays.asList(boards.toArray(new BoardLayout[0])));
+    }
+
+    /**
+     * Generates a pool of fair boards
+     * @param config configs to generate and score the boards with
+     * @param size number of boards in the pool
+     * @param minScore lowest BoardFairness score a board may have
+     * @param seed pool seed; board i is searched for with its own random derived from it
+     * @param threads worker threads
+     * @return the pool
+     * @throws IllegalStateException if a board meeting minScore takes too many attempts to find
+     */
+    public static BoardPool generate(ConfigSnapshot config, int size, double minScore, long seed, int threads) {
+        if (size < 1 || threads < 1) {
+            throw new IllegalArgumentException("Invalid board pool settings");
+        }
+        BoardLayout[] boards = new BoardLayout[size];
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.invoke(new GenerateTask(config, boards, 0, size, minScore, seed));
+        } finally {
+            pool.shutdown();
+        }
+        return new BoardPool(minScore, Arrays.asList(boards));
+    }
+
+    // Helper function; tries boards from the random until one meets the threshold
+    private static BoardLayout fairBoard(ConfigSnapshot config, double minScore, RandomGenerator random) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            BoardLayout board = BoardLayout.generate(config, random);
+            if (BoardFairness.score(config, board).score() >= minScore) {
+                return board;
+            }
+        }
+        throw new IllegalStateException("No board scored " + minScore + " in " + MAX_ATTEMPTS + " attempts");
+    }
+
+    // picks a board uniformly at random
+    public BoardLayout draw(RandomGenerator random) {
+        return boards.get(random.nextInt(boards.size()));
+    }
+
+    public double getMinScore() {
+        return minScore;
+    }
+
+    public List<BoardLayout> getBoards() {
+        return boards;
+    }
+
+    public void save(Path file) throws IOException {
+        new ObjectMapper().writeValue(file.toFile(), this);
+    }
+
+    /**
+     * Reads a saved pool and checks every board against the configs, so a stale or edited file is refused
+     * rather than played on
+     * @param file file written by save
+     * @param config configs the boards are to be played with
+     * @return the pool
+     * @throws IOException if the file cannot be read or a board does not fit the configs
+     */
+    public static BoardPool load(Path file, ConfigSnapshot config) throws IOException {
+        BoardPool pool = new ObjectMapper().readValue(file.toFile(), BoardPool.class);
+        for (int i = 0; i < pool.boards.size(); i++) {
+            try {
+                pool.boards.get(i).checkFits(config);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Board " + i + " of " + file + " does not fit the configs: " + e.getMessage(), e);
+            }
+        }
+        return pool;
+    }
+
+    // fills boards [from, to), splitting the range while it is larger than a leaf
+    private static final class GenerateTask extends RecursiveAction {
+        private final ConfigSnapshot config;
+        private final BoardLayout[] boards;
+        private final int from;
+        private final int to;
+        private final double minScore;
+        private final long seed;
+
+        GenerateTask(ConfigSnapshot config, BoardLayout[] boards, int from, int to, double minScore, long seed) {
+            this.config = config;
+            this.boards = boards;
+            this.from = from;
+            this.to = to;
+            this.minScore = minScore;
+            this.seed = seed;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BOARDS_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    boards[i] = fairBoard(config, minScore, new SplittableRandom(seed + i * SEED_STRIDE));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new GenerateTask(config, boards, from, mid, minScore, seed),
+                    new GenerateTask(config, boards, mid, to, minScore, seed));
+        }
+    }
+}
@@ -5,6 +5,7 @@ public class ClimateTracker {
     private int climateLevel;
     private int nextDisasterCard;
     private boolean giveDisasterCard;
+    private Journal journal; // records changes so GameModel can undo them; null when not recording
 
     public ClimateTracker() {
         this.climateLevel = 0;
@@ -12,9 +13,33 @@ public class ClimateTracker {
         this.giveDisasterCard = false;
     }
 
+    ClimateTracker(ClimateTracker other) {
+        this.climateLevel = other.climateLevel;
+        this.nextDisasterCard = other.nextDisasterCard;
+        this.giveDisasterCard = other.giveDisasterCard;
+    }
+
+    void setJournal(Journal journal) {
+        this.journal = journal;
+    }
+
+    // puts back a state saved in the journal; only used by undo
+    void restore(int climateLevel, int nextDisasterCard, boolean giveDisasterCard) {
+        this.climateLevel = climateLevel;
+        this.nextDisasterCard = nextDisasterCard;
+        this.giveDisasterCard = giveDisasterCard;
+    }
+
     public int getClimateLevel() { return climateLevel; }
 
+    // climate level at which the next disaster cards are handed out
+    int getNextDisasterCard() { return nextDisasterCard; }
+
+    // whether disaster cards are due to be handed out
+    boolean isGiveDisasterCard() { return giveDisasterCard; }
+
     public void increaseClimate() {
+        record();
         climateLevel++;
         if (climateLevel >= nextDisasterCard) {
             giveDisasterCard = true;
@@ -24,6 +49,7 @@ public class ClimateTracker {
 
     public boolean shouldGiveDisasterCard() {
         if (giveDisasterCard) {
+            record();
             giveDisasterCard = false;
             return true;
         }
@@ -44,6 +70,13 @@ public class ClimateTracker {
         return totalCards;
     }
 
+    // Helper function; saves the current state to the journal before a change
+    private void record() {
+        if (journal != null && journal.isRecording()) {
+            journal.push(climateLevel, nextDisasterCard, giveDisasterCard ? 1 : 0, Journal.CLIMATE);
+        }
+    }
+
     public void resetClimateLevels() {
         climateLevel = 0;
         nextDisasterCard = 10;
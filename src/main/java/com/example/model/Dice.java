@@ -1,17 +1,47 @@
 package com.example.model;
 
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
 public class Dice {
     private int die1;
     private int die2;
+    private final RandomGenerator random; // the game's random source
+    private Journal journal; // records rolls so GameModel can undo them; null when not recording
 
     public Dice() {
+        this(new SplittableRandom());
+    }
+
+    public Dice(RandomGenerator random) {
         this.die1 = 1;
         this.die2 = 1;
+        this.random = random;
+    }
+
+    // copy constructor; used when forking a game, the fork rolls from its own random
+    Dice(Dice other, RandomGenerator random) {
+        this.die1 = other.die1;
+        this.die2 = other.die2;
+        this.random = random;
+    }
+
+    void setJournal(Journal journal) {
+        this.journal = journal;
+    }
+
+    // puts back dice values saved in the journal; only used by undo
+    void restore(int die1, int die2) {
+        this.die1 = die1;
+        this.die2 = die2;
     }
 
     public int roll() {
-        this.die1 = (int)(Math.random() * 6) + 1;
-        this.die2 = (int)(Math.random() * 6) + 1;
+        if (journal != null && journal.isRecording()) {
+            journal.push(die1, die2, Journal.DICE);
+        }
+        this.die1 = random.nextInt(6) + 1;
+        this.die2 = random.nextInt(6) + 1;
         return die1 + die2;
     }
 
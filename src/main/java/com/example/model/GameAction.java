@@ -0,0 +1,232 @@
+package com.example.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.model.config.ConfigSnapshot;
+import com.example.model.config.DevCardConfig;
+import com.example.model.config.PlayerInfrastructureConfig;
+import com.example.model.config.PortConfig;
+import com.example.model.config.ResourceConfig;
+import com.example.model.trading.TradeBank;
+import com.example.model.trading.TradePlayer;
+import com.example.model.trading.TradePort;
+
+/**
+ * GameAction Record; one move made on a game, as the game screen makes it
+ * Applying an action makes the same GameModel calls the screen does, including the award updates that
+ * follow some of them, so a game's actions applied in order replay it. Arguments are small ints:
+ * vertex, edge and tile indices, resource ordinals, or indices into the config lists (-1 for none).
+ * The array is not copied, so an action must not be modified once made.
+ * @param type what the action does
+ * @param playerID player making it
+ * @param args arguments; their meaning depends on the type
+ */
+public record GameAction(Type type, int playerID, int[] args) {
+
+    /**
+     * Type Enum; every kind of action, with the arguments it takes
+     */
+    public enum Type {
+        ROLL,                    // none; also pays out the roll
+        BUILD_SETTLEMENT,        // vertex
+        BUILD_CITY,              // vertex
+        BUILD_ROAD,              // edge; then updates the longest road
+        BUY_DEV_CARD,            // none
+        PLAY_DEV_CARD,           // dev card index
+        MOVE_ROBBER,             // tile, 1 if players over the hand limit discard first
+        STEAL,                   // vertex of the victim's settlement
+        RESTORE_TILE,            // tile; then updates the cleanest environment
+        HIGHWAY_MADNESS,         // edge, edge; then updates the longest road
+        TRADING_FRENZY,          // resource per card taken
+        MONOPOLY,                // resource
+        TRADE_BANK,              // resource given, resource received
+        TRADE_PORT,              // port index, resource received
+        TRADE_PLAYER,            // other player, count given per resource, count received per resource
+        GRANT,                   // structure handle; the player gets the structure's cost (testing)
+        END_TURN                 // none; changes nothing in the model
+    }
+
+    private static final int[] NONE = new int[0];
+
+    public static GameAction roll(int playerID) {
+        return new GameAction(Type.ROLL, playerID, NONE);
+    }
+
+    public static GameAction buildSettlement(int playerID, int vertex) {
+        return new GameAction(Type.BUILD_SETTLEMENT, playerID, new int[] {vertex});
+    }
+
+    public static GameAction buildCity(int playerID, int vertex) {
+        return new GameAction(Type.BUILD_CITY, playerID, new int[] {vertex});
+    }
+
+    public static GameAction buildRoad(int playerID, int edge) {
+        return new GameAction(Type.BUILD_ROAD, playerID, new int[] {edge});
+    }
+
+    public static GameAction buyDevCard(int playerID) {
+        return new GameAction(Type.BUY_DEV_CARD, playerID, NONE);
+    }
+
+    public static GameAction playDevCard(ConfigSnapshot config, int playerID, DevCardConfig card) {
+        return new GameAction(Type.PLAY_DEV_CARD, playerID, new int[] {card == null ? -1 : config.getAllDevCards().indexOf(card)});
+    }
+
+    public static GameAction moveRobber(int playerID, int tile, boolean discard) {
+        return new GameAction(Type.MOVE_ROBBER, playerID, new int[] {tile, discard ? 1 : 0});
+    }
+
+    public static GameAction steal(int playerID, int vertex) {
+        return new GameAction(Type.STEAL, playerID, new int[] {vertex});
+    }
+
+    public static GameAction restoreTile(int playerID, int tile) {
+        return new GameAction(Type.RESTORE_TILE, playerID, new int[] {tile});
+    }
+
+    public static GameAction highwayMadness(int playerID, int edgeA, int edgeB) {
+        return new GameAction(Type.HIGHWAY_MADNESS, playerID, new int[] {edgeA, edgeB});
+    }
+
+    public static GameAction tradingFrenzy(int playerID, List<ResourceConfig> resources) {
+        int[] ordinals = new int[resources.size()];
+        for (int i = 0; i < ordinals.length; i++) {
+            ordinals[i] = ordinal(resources.get(i));
+        }
+        return new GameAction(Type.TRADING_FRENZY, playerID, ordinals);
+    }
+
+    public static GameAction monopoly(int playerID, ResourceConfig resource) {
+        return new GameAction(Type.MONOPOLY, playerID, new int[] {ordinal(resource)});
+    }
+
+    public static GameAction trade(TradeBank trade) {
+        return new GameAction(Type.TRADE_BANK, trade.playerId(),
+                new int[] {ordinal(trade.giveResource()), ordinal(trade.recieveResource())});
+    }
+
+    public static GameAction trade(ConfigSnapshot config, TradePort trade) {
+        return new GameAction(Type.TRADE_PORT, trade.playerId(),
+                new int[] {config.getAllPorts().indexOf(trade.port()), ordinal(trade.resource())});
+    }
+
+    public static GameAction trade(ConfigSnapshot config, TradePlayer trade) {
+        int resources = config.getResourceCount();
+        int[] args = new int[1 + 2 * resources];
+        args[0] = trade.playerBId();
+        addCounts(trade.resourcesAGive(), args, 1);
+        addCounts(trade.resourcesBGive(), args, 1 + resources);
+        return new GameAction(Type.TRADE_PLAYER, trade.playerAId(), args);
+    }
+
+    public static GameAction grant(int playerID, PlayerInfrastructureConfig structure) {
+        return new GameAction(Type.GRANT, playerID, new int[] {structure.getHandle()});
+    }
+
+    public static GameAction endTurn(int playerID) {
+        return new GameAction(Type.END_TURN, playerID, NONE);
+    }
+
+    /**
+     * Applies the action to a game
+     * Failed actions are not always free: a build the player cannot pay for still charges what it can,
+     * as GameModel does, so replaying a game must apply its failed actions too.
+     * @param game game to apply it to
+     * @return whether the model accepted it
+     */
+    public boolean apply(GameModel game) {
+        ConfigSnapshot config = game.getConfig();
+        return switch (type) {
+            case ROLL -> {
+                game.rollDice();
+                yield true;
+            }
+            case BUILD_SETTLEMENT -> game.buildSettlement(args[0], playerID);
+            case BUILD_CITY -> game.buildCity(args[0], playerID);
+            case BUILD_ROAD -> {
+                boolean success = game.buildRoad(args[0], playerID);
+                if (success) game.updateLongestRoad();
+                yield success;
+            }
+            case BUY_DEV_CARD -> game.buyDevelopmentCard(playerID);
+            case PLAY_DEV_CARD -> game.playDevCard(playerID, args[0] < 0 ? null : config.getAllDevCards().get(args[0]));
+            case MOVE_ROBBER -> {
+                if (args[1] != 0) game.checkPlayerResources();
+                game.moveRobber(args[0]);
+                yield true;
+            }
+            case STEAL -> game.stealResource(args[0], playerID);
+            case RESTORE_TILE -> {
+                boolean success = game.tileRestore(args[0], playerID);
+                if (success) game.updateCleanestEnvironment();
+                yield success;
+            }
+            case HIGHWAY_MADNESS -> {
+                boolean success = game.applyHighwayMadness(playerID, args[0], args[1]);
+                if (success) game.updateLongestRoad();
+                yield success;
+            }
+            case TRADING_FRENZY -> {
+                List<ResourceConfig> resources = new ArrayList<>(args.length);
+                for (int ordinal : args) {
+                    resources.add(resource(config, ordinal));
+                }
+                yield game.applyTradingFrenzy(playerID, resources);
+            }
+            case MONOPOLY -> game.applyMonopoly(playerID, resource(config, args[0]));
+            case TRADE_BANK -> {
+                TradeBank trade = new TradeBank(playerID, resource(config, args[0]), resource(config, args[1]));
+                yield game.validTrade(trade) && game.executeTrade(trade);
+            }
+            case TRADE_PORT -> {
+                PortConfig port = args[0] < 0 ? null : config.getAllPorts().get(args[0]);
+                TradePort trade = new TradePort(port, playerID, resource(config, args[1]));
+                yield game.validTrade(trade) && game.executeTrade(trade);
+            }
+            case TRADE_PLAYER -> {
+                int resources = config.getResourceCount();
+                TradePlayer trade = new TradePlayer(playerID, args[0], counts(config, args, 1),
+                        counts(config, args, 1 + resources));
+                yield game.validTrade(trade) && game.executeTrade(trade);
+            }
+            case GRANT -> {
+                game.getPlayer(playerID).addStructureResources(config.getInfrastructure(args[0]));
+                yield true;
+            }
+            case END_TURN -> true;
+        };
+    }
+
+    // Helper function; ordinal of a resource, or -1 for none
+    private static int ordinal(ResourceConfig resource) {
+        return resource == null ? -1 : resource.getOrdinal();
+    }
+
+    private static ResourceConfig resource(ConfigSnapshot config, int ordinal) {
+        return ordinal < 0 ? null : config.getResource(ordinal);
+    }
+
+    // Helper function; writes a trade's resource counts into args by ordinal
+    private static void addCounts(Map<ResourceConfig, Integer> counts, int[] args, int offset) {
+        if (counts == null) return;
+        for (Map.Entry<ResourceConfig, Integer> entry : counts.entrySet()) {
+            if (entry.getKey() != null && entry.getValue() != null) {
+                args[offset + entry.getKey().getOrdinal()] += entry.getValue();
+            }
+        }
+    }
+
+    // Helper function; reads a trade's resource counts back into a map, leaving out resources not traded
+    private static HashMap<ResourceConfig, Integer> counts(ConfigSnapshot config, int[] args, int offset) {
+        HashMap<ResourceConfig, Integer> counts = new HashMap<>();
+        for (int r = 0; r < config.getResourceCount(); r++) {
+            if (args[offset + r] != 0) {
+                counts.put(config.getResource(r), args[offset + r]);
+            }
+        }
+        return counts;
+    }
+}
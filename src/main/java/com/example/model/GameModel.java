@@ -1,25 +1,28 @@
 package com.example.model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.SplittableRandom;
 
+import com.example.model.config.ConfigManager;
+import com.example.model.config.ConfigSnapshot;
 import com.example.model.config.DevCardConfig;
 import com.example.model.config.PlayerInfrastructureConfig;
 import com.example.model.config.PortConfig;
 import com.example.model.config.ResourceConfig;
-import com.example.model.config.registry.ResourceRegistry;
-import com.example.model.config.service.ConfigService;
 import com.example.model.trading.TradeBank;
 import com.example.model.trading.TradePlayer;
 import com.example.model.trading.TradePort;
 
 public class GameModel {
+    private final ConfigSnapshot config; // rules and configs of this game; immutable and shared
+    private final long seed;
+    private final GameRandom random; // every random choice of the game is drawn from this
     private final ArrayList<Player> players;
     private final Tiles tiles;
     private final Ports ports;
@@ -28,9 +31,23 @@ public class GameModel {
     private final Dice dice;
     private final BankCards bankCards;
     private final ClimateTracker climateTracker;
+    private final LegalMoveIndex legalMoves;
+    private final ProductionTable productionTable;
+    private final IncomeModel incomeModel; // expected income, cached on the production table
+    private final Journal journal; // undo log of every change since setup; see undoTo
+
+    // structure configs resolved once; their cost vectors are compiled at config load
+    private final PlayerInfrastructureConfig settlementStructure;
+    private final PlayerInfrastructureConfig cityStructure;
+    private final PlayerInfrastructureConfig roadStructure;
+    private final PlayerInfrastructureConfig devCardStructure;
 
     private boolean passBuildRule; // disables checking if roads or settlements are connected to others, to setup
                                    // the board
+    // opening placement progress; null outside initializeBoard, kept so a fork taken mid setup can finish it
+    private int[] setupOrder; // player placing at each step, e.g. 2,1,3,4,4,3,1,2; never modified once made
+    private int[] setupVertices; // settlement placed at each step so far
+    private int setupStep;
     
     private int longestRoadOwner;
     private int longestRoadLength;
@@ -39,14 +56,54 @@ public class GameModel {
     private static final int UNOWNED_ID = -1;
 
     public GameModel() {
+        this(ConfigManager.getSnapshot());
+    }
+
+    /**
+     * GameModel Constructor
+     * @param config configs the game is played by; shared read-only with any other games using it
+     */
+    public GameModel(ConfigSnapshot config) {
+        this(config, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * GameModel Constructor; the same configs and seed always give the same board, decks and rolls
+     * @param config configs the game is played by; shared read-only with any other games using it
+     * @param seed seed of the game's random source
+     */
+    public GameModel(ConfigSnapshot config, long seed) {
+        this(config, seed, null);
+    }
+
+    /**
+     * GameModel Constructor; plays on a pre-generated board, e.g. one drawn from a BoardPool
+     * @param config configs the game is played by; shared read-only with any other games using it
+     * @param seed seed of the game's random source
+     * @param board board to play on, or null to generate one from the seed
+     */
+    public GameModel(ConfigSnapshot config, long seed, BoardLayout board) {
+        this.config = config;
+        this.seed = seed;
+        this.random = new GameRandom(seed);
         this.players = new ArrayList<>();
-        this.tiles = new Tiles();
-        this.ports = new Ports();
+        this.tiles = board == null ? new Tiles(config, random) : new Tiles(config, random, board);
+        this.ports = board == null ? new Ports(config, random) : new Ports(config, board);
         this.roads = new Roads();
-        this.settlements = new Settlements();
-        this.dice = new Dice();
-        this.bankCards = new BankCards();
+        this.settlements = new Settlements(config);
+        this.dice = new Dice(random);
+        this.bankCards = new BankCards(config, random);
         this.climateTracker = new ClimateTracker();
+        this.legalMoves = new LegalMoveIndex();
+        this.productionTable = new ProductionTable();
+        this.incomeModel = new IncomeModel();
+        this.journal = new Journal();
+        attachJournal();
+
+        this.settlementStructure = config.getInfrastructure("player_infrastructure.settlement");
+        this.cityStructure = config.getInfrastructure("player_infrastructure.city");
+        this.roadStructure = config.getInfrastructure("player_infrastructure.road");
+        this.devCardStructure = config.getInfrastructure("player_infrastructure.dev_card");
 
         this.passBuildRule = false;
 
@@ -56,6 +113,286 @@ public class GameModel {
         this.cleanestEnvironmentAmount = 0;
     }
 
+    // Helper constructor; see fork()
+    private GameModel(GameModel other) {
+        this.config = other.config;
+        this.seed = other.seed;
+        this.random = other.random.split();
+        this.players = new ArrayList<>(other.players.size());
+        for (Player player : other.players) {
+            this.players.add(new Player(player));
+        }
+        this.tiles = new Tiles(other.tiles, random);
+        this.ports = other.ports; // fixed once the board is set up
+        this.roads = new Roads(other.roads);
+        this.settlements = new Settlements(other.settlements);
+        this.dice = new Dice(other.dice, random);
+        this.bankCards = new BankCards(other.bankCards);
+        this.climateTracker = new ClimateTracker(other.climateTracker);
+        this.legalMoves = new LegalMoveIndex(other.legalMoves);
+        this.productionTable = new ProductionTable(other.productionTable);
+        this.incomeModel = new IncomeModel(other.incomeModel);
+        this.journal = new Journal(); // the fork starts with nothing to undo
+        attachJournal();
+
+        this.settlementStructure = other.settlementStructure;
+        this.cityStructure = other.cityStructure;
+        this.roadStructure = other.roadStructure;
+        this.devCardStructure = other.devCardStructure;
+
+        this.passBuildRule = other.passBuildRule;
+        this.setupOrder = other.setupOrder;
+        this.setupVertices = other.setupVertices == null ? null : other.setupVertices.clone();
+        this.setupStep = other.setupStep;
+
+        this.longestRoadOwner = other.longestRoadOwner;
+        this.longestRoadLength = other.longestRoadLength;
+        this.cleanestEnvironmentOwner = other.cleanestEnvironmentOwner;
+        this.cleanestEnvironmentAmount = other.cleanestEnvironmentAmount;
+    }
+
+    // Helper function; connects every component to this game's journal
+    private void attachJournal() {
+        for (Player player : players) {
+            player.setJournal(journal);
+        }
+        tiles.setJournal(journal);
+        roads.setJournal(journal);
+        settlements.setJournal(journal);
+        dice.setJournal(journal);
+        bankCards.setJournal(journal);
+        climateTracker.setJournal(journal);
+        legalMoves.setJournal(journal);
+    }
+
+    /**
+     * Gets the current position in the journal, for use with undoTo
+     * Typical search use is mark, apply an action, evaluate, then undoTo the mark.
+     * @return the current journal position
+     */
+    public int getJournalMark() {
+        return journal.mark();
+    }
+
+    // forgets every recorded change, e.g. once a turn is confirmed and can no longer be taken back
+    public void clearJournal() {
+        journal.clear();
+    }
+
+    /**
+     * Reverts every change recorded since the mark, most recent first
+     * The random source is not rewound, so rolling again after an undo gives a new roll.
+     * @param mark journal position from getJournalMark
+     * @throws IllegalArgumentException if the mark is ahead of the journal (e.g. taken before a clear)
+     */
+    public void undoTo(int mark) {
+        if (mark < 0 || mark > journal.mark()) {
+            throw new IllegalArgumentException("Invalid journal mark: " + mark);
+        }
+        journal.setRecording(false);
+        try {
+            while (journal.mark() > mark) {
+                undoEntry(journal.pop());
+            }
+        } finally {
+            journal.setRecording(true);
+        }
+    }
+
+    // Helper function; reverts a single journal entry whose op code has been popped
+    private void undoEntry(int op) {
+        switch (op) {
+            case Journal.PLAYER_RESOURCE -> {
+                int change = journal.pop();
+                int ordinal = journal.pop();
+                getPlayer(journal.pop()).changeResourceCount(ordinal, -change);
+            }
+            case Journal.PLAYER_STRUCTURE_COST -> {
+                int sign = journal.pop();
+                PlayerInfrastructureConfig structure = config.getInfrastructure(journal.pop());
+                Player player = getPlayer(journal.pop());
+                if (sign > 0) {
+                    player.deductStructureResources(structure);
+                } else {
+                    player.addStructureResources(structure);
+                }
+            }
+            case Journal.PLAYER_PIECES -> {
+                int change = journal.pop();
+                String structureID = config.getInfrastructure(journal.pop()).id;
+                getPlayer(journal.pop()).changeStructuresRemainingByType(structureID, -change);
+            }
+            case Journal.PLAYER_VICTORY_POINTS -> {
+                int change = journal.pop();
+                getPlayer(journal.pop()).changeVictoryPoints(-change);
+            }
+            case Journal.PLAYER_HIDDEN_POINTS -> {
+                int change = journal.pop();
+                getPlayer(journal.pop()).changeHiddenVictoryPoints(-change);
+            }
+            case Journal.PLAYER_TILES_RESTORED -> getPlayer(journal.pop()).decreaseTilesRestored();
+            case Journal.PLAYER_CARD_ADDED -> getPlayer(journal.pop()).removeLastCard();
+            case Journal.PLAYER_CARD_REMOVED -> {
+                int index = journal.pop();
+                getPlayer(journal.pop()).insertCard(index, (String) journal.popRef());
+            }
+            case Journal.BANK_RESOURCE -> {
+                int change = journal.pop();
+                int ordinal = journal.pop();
+                if (change > 0) {
+                    bankCards.giveResourceCard(ordinal, change);
+                } else {
+                    bankCards.returnResourceCard(ordinal, -change);
+                }
+            }
+            case Journal.BANK_STRUCTURE_COST ->
+                    bankCards.undoStructureResources(config.getInfrastructure(journal.pop()));
+            case Journal.BANK_DEV_CARD_DRAWN -> bankCards.undrawDevelopmentCard();
+            case Journal.BANK_DISASTER_CARD_DRAWN -> bankCards.undrawDisasterCard();
+            case Journal.SETTLEMENT_BUILT -> {
+                int vertex = journal.pop();
+                int playerID = settlements.ownedByPlayer(vertex);
+                settlements.removeSettlement(vertex);
+                roads.getLongestRoad().onSettlementRemoved(vertex, playerID);
+                productionTable.onVertexChanged(vertex);
+            }
+            case Journal.CITY_BUILT -> {
+                int vertex = journal.pop();
+                settlements.downgradeCity(vertex);
+                productionTable.onVertexChanged(vertex);
+            }
+            case Journal.ROAD_BUILT -> roads.unbuildRoad(journal.pop());
+            case Journal.ROBBER_MOVED -> {
+                int previous = journal.pop();
+                productionTable.onTileChanged(tiles.getBlockedTileIndex());
+                tiles.restoreBlockedTile(previous);
+                productionTable.onTileChanged(previous);
+            }
+            case Journal.TILE_DESTROYED -> {
+                int tileIndex = journal.pop();
+                tiles.setDestroyed(tileIndex, false);
+                productionTable.onTileChanged(tileIndex);
+            }
+            case Journal.TILE_RESTORED -> {
+                int tileIndex = journal.pop();
+                tiles.setDestroyed(tileIndex, true);
+                productionTable.onTileChanged(tileIndex);
+            }
+            case Journal.CLIMATE -> {
+                boolean give = journal.pop() != 0;
+                int next = journal.pop();
+                climateTracker.restore(journal.pop(), next, give);
+            }
+            case Journal.DICE -> {
+                int die2 = journal.pop();
+                dice.restore(journal.pop(), die2);
+            }
+            case Journal.AWARDS -> {
+                cleanestEnvironmentAmount = journal.pop();
+                cleanestEnvironmentOwner = journal.pop();
+                longestRoadLength = journal.pop();
+                longestRoadOwner = journal.pop();
+            }
+            case Journal.LEGAL_MOVES -> legalMoves.restore(journal);
+            default -> throw new IllegalStateException("Unknown journal entry: " + op);
+        }
+    }
+
+    /**
+     * Sets the game to a saved state; used by GameSave
+     * The changes are made straight on the components with the journal off, then everything derived
+     * from the board (legal moves, longest road, production) is rebuilt and the journal is cleared.
+     * @param apply puts the saved state on the components
+     */
+    void restore(Runnable apply) {
+        journal.setRecording(false);
+        try {
+            apply.run();
+        } finally {
+            journal.setRecording(true);
+        }
+        legalMoves.rebuild(settlements, roads);
+        for (Settlement s : settlements.getAllOwnedSettlements()) {
+            roads.getLongestRoad().onSettlementBuilt(s.getVertex(), s.getPlayerID());
+        }
+        productionTable.setPlayers(getPlayerIds());
+        productionTable.invalidateAll();
+        journal.clear();
+    }
+
+    // components and award holders a save reads and restores; see GameSave
+    GameRandom getRandom() {
+        return random;
+    }
+
+    Tiles getTilesComponent() {
+        return tiles;
+    }
+
+    Roads getRoadsComponent() {
+        return roads;
+    }
+
+    Settlements getSettlementsComponent() {
+        return settlements;
+    }
+
+    BankCards getBankCards() {
+        return bankCards;
+    }
+
+    Dice getDice() {
+        return dice;
+    }
+
+    boolean isInSetup() {
+        return setupOrder != null || passBuildRule;
+    }
+
+    int getLongestRoadOwner() {
+        return longestRoadOwner;
+    }
+
+    int getLongestRoadLength() {
+        return longestRoadLength;
+    }
+
+    int getCleanestEnvironmentOwner() {
+        return cleanestEnvironmentOwner;
+    }
+
+    int getCleanestEnvironmentAmount() {
+        return cleanestEnvironmentAmount;
+    }
+
+    void restoreAwards(int longestRoadOwner, int longestRoadLength, int cleanestEnvironmentOwner,
+            int cleanestEnvironmentAmount) {
+        this.longestRoadOwner = longestRoadOwner;
+        this.longestRoadLength = longestRoadLength;
+        this.cleanestEnvironmentOwner = cleanestEnvironmentOwner;
+        this.cleanestEnvironmentAmount = cleanestEnvironmentAmount;
+    }
+
+    // Helper function; saves the longest road and cleanest environment holders before they change
+    private void recordAwards() {
+        if (journal.isRecording()) {
+            journal.push(longestRoadOwner);
+            journal.push(longestRoadLength, cleanestEnvironmentOwner, cleanestEnvironmentAmount, Journal.AWARDS);
+        }
+    }
+
+    /**
+     * Creates an independent copy of the game for lookahead search
+     * Board topology and configs are shared; tiles, roads and settlements are shared per element and
+     * copied the first time either game changes them, so a fork costs a few small array copies.
+     * Both games may be played on afterwards, but not from different threads at the same time.
+     * The fork draws from a random split off this game's, so forking advances this game's random.
+     * @return the forked game
+     */
+    public GameModel fork() {
+        return new GameModel(this);
+    }
+
     // //  test how settlement placements are be valued
     // private void _logTestValuation(int playerID, double k, int[] vertices) {
     // System.out.print("-- Player ");
@@ -71,9 +408,6 @@ public class GameModel {
     // Creates the tile bias for each tile type for the player
     private HashMap<String, Double> getTileBias(int playerID) {
 
-        // 0 1 2 3 4 5 6 7 8 9 10 11 12
-        int[] probs = { 0, 0, 1, 2, 3, 4, 5, 0, 5, 4, 3, 2, 1 };
-
         // create hashmap to count the number of cards the player can expect of the
         // tileID for the average die roll
         HashMap<String, Integer> ownedProbabilityPerTile = new HashMap<>();
@@ -86,17 +420,15 @@ public class GameModel {
 
         // goes through all owned settlements for the player, and adds to the
         // probability all surrounding tiles
-        for (Settlement s : settlements.getAllOwnedSettlements()) {
-            if (s.getPlayerID() == playerID) {
-                int vertex = s.getVertex();
-                for (Tile t : tiles.getTiles()) {
-                    for (int v : t.getAdjVertices()) {
-                        if (v == vertex) {
-                            ownedProbabilityPerTile.merge(t.getTileID(), probs[t.getNumber()], Integer::sum);
-                        }
-                    }
-                }
+        Tile[] allTiles = tiles.getTiles();
+        long owned = settlements.getPlayerMask(playerID);
+        while (owned != 0) {
+            int vertex = Long.numberOfTrailingZeros(owned);
+            for (int i = 0, n = AdjacencyMaps.vertexTileCount(vertex); i < n; i++) {
+                Tile t = allTiles[AdjacencyMaps.adjacentTile(vertex, i)];
+                ownedProbabilityPerTile.merge(t.getTileID(), IncomeModel.pips(t.getNumber()), Integer::sum);
             }
+            owned &= owned - 1;
         }
 
         HashMap<String, Double> tileBias = new HashMap<>();
@@ -120,20 +452,14 @@ public class GameModel {
         return tileBias;
     }
 
-    // higher the rating, the better vertex
-    private double rateVertex(int vertex, int playerID) {
+    // higher the rating, the better vertex; tileBias is the player's getTileBias, worked out once per sort
+    private double rateVertex(int vertex, HashMap<String, Double> tileBias) {
         double rating = 0.f;
-        // 0 1 2 3 4 5 6 7 8 9 10 11 12
-        int[] probs = { 0, 0, 1, 2, 3, 4, 5, 0, 5, 4, 3, 2, 1 };
-
-        HashMap<String, Double> tileBias = getTileBias(playerID);
 
-        for (Tile t : this.tiles.getTiles()) {
-            for (int n : t.getAdjVertices()) {
-                if (n == vertex) {
-                    rating += probs[t.getNumber()] * Math.max(tileBias.get(t.getTileID()), 0.d);
-                }
-            }
+        Tile[] allTiles = this.tiles.getTiles();
+        for (int i = 0, n = AdjacencyMaps.vertexTileCount(vertex); i < n; i++) {
+            Tile t = allTiles[AdjacencyMaps.adjacentTile(vertex, i)];
+            rating += IncomeModel.pips(t.getNumber()) * Math.max(tileBias.get(t.getTileID()), 0.d);
         }
 
         return rating;
@@ -144,9 +470,10 @@ public class GameModel {
         // rate each vertex based on its probablility of being rolled
         int NUM_OF_VERTICES = 54;
         double[] vertexRatings = new double[NUM_OF_VERTICES];
+        HashMap<String, Double> tileBias = getTileBias(playerID);
 
         for (int i = 0; i < NUM_OF_VERTICES; i++) {
-            vertexRatings[i] = rateVertex(i, playerID);
+            vertexRatings[i] = rateVertex(i, tileBias);
         }
 
         // enable building without connecting to existing settlements
@@ -201,7 +528,8 @@ public class GameModel {
         checkedVertices.add(vertex);
 
         int count = 0;
-        for (int neighbouringVertex : AdjacencyMaps.getAdjacentVertices(vertex)) {
+        for (int i = 0, n = AdjacencyMaps.vertexDegree(vertex); i < n; i++) {
+            int neighbouringVertex = AdjacencyMaps.neighbour(vertex, i);
             if (neighbouringVertex == prevVertex)
                 continue; // skip previously checked vertex
             count += countEmptyVertices(distance - 1, vertex, neighbouringVertex, checkedVertices);
@@ -245,8 +573,17 @@ public class GameModel {
         return sortedRoads;
     }
 
-    // Adds two settlements and two roads per player
+    // Adds two settlements and two roads per player, placing settlements by the rating heuristic
     public boolean initializeBoard() {
+        return initializeBoard(PlacementStrategy.HEURISTIC);
+    }
+
+    /**
+     * Adds two settlements and two roads per player
+     * @param strategy chooses each opening settlement; roads always go in the direction with the most room
+     * @return whether every placement was made
+     */
+    public boolean initializeBoard(PlacementStrategy strategy) {
 
         // make a random assortment of playerIDs for selecting settlements twice
         // e.g. 2,1,3,4,4,3,1,2
@@ -254,117 +591,172 @@ public class GameModel {
         for (int i = 0; i < this.players.size(); i++) {
             playerIds.add((Integer) this.players.get(i).getId());
         }
-        Collections.shuffle(playerIds);
+        Shuffle.shuffle(playerIds, random);
         for (int i = this.players.size() - 1; i > -1; i--) {
             playerIds.add(playerIds.get(i));
         }
 
-        ArrayList<Integer> builtVertices = new ArrayList<>(); // used for road building phase
-
-        // | Build Settlement Phase |
-        // for each player in the build order
-        // trys to build a settlement on the next best square and loops till it finds
-        // one that works
-
-        for (int id : playerIds) {
-            // _logTestValuation(id, 0.18, verticesSortedByRating(id));
+        setupOrder = new int[playerIds.size()];
+        for (int i = 0; i < setupOrder.length; i++) {
+            setupOrder[i] = playerIds.get(i);
+        }
+        setupVertices = new int[setupOrder.length];
+        setupStep = 0;
 
-            int[] vertices = verticesSortedByRating(id); // get the vertices, based on their value to the player
-            boolean settlementBuilt = false;
-            giveSettlementResources(id); // give settlement resources (to pass the check)
+        // enable building without connecting to existing settlements
+        passBuildRule = true;
+        return runSetup(strategy);
+    }
 
-            int vIndex = 0; // index of next vertex to try build upon
-            while (!settlementBuilt) {
-                if (vIndex == 54) {
-                    passBuildRule = false;
-                    return false; // exit without finishing
-                }
+    /**
+     * Finishes the setup of a game forked while a PlacementStrategy was choosing a settlement
+     * The vertex is settled for the player being asked; every later placement uses the rating heuristic.
+     * @param vertex vertex to settle; one of the candidates the strategy was given
+     * @return whether the rest of the setup succeeded
+     * @throws IllegalStateException if the game is not waiting on an opening settlement
+     * @throws IllegalArgumentException if the vertex cannot be settled
+     */
+    public boolean continueSetup(int vertex) {
+        if (setupOrder == null || setupStep >= setupOrder.length) {
+            throw new IllegalStateException("Not placing opening settlements");
+        }
+        if (!placeOpeningSettlement(vertex, setupOrder[setupStep])) {
+            throw new IllegalArgumentException("Cannot settle vertex " + vertex);
+        }
+        setupStep++;
+        return runSetup(PlacementStrategy.HEURISTIC);
+    }
 
-                int v = vertices[vIndex++]; // get the vertex (sorted with best first)
-                if (!settlementValid(v, id))
-                    continue; // if invalid skip to next
+    // Helper function; makes the opening placements from the current setup step on, then ends the setup
+    private boolean runSetup(PlacementStrategy strategy) {
 
-                settlementBuilt = buildSettlement(v, id); // build the settlement
-                bankCards.removeStructureResourcesFromBank("player_infrastructure.settlement"); // remove the settlement cost resources from the bank
-                if (settlementBuilt) {
-                    builtVertices.add(v); // store the vertex, for the road building phase
-                }
-            }
+        // | Build Settlement Phase |
+        // for each player in the build order, the strategy picks among the vertices that can be built on,
+        // best rated first
+        for (; setupStep < setupOrder.length; setupStep++) {
+            int id = setupOrder[setupStep];
+            giveSettlementResources(id); // give settlement resources (to pass the check)
 
-            // give starting resources based on second settlement placed
-            int numSettlements = getNumSettlementsOwnedByPlayer(id);
-            if (numSettlements == 2){
-                int resourceVertex = builtVertices.get(builtVertices.size() - 1);
-                Tile[] adjTiles = tiles.getAdjTiles(resourceVertex);
-                for (Tile t : adjTiles){
-                    if (t == null) continue;
-                    ResourceConfig resource = t.getResourceFromTileID();
-                    Player p = getPlayer(id);
-                    p.changeResourceCount(resource, 1);
-                    bankCards.giveResourceCard(resource, 1);
-                }
+            int[] candidates = settlementCandidates(id);
+            if (candidates.length == 0 || !placeOpeningSettlement(strategy.chooseSettlement(this, id, candidates), id)) {
+                return abortSetup(); // exit without finishing
             }
-
         }
 
         // | Build Road Phase |
         // for each player ID and built vertex, build a road in the optimal direction
 
-        for (int i = 0; i < playerIds.size(); i++) {
-            int playerID = playerIds.get(i);
-            int vertex = builtVertices.get(i);
+        for (int i = 0; i < setupOrder.length; i++) {
+            int playerID = setupOrder[i];
+            int vertex = setupVertices[i];
 
             giveRoadResources(playerID); // give resources to pass build check
 
             boolean roadBuilt = false;
             ArrayList<Road> potentialRoads = new ArrayList<>();
 
-            for (Road r : this.roads.getAllRoads()) {
+            for (int j = 0, n = AdjacencyMaps.vertexDegree(vertex); j < n; j++) {
+                Road r = this.roads.getRoad(AdjacencyMaps.incidentEdge(vertex, j));
                 if (r.getPlayerID() != Roads.UNOWNED_ROAD_ID)
                     continue; // skip if owned (shouldn't happen at this stage)
-                for (int v : r.getVertices()) {
-                    if (v == vertex) {
-                        potentialRoads.add(r);
-                    }
-                }
+                potentialRoads.add(r);
             }
 
             // sort roads by optimal placement
             potentialRoads = rateAndSortRoads(potentialRoads);
-            // Collections.shuffle(potentialRoads);
 
             // attempt to build road (should work on first road build attempt)
             for (Road r : potentialRoads) {
                 int[] roadVerts = r.getVertices();
-                roadBuilt = buildRoad(Roads.getRoadIndex(roadVerts[0], roadVerts[1]), playerID);
+                roadBuilt = buildRoad(AdjacencyMaps.edgeIndex(roadVerts[0], roadVerts[1]), playerID);
                 if (roadBuilt) {
-                    bankCards.removeStructureResourcesFromBank("player_infrastructure.road"); 
+                    bankCards.removeStructureResourcesFromBank(roadStructure); 
                     break;
                 }
             }
             if (!roadBuilt) {
-                passBuildRule = false;
-                return false; // exit without finishing
+                return abortSetup(); // exit without finishing
             }
         }
 
         // disable building without connecting to existing settlements
         passBuildRule = false;
+        setupOrder = null;
+        setupVertices = null;
 
         // Reset Climate Tracker
         climateTracker.resetClimateLevels();
 
         // Repare any destroyed tiles
         tiles.repareTiles();
+        productionTable.invalidateAll();
+
+        // the opening placements are not undoable
+        journal.clear();
 
 
         return true; // successful
     }
 
+    // Helper function; ends a setup that could not be finished
+    private boolean abortSetup() {
+        passBuildRule = false;
+        setupOrder = null;
+        setupVertices = null;
+        return false;
+    }
+
+    // Helper function; vertices the player may settle now, best rated first
+    private int[] settlementCandidates(int playerID) {
+        int[] vertices = verticesSortedByRating(playerID);
+        int count = 0;
+        for (int v : vertices) {
+            if (settlementValid(v, playerID)) {
+                vertices[count++] = v;
+            }
+        }
+        return Arrays.copyOf(vertices, count);
+    }
+
+    // Helper function; builds an opening settlement for the current setup step, the second one also collects
+    // its starting resources
+    private boolean placeOpeningSettlement(int vertex, int playerID) {
+        if (!settlementValid(vertex, playerID) || !buildSettlement(vertex, playerID)) {
+            return false;
+        }
+        bankCards.removeStructureResourcesFromBank(settlementStructure); // remove the settlement cost resources from the bank
+        setupVertices[setupStep] = vertex; // store the vertex, for the road building phase
+
+        // give starting resources based on second settlement placed
+        if (getNumSettlementsOwnedByPlayer(playerID) == 2) {
+            Tile[] adjTiles = tiles.getAdjTiles(vertex);
+            for (Tile t : adjTiles){
+                if (t == null) continue;
+                ResourceConfig resource = t.getResourceFromTileID();
+                Player p = getPlayer(playerID);
+                p.changeResourceCount(resource, 1);
+                bankCards.giveResourceCard(resource, 1);
+            }
+        }
+        return true;
+    }
+
     public void initializePlayers(ArrayList<String> playerNames) {
         for (String name : playerNames) {
-            players.add(new Player(name));
+            Player player = new Player(players.size(), name, config); // IDs are per game, so the ID is the list index
+            player.setJournal(journal);
+            players.add(player);
         }
+        productionTable.setPlayers(getPlayerIds());
+    }
+
+    public ConfigSnapshot getConfig() {
+        return config;
+    }
+
+    // seed the game was created with; replaying the same moves on a game with this seed repeats it exactly
+    public long getSeed() {
+        return seed;
     }
 
     public int getNumberOfTiles() {
@@ -380,6 +772,11 @@ public class GameModel {
         return vertixCount;
     }
 
+    // tiles, number tokens and ports of this game's board
+    public BoardLayout getBoard() {
+        return BoardLayout.of(tiles, ports);
+    }
+
     public Tile[] getTiles() {
         return tiles.getTiles();
     }
@@ -410,25 +807,65 @@ public class GameModel {
     }
 
     public boolean settlementValid(int vertex, int playerID) {
-        boolean settlementDistanceValid = !settlements.nearbySettlement(vertex); // Note: settlement distance rule is
-                                                                                 // valid when *NOT* a nearby settlement
-        boolean linkedByRoad = roads.isVertexConnectedByPlayer(vertex, playerID) || passBuildRule;
-        boolean unowned = getSettlmentOwner(vertex) == Settlements.UNOWNED_SETTLEMENT_ID;
-        return settlementDistanceValid && linkedByRoad && unowned;
+        if (!Settlements.isValidVertex(vertex)) {
+            return false;
+        }
+        // the legal move index already combines the distance rule, road link and ownership checks
+        return (getLegalSettlementMask(playerID) & Bitboards.vertexBit(vertex)) != 0;
+    }
+
+    /**
+     * Gets every vertex the player may build a settlement on
+     * @param playerID ID of the player
+     * @return mask with bit v set if settlementValid(v, playerID)
+     */
+    public long getLegalSettlementMask(int playerID) {
+        if (passBuildRule) {
+            return legalMoves.getOpenVertexMask(); // road link not needed during setup
+        }
+        return legalMoves.getSettlementMask(playerID);
+    }
+
+    /**
+     * Gets every vertex the player may upgrade to a city
+     * @param playerID ID of the player
+     * @return mask with bit v set if cityValid(v, playerID)
+     */
+    public long getLegalCityMask(int playerID) {
+        return legalMoves.getCityMask(playerID);
+    }
+
+    /**
+     * Gets the low word (edges 0 to 63) of every edge the player may build a road on
+     * @param playerID ID of the player
+     * @return low word of the mask of edges e where roadValid(e, playerID)
+     */
+    public long getLegalRoadMaskLo(int playerID) {
+        return passBuildRule ? legalMoves.getOpenEdgesLo() : legalMoves.getRoadMaskLo(playerID);
+    }
+
+    /**
+     * Gets the high word (edges 64 to 71) of every edge the player may build a road on
+     * @param playerID ID of the player
+     * @return high word of the mask of edges e where roadValid(e, playerID)
+     */
+    public long getLegalRoadMaskHi(int playerID) {
+        return passBuildRule ? legalMoves.getOpenEdgesHi() : legalMoves.getRoadMaskHi(playerID);
     }
 
     public boolean cityValid(int vertex, int playerID) {
-        boolean isOwner = getSettlmentOwner(vertex) == playerID;
-        boolean notAlreadyCity = !settlements.getAllSettlements()[vertex].isCity();
-        return isOwner && notAlreadyCity;
+        if (!Settlements.isValidVertex(vertex)) {
+            return false;
+        }
+        return (getLegalCityMask(playerID) & Bitboards.vertexBit(vertex)) != 0; // owned by the player and not already a city
     }
 
     public boolean roadValid(int edgeIndex, int playerID) {
+        if (!Roads.isValidRoadIndex(edgeIndex)) {
+            return false;
+        }
         // We do not need to check if connected to settlement, road is enough (as every settlement is also conected to a road)
-        boolean connectedToRoad = roads.isRoadConnectedByPlayer(edgeIndex, playerID) || passBuildRule;
-        boolean unowned = !roads.isRoadOwned(edgeIndex);
-
-        return connectedToRoad && unowned;
+        return Bitboards.hasEdge(getLegalRoadMaskLo(playerID), getLegalRoadMaskHi(playerID), edgeIndex);
     }
 
     /**
@@ -459,28 +896,22 @@ public class GameModel {
     }
 
     public Player getPlayer(int playerID) {
-        for (Player player : players) {
-            if (player.getId() == playerID) {
-                return player;
-            }
+        if (playerID < 0 || playerID >= players.size()) {
+            return null;
         }
-        return null;
+        return players.get(playerID); // player IDs are their index in players
     }
 
     public int nextPlayer(int currentPlayerId) {
-        for (int i = 0; i < players.size(); i++) {
-            if (players.get(i).getId() == currentPlayerId) {
-                int nextIndex = (i + 1) % players.size();
-                return players.get(nextIndex).getId();
-            }
+        if (currentPlayerId < 0 || currentPlayerId >= players.size()) {
+            return -1; // invalid ID as input
         }
-        return -1; // invalid ID as input
+        return (currentPlayerId + 1) % players.size();
     }
 
     public boolean checkIfGameOver() {
         for (Player p : this.players) {
-            System.err.println(p.getTotalVictoryPoints());
-            if (p.getTotalVictoryPoints() >= 10) {
+            if (p.getTotalVictoryPoints() >= config.getVictoryPointsToWin()) {
                 return true;
             }
         }
@@ -489,87 +920,77 @@ public class GameModel {
 
     public boolean buildSettlement(int vertex, int playerID) {
         Player player = getPlayer(playerID);
-        String structureID = "player_infrastructure.settlement";
+        String structureID = settlementStructure.id;
 
         boolean success_build = settlements.buildSettlement(vertex, playerID);
-        boolean success_resources = getPlayer(playerID).deductStructureResources(structureID);
+        if (success_build) {
+            legalMoves.onSettlementBuilt(vertex, playerID);
+            roads.getLongestRoad().onSettlementBuilt(vertex, playerID); // may break an opponent's road
+            productionTable.onVertexChanged(vertex);
+        }
+        boolean success_resources = player.deductStructureResources(settlementStructure);
         boolean success_pieces = player.changeStructuresRemainingByType(structureID, -1);
         
         if (success_resources && success_build) {
             increaseClimateAndDistributeDisasterCards();
             player.changeVictoryPoints(+1);// add victory point
-            bankCards.addStructureResourcesToBank(structureID); // give resources from settlement back to bank when built
+            bankCards.addStructureResourcesToBank(settlementStructure); // give resources from settlement back to bank when built
         }
         return success_resources && success_pieces && success_build;
     }
 
     public boolean playerHasSettlementResources(int playerID) {
         Player player = getPlayer(playerID);
-        String structureID = "player_infrastructure.settlement";
-        boolean validBuildSpace = false;
-        for (int i = 0; i < settlements.getAllSettlements().length; i++) {
-            if (settlementValid(i, playerID)) {
-                validBuildSpace = true;
-                break;
-            }
-        }
+        boolean validBuildSpace = getLegalSettlementMask(playerID) != 0;
 
-        return player.hasEnoughResourcesForStructure(structureID) && player.getStructuresRemaining(structureID) > 0 && validBuildSpace;
+        return player.hasEnoughResourcesForStructure(settlementStructure) && player.getStructuresRemaining(settlementStructure.id) > 0 && validBuildSpace;
     }
 
     public boolean buildCity(int vertex, int playerID) {
         Player player = getPlayer(playerID);
-        String structureID = "player_infrastructure.city";
 
         boolean success_upgrade = settlements.upgradeSettlement(vertex, playerID);
-        boolean success_resources = player.deductStructureResources(structureID);
+        if (success_upgrade) {
+            legalMoves.onCityBuilt(vertex, playerID);
+            productionTable.onVertexChanged(vertex);
+        }
+        boolean success_resources = player.deductStructureResources(cityStructure);
         // building a city removes a city and adds a settlement from pieces
-        boolean success_pieces = player.changeStructuresRemainingByType("player_infrastructure.city", -1)
-                && player.changeStructuresRemainingByType("player_infrastructure.settlement", +1);
+        boolean success_pieces = player.changeStructuresRemainingByType(cityStructure.id, -1)
+                && player.changeStructuresRemainingByType(settlementStructure.id, +1);
 
         // add victory point
         player.changeVictoryPoints(+1);
-        bankCards.addStructureResourcesToBank(structureID); // give resources from city back to bank when built
+        bankCards.addStructureResourcesToBank(cityStructure); // give resources from city back to bank when built
         return success_resources && success_pieces && success_upgrade;
     }
 
     public boolean playerHasCityResources(int playerID) {
         Player player = getPlayer(playerID);
-        String structureID = "player_infrastructure.city";
-        boolean validBuildSpace = false;
-        for (int i = 0; i < settlements.getAllSettlements().length; i++) {
-            if (cityValid(i, playerID)) {
-                validBuildSpace = true;
-                break;
-            }
-        }
-        
-        return player.hasEnoughResourcesForStructure(structureID) && player.getStructuresRemaining(structureID) > 0 && validBuildSpace;
+        boolean validBuildSpace = getLegalCityMask(playerID) != 0;
+
+        return player.hasEnoughResourcesForStructure(cityStructure) && player.getStructuresRemaining(cityStructure.id) > 0 && validBuildSpace;
     }
 
     public boolean buildRoad(int edgeIndex, int playerID) {
         Player player = getPlayer(playerID);
-        String structureID = roads.getAllRoads()[edgeIndex].getRoadType();
+        PlayerInfrastructureConfig structure = config.getInfrastructure(roads.getAllRoads()[edgeIndex].getRoadType());
         
         boolean success_build = roads.buildRoad(edgeIndex, playerID);
-        boolean success_resources = player.deductStructureResources(structureID);
-        boolean success_pieces = player.changeStructuresRemainingByType(structureID, -1);
-        bankCards.addStructureResourcesToBank(structureID);
+        if (success_build) {
+            legalMoves.onRoadBuilt(edgeIndex, playerID);
+        }
+        boolean success_resources = player.deductStructureResources(structure);
+        boolean success_pieces = player.changeStructuresRemainingByType(structure.id, -1);
+        bankCards.addStructureResourcesToBank(structure);
         return success_resources && success_pieces && success_build;
     }
 
     public boolean playerHasRoadResources(int playerID) {
         Player player = getPlayer(playerID);
-        String structureID = "player_infrastructure.road";
-        boolean validBuildSpace = false;
-        for (int i = 0; i < roads.getAllRoads().length; i++) {
-            if (roadValid(i, playerID)) {
-                validBuildSpace = true;
-                break;
-            }
-        }
+        boolean validBuildSpace = (getLegalRoadMaskLo(playerID) | getLegalRoadMaskHi(playerID)) != 0;
 
-        return player.hasEnoughResourcesForStructure(structureID) && player.getStructuresRemaining(structureID) > 0 && validBuildSpace;
+        return player.hasEnoughResourcesForStructure(roadStructure) && player.getStructuresRemaining(roadStructure.id) > 0 && validBuildSpace;
     }
 
 
@@ -583,7 +1004,7 @@ public class GameModel {
             if (vertex == vertexIndex) {
                 int ownerId = settlements.getAllSettlements()[vertex].getPlayerID();
                 Player victim = getPlayer(ownerId);
-                ResourceConfig stolenResource = victim.stealRandomResource();
+                ResourceConfig stolenResource = victim.stealRandomResource(random);
                 if (stolenResource != null) {
                     getPlayer(playerID).changeResourceCount(stolenResource, 1);
                     return true; // successfully stole a resource
@@ -644,7 +1065,7 @@ public class GameModel {
         // trade valid if player and bank have required resources (ports are just a front for the bank)
         Player player = getPlayer(trade.playerId());
 
-        int playerResourceCount = player.getResourceCount(ResourceRegistry.getInstance().get(trade.port().resourceID)); // gets
+        int playerResourceCount = player.getResourceCount(config.getResource(trade.port().resourceID)); // gets
                                                                                                                         // the
                                                                                                                         // resource
                                                                                                                         // being
@@ -669,9 +1090,6 @@ public class GameModel {
             return false;
         }
 
-        System.out.println(getPlayer(trade.playerAId()));
-        System.out.println(getPlayer(trade.playerBId()));
-
         Player playerA = getPlayer(trade.playerAId());
         Player playerB = getPlayer(trade.playerBId());
         HashMap<ResourceConfig, Integer> playerAResources = trade.resourcesAGive();
@@ -690,10 +1108,6 @@ public class GameModel {
             playerB.changeResourceCount(resource, -amount);
             playerA.changeResourceCount(resource, +amount);
         }
-        
-        System.out.println("Trade executed successfully");
-        System.out.println(getPlayer(trade.playerAId()));
-        System.out.println(getPlayer(trade.playerBId()));
 
 
         return true;
@@ -721,72 +1135,101 @@ public class GameModel {
         Player player = getPlayer(trade.playerId());
 
         bankCards.giveResourceCard(trade.resource(), trade.port().receiveQuantity);
-        player.changeResourceCount(ResourceRegistry.getInstance().get(trade.port().resourceID),
+        player.changeResourceCount(config.getResource(trade.port().resourceID),
                 -trade.port().giveQuantity);
 
-        bankCards.returnResourceCard(ResourceRegistry.getInstance().get(trade.port().resourceID),
+        bankCards.returnResourceCard(config.getResource(trade.port().resourceID),
                 trade.port().giveQuantity);
         player.changeResourceCount(trade.resource(), +trade.port().receiveQuantity);
 
         return true;
     }
 
-    // method to give players resources based on the dice roll
-    public void giveResourcesToPlayers(int diceroll) {
-        for (Tile tile : tiles.GetTilesFromDiceroll(diceroll)) {
-            // get resource of rolled tile
-            ResourceConfig resource = tile.getResourceFromTileID();
+    /**
+     * Gets the resources a player can expect from the next roll of the dice
+     * Counts cities, the robber (cities on its tile still produce, double), destroyed tiles and what the
+     * bank has left, exactly as giveResourcesToPlayers would pay out. Cached until a piece, the robber,
+     * a tile or the bank changes.
+     * @param playerID the player
+     * @return expected resources of each type per roll, indexed by resource ordinal
+     */
+    public double[] getExpectedIncome(int playerID) {
+        refreshIncome(playerID);
+        double[] expected = new double[config.getResourceCount()];
+        for (int r = 0; r < expected.length; r++) {
+            expected[r] = incomeModel.getExpected(playerID, r);
+        }
+        return expected;
+    }
 
-            // get all vertices on that tile
-            for (int vertex : tile.getAdjVertices()) {
+    // expected resources of the type the player gets from the next roll
+    public double getExpectedIncome(int playerID, ResourceConfig resource) {
+        refreshIncome(playerID);
+        return incomeModel.getExpected(playerID, resource.getOrdinal());
+    }
 
-                // check if there's a settlement on that vertex
-                Settlement currentSettlement = settlements.GetSettlementFromVertex(vertex);
-                if (currentSettlement == null) {
-                    continue; // no settlement found, skip the rest of this method
-                }
+    // expected resources of all types the player gets from the next roll
+    public double getExpectedIncomeTotal(int playerID) {
+        refreshIncome(playerID);
+        int total = 0;
+        for (int r = 0; r < config.getResourceCount(); r++) {
+            total += incomeModel.getIncome(playerID, r);
+        }
+        return (double) total / IncomeModel.DICE_OUTCOMES;
+    }
 
-                // find the player who owns the settlement
-                Player player = getPlayer(currentSettlement.getPlayerID());
-                if (player == null) {
-                    throw new IllegalStateException("Player not found for settlement");
-                }
-                int production = 1;
+    // Helper function; brings the income model up to date; player IDs are their index in the tables
+    private void refreshIncome(int playerID) {
+        if (getPlayer(playerID) == null) {
+            throw new IllegalArgumentException("Unknown player " + playerID);
+        }
+        productionTable.refresh(tiles, settlements);
+        incomeModel.refresh(productionTable, bankCards, players.size(), config.getResourceCount());
+    }
 
-                if(tile.getIsBlocked() && !currentSettlement.isCity()) {
-                    continue; // tile is blocked by the robber, skip resource distribution
-                }
-                if (currentSettlement.isCity()) {
-                    production++;
-                }
-                if(tile.getIsBlocked() && currentSettlement.isCity()) {
-                    production+=2; // double production for cities on blocked tiles
-                }
-                // for loop accounts for cities giving two resources, whilst still ensuring
-                // that when only one resource is left, a city will still produce one
-                for (int i = 0; i < production; i++) {
-                    // check if there is a free resource left in the bank
-                    if (bankCards.giveResourceCard(resource, 1)) {
-                        player.changeResourceCount(resource, 1);
-                        // Only settlements (not cities) cause climate to increase / disaster cards to
-                        // be considered.
-                        if (!currentSettlement.isCity()) {
-                            increaseClimateAndDistributeDisasterCards();
-                        }
-                    }
-                    // bank empty, stop giving out resources
-                    else {
-                        break;
+    // method to give players resources based on the dice roll
+    public void giveResourcesToPlayers(int diceroll) {
+        productionTable.refresh(tiles, settlements); // only tiles changed since the last roll are rebuilt
+        int[] entries = productionTable.getEntries(diceroll);
+        int entryCount = productionTable.getEntryCount(diceroll);
+
+        // each entry is one settlement or city on a rolled tile; blocked settlements are never listed
+        for (int e = 0; e < entryCount; e++) {
+            int entry = entries[e];
+            Player player = players.get(ProductionTable.playerIndex(entry));
+            int resource = ProductionTable.resourceOrdinal(entry);
+            boolean isCity = ProductionTable.isCity(entry);
+
+            // for loop accounts for cities giving two resources, whilst still ensuring
+            // that when only one resource is left, a city will still produce one
+            for (int i = 0, production = ProductionTable.amount(entry); i < production; i++) {
+                // check if there is a free resource left in the bank
+                if (bankCards.giveResourceCard(resource, 1)) {
+                    player.changeResourceCount(resource, 1);
+                    // Only settlements (not cities) cause climate to increase / disaster cards to
+                    // be considered.
+                    if (!isCity) {
+                        increaseClimateAndDistributeDisasterCards();
                     }
                 }
-
+                // bank empty, stop giving out resources
+                else {
+                    break;
+                }
             }
         }
     }
 
+    // tile the robber is on, or -1 if it is on none
+    public int getBlockedTileIndex() {
+        return tiles.getBlockedTileIndex();
+    }
+
     // method to trigger the robber
     public void moveRobber(int tileIndex) {
+        productionTable.onTileChanged(tiles.getBlockedTileIndex());
         tiles.changeBlockedTile(tileIndex);
+        productionTable.onTileChanged(tileIndex);
 
         // checkPlayerResources is triggered from the robber button click
         // knight cards trigger the moveRobber method and NOT checkPlayerRobbers
@@ -798,7 +1241,7 @@ public class GameModel {
             int cardCount = 0;// get total resource count
             ArrayList<ResourceConfig> playerResources = new ArrayList<>();
             
-            for (ResourceConfig resource : ConfigService.getAllResources()){
+            for (ResourceConfig resource : config.getAllResources()){
                 int count = player.getResourceCount(resource);
                 cardCount += count;
                 for (int i = 0; i < count; i++){
@@ -814,10 +1257,10 @@ public class GameModel {
             int cardsToDiscard = cardCount / 2; // integer div, floors automatically
 
             // randomly discard the amount of cards
-            Random random = new Random();
             for (int i = 0; i < cardsToDiscard; i++){
                 int randomNum = random.nextInt(playerResources.size());
                 player.changeResourceCount(playerResources.get(randomNum), -1);
+                bankCards.returnResourceCard(playerResources.get(randomNum), 1); // discarded cards go back to the bank
                 playerResources.remove(randomNum);
             }
         }
@@ -828,28 +1271,31 @@ public class GameModel {
     }
 
     public boolean playerHasLongestRoad(int playerId) {
-        int[] playerIds = new int[players.size()]; // create playerId array
+        LongestRoad.Standing standing = roads.getLongestRoadStanding(getPlayerIds());
+        return standing.exists() && standing.getOwner() == playerId;
+    }
+
+    // Helper function; IDs of every player in turn order
+    private int[] getPlayerIds() {
+        int[] playerIds = new int[players.size()];
         int i=0;
         for (Player p: players) {
             playerIds[i++] = p.getId();
         }
-        return roads.longestRoadExists(playerIds) && roads.longestRoadOwner(playerIds) == playerId;
+        return playerIds;
     }
 
     // returns whether longest road changes
     public boolean updateLongestRoad() {
-        int[] playerIds = new int[players.size()]; // create playerId array
-        int i=0;
-        for (Player p: players) {
-            playerIds[i++] = p.getId();
-        }
-        if (!roads.longestRoadExists(playerIds)) return false; // if there is no longest road exit now
+        LongestRoad.Standing standing = roads.getLongestRoadStanding(getPlayerIds()); // owner and length from one evaluation
+        if (!standing.exists()) return false; // if there is no longest road exit now
 
-        int currentLongestRoadOwner = roads.longestRoadOwner(playerIds);
-        int roadLength = roads.getLongestRoadLength(playerIds);
+        int currentLongestRoadOwner = standing.getOwner();
+        int roadLength = standing.getLength();
         if (longestRoadOwner == currentLongestRoadOwner) return false; // no need to update
         if (roadLength <= this.longestRoadLength) return false; // if the length is the same as last time, no new longest road
         
+        recordAwards();
         // change victory points
         if (longestRoadOwner != GameModel.UNOWNED_ID) {
             getPlayer(this.longestRoadOwner).changeVictoryPoints(-2); // the old longest road owner loses VPs
@@ -885,18 +1331,18 @@ public class GameModel {
 
         // derive the infrastructure id for this tile
         String structureId = tile.getTileID().replace("tile.", "player_infrastructure.") + "_tile";
-        PlayerInfrastructureConfig cfg = ConfigService.getInfrastructure(structureId);
+        PlayerInfrastructureConfig cfg = config.getInfrastructure(structureId);
         if (cfg == null || cfg.constructionCosts.isEmpty()) {
             return false; // no configured cost for this tile
         }
 
         // check player has the required resources
-        if (!player.hasEnoughResourcesForStructure(structureId)) {
+        if (!player.hasEnoughResourcesForStructure(cfg)) {
             return false;
         }
 
         // deduct configured resources
-        boolean deducted = player.deductStructureResources(structureId);
+        boolean deducted = player.deductStructureResources(cfg);
         if (!deducted) {
             return false;
         }
@@ -904,17 +1350,13 @@ public class GameModel {
         // attempt restore; if it fails, refund the deducted resources
         boolean restored = tiles.restoreTile(tileIndex);
         if (!restored) {
-            // refund: add back each configured resource and also return them to the bank
-            for (String resourceID : cfg.constructionCosts.keySet()) {
-                ResourceConfig r = ConfigService.getResource(resourceID);
-                int amount = cfg.constructionCosts.get(resourceID);
-                player.changeResourceCount(r, amount);
-            }
+            player.addStructureResources(cfg); // refund the deducted resources
             return false;
         }
+        productionTable.onTileChanged(tileIndex);
 
         // on success, return the deducted resources to the bank
-        bankCards.addStructureResourcesToBank(structureId);
+        bankCards.addStructureResourcesToBank(cfg);
 
         player.increaseTilesRestored();
 
@@ -956,6 +1398,7 @@ public class GameModel {
         if (bestPlayerId == this.cleanestEnvironmentOwner) return false; // cleanest environment has not changed
         if (bestTiles <= cleanestEnvironmentAmount) return false; // cleanest environment needs to be greater than before to change owners
 
+        recordAwards();
         // update victory points
         if (this.cleanestEnvironmentOwner != GameModel.UNOWNED_ID) {
             getPlayer(this.cleanestEnvironmentOwner).changeVictoryPoints(-2); // remove old owner's VPs
@@ -985,7 +1428,7 @@ public class GameModel {
                 if (!disasterCard.isEmpty()) {
                     // give disaster card
                     // destroy tile
-                    tiles.destroyTile(disasterCard);
+                    productionTable.onTileChanged(tiles.destroyTile(disasterCard));
                 }
             }
         }
@@ -993,38 +1436,27 @@ public class GameModel {
 
     public boolean playerHasDevCardResources(int playerID) {
         Player player = getPlayer(playerID);
-        String structureID = "player_infrastructure.dev_card";
 
-        return player.hasEnoughResourcesForStructure(structureID) && player.getStructuresRemaining(structureID) > 0 && bankCards.hasDevelopmentCards();
+        return player.hasEnoughResourcesForStructure(devCardStructure) && player.getStructuresRemaining(devCardStructure.id) > 0 && bankCards.hasDevelopmentCards();
     }
 
     public boolean buyDevelopmentCard(int playerId) {
         Player player = getPlayer(playerId);
-        String structureID = "player_infrastructure.dev_card";
         if (player == null)
             return false;
 
-        // check & deduct cost
-        if (!player.hasEnoughResourcesForStructure(structureID)) {
-            return false;
-        }
-        boolean deducted = player.deductStructureResources(structureID);
+        // check & deduct cost in one pass; nothing is deducted if the player cannot afford it
+        boolean deducted = player.deductStructureResources(devCardStructure);
         if (!deducted)
             return false;
 
         // attempt to draw from bank
         String devCardId = bankCards.giveDevelopmentCard();
         if (devCardId == null || devCardId.isEmpty()) {
-            // refund resources
-            PlayerInfrastructureConfig cfg = ConfigService.getInfrastructure(structureID);
-            for (String resourceID : cfg.constructionCosts.keySet()) {
-                ResourceConfig r = ConfigService.getResource(resourceID);
-                int amount = cfg.constructionCosts.get(resourceID);
-                player.changeResourceCount(r, amount);
-            }
+            player.addStructureResources(devCardStructure); // refund resources
             return false;
         }
-        bankCards.addStructureResourcesToBank(structureID); // return the dev card cost resources to the bank
+        bankCards.addStructureResourcesToBank(devCardStructure); // return the dev card cost resources to the bank
         // deliver the card (handles victory-point semantics)
         handleReceivedDevelopmentCard(playerId, devCardId);
         return true;
@@ -1035,7 +1467,7 @@ public class GameModel {
         if (player == null)
             return;
 
-        DevCardConfig cfg = ConfigService.getDevCard(devCardId);
+        DevCardConfig cfg = config.getDevCard(devCardId);
         if (cfg == null) {
             // unknown card: treat as no-op
             return;
@@ -1100,7 +1532,13 @@ public class GameModel {
     // build two free roads
     public boolean applyHighwayMadness(int playerId, int edgeIndexA, int edgeIndexB) {
         boolean successA = roads.buildRoad(edgeIndexA, playerId);
+        if (successA) {
+            legalMoves.onRoadBuilt(edgeIndexA, playerId);
+        }
         boolean successB = roads.buildRoad(edgeIndexB, playerId);
+        if (successB) {
+            legalMoves.onRoadBuilt(edgeIndexB, playerId);
+        }
         increaseClimateAndDistributeDisasterCards();
         return successA && successB;
     }
@@ -1160,7 +1598,7 @@ public class GameModel {
     }
 
     public Map<ResourceConfig, Integer> getBankResources() {
-        Collection<ResourceConfig> allResources = ConfigService.getAllResources();
+        Collection<ResourceConfig> allResources = config.getAllResources();
         Map<ResourceConfig, Integer> bankResources = new HashMap<>();
         for (ResourceConfig resource : allResources) {
             bankResources.put(resource, bankCards.getResourceCount(resource));
@@ -1206,45 +1644,27 @@ public class GameModel {
         }
 
         String structureId = tile.getTileID().replace("tile.", "player_infrastructure.") + "_tile";
-        PlayerInfrastructureConfig cfg = ConfigService.getInfrastructure(structureId);
+        PlayerInfrastructureConfig cfg = config.getInfrastructure(structureId);
         if (cfg == null || cfg.constructionCosts.isEmpty()) {
             return false; // no configured cost for this tile
         }
 
-        return player.hasEnoughResourcesForStructure(structureId);
+        return player.hasEnoughResourcesForStructure(cfg);
     }
 
     // TESTING METHODS
     public void giveSettlementResources(int playerID) {
-        Player player = getPlayer(playerID);
-        PlayerInfrastructureConfig config = ConfigService.getInfrastructure("player_infrastructure.settlement");
-        for (String resourceID : config.constructionCosts.keySet()) {
-            ResourceConfig resourceConfig = ConfigService.getResource(resourceID);
-            int amount = config.constructionCosts.get(resourceID);
-            player.changeResourceCount(resourceConfig, amount);
-        }
+        getPlayer(playerID).addStructureResources(settlementStructure);
     }
 
     // TESTING METHOD
     public void giveCityResources(int playerID) {
-        Player player = getPlayer(playerID);
-        PlayerInfrastructureConfig config = ConfigService.getInfrastructure("player_infrastructure.city");
-        for (String resourceID : config.constructionCosts.keySet()) {
-            ResourceConfig resourceConfig = ConfigService.getResource(resourceID);
-            int amount = config.constructionCosts.get(resourceID);
-            player.changeResourceCount(resourceConfig, amount);
-        }
+        getPlayer(playerID).addStructureResources(cityStructure);
     }
 
     // TESTING METHOD
     public void giveRoadResources(int playerID) {
-        Player player = getPlayer(playerID);
-        PlayerInfrastructureConfig config = ConfigService.getInfrastructure("player_infrastructure.road");
-        for (String resourceID : config.constructionCosts.keySet()) {
-            ResourceConfig resourceConfig = ConfigService.getResource(resourceID);
-            int amount = config.constructionCosts.get(resourceID);
-            player.changeResourceCount(resourceConfig, amount);
-        }
+        getPlayer(playerID).addStructureResources(roadStructure);
     }
 
 }
@@ -0,0 +1,85 @@
+package com.example.model;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * GameRandom Class; the game's random source, drawing exactly what java.util.SplittableRandom would
+ * SplittableRandom keeps its state private, so a game using it can be replayed from its seed but not
+ * saved mid way. This is the same algorithm (SplitMix64, with the same mixing and splitting) with the
+ * state readable and settable, so saves and action logs can put a game's random back exactly.
+ * Every seed gives the same values as SplittableRandom, so seeded games play out as they always have.
+ */
+final class GameRandom implements RandomGenerator {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+    private long gamma; // always odd
+
+    GameRandom(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    private GameRandom(long state, long gamma) {
+        this.state = state;
+        this.gamma = gamma;
+    }
+
+    // Helper function; advances the state by one step
+    private long nextState() {
+        return state += gamma;
+    }
+
+    @Override
+    public long nextLong() {
+        long z = nextState();
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public int nextInt() {
+        long z = nextState();
+        z = (z ^ (z >>> 33)) * 0x62A9D9ED799705F5L;
+        return (int) (((z ^ (z >>> 28)) * 0xCB24D0A5C88C35B3L) >>> 32);
+    }
+
+    /**
+     * Splits off an independent generator, as SplittableRandom.split does; advances this one
+     * @return the new generator
+     */
+    GameRandom split() {
+        return new GameRandom(nextLong(), mixGamma(nextState()));
+    }
+
+    // Helper function; turns a state into a gamma with enough bit transitions, as SplittableRandom does
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int transitions = Long.bitCount(z ^ (z >>> 1));
+        return transitions < 24 ? z ^ 0xAAAAAAAAAAAAAAAAL : z;
+    }
+
+    long getState() {
+        return state;
+    }
+
+    long getGamma() {
+        return gamma;
+    }
+
+    // puts the generator back to a state read with getState, keeping its gamma
+    void setState(long state) {
+        this.state = state;
+    }
+
+    void setState(long state, long gamma) {
+        if ((gamma & 1L) == 0) {
+            throw new IllegalArgumentException("Random gamma must be odd");
+        }
+        this.state = state;
+        this.gamma = gamma;
+    }
+}
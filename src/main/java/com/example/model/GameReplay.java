@@ -0,0 +1,295 @@
+package com.example.model;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import com.example.model.config.ConfigSnapshot;
+
+/**
+ * GameReplay Class; a recorded game that can be rewound to any turn
+ * Records every action of a game as an ActionRecord, plus a full GameSave snapshot at the start of
+ * every snapshotInterval-th turn. Seeking loads the nearest snapshot at or before the target and replays
+ * the actions after it, so reaching any turn of a long game costs one load and at most snapshotInterval
+ * turns of actions, instead of replaying from the start.
+ * Seeking builds a new GameModel each time; the recorded game is never touched. Works without the UI,
+ * for analysing games, as well as behind the game screen's replay controls.
+ * File layout, little endian: magic, version, snapshot interval, first player, snapshots (length, save),
+ * actions (length, ActionRecord), CRC32 of everything before it.
+ */
+public final class GameReplay {
+
+    public static final int MAGIC = 0x4C505243; // "CRPL" read little endian
+    public static final int VERSION = 1;
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 10;
+
+
+    private final ConfigSnapshot config;
+    private final int snapshotInterval;
+    private final ArrayList<byte[]> snapshots = new ArrayList<>(); // game at the start of turn i * snapshotInterval
+    private final ArrayList<ActionRecord> actions = new ArrayList<>();
+    private int[] turnStarts = new int[64];  // index of the first action of each turn
+    private int[] turnPlayers = new int[64]; // whose turn each turn was
+    private int turns;
+
+    /**
+     * Starts recording a game from its current state, at the start of a turn
+     * @param game game to record; must be past setup
+     * @param firstPlayer ID of the player whose turn it is
+     * @param snapshotInterval turns between snapshots; smaller seeks faster and takes more memory
+     */
+    public GameReplay(GameModel game, int firstPlayer, int snapshotInterval) {
+        this(game.getConfig(), snapshotInterval);
+        if (snapshotInterval < 1) {
+            throw new IllegalArgumentException("Snapshot interval must be at least 1");
+        }
+        startTurn(firstPlayer);
+        snapshots.add(GameSave.toBytes(game));
+    }
+
+    private GameReplay(ConfigSnapshot config, int snapshotInterval) {
+        this.config = config;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    /**
+     * Applies an action to the recorded game and records it
+     * @param game the recorded game
+     * @param action action to apply
+     * @return whether the model accepted the action
+     */
+    public boolean apply(GameModel game, GameAction action) {
+        ActionRecord record = ActionRecord.apply(game, action);
+        record(game, record);
+        return record.success();
+    }
+
+    /**
+     * Records an action already applied to the recorded game; ending a turn starts the next one
+     * @param game the recorded game, as it is after the action
+     * @param record the action and how it went, from ActionRecord.apply
+     */
+    public void record(GameModel game, ActionRecord record) {
+        actions.add(record);
+        if (record.action().type() == GameAction.Type.END_TURN) {
+            startTurn(game.nextPlayer(turnPlayers[turns - 1]));
+            if ((turns - 1) % snapshotInterval == 0) {
+                snapshots.add(GameSave.toBytes(game));
+            }
+        }
+    }
+
+    // Helper function; notes where a turn starts and whose it is
+    private void startTurn(int playerID) {
+        if (turns == turnStarts.length) {
+            turnStarts = Arrays.copyOf(turnStarts, turns * 2);
+            turnPlayers = Arrays.copyOf(turnPlayers, turns * 2);
+        }
+        turnStarts[turns] = actions.size();
+        turnPlayers[turns] = playerID;
+        turns++;
+    }
+
+    /**
+     * @return turns recorded, counting the one in progress
+     */
+    public int getTurnCount() {
+        return turns;
+    }
+
+    public int getActionCount() {
+        return actions.size();
+    }
+
+    public int getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    /**
+     * @param turn turn number, from 0
+     * @return ID of the player whose turn it was
+     */
+    public int getPlayerAt(int turn) {
+        checkTurn(turn);
+        return turnPlayers[turn];
+    }
+
+    public ActionRecord getAction(int index) {
+        return actions.get(index);
+    }
+
+    /**
+     * @param turn turn number, from 0
+     * @return index of the turn's first action
+     */
+    public int getTurnStart(int turn) {
+        checkTurn(turn);
+        return turnStarts[turn];
+    }
+
+    /**
+     * Rebuilds the game as it was at the start of a turn
+     * @param turn turn number, from 0
+     * @return a new game in that state
+     */
+    public GameModel seek(int turn) {
+        checkTurn(turn);
+        return seekAction(turnStarts[turn]);
+    }
+
+    /**
+     * Rebuilds the game as it was just before an action
+     * @param action index of the action; getActionCount gives the game after the last action
+     * @return a new game in that state
+     */
+    public GameModel seekAction(int action) {
+        if (action < 0 || action > actions.size()) {
+            throw new IllegalArgumentException("No action " + action + " in a replay of " + actions.size());
+        }
+        // the last turn starting at or before the action; every turn has at least its END_TURN, so starts differ
+        int turn = Arrays.binarySearch(turnStarts, 0, turns, action);
+        if (turn < 0) {
+            turn = -turn - 2;
+        }
+        int snapshot = turn / snapshotInterval;
+
+        GameModel game;
+        try {
+            game = GameSave.read(config, ByteBuffer.wrap(snapshots.get(snapshot)));
+        } catch (IOException e) {
+            throw new IllegalStateException("Damaged replay snapshot " + snapshot, e);
+        }
+        for (int i = turnStarts[snapshot * snapshotInterval]; i < action; i++) {
+            if (!actions.get(i).replay(game)) {
+                throw new IllegalStateException("Replay went differently at action " + i);
+            }
+        }
+        return game;
+    }
+
+    private void checkTurn(int turn) {
+        if (turn < 0 || turn >= turns) {
+            throw new IllegalArgumentException("No turn " + turn + " in a replay of " + turns);
+        }
+    }
+
+    /**
+     * Saves the replay to a file, replacing it if it exists
+     * @param file file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void save(Path file) throws IOException {
+        int size = 4 + 2 + 2 + 1 + 4 + 4 + 4;
+        for (byte[] snapshot : snapshots) {
+            size += 4 + snapshot.length;
+        }
+        for (ActionRecord record : actions) {
+            size += 2 + record.size();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC);
+        buffer.putShort((short) VERSION);
+        buffer.putShort((short) snapshotInterval);
+        buffer.put((byte) turnPlayers[0]);
+        buffer.putInt(snapshots.size());
+        for (byte[] snapshot : snapshots) {
+            buffer.putInt(snapshot.length);
+            buffer.put(snapshot);
+        }
+        buffer.putInt(actions.size());
+        for (ActionRecord record : actions) {
+            buffer.putShort((short) record.size());
+            record.write(buffer);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Loads a replay saved with save
+     * @param config configs the game was played with
+     * @param file file to read
+     * @return the replay
+     * @throws IOException if the file cannot be read, is damaged, or was saved with other configs
+     */
+    public static GameReplay load(ConfigSnapshot config, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(config, mapped);
+        }
+    }
+
+    // Helper function; decodes a whole replay file
+    private static GameReplay read(ConfigSnapshot config, ByteBuffer buffer) throws IOException {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.remaining() < Integer.BYTES) {
+            throw new IOException("Not a game replay");
+        }
+        int end = buffer.limit() - Integer.BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().limit(end));
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a game replay");
+            }
+            int version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported game replay version " + version);
+            }
+            if (buffer.getInt(end) != (int) crc.getValue()) {
+                throw new IOException("Damaged game replay");
+            }
+            int snapshotInterval = buffer.getShort();
+            int firstPlayer = buffer.get();
+            if (snapshotInterval < 1) {
+                throw new IOException("Damaged game replay");
+            }
+            GameReplay replay = new GameReplay(config, snapshotInterval);
+
+            int snapshotCount = buffer.getInt();
+            if (snapshotCount < 1) {
+                throw new IOException("Damaged game replay");
+            }
+            for (int i = 0; i < snapshotCount; i++) {
+                byte[] snapshot = new byte[buffer.getInt()];
+                buffer.get(snapshot);
+                replay.snapshots.add(snapshot);
+            }
+            GameModel first = GameSave.read(config, ByteBuffer.wrap(replay.snapshots.get(0)));
+
+            int actionCount = buffer.getInt();
+            replay.startTurn(firstPlayer);
+            for (int i = 0; i < actionCount; i++) {
+                int length = Short.toUnsignedInt(buffer.getShort());
+                ActionRecord record = ActionRecord.read(buffer, length);
+                replay.actions.add(record);
+                if (record.action().type() == GameAction.Type.END_TURN) {
+                    replay.startTurn(first.nextPlayer(replay.turnPlayers[replay.turns - 1]));
+                }
+            }
+            if (buffer.position() != end || snapshotCount != (replay.turns - 1) / snapshotInterval + 1) {
+                throw new IOException("Damaged game replay");
+            }
+            return replay;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IOException("Damaged game replay", e);
+        }
+    }
+}
@@ -0,0 +1,438 @@
+package com.example.model;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import com.example.model.config.ConfigSnapshot;
+import com.example.model.config.DevCardConfig;
+import com.example.model.config.DisasterCardConfig;
+import com.example.model.config.PortConfig;
+
+/**
+ * GameSave Class; compact, versioned binary save format for a GameModel
+ * Every config ID is stored as its index in the config lists, so a standard game is well under a
+ * kilobyte. The header records how many of each config there were; a save only loads with configs of
+ * the same shape, and a CRC32 trailer rejects damaged files. Saving writes through a reused direct
+ * buffer with a FileChannel; loading maps the file and decodes straight out of the mapping.
+ * Layout, little endian, after the header:
+ * - tiles: tile ID index, number token, flags (1 blocked, 2 destroyed) per hex
+ * - ports: port ID index per location
+ * - settlements: owner + 1 per vertex, with CITY_FLAG set for cities
+ * - roads: next build ID, then owner + 1 and build ID per edge
+ * - players: name, resources, dev cards in hand, pieces remaining, tiles restored, victory points
+ * - bank: resources, then the dev card and disaster decks from the bottom up
+ * - climate, award holders and the last roll
+ * The header also holds the game's seed and the state of its random source, so a loaded game rolls
+ * exactly what the saved one would have. Games in the middle of setup cannot be saved.
+ * Version 1 saves, which did not hold the random state, are not read.
+ */
+public final class GameSave {
+
+    public static final int MAGIC = 0x56415343; // "CSAV" read little endian
+    public static final int VERSION = 2;
+
+    private static final int CITY_FLAG = 0x80;
+    private static final int BLOCKED_FLAG = 1;
+    private static final int DESTROYED_FLAG = 2;
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+    private static final int MAX_NAME_BYTES = 0xFFFF; // names are prefixed with an unsigned short length
+
+    // one reused write buffer per thread; allocating direct buffers is slow
+    private static final ThreadLocal<ByteBuffer> BUFFER = ThreadLocal.withInitial(() -> newBuffer(INITIAL_BUFFER_SIZE));
+
+    private GameSave() {}
+
+    /**
+     * Saves a game to a file, replacing it if it exists
+     * @param game game to save; not changed
+     * @param file file to write
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if a player's name is too long to save
+     * @throws IllegalStateException if the game is in setup
+     */
+    public static void save(GameModel game, Path file) throws IOException {
+        ByteBuffer buffer = encode(game);
+        // overwrite then cut off what is left of a longer old save; truncating on open is far slower
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.truncate(buffer.limit());
+        }
+    }
+
+    /**
+     * Loads a game from a file
+     * @param config configs the game was saved with
+     * @param file file to read
+     * @return the game, ready to continue
+     * @throws IOException if the file cannot be read, is damaged, or was saved with other configs
+     */
+    public static GameModel load(ConfigSnapshot config, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(config, mapped);
+        }
+    }
+
+    // Helper function; encodes the game into the thread's buffer, growing it until the save fits
+    private static ByteBuffer encode(GameModel game) {
+        ByteBuffer buffer = BUFFER.get();
+        while (true) {
+            buffer.clear();
+            try {
+                write(game, buffer);
+                buffer.flip();
+                return buffer;
+            } catch (BufferOverflowException e) {
+                buffer = newBuffer(buffer.capacity() * 2);
+                BUFFER.set(buffer);
+            }
+        }
+    }
+
+    // Helper function; the game's save in an array of exactly its size, however large the save is
+    static byte[] toBytes(GameModel game) {
+        ByteBuffer buffer = encode(game);
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static ByteBuffer newBuffer(int capacity) {
+        return ByteBuffer.allocateDirect(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Writes a game at the buffer's position
+     * @param game game to save; not changed
+     * @param buffer buffer to write to; its byte order is set to little endian
+     * @throws java.nio.BufferOverflowException if the save does not fit
+     * @throws IllegalArgumentException if a player's name is too long to save
+     * @throws IllegalStateException if the game is in setup
+     */
+    public static void write(GameModel game, ByteBuffer buffer) {
+        if (game.isInSetup()) {
+            throw new IllegalStateException("A game cannot be saved during setup");
+        }
+        ConfigSnapshot config = game.getConfig();
+        List<String> tileIDs = config.getAllTileIDs();
+        List<String> structureIDs = config.getAllInfrastructureIDs();
+        int resources = config.getResourceCount();
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        int start = buffer.position();
+
+        buffer.putInt(MAGIC);
+        buffer.putShort((short) VERSION);
+        buffer.put((byte) resources);
+        buffer.put((byte) tileIDs.size());
+        buffer.put((byte) config.getAllPorts().size());
+        buffer.put((byte) config.getAllDevCards().size());
+        buffer.put((byte) config.getAllDisasterCards().size());
+        buffer.put((byte) structureIDs.size());
+        buffer.putLong(game.getSeed());
+        buffer.putLong(game.getRandom().getState());
+        buffer.putLong(game.getRandom().getGamma());
+
+        for (Tile tile : game.getTiles()) {
+            buffer.put((byte) tileIDs.indexOf(tile.getTileID()));
+            buffer.put((byte) tile.getNumber());
+            buffer.put((byte) ((tile.getIsBlocked() ? BLOCKED_FLAG : 0) | (tile.getIsDestroyed() ? DESTROYED_FLAG : 0)));
+        }
+        for (String portID : game.getBoard().portIDs()) {
+            buffer.put((byte) portIndex(config, portID));
+        }
+        for (Settlement settlement : game.getSettlements()) {
+            buffer.put((byte) ((settlement.getPlayerID() + 1) | (settlement.isCity() ? CITY_FLAG : 0)));
+        }
+        Roads roads = game.getRoadsComponent();
+        buffer.putInt(roads.getNextBuildID());
+        for (Road road : roads.getAllRoads()) {
+            buffer.put((byte) (road.getPlayerID() + 1));
+            buffer.putShort((short) road.getBuildID());
+        }
+
+        buffer.put((byte) game.getPlayers().size());
+        for (Player player : game.getPlayers()) {
+            byte[] name = player.getName().getBytes(StandardCharsets.UTF_8);
+            if (name.length > MAX_NAME_BYTES) {
+                throw new IllegalArgumentException("Player name is " + name.length + " bytes, more than "
+                        + MAX_NAME_BYTES + " cannot be saved");
+            }
+            buffer.putShort((short) name.length);
+            buffer.put(name);
+            for (int r = 0; r < resources; r++) {
+                buffer.putShort((short) player.getResourceCount(r));
+            }
+            buffer.put((byte) player.numberOfCards());
+            for (int i = 0; i < player.numberOfCards(); i++) {
+                buffer.put((byte) devCardIndex(config, player.getCard(i)));
+            }
+            for (String structureID : structureIDs) {
+                buffer.putShort((short) player.getStructuresRemaining(structureID));
+            }
+            buffer.putShort((short) player.getTilesRestored());
+            buffer.putShort((short) player.getKnownVictoryPoints());
+            buffer.putShort((short) player.getHiddenVictoryPoints());
+        }
+
+        BankCards bank = game.getBankCards();
+        for (int r = 0; r < resources; r++) {
+            buffer.putInt(bank.getResourceCount(r));
+        }
+        String[] devDeck = bank.getDevelopmentDeck();
+        buffer.putShort((short) devDeck.length);
+        for (String card : devDeck) {
+            buffer.put((byte) devCardIndex(config, card));
+        }
+        String[] disasterDeck = bank.getDisasterDeck();
+        buffer.putShort((short) disasterDeck.length);
+        for (String tileAffected : disasterDeck) {
+            buffer.put((byte) disasterIndex(config, tileAffected));
+        }
+
+        ClimateTracker climate = game.getClimateTracker();
+        buffer.putShort((short) climate.getClimateLevel());
+        buffer.putShort((short) climate.getNextDisasterCard());
+        buffer.put((byte) (climate.isGiveDisasterCard() ? 1 : 0));
+        buffer.put((byte) (game.getLongestRoadOwner() + 1));
+        buffer.putShort((short) game.getLongestRoadLength());
+        buffer.put((byte) (game.getCleanestEnvironmentOwner() + 1));
+        buffer.putShort((short) game.getCleanestEnvironmentAmount());
+        buffer.put((byte) game.getDice1());
+        buffer.put((byte) game.getDice2());
+
+        buffer.putInt((int) checksum(buffer, start, buffer.position()));
+    }
+
+    /**
+     * Reads a game saved with write, from the buffer's position
+     * @param config configs the game was saved with
+     * @param buffer buffer holding the save; its byte order is set to little endian
+     * @return the game, ready to continue
+     * @throws IOException if the save is damaged, of another version, or was saved with other configs
+     */
+    public static GameModel read(ConfigSnapshot config, ByteBuffer buffer) throws IOException {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        int start = buffer.position();
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a game save");
+            }
+            int version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported game save version " + version);
+            }
+            return decode(config, buffer, start);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Damaged game save", e);
+        }
+    }
+
+    // Helper function; reads everything after the version, checking the configs first and the checksum
+    // before anything is built
+    private static GameModel decode(ConfigSnapshot config, ByteBuffer buffer, int start) throws IOException {
+        List<String> tileIDs = config.getAllTileIDs();
+        List<PortConfig> ports = config.getAllPorts();
+        List<DevCardConfig> devCards = config.getAllDevCards();
+        List<DisasterCardConfig> disasterCards = config.getAllDisasterCards();
+        List<String> structureIDs = config.getAllInfrastructureIDs();
+        int resources = config.getResourceCount();
+        if (buffer.get() != resources || buffer.get() != tileIDs.size() || buffer.get() != ports.size()
+                || buffer.get() != devCards.size() || buffer.get() != disasterCards.size()
+                || buffer.get() != structureIDs.size()) {
+            throw new IOException("Game save was made with different configs");
+        }
+        long seed = buffer.getLong();
+        long randomState = buffer.getLong();
+        long randomGamma = buffer.getLong();
+
+        // the checksum covers everything before it, so find the end by skipping the variable length parts
+        int body = buffer.position();
+        int end = skipToChecksum(buffer, resources, structureIDs.size());
+        long crc = checksum(buffer, start, end);
+        if ((int) crc != buffer.getInt(end)) {
+            throw new IOException("Game save checksum does not match");
+        }
+        buffer.position(body);
+
+        String[] boardTiles = new String[Tiles.NUMBER_OF_HEXES];
+        int[] numbers = new int[Tiles.NUMBER_OF_HEXES];
+        int[] tileFlags = new int[Tiles.NUMBER_OF_HEXES];
+        for (int i = 0; i < Tiles.NUMBER_OF_HEXES; i++) {
+            boardTiles[i] = tileIDs.get(buffer.get() & 0xFF);
+            numbers[i] = buffer.get();
+            tileFlags[i] = buffer.get();
+        }
+        String[] boardPorts = new String[AdjacencyMaps.PortVertices.length];
+        for (int i = 0; i < boardPorts.length; i++) {
+            boardPorts[i] = ports.get(buffer.get() & 0xFF).id;
+        }
+
+        GameModel game = new GameModel(config, seed, new BoardLayout(boardTiles, numbers, boardPorts));
+
+        int[] settlements = new int[Settlements.NUMBER_OF_VERTICES];
+        for (int v = 0; v < settlements.length; v++) {
+            settlements[v] = buffer.get() & 0xFF;
+        }
+        int nextBuildID = buffer.getInt();
+        int[] roadOwners = new int[Roads.NUMBER_OF_ROADS];
+        int[] buildIDs = new int[Roads.NUMBER_OF_ROADS];
+        for (int e = 0; e < roadOwners.length; e++) {
+            roadOwners[e] = (buffer.get() & 0xFF) - 1;
+            buildIDs[e] = buffer.getShort() & 0xFFFF;
+        }
+
+        int playerCount = buffer.get() & 0xFF;
+        ArrayList<String> names = new ArrayList<>(playerCount);
+        int playersStart = buffer.position();
+        for (int p = 0; p < playerCount; p++) {
+            names.add(readName(buffer));
+            skip(buffer, 2 * resources);
+            skip(buffer, (buffer.get() & 0xFF) + 2 * structureIDs.size() + 6);
+        }
+        game.initializePlayers(names);
+        buffer.position(playersStart);
+
+        game.restore(() -> {
+            Tiles tiles = game.getTilesComponent();
+            int blocked = -1;
+            for (int i = 0; i < Tiles.NUMBER_OF_HEXES; i++) {
+                if ((tileFlags[i] & BLOCKED_FLAG) != 0) blocked = i;
+                tiles.setDestroyed(i, (tileFlags[i] & DESTROYED_FLAG) != 0);
+            }
+            tiles.restoreBlockedTile(blocked);
+
+            Settlements pieces = game.getSettlementsComponent();
+            for (int v = 0; v < settlements.length; v++) {
+                int owner = (settlements[v] & ~CITY_FLAG) - 1;
+                if (owner < 0) continue;
+                pieces.buildSettlement(v, owner);
+                if ((settlements[v] & CITY_FLAG) != 0) {
+                    pieces.upgradeSettlement(v, owner);
+                }
+            }
+            Roads roads = game.getRoadsComponent();
+            for (int e = 0; e < roadOwners.length; e++) {
+                if (roadOwners[e] >= 0 || buildIDs[e] != 0) {
+                    roads.restoreRoad(e, roadOwners[e], buildIDs[e]);
+                }
+            }
+            roads.setNextBuildID(nextBuildID);
+
+            for (Player player : game.getPlayers()) {
+                readName(buffer); // already read above
+                for (int r = 0; r < resources; r++) {
+                    player.changeResourceCount(r, buffer.getShort());
+                }
+                int cards = buffer.get() & 0xFF;
+                for (int i = 0; i < cards; i++) {
+                    player.addCard(devCards.get(buffer.get() & 0xFF).id);
+                }
+                for (String structureID : structureIDs) {
+                    player.setStructuresRemainingByType(structureID, buffer.getShort());
+                }
+                player.restoreCounts(buffer.getShort(), buffer.getShort(), buffer.getShort());
+            }
+
+            int[] bank = new int[resources];
+            for (int r = 0; r < resources; r++) {
+                bank[r] = buffer.getInt();
+            }
+            String[] devDeck = new String[buffer.getShort() & 0xFFFF];
+            for (int i = 0; i < devDeck.length; i++) {
+                devDeck[i] = devCards.get(buffer.get() & 0xFF).id;
+            }
+            String[] disasterDeck = new String[buffer.getShort() & 0xFFFF];
+            for (int i = 0; i < disasterDeck.length; i++) {
+                disasterDeck[i] = disasterCards.get(buffer.get() & 0xFF).tileAffected;
+            }
+            game.getBankCards().restore(bank, devDeck, disasterDeck);
+
+            game.getClimateTracker().restore(buffer.getShort(), buffer.getShort(), buffer.get() != 0);
+            int longestRoadOwner = buffer.get() - 1;
+            int longestRoadLength = buffer.getShort();
+            int cleanestEnvironmentOwner = buffer.get() - 1;
+            game.restoreAwards(longestRoadOwner, longestRoadLength, cleanestEnvironmentOwner, buffer.getShort());
+            int die1 = buffer.get();
+            game.getDice().restore(die1, buffer.get());
+            game.getRandom().setState(randomState, randomGamma); // last, as building the game drew from it
+        });
+        buffer.position(end + Integer.BYTES);
+        return game;
+    }
+
+    // Helper function; position of the checksum, found by walking the save from the start of the tiles
+    private static int skipToChecksum(ByteBuffer buffer, int resources, int structures) {
+        skip(buffer, 3 * Tiles.NUMBER_OF_HEXES + AdjacencyMaps.PortVertices.length + Settlements.NUMBER_OF_VERTICES
+                + Integer.BYTES + 3 * Roads.NUMBER_OF_ROADS);
+        int players = buffer.get() & 0xFF;
+        for (int p = 0; p < players; p++) {
+            skip(buffer, (buffer.getShort() & 0xFFFF) + 2 * resources);
+            skip(buffer, (buffer.get() & 0xFF) + 2 * structures + 6);
+        }
+        skip(buffer, Integer.BYTES * resources);
+        skip(buffer, buffer.getShort() & 0xFFFF);
+        skip(buffer, buffer.getShort() & 0xFFFF);
+        return buffer.position() + 5 + 6 + 2; // climate, awards, dice
+    }
+
+    // Helper function; moves past bytes that are read later; the count is worked out before the position
+    // is taken, so it may itself be read from the buffer
+    private static void skip(ByteBuffer buffer, int bytes) {
+        buffer.position(buffer.position() + bytes);
+    }
+
+    // Helper function; CRC32 of the bytes in [from, to), read without moving the buffer
+    private static long checksum(ByteBuffer buffer, int from, int to) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(from).limit(to));
+        return crc.getValue();
+    }
+
+    // Helper function; reads a length prefixed UTF-8 name
+    private static String readName(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Helper function; index of the port config with the ID
+    private static int portIndex(ConfigSnapshot config, String portID) {
+        List<PortConfig> ports = config.getAllPorts();
+        for (int i = 0; i < ports.size(); i++) {
+            if (ports.get(i).id.equals(portID)) return i;
+        }
+        throw new IllegalStateException("Unknown port " + portID);
+    }
+
+    // Helper function; index of the dev card config with the ID
+    private static int devCardIndex(ConfigSnapshot config, String cardID) {
+        List<DevCardConfig> cards = config.getAllDevCards();
+        for (int i = 0; i < cards.size(); i++) {
+            if (cards.get(i).id.equals(cardID)) return i;
+        }
+        throw new IllegalStateException("Unknown development card " + cardID);
+    }
+
+    // Helper function; index of the first disaster card config affecting the tile; the deck only holds
+    // the affected tile, so any config with it reads back the same
+    private static int disasterIndex(ConfigSnapshot config, String tileAffected) {
+        List<DisasterCardConfig> cards = config.getAllDisasterCards();
+        for (int i = 0; i < cards.size(); i++) {
+            if (cards.get(i).tileAffected.equals(tileAffected)) return i;
+        }
+        throw new IllegalStateException("Unknown disaster card " + tileAffected);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.model;
+
+/**
+ * IncomeModel Class; exact expected resources each player collects from the next roll of the dice
+ * Built on the ProductionTable entries, so cities, the robber (including cities on the blocked tile
+ * producing double) and destroyed tiles are counted exactly as giveResourcesToPlayers pays them. Bank
+ * scarcity is applied per roll in the same payout order: once the bank runs out of a resource, later
+ * entries on that roll get none. Amounts are kept as integers per DICE_OUTCOMES rolls, so they are
+ * exact; a 7 produces nothing. The result is cached and only recomputed when the table was rebuilt
+ * or the bank changed, so repeated queries between moves cost nothing.
+ * Disaster cards drawn while paying out are not modelled; they change the board only after the roll.
+ */
+public class IncomeModel {
+
+    public static final int DICE_OUTCOMES = 36;
+
+    // both replaced, never edited, on recompute; so a fork may share them
+    private int[][] income = new int[0][]; // player index -> resource ordinal -> resources per DICE_OUTCOMES rolls
+    private int[] bank = new int[0]; // bank counts the income was computed with
+    private long tableVersion = -1;
+
+    public IncomeModel() {}
+
+    // copy constructor; used when forking a game
+    IncomeModel(IncomeModel other) {
+        this.income = other.income;
+        this.bank = other.bank;
+        this.tableVersion = other.tableVersion;
+    }
+
+    // number of the 36 two dice outcomes that roll the number; 0 for 7 and numbers that cannot be rolled
+    public static int pips(int roll) {
+        if (roll < ProductionTable.MIN_ROLL || roll > ProductionTable.MAX_ROLL || roll == 7) {
+            return 0;
+        }
+        return 6 - Math.abs(7 - roll);
+    }
+
+    /**
+     * Brings the income up to date with the table and the bank; does nothing if neither changed
+     * @param table production table, already refreshed
+     * @param bankCards the bank
+     * @param players number of players in the table's player order
+     * @param resources number of resource types
+     */
+    void refresh(ProductionTable table, BankCards bankCards, int players, int resources) {
+        if (table.getVersion() == tableVersion && income.length == players && bankMatches(bankCards, resources)) {
+            return;
+        }
+        int[] bankNow = new int[resources];
+        for (int r = 0; r < resources; r++) {
+            bankNow[r] = bankCards.getResourceCount(r);
+        }
+
+        int[][] next = new int[players][resources];
+        int[] left = new int[resources];
+        for (int roll = ProductionTable.MIN_ROLL; roll <= ProductionTable.MAX_ROLL; roll++) {
+            int ways = pips(roll);
+            int count = table.getEntryCount(roll);
+            if (ways == 0 || count == 0) continue;
+            System.arraycopy(bankNow, 0, left, 0, resources);
+            int[] entries = table.getEntries(roll);
+            for (int e = 0; e < count; e++) {
+                int entry = entries[e];
+                int resource = ProductionTable.resourceOrdinal(entry);
+                int paid = Math.min(ProductionTable.amount(entry), left[resource]);
+                left[resource] -= paid;
+                next[ProductionTable.playerIndex(entry)][resource] += ways * paid;
+            }
+        }
+
+        income = next;
+        bank = bankNow;
+        tableVersion = table.getVersion();
+    }
+
+    // Helper function; checks whether the bank still holds what the income was computed with
+    private boolean bankMatches(BankCards bankCards, int resources) {
+        if (bank.length != resources) {
+            return false;
+        }
+        for (int r = 0; r < resources; r++) {
+            if (bankCards.getResourceCount(r) != bank[r]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets a player's income of a resource, as of the last refresh
+     * @param playerIndex index in the table's player order
+     * @param resource resource ordinal
+     * @return resources received over DICE_OUTCOMES rolls, one of each outcome
+     */
+    int getIncome(int playerIndex, int resource) {
+        return income[playerIndex][resource];
+    }
+
+    // expected resources of the type the player receives per roll
+    double getExpected(int playerIndex, int resource) {
+        return (double) income[playerIndex][resource] / DICE_OUTCOMES;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.model;
+
+import java.util.Arrays;
+
+/**
+ * Journal Class; per game undo log of every state change made through GameModel
+ * Each change is pushed as its arguments followed by an op code, so undoing pops the op code first
+ * and then exactly the arguments it needs. The backing arrays are reused, so after warming up a
+ * search can apply, evaluate and undo actions without creating garbage.
+ * The few values that are not ints (such as a played dev card's ID) go on a parallel reference stack.
+ */
+public class Journal {
+
+    // op codes; the comment lists the arguments pushed before each
+    static final int PLAYER_RESOURCE = 1;       // playerID, ordinal, change
+    static final int PLAYER_STRUCTURE_COST = 2; // playerID, structure handle, sign (+1 added, -1 deducted)
+    static final int PLAYER_PIECES = 3;         // playerID, structure handle, change
+    static final int PLAYER_VICTORY_POINTS = 4; // playerID, change
+    static final int PLAYER_HIDDEN_POINTS = 5;  // playerID, change
+    static final int PLAYER_TILES_RESTORED = 6; // playerID
+    static final int PLAYER_CARD_ADDED = 7;     // playerID
+    static final int PLAYER_CARD_REMOVED = 8;   // playerID, hand index; card ID on the reference stack
+    static final int BANK_RESOURCE = 9;         // ordinal, change
+    static final int BANK_STRUCTURE_COST = 10;  // structure handle; cost added by addStructureResourcesToBank
+    static final int BANK_DEV_CARD_DRAWN = 11;
+    static final int BANK_DISASTER_CARD_DRAWN = 12;
+    static final int SETTLEMENT_BUILT = 13;     // vertex
+    static final int CITY_BUILT = 14;           // vertex
+    static final int ROAD_BUILT = 15;           // edge
+    static final int ROBBER_MOVED = 16;         // previous blocked tile index, or -1
+    static final int TILE_DESTROYED = 17;       // tile index
+    static final int TILE_RESTORED = 18;        // tile index
+    static final int CLIMATE = 19;              // previous level, next disaster level, give flag
+    static final int DICE = 20;                 // previous die 1, previous die 2
+    static final int AWARDS = 21;               // previous longest road owner, length, cleanest owner, amount
+    static final int LEGAL_MOVES = 22;          // old value (long), slot; one LegalMoveIndex word an update changed
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private int[] entries = new int[INITIAL_CAPACITY];
+    private int size;
+    private Object[] refs = new Object[16];
+    private int refCount;
+    private boolean recording = true;
+
+    public Journal() {}
+
+    /**
+     * Gets the current position in the journal; pass it to GameModel.undoTo to revert every later change
+     * @return the current position
+     */
+    public int mark() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // forgets every entry; the changes made so far can no longer be undone
+    public void clear() {
+        size = 0;
+        Arrays.fill(refs, 0, refCount, null);
+        refCount = 0;
+    }
+
+    // whether changes should be pushed; false while an undo is replaying entries
+    boolean isRecording() {
+        return recording;
+    }
+
+    void setRecording(boolean recording) {
+        this.recording = recording;
+    }
+
+    void push(int value) {
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size * 2);
+        }
+        entries[size++] = value;
+    }
+
+    void push(int a, int op) {
+        push(a);
+        push(op);
+    }
+
+    void push(int a, int b, int op) {
+        push(a);
+        push(b);
+        push(op);
+    }
+
+    void push(int a, int b, int c, int op) {
+        push(a);
+        push(b);
+        push(c);
+        push(op);
+    }
+
+    void pushLong(long value) {
+        push((int) value);
+        push((int) (value >>> 32));
+    }
+
+    void pushRef(Object ref) {
+        if (refCount == refs.length) {
+            refs = Arrays.copyOf(refs, refCount * 2);
+        }
+        refs[refCount++] = ref;
+    }
+
+    int pop() {
+        return entries[--size];
+    }
+
+    long popLong() {
+        long high = pop();
+        long low = pop() & 0xFFFFFFFFL;
+        return (high << 32) | low;
+    }
+
+    Object popRef() {
+        Object ref = refs[--refCount];
+        refs[refCount] = null;
+        return ref;
+    }
+}
@@ -0,0 +1,276 @@
+package com.example.model;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * LayoutGenerator Class; places number tokens on a board by backtracking search with constraint propagation
+ * Tiles are filled most-connected first and each tile tries the token values still available in random
+ * order. A value is rejected as soon as it breaks a constraint, and a branch is abandoned once the tokens
+ * left can no longer be placed legally: too few open tiles for the remaining 6s and 8s, or a resource
+ * whose pips can no longer reach its fair share. An unlucky early choice can trap the search in a large
+ * dead subtree, so it restarts with a fresh value order after a step cutoff that doubles each time.
+ * All searches together visit at most maxSteps tiles, so it always terminates; it either returns a
+ * layout or reports that none was found.
+ * Constraints: 6s and 8s are never adjacent; optionally 2s and 12s are never adjacent; optionally each
+ * resource's total pips stay within maxPipImbalance of its share of all pips.
+ */
+public final class LayoutGenerator {
+
+    public static final int DEFAULT_MAX_STEPS = 1_000_000;
+    public static final int NO_PIP_LIMIT = -1;
+
+    private static final int MAX_TOKEN = 12;
+    private static final int MAX_PIPS = 5;
+    private static final int FIRST_CUTOFF = 256; // steps before the first restart
+
+    private final int[][] adjacency;
+    private final boolean separateTwosAndTwelves;
+    private final int maxPipImbalance;
+    private final int maxSteps;
+
+    /**
+     * Layout Record; a generated layout and what it cost to find
+     * @param numbers token of every tile, 0 for tiles without one
+     * @param steps tiles visited by the search, including those later backtracked
+     * @param nanos time taken to generate it
+     */
+    public record Layout(int[] numbers, int steps, long nanos) {}
+
+    // generator that only keeps 6s and 8s apart
+    public LayoutGenerator(int[][] adjacency) {
+        this(adjacency, false, NO_PIP_LIMIT, DEFAULT_MAX_STEPS);
+    }
+
+    /**
+     * LayoutGenerator Constructor
+     * @param adjacency tiles next to each tile, e.g. AdjacencyMaps.TileAdjacency
+     * @param separateTwosAndTwelves whether 2s and 12s must not be adjacent either
+     * @param maxPipImbalance how far a resource's pips may be from its fair share, or NO_PIP_LIMIT
+     * @param maxSteps most tiles the search may visit before giving up
+     */
+    public LayoutGenerator(int[][] adjacency, boolean separateTwosAndTwelves, int maxPipImbalance, int maxSteps) {
+        if (maxSteps < 1 || (maxPipImbalance < 0 && maxPipImbalance != NO_PIP_LIMIT)) {
+            throw new IllegalArgumentException("Invalid layout constraints");
+        }
+        this.adjacency = adjacency;
+        this.separateTwosAndTwelves = separateTwosAndTwelves;
+        this.maxPipImbalance = maxPipImbalance;
+        this.maxSteps = maxSteps;
+    }
+
+    // number of dice combinations that roll the number; 0 for 7 and numbers that cannot be rolled
+    static int pips(int number) {
+        return IncomeModel.pips(number);
+    }
+
+    /**
+     * Generates a layout
+     * @param tokens token values to place, 2 to 12; negative values are desert placeholders and are skipped
+     * @param groups resource group of every tile, numbered from 0, or -1 for tiles that get no token
+     * @param random source of the random value order
+     * @return the layout
+     * @throws IllegalArgumentException if the tokens do not match the tiles that need one
+     * @throws IllegalStateException if no layout meets the constraints within the step limit
+     */
+    public Layout generate(int[] tokens, int[] groups, RandomGenerator random) {
+        long start = System.nanoTime();
+        int steps = 0;
+        for (int cutoff = FIRST_CUTOFF; steps < maxSteps; cutoff = Math.min(cutoff, Integer.MAX_VALUE / 2) * 2) {
+            Search search = new Search(tokens, groups, random, Math.min(cutoff, maxSteps - steps));
+            boolean found = search.place(0);
+            steps += Math.min(search.steps, search.limit);
+            if (found) {
+                return new Layout(search.numbers, steps, System.nanoTime() - start);
+            }
+            if (search.steps <= search.limit) {
+                // the search ran to completion, so no value order can succeed
+                throw new IllegalStateException("No layout satisfies the constraints");
+            }
+        }
+        throw new IllegalStateException("No valid layout found within " + maxSteps + " steps");
+    }
+
+    // state of one generation
+    private final class Search {
+        private final RandomGenerator random;
+        private final int limit;
+        private final int[] order; // tiles that get a token, most neighbours first
+        private final int[] numbers;
+        private final int[] counts = new int[MAX_TOKEN + 1]; // tokens left by value
+        private final int[] pipCounts = new int[MAX_PIPS + 1]; // tokens left by pips
+        private final int[] hotNeighbours; // assigned 6s and 8s next to each tile
+        private final int[] coldNeighbours; // assigned 2s and 12s next to each tile
+        private final int[] groups;
+        private final int[] groupPips;
+        private final int[] groupLeft; // tiles of each group still without a token
+        private final double[] fairPips;
+        private int hotLeft;
+        private int coldLeft;
+        private int steps;
+
+        Search(int[] tokens, int[] groups, RandomGenerator random, int limit) {
+            this.random = random;
+            this.limit = limit;
+            this.groups = groups;
+            int tiles = adjacency.length;
+            if (groups.length != tiles) {
+                throw new IllegalArgumentException("Expected a group for each of " + tiles + " tiles");
+            }
+
+            int open = 0;
+            int groupCount = 0;
+            for (int group : groups) {
+                if (group >= 0) {
+                    open++;
+                    groupCount = Math.max(groupCount, group + 1);
+                }
+            }
+            int placed = 0;
+            int totalPips = 0;
+            for (int token : tokens) {
+                if (token < 0) continue; // desert placeholder
+                if (token < 2 || token > MAX_TOKEN) {
+                    throw new IllegalArgumentException("Invalid number token " + token);
+                }
+                counts[token]++;
+                pipCounts[pips(token)]++;
+                placed++;
+                totalPips += pips(token);
+            }
+            if (placed != open) {
+                throw new IllegalArgumentException(placed + " number tokens for " + open + " tiles");
+            }
+            hotLeft = counts[6] + counts[8];
+            coldLeft = counts[2] + counts[12];
+
+            order = new int[open];
+            for (int i = 0, n = 0; i < tiles; i++) {
+                if (groups[i] >= 0) order[n++] = i;
+            }
+            // insertion sort by degree, descending; stable so ties keep board order
+            for (int i = 1; i < order.length; i++) {
+                int tile = order[i];
+                int j = i - 1;
+                for (; j >= 0 && adjacency[order[j]].length < adjacency[tile].length; j--) {
+                    order[j + 1] = order[j];
+                }
+                order[j + 1] = tile;
+            }
+
+            numbers = new int[tiles];
+            hotNeighbours = new int[tiles];
+            coldNeighbours = new int[tiles];
+            groupPips = new int[groupCount];
+            groupLeft = new int[groupCount];
+            fairPips = new double[groupCount];
+            for (int group : groups) {
+                if (group >= 0) groupLeft[group]++;
+            }
+            for (int g = 0; g < groupCount; g++) {
+                fairPips[g] = (double) totalPips * groupLeft[g] / open;
+            }
+        }
+
+        // Helper function; assigns tokens to order[depth..], returns false if no assignment works
+        boolean place(int depth) {
+            if (depth == order.length) {
+                return true;
+            }
+            if (++steps > limit) {
+                return false;
+            }
+            int tile = order[depth];
+
+            // distinct values still available, in random order
+            int[] values = new int[MAX_TOKEN + 1];
+            int n = 0;
+            for (int v = 0; v <= MAX_TOKEN; v++) {
+                if (counts[v] > 0) values[n++] = v;
+            }
+            for (int i = n - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int temp = values[i];
+                values[i] = values[j];
+                values[j] = temp;
+            }
+
+            for (int i = 0; i < n; i++) {
+                int value = values[i];
+                if (isHot(value) && hotNeighbours[tile] > 0) continue;
+                if (separateTwosAndTwelves && isCold(value) && coldNeighbours[tile] > 0) continue;
+
+                assign(tile, value, 1);
+                if (feasible() && place(depth + 1)) {
+                    return true;
+                }
+                assign(tile, value, -1);
+                if (steps > limit) {
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        // Helper function; places (direction 1) or removes (direction -1) a token and updates the counts
+        private void assign(int tile, int value, int direction) {
+            numbers[tile] = direction > 0 ? value : 0;
+            counts[value] -= direction;
+            pipCounts[pips(value)] -= direction;
+            groupPips[groups[tile]] += direction * pips(value);
+            groupLeft[groups[tile]] -= direction;
+            if (isHot(value)) {
+                hotLeft -= direction;
+                for (int adj : adjacency[tile]) hotNeighbours[adj] += direction;
+            }
+            if (isCold(value)) {
+                coldLeft -= direction;
+                for (int adj : adjacency[tile]) coldNeighbours[adj] += direction;
+            }
+        }
+
+        // Helper function; checks that the tokens left can still be placed
+        private boolean feasible() {
+            int hotSpots = 0;
+            int coldSpots = 0;
+            for (int tile : order) {
+                if (numbers[tile] != 0) continue;
+                if (hotNeighbours[tile] == 0) hotSpots++;
+                if (coldNeighbours[tile] == 0) coldSpots++;
+            }
+            if (hotLeft > hotSpots || (separateTwosAndTwelves && coldLeft > coldSpots)) {
+                return false;
+            }
+            if (maxPipImbalance == NO_PIP_LIMIT) {
+                return true;
+            }
+
+            for (int g = 0; g < groupPips.length; g++) {
+                int least = groupPips[g] + extremePips(groupLeft[g], 1);
+                int most = groupPips[g] + extremePips(groupLeft[g], -1);
+                if (least > fairPips[g] + maxPipImbalance || most < fairPips[g] - maxPipImbalance) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Helper function; sum of the tokens' pips when taking the k poorest (direction 1) or richest (-1) left
+        private int extremePips(int k, int direction) {
+            int sum = 0;
+            for (int p = direction > 0 ? 0 : MAX_PIPS; k > 0 && p >= 0 && p <= MAX_PIPS; p += direction) {
+                int take = Math.min(k, pipCounts[p]);
+                sum += take * p;
+                k -= take;
+            }
+            return sum;
+        }
+    }
+
+    private static boolean isHot(int value) {
+        return value == 6 || value == 8;
+    }
+
+    private static boolean isCold(int value) {
+        return value == 2 || value == 12;
+    }
+}
@@ -0,0 +1,325 @@
+package com.example.model;
+
+/**
+ * LegalMoveIndex Class; per player bitboards of every legal settlement, city and road placement
+ * Updated incrementally from the build events of Settlements and Roads, so asking for the legal
+ * placements of a player is a field read rather than a scan of the board.
+ * Placement rules match GameModel.settlementValid/cityValid/roadValid with the build rule enforced.
+ */
+public class LegalMoveIndex {
+
+    private static final long ALL_VERTICES = (1L << Bitboards.NUMBER_OF_VERTICES) - 1;
+    private static final long ALL_EDGES_LO = -1L;
+    private static final long ALL_EDGES_HI = (1L << (Bitboards.NUMBER_OF_EDGES - 64)) - 1;
+
+    // vertices that can never take a settlement again: owned, or one edge from an owned vertex
+    private long blockedVertices;
+    private long ownedEdgesLo;
+    private long ownedEdgesHi;
+
+    // indexed by player ID
+    private long[] reachedVertices = new long[0]; // vertices touched by the player's roads
+    private long[] settlementVertices = new long[0];
+    private long[] cityVertices = new long[0];
+    private long[] roadEdgesLo = new long[0];
+    private long[] roadEdgesHi = new long[0];
+
+    private boolean shared; // per player arrays are shared with a fork; copied before the next update
+    private Journal journal; // takes the old value of each word an update changes, so GameModel can undo it; null when not recording
+
+    public LegalMoveIndex() {}
+
+    // copy constructor; used when forking a game
+    LegalMoveIndex(LegalMoveIndex other) {
+        blockedVertices = other.blockedVertices;
+        ownedEdgesLo = other.ownedEdgesLo;
+        ownedEdgesHi = other.ownedEdgesHi;
+        reachedVertices = other.reachedVertices;
+        settlementVertices = other.settlementVertices;
+        cityVertices = other.cityVertices;
+        roadEdgesLo = other.roadEdgesLo;
+        roadEdgesHi = other.roadEdgesHi;
+        shared = true;
+        other.shared = true;
+    }
+
+    void setJournal(Journal journal) {
+        this.journal = journal;
+    }
+
+    // journal slots: the shared words, then FIELDS words per player
+    private static final int BLOCKED_SLOT = 0;
+    private static final int OWNED_LO_SLOT = 1;
+    private static final int OWNED_HI_SLOT = 2;
+    private static final int FIRST_PLAYER_SLOT = 3;
+    private static final int REACHED = 0;
+    private static final int SETTLEMENTS = 1;
+    private static final int CITIES = 2;
+    private static final int ROADS_LO = 3;
+    private static final int ROADS_HI = 4;
+    private static final int FIELDS = 5;
+
+    private static int slot(int playerID, int field) {
+        return FIRST_PLAYER_SLOT + playerID * FIELDS + field;
+    }
+
+    // Helper function; the word in a journal slot
+    private long read(int slot) {
+        if (slot < FIRST_PLAYER_SLOT) {
+            return switch (slot) {
+                case BLOCKED_SLOT -> blockedVertices;
+                case OWNED_LO_SLOT -> ownedEdgesLo;
+                default -> ownedEdgesHi;
+            };
+        }
+        int playerID = (slot - FIRST_PLAYER_SLOT) / FIELDS;
+        return switch ((slot - FIRST_PLAYER_SLOT) % FIELDS) {
+            case REACHED -> reachedVertices[playerID];
+            case SETTLEMENTS -> settlementVertices[playerID];
+            case CITIES -> cityVertices[playerID];
+            case ROADS_LO -> roadEdgesLo[playerID];
+            default -> roadEdgesHi[playerID];
+        };
+    }
+
+    // Helper function; sets the word in a journal slot without journaling it
+    private void put(int slot, long value) {
+        if (slot < FIRST_PLAYER_SLOT) {
+            switch (slot) {
+                case BLOCKED_SLOT -> blockedVertices = value;
+                case OWNED_LO_SLOT -> ownedEdgesLo = value;
+                default -> ownedEdgesHi = value;
+            }
+            return;
+        }
+        int playerID = (slot - FIRST_PLAYER_SLOT) / FIELDS;
+        switch ((slot - FIRST_PLAYER_SLOT) % FIELDS) {
+            case REACHED -> reachedVertices[playerID] = value;
+            case SETTLEMENTS -> settlementVertices[playerID] = value;
+            case CITIES -> cityVertices[playerID] = value;
+            case ROADS_LO -> roadEdgesLo[playerID] = value;
+            default -> roadEdgesHi[playerID] = value;
+        }
+    }
+
+    // Helper function; sets a word, first pushing its old value to the journal if it changes (4 ints per word)
+    private void write(int slot, long value) {
+        long old = read(slot);
+        if (old == value) {
+            return;
+        }
+        if (journal != null && journal.isRecording()) {
+            journal.pushLong(old);
+            journal.push(slot, Journal.LEGAL_MOVES);
+        }
+        put(slot, value);
+    }
+
+    /**
+     * Puts back the word saved by the LEGAL_MOVES entry on top of the journal; the op code must already be popped
+     * @param journal journal to read the saved word from
+     */
+    void restore(Journal journal) {
+        unshare();
+        int slot = journal.pop();
+        put(slot, journal.popLong());
+    }
+
+    // Helper function; takes private copies of the per player arrays if they are shared with a fork
+    private void unshare() {
+        if (!shared) {
+            return;
+        }
+        reachedVertices = reachedVertices.clone();
+        settlementVertices = settlementVertices.clone();
+        cityVertices = cityVertices.clone();
+        roadEdgesLo = roadEdgesLo.clone();
+        roadEdgesHi = roadEdgesHi.clone();
+        shared = false;
+    }
+
+    /**
+     * Rebuilds the whole index from the current board; used when the board is replaced rather than built on
+     * @param settlements settlements on the board
+     * @param roads roads on the board
+     */
+    public void rebuild(Settlements settlements, Roads roads) {
+        shared = false; // every array is replaced below
+        blockedVertices = 0L;
+        ownedEdgesLo = roads.getOwnedEdgesLo();
+        ownedEdgesHi = roads.getOwnedEdgesHi();
+        reachedVertices = new long[0];
+        settlementVertices = new long[0];
+        cityVertices = new long[0];
+        roadEdgesLo = new long[0];
+        roadEdgesHi = new long[0];
+
+        for (Settlement s : settlements.getAllOwnedSettlements()) {
+            blockedVertices |= Bitboards.vertexBit(s.getVertex()) | Bitboards.neighbours(s.getVertex());
+        }
+
+        Road[] allRoads = roads.getAllRoads();
+        for (Road r : allRoads) {
+            if (r.getPlayerID() < 0) continue;
+            ensurePlayer(r.getPlayerID());
+        }
+        for (Settlement s : settlements.getAllOwnedSettlements()) {
+            if (s.getPlayerID() < 0) continue;
+            ensurePlayer(s.getPlayerID());
+            if (!s.isCity()) {
+                cityVertices[s.getPlayerID()] |= Bitboards.vertexBit(s.getVertex());
+            }
+        }
+
+        for (int playerID = 0; playerID < reachedVertices.length; playerID++) {
+            long reached = roads.getPlayerVertexMask(playerID);
+            reachedVertices[playerID] = reached;
+            settlementVertices[playerID] = reached & ~blockedVertices;
+
+            long lo = 0L;
+            long hi = 0L;
+            while (reached != 0) {
+                int v = Long.numberOfTrailingZeros(reached);
+                lo |= Bitboards.incidentEdgesLo(v);
+                hi |= Bitboards.incidentEdgesHi(v);
+                reached &= reached - 1;
+            }
+            roadEdgesLo[playerID] = lo & ~ownedEdgesLo;
+            roadEdgesHi[playerID] = hi & ~ownedEdgesHi;
+        }
+    }
+
+    /**
+     * Updates the index after a settlement is built
+     * @param vertex vertex built on
+     * @param playerID owner of the new settlement
+     */
+    public void onSettlementBuilt(int vertex, int playerID) {
+        unshare();
+        long blocked = Bitboards.vertexBit(vertex) | Bitboards.neighbours(vertex);
+        write(BLOCKED_SLOT, blockedVertices | blocked);
+        for (int p = 0; p < settlementVertices.length; p++) {
+            write(slot(p, SETTLEMENTS), settlementVertices[p] & ~blocked);
+        }
+        if (playerID >= 0) {
+            ensurePlayer(playerID);
+            write(slot(playerID, CITIES), cityVertices[playerID] | Bitboards.vertexBit(vertex));
+        }
+    }
+
+    /**
+     * Updates the index after a settlement is upgraded to a city
+     * @param vertex vertex of the new city
+     * @param playerID owner of the city
+     */
+    public void onCityBuilt(int vertex, int playerID) {
+        if (playerID >= 0 && playerID < cityVertices.length) {
+            unshare();
+            write(slot(playerID, CITIES), cityVertices[playerID] & ~Bitboards.vertexBit(vertex));
+        }
+    }
+
+    /**
+     * Updates the index after a road is built
+     * @param edge edge built on
+     * @param playerID owner of the new road
+     */
+    public void onRoadBuilt(int edge, int playerID) {
+        unshare();
+        long bit = Bitboards.edgeBit(edge);
+        boolean low = Bitboards.isLowEdge(edge);
+        if (low) {
+            write(OWNED_LO_SLOT, ownedEdgesLo | bit);
+        } else {
+            write(OWNED_HI_SLOT, ownedEdgesHi | bit);
+        }
+        for (int p = 0; p < roadEdgesLo.length; p++) {
+            if (low) {
+                write(slot(p, ROADS_LO), roadEdgesLo[p] & ~bit);
+            } else {
+                write(slot(p, ROADS_HI), roadEdgesHi[p] & ~bit);
+            }
+        }
+        if (playerID < 0) {
+            return;
+        }
+
+        ensurePlayer(playerID);
+        long newlyReached = Bitboards.endpoints(edge) & ~reachedVertices[playerID];
+        if (newlyReached == 0) {
+            return;
+        }
+        long lo = roadEdgesLo[playerID];
+        long hi = roadEdgesHi[playerID];
+        for (long reached = newlyReached; reached != 0; reached &= reached - 1) {
+            int v = Long.numberOfTrailingZeros(reached);
+            lo |= Bitboards.incidentEdgesLo(v) & ~ownedEdgesLo;
+            hi |= Bitboards.incidentEdgesHi(v) & ~ownedEdgesHi;
+        }
+        write(slot(playerID, REACHED), reachedVertices[playerID] | newlyReached);
+        write(slot(playerID, SETTLEMENTS), settlementVertices[playerID] | (newlyReached & ~blockedVertices));
+        write(slot(playerID, ROADS_LO), lo);
+        write(slot(playerID, ROADS_HI), hi);
+    }
+
+    /**
+     * Gets every vertex the player may build a settlement on
+     * @param playerID ID of the player
+     * @return mask with bit v set if a settlement on vertex v is legal
+     */
+    public long getSettlementMask(int playerID) {
+        return playerID >= 0 && playerID < settlementVertices.length ? settlementVertices[playerID] : 0L;
+    }
+
+    /**
+     * Gets every vertex the player may upgrade to a city
+     * @param playerID ID of the player
+     * @return mask with bit v set if a city on vertex v is legal
+     */
+    public long getCityMask(int playerID) {
+        return playerID >= 0 && playerID < cityVertices.length ? cityVertices[playerID] : 0L;
+    }
+
+    /**
+     * Gets the low word of every edge the player may build a road on (edges 0 to 63)
+     * @param playerID ID of the player
+     * @return low word of the legal road mask
+     */
+    public long getRoadMaskLo(int playerID) {
+        return playerID >= 0 && playerID < roadEdgesLo.length ? roadEdgesLo[playerID] : 0L;
+    }
+
+    /**
+     * Gets the high word of every edge the player may build a road on (edges 64 to 71)
+     * @param playerID ID of the player
+     * @return high word of the legal road mask
+     */
+    public long getRoadMaskHi(int playerID) {
+        return playerID >= 0 && playerID < roadEdgesHi.length ? roadEdgesHi[playerID] : 0L;
+    }
+
+    /**
+     * Gets every vertex that passes the distance rule, ignoring road connections (used during board setup)
+     * @return mask with bit v set if vertex v is unowned and has no owned neighbour
+     */
+    public long getOpenVertexMask() {
+        return ALL_VERTICES & ~blockedVertices;
+    }
+
+    public long getOpenEdgesLo() {
+        return ALL_EDGES_LO & ~ownedEdgesLo;
+    }
+
+    public long getOpenEdgesHi() {
+        return ALL_EDGES_HI & ~ownedEdgesHi;
+    }
+
+    // Helper function; grows every per player array to fit the player ID
+    private void ensurePlayer(int playerID) {
+        reachedVertices = Bitboards.ensureCapacity(reachedVertices, playerID);
+        settlementVertices = Bitboards.ensureCapacity(settlementVertices, playerID);
+        cityVertices = Bitboards.ensureCapacity(cityVertices, playerID);
+        roadEdgesLo = Bitboards.ensureCapacity(roadEdgesLo, playerID);
+        roadEdgesHi = Bitboards.ensureCapacity(roadEdgesHi, playerID);
+    }
+}
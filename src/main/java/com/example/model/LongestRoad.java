@@ -0,0 +1,435 @@
+package com.example.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * LongestRoad Class; incremental longest road engine over the road bitboards
+ * Each player's roads are split into components (roads joined at vertices the player may pass through).
+ * Every component caches its best path, so a build only re-searches the component it touched, and an
+ * opponent's settlement only re-searches the component it splits.
+ */
+public class LongestRoad {
+
+    /**
+     * Standing Class; owner and length of the longest road from a single evaluation
+     */
+    public static final class Standing {
+        private final int owner;
+        private final int length;
+
+        private Standing(int owner, int length) {
+            this.owner = owner;
+            this.length = length;
+        }
+
+        // player ID of the longest road owner, or Roads.UNOWNED_ROAD_ID if none
+        public int getOwner() { return owner; }
+
+        // longest road length of any player; counted even if below the minimum
+        public int getLength() { return length; }
+
+        public boolean exists() { return owner != Roads.UNOWNED_ROAD_ID; }
+    }
+
+    /**
+     * Helper struct; a connected group of one player's roads and its cached best path
+     */
+    private static final class Component {
+        long edgesLo;
+        long edgesHi;
+        long vertices; // every endpoint of the component's edges
+        boolean dirty = true;
+        int length;
+        int maxBuildID;
+
+        Component(long edgesLo, long edgesHi) {
+            this.edgesLo = edgesLo;
+            this.edgesHi = edgesHi;
+            this.vertices = Bitboards.endpointsOf(edgesLo, edgesHi);
+        }
+
+        Component(Component other) {
+            this.edgesLo = other.edgesLo;
+            this.edgesHi = other.edgesHi;
+            this.vertices = other.vertices;
+            this.dirty = other.dirty;
+            this.length = other.length;
+            this.maxBuildID = other.maxBuildID;
+        }
+    }
+
+    private int[] buildIDs;
+    private List<List<Component>> components; // indexed by player ID
+
+    // settlements break opponents' roads; a player's own settlements do not
+    private long occupiedVertices;
+    private long[] playerSettlements = new long[0];
+
+    // per player best over all components; valid until one of the player's components changes
+    private boolean[] bestValid = new boolean[0];
+    private int[] bestLength = new int[0];
+    private int[] bestMaxBuildID = new int[0];
+
+    private boolean shared; // all state is shared with a fork; copied before the next update
+
+    public LongestRoad() {
+        buildIDs = new int[Bitboards.NUMBER_OF_EDGES];
+        components = new ArrayList<>();
+    }
+
+    /**
+     * Copy constructor; used when forking a game
+     * All state is shared with the original until either side updates or searches it.
+     * @param other engine to copy
+     */
+    LongestRoad(LongestRoad other) {
+        buildIDs = other.buildIDs;
+        components = other.components;
+        occupiedVertices = other.occupiedVertices;
+        playerSettlements = other.playerSettlements;
+        bestValid = other.bestValid;
+        bestLength = other.bestLength;
+        bestMaxBuildID = other.bestMaxBuildID;
+        shared = true;
+        other.shared = true;
+    }
+
+    /**
+     * Helper function; takes a private copy of the state if it is shared with a fork
+     * Components are replaced rather than edited once built, except for the cached search result,
+     * so clean components stay shared and only dirty ones are copied.
+     */
+    private void unshare() {
+        if (!shared) {
+            return;
+        }
+        List<List<Component>> copy = new ArrayList<>(components.size());
+        for (List<Component> list : components) {
+            List<Component> listCopy = new ArrayList<>(list.size());
+            for (Component c : list) {
+                listCopy.add(c.dirty ? new Component(c) : c);
+            }
+            copy.add(listCopy);
+        }
+        components = copy;
+        buildIDs = buildIDs.clone();
+        playerSettlements = playerSettlements.clone();
+        bestValid = bestValid.clone();
+        bestLength = bestLength.clone();
+        bestMaxBuildID = bestMaxBuildID.clone();
+        shared = false;
+    }
+
+    /**
+     * Updates the engine after a road is built; merges every component the road joins
+     * @param edge edge built on
+     * @param playerID owner of the new road
+     * @param buildID build order of the road; earlier roads win ties
+     */
+    public void onRoadBuilt(int edge, int playerID, int buildID) {
+        unshare();
+        buildIDs[edge] = buildID;
+        if (playerID < 0) {
+            return;
+        }
+        List<Component> list = componentsOf(playerID);
+        long joinable = Bitboards.endpoints(edge) & ~blockersFor(playerID);
+
+        Component merged = new Component(0L, 0L);
+        if (Bitboards.isLowEdge(edge)) {
+            merged.edgesLo = Bitboards.edgeBit(edge);
+        } else {
+            merged.edgesHi = Bitboards.edgeBit(edge);
+        }
+        for (int i = list.size() - 1; i >= 0; i--) {
+            Component c = list.get(i);
+            if ((c.vertices & joinable) != 0) {
+                merged.edgesLo |= c.edgesLo;
+                merged.edgesHi |= c.edgesHi;
+                list.remove(i);
+            }
+        }
+        merged.vertices = Bitboards.endpointsOf(merged.edgesLo, merged.edgesHi);
+        list.add(merged);
+        bestValid[playerID] = false;
+    }
+
+    /**
+     * Updates the engine after a road is removed; re-splits the component the road was in
+     * @param edge edge removed
+     * @param playerID previous owner of the road
+     */
+    public void onRoadRemoved(int edge, int playerID) {
+        unshare();
+        buildIDs[edge] = 0;
+        if (playerID < 0 || playerID >= components.size()) {
+            return;
+        }
+        List<Component> list = components.get(playerID);
+        for (int i = 0; i < list.size(); i++) {
+            Component c = list.get(i);
+            if (Bitboards.hasEdge(c.edgesLo, c.edgesHi, edge)) {
+                list.remove(i);
+                long lo = c.edgesLo;
+                long hi = c.edgesHi;
+                if (Bitboards.isLowEdge(edge)) {
+                    lo &= ~Bitboards.edgeBit(edge);
+                } else {
+                    hi &= ~Bitboards.edgeBit(edge);
+                }
+                split(list, lo, hi, blockersFor(playerID));
+                bestValid[playerID] = false;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Updates the engine after a settlement is built; only opponents' components passing through the vertex change
+     * @param vertex vertex built on
+     * @param playerID owner of the new settlement
+     */
+    public void onSettlementBuilt(int vertex, int playerID) {
+        unshare();
+        long bit = Bitboards.vertexBit(vertex);
+        occupiedVertices |= bit;
+        if (playerID >= 0) {
+            ensurePlayer(playerID);
+            playerSettlements[playerID] |= bit;
+        }
+
+        long incidentLo = Bitboards.incidentEdgesLo(vertex);
+        long incidentHi = Bitboards.incidentEdgesHi(vertex);
+        for (int p = 0; p < components.size(); p++) {
+            if (p == playerID) continue;
+            List<Component> list = components.get(p);
+            for (int i = list.size() - 1; i >= 0; i--) {
+                Component c = list.get(i);
+                // a road ending at the vertex keeps its length; only a road passing through it is broken
+                int degree = Long.bitCount(c.edgesLo & incidentLo) + Long.bitCount(c.edgesHi & incidentHi);
+                if (degree < 2) continue;
+                list.remove(i);
+                split(list, c.edgesLo, c.edgesHi, blockersFor(p));
+                bestValid[p] = false;
+            }
+        }
+    }
+
+    /**
+     * Updates the engine after a settlement is removed (undone); opponents' roads through the vertex join up again
+     * @param vertex vertex the settlement was on
+     * @param playerID owner of the removed settlement
+     */
+    public void onSettlementRemoved(int vertex, int playerID) {
+        unshare();
+        long bit = Bitboards.vertexBit(vertex);
+        occupiedVertices &= ~bit;
+        if (playerID >= 0 && playerID < playerSettlements.length) {
+            playerSettlements[playerID] &= ~bit;
+        }
+
+        for (int p = 0; p < components.size(); p++) {
+            if (p == playerID) continue;
+            List<Component> list = components.get(p);
+            // every piece the settlement split off still ends at the vertex, so merging those restores the road
+            Component merged = null;
+            for (int i = list.size() - 1; i >= 0; i--) {
+                Component c = list.get(i);
+                if ((c.vertices & bit) == 0) continue;
+                if (merged == null) {
+                    merged = new Component(c.edgesLo, c.edgesHi);
+                } else {
+                    merged.edgesLo |= c.edgesLo;
+                    merged.edgesHi |= c.edgesHi;
+                }
+                list.remove(i);
+            }
+            if (merged != null) {
+                merged.vertices = Bitboards.endpointsOf(merged.edgesLo, merged.edgesHi);
+                list.add(merged);
+                bestValid[p] = false;
+            }
+        }
+    }
+
+    /**
+     * Evaluates the longest road for all given players at once
+     * @param playerIDs IDs of the players to compare
+     * @return owner (respecting Roads.minimumLongestRoadLength) and longest length
+     */
+    public Standing evaluate(int[] playerIDs) {
+        int bestPlayer = Roads.UNOWNED_ROAD_ID;
+        int bestOwnerLength = 0;
+        int bestOwnerMaxBuild = Integer.MAX_VALUE;
+        int longest = 0;
+
+        for (int playerID : playerIDs) {
+            if (playerID < 0) continue;
+            refresh(playerID);
+            int length = bestLength[playerID];
+            int maxBuild = bestMaxBuildID[playerID];
+            longest = Math.max(longest, length);
+
+            if (length < Roads.minimumLongestRoadLength) continue;
+            if (isBetterRoad(length, maxBuild, bestOwnerLength, bestOwnerMaxBuild)) {
+                bestOwnerLength = length;
+                bestOwnerMaxBuild = maxBuild;
+                bestPlayer = playerID;
+            }
+        }
+        return new Standing(bestPlayer, longest);
+    }
+
+    /**
+     * Gets the length of a single player's longest road
+     * @param playerID ID of the player
+     * @return length of the player's longest road
+     */
+    public int getPlayerLength(int playerID) {
+        if (playerID < 0) {
+            return 0;
+        }
+        refresh(playerID);
+        return bestLength[playerID];
+    }
+
+    // Helper function; recomputes the player's best over any dirty components
+    private void refresh(int playerID) {
+        if (playerID < bestValid.length && bestValid[playerID]) {
+            return;
+        }
+        unshare();
+        List<Component> list = componentsOf(playerID);
+        long blocked = blockersFor(playerID);
+        int length = 0;
+        int maxBuild = Integer.MAX_VALUE;
+        for (Component c : list) {
+            if (c.dirty) {
+                search(c, blocked);
+            }
+            if (isBetterRoad(c.length, c.maxBuildID, length, maxBuild)) {
+                length = c.length;
+                maxBuild = c.maxBuildID;
+            }
+        }
+        bestLength[playerID] = length;
+        bestMaxBuildID[playerID] = maxBuild;
+        bestValid[playerID] = true;
+    }
+
+    // Helper function; finds the best path in a component by starting a search from each of its vertices
+    private void search(Component c, long blocked) {
+        c.length = 0;
+        c.maxBuildID = Integer.MAX_VALUE;
+        long starts = c.vertices;
+        while (starts != 0) {
+            dfsLongestRoad(c, Long.numberOfTrailingZeros(starts), 0L, 0L, 0, 0, blocked);
+            starts &= starts - 1;
+        }
+        c.dirty = false;
+    }
+
+    /**
+     * Helper function; performs DFS over the component's unused edges from the current vertex
+     * WARNING: recursive function
+     * @param c component being searched; its best result is updated in place
+     * @param vertex current vertex in the DFS
+     * @param usedLo low word of edges already on the path
+     * @param usedHi high word of edges already on the path
+     * @param length current length of the road
+     * @param maxBuild current maximum build ID on the road
+     * @param blocked vertices the path may end at but not pass through
+     */
+    private void dfsLongestRoad(Component c, int vertex, long usedLo, long usedHi, int length, int maxBuild, long blocked) {
+        if (isBetterRoad(length, maxBuild, c.length, c.maxBuildID)) {
+            c.length = length;
+            c.maxBuildID = maxBuild;
+        }
+        if (length > 0 && (blocked & Bitboards.vertexBit(vertex)) != 0) {
+            return;
+        }
+
+        long lo = Bitboards.incidentEdgesLo(vertex) & c.edgesLo & ~usedLo;
+        while (lo != 0) {
+            int edge = Long.numberOfTrailingZeros(lo);
+            long bit = lo & -lo;
+            int next = Long.numberOfTrailingZeros(Bitboards.endpoints(edge) & ~Bitboards.vertexBit(vertex));
+            dfsLongestRoad(c, next, usedLo | bit, usedHi, length + 1, Math.max(maxBuild, buildIDs[edge]), blocked);
+            lo &= lo - 1;
+        }
+        long hi = Bitboards.incidentEdgesHi(vertex) & c.edgesHi & ~usedHi;
+        while (hi != 0) {
+            int edge = 64 + Long.numberOfTrailingZeros(hi);
+            long bit = hi & -hi;
+            int next = Long.numberOfTrailingZeros(Bitboards.endpoints(edge) & ~Bitboards.vertexBit(vertex));
+            dfsLongestRoad(c, next, usedLo, usedHi | bit, length + 1, Math.max(maxBuild, buildIDs[edge]), blocked);
+            hi &= hi - 1;
+        }
+    }
+
+    // Helper function; floods the given edges into connected components and adds them to the list
+    private static void split(List<Component> list, long lo, long hi, long blocked) {
+        while ((lo | hi) != 0) {
+            long compLo = lo != 0 ? lo & -lo : 0L;
+            long compHi = lo != 0 ? 0L : hi & -hi;
+            while (true) {
+                long open = Bitboards.endpointsOf(compLo, compHi) & ~blocked;
+                long nextLo = compLo;
+                long nextHi = compHi;
+                while (open != 0) {
+                    int v = Long.numberOfTrailingZeros(open);
+                    nextLo |= Bitboards.incidentEdgesLo(v) & lo;
+                    nextHi |= Bitboards.incidentEdgesHi(v) & hi;
+                    open &= open - 1;
+                }
+                if (nextLo == compLo && nextHi == compHi) break;
+                compLo = nextLo;
+                compHi = nextHi;
+            }
+            lo &= ~compLo;
+            hi &= ~compHi;
+            list.add(new Component(compLo, compHi));
+        }
+    }
+
+    /**
+     * Helper function; compares two roads to see which is better for longest road calculation
+     * @param lenA length of road A
+     * @param maxBuildA maximum build ID on road A
+     * @param lenB length of road B
+     * @param maxBuildB maximum build ID on road B
+     * @return whether road A is better than road B
+     */
+    private static boolean isBetterRoad(int lenA, int maxBuildA, int lenB, int maxBuildB) {
+        if (lenA != lenB) return lenA > lenB;
+        return maxBuildA < maxBuildB;
+    }
+
+    // Helper function; vertices holding an opponent's settlement
+    private long blockersFor(int playerID) {
+        long own = playerID < playerSettlements.length ? playerSettlements[playerID] : 0L;
+        return occupiedVertices & ~own;
+    }
+
+    // Helper function; gets the player's component list, growing the per player arrays if needed
+    private List<Component> componentsOf(int playerID) {
+        ensurePlayer(playerID);
+        return components.get(playerID);
+    }
+
+    // Helper function; grows every per player array to fit the player ID
+    private void ensurePlayer(int playerID) {
+        while (components.size() <= playerID) {
+            components.add(new ArrayList<>());
+        }
+        playerSettlements = Bitboards.ensureCapacity(playerSettlements, playerID);
+        if (playerID >= bestValid.length) {
+            int size = playerSettlements.length;
+            bestValid = Arrays.copyOf(bestValid, size);
+            bestLength = Arrays.copyOf(bestLength, size);
+            bestMaxBuildID = Arrays.copyOf(bestMaxBuildID, size);
+        }
+    }
+}
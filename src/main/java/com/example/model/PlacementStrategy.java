@@ -0,0 +1,19 @@
+package com.example.model;
+
+/**
+ * PlacementStrategy Interface; chooses where a player puts an opening settlement during initializeBoard
+ * A strategy may fork the game and call continueSetup on the fork to look at how a candidate plays out.
+ */
+public interface PlacementStrategy {
+
+    // settles the best rated vertex, as the setup has always done
+    PlacementStrategy HEURISTIC = (game, playerID, candidates) -> candidates[0];
+
+    /**
+     * @param game game being set up, with every placement made so far
+     * @param playerID ID of the player placing
+     * @param candidates vertices the player may settle, best rated first; never empty
+     * @return the vertex to settle; one of the candidates
+     */
+    int chooseSettlement(GameModel game, int playerID, int[] candidates);
+}
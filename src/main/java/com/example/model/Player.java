@@ -2,12 +2,14 @@ package com.example.model;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.random.RandomGenerator;
 
+import com.example.model.config.ConfigManager;
+import com.example.model.config.ConfigSnapshot;
 import com.example.model.config.DevCardConfig;
 import com.example.model.config.PlayerInfrastructureConfig;
 import com.example.model.config.ResourceConfig;
-import com.example.model.config.registry.ResourceRegistry;
-import com.example.model.config.service.ConfigService;
 
 /**
  * Player Class; stores per player info
@@ -19,40 +21,65 @@ public class Player {
 
     private final int id;
     private String name;
+    private final ConfigSnapshot config;
 
     // This data structures should be changed as necessary
-    private final HashMap<ResourceConfig, Integer> resources;
+    private final int[] resources; // indexed by ResourceConfig ordinal
+    private int totalResources;
     private final ArrayList<String> devCards;
     private HashMap<String, Integer> structuresRemaining;
+    private boolean sharedStructures; // structuresRemaining is shared with a fork; copy before writing
 
     private int tilesRestored;
 
     private int victoryPoints;
     private int hiddenVictoryPoints;
 
+    private Journal journal; // records changes so GameModel can undo them; null when not recording
+
     /**
-     * Player Class Constructor
+     * Player Class Constructor; takes the next ID from a global counter, for players outside a GameModel
      * 
      * @param name name of the player
      */
     public Player(String name) {
+        this(Player.nextId++, name);
+    }
+
+    /**
+     * Player Class Constructor; uses the default config snapshot
+     * 
+     * @param id   ID of the player; GameModel uses the player's index (0 to N-1)
+     * @param name name of the player
+     */
+    public Player(int id, String name) {
+        this(id, name, ConfigManager.getSnapshot());
+    }
+
+    /**
+     * Player Class Constructor
+     * 
+     * @param id     ID of the player; GameModel uses the player's index (0 to N-1)
+     * @param name   name of the player
+     * @param config configs of the game the player is in
+     */
+    public Player(int id, String name, ConfigSnapshot config) {
 
-        this.id = Player.nextId++;
+        this.id = id;
 
         this.name = (name != null ? name : "");
+        this.config = config;
 
-        this.resources = new HashMap<>();
-        for (ResourceConfig t : ResourceRegistry.getInstance().all()) {
-            this.resources.put(t, 0);
-        }
+        this.resources = new int[config.getResourceCount()];
+        this.totalResources = 0;
 
         this.devCards = new ArrayList<>();
 
-        ArrayList<String> structureTypes = ConfigService.getAllInfrastructureIDs();
+        List<String> structureTypes = config.getAllInfrastructureIDs();
 
         this.structuresRemaining = new HashMap<>();
         for (int i = 0, n = structureTypes.size(); i < n; i++) {
-            int startingCount = ConfigService.getInfrastructure(structureTypes.get(i)).maxQuantity;
+            int startingCount = config.getInfrastructure(structureTypes.get(i)).maxQuantity;
             this.structuresRemaining.put(structureTypes.get(i), startingCount);
         }
 
@@ -61,6 +88,44 @@ public class Player {
         hiddenVictoryPoints = 0;
     }
 
+    /**
+     * Player Class Copy Constructor; used when forking a game
+     * 
+     * @param other player to copy; its structure counts are shared until either side changes them
+     */
+    Player(Player other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.config = other.config;
+        this.resources = other.resources.clone();
+        this.totalResources = other.totalResources;
+        this.devCards = new ArrayList<>(other.devCards);
+        this.structuresRemaining = other.structuresRemaining;
+        this.sharedStructures = true;
+        other.sharedStructures = true;
+        this.tilesRestored = other.tilesRestored;
+        this.victoryPoints = other.victoryPoints;
+        this.hiddenVictoryPoints = other.hiddenVictoryPoints;
+    }
+
+    void setJournal(Journal journal) {
+        this.journal = journal;
+    }
+
+    // Helper function; checks whether changes should be pushed to the journal
+    private boolean recording() {
+        return this.journal != null && this.journal.isRecording();
+    }
+
+    // Helper function; gets the structure counts, copying them first if they are shared with a fork
+    private HashMap<String, Integer> writableStructures() {
+        if (this.sharedStructures) {
+            this.structuresRemaining = new HashMap<>(this.structuresRemaining);
+            this.sharedStructures = false;
+        }
+        return this.structuresRemaining;
+    }
+
     /**
      * Getter for player object's id
      * 
@@ -100,26 +165,30 @@ public class Player {
      * @return resource count
      */
     public int getResourceCount(ResourceConfig type) {
-        if (this.resources.containsKey(type)) {
-            return this.resources.get(type);
+        if (hasResourceType(type)) {
+            return this.resources[type.getOrdinal()];
         } else {
             return 0;
         }
     }
 
+    /**
+     * Getter for resource count by ordinal; no map lookup or boxing
+     * 
+     * @param ordinal the resource ordinal (see ResourceConfig.getOrdinal)
+     * @return resource count
+     */
+    public int getResourceCount(int ordinal) {
+        return this.resources[ordinal];
+    }
+
     /**
      * Getter for total number of resources
      * 
      * @return the total number of resources
      */
     public int getTotalResources() {
-        int total = 0;
-
-        for (ResourceConfig type : this.resources.keySet()) {
-            total += this.resources.get(type);
-        }
-
-        return total;
+        return this.totalResources; // kept in step with every change to resources
     }
 
     /**
@@ -130,8 +199,13 @@ public class Player {
      * @return success of the operation
      */
     public boolean setResourceCount(ResourceConfig type, int count) {
-        if (this.resources.containsKey(type)) {
-            this.resources.put(type, count);
+        if (hasResourceType(type)) {
+            int change = count - this.resources[type.getOrdinal()];
+            this.totalResources += change;
+            this.resources[type.getOrdinal()] = count;
+            if (change != 0 && recording()) {
+                this.journal.push(this.id, type.getOrdinal(), change, Journal.PLAYER_RESOURCE);
+            }
             return true;
         }
 
@@ -146,20 +220,39 @@ public class Player {
      * @return success of the operation
      */
     public boolean changeResourceCount(ResourceConfig type, int change) {
-        if (!this.resources.containsKey(type)) {
+        if (!hasResourceType(type)) {
             return false;
         }
+        return changeResourceCount(type.getOrdinal(), change);
+    }
 
-        int newCount = this.getResourceCount(type) + change;
+    /**
+     * Change a resource by an amount using its ordinal
+     * 
+     * @param ordinal the resource ordinal (see ResourceConfig.getOrdinal)
+     * @param change  the amount of change; can be negative or positive
+     * @return success of the operation
+     */
+    public boolean changeResourceCount(int ordinal, int change) {
+        int newCount = this.resources[ordinal] + change;
         if (newCount < 0) {
             return false;
         }
 
-        this.resources.put(type, newCount);
+        this.resources[ordinal] = newCount;
+        this.totalResources += change;
+        if (change != 0 && recording()) {
+            this.journal.push(this.id, ordinal, change, Journal.PLAYER_RESOURCE);
+        }
 
         return true;
     }
 
+    // Helper function; checks the resource is one this player's vector has a slot for
+    private boolean hasResourceType(ResourceConfig type) {
+        return type != null && type.getOrdinal() >= 0 && type.getOrdinal() < this.resources.length;
+    }
+
     /**
      * Get a card at a given index (indices do not change)
      * 
@@ -186,6 +279,9 @@ public class Player {
         }
 
         this.devCards.add(card);
+        if (recording()) {
+            this.journal.push(this.id, Journal.PLAYER_CARD_ADDED);
+        }
 
         return true;
     }
@@ -196,7 +292,26 @@ public class Player {
      * @return true if a card was removed
      */
     public boolean removeCard(String card) {
-        return this.devCards.remove(card);
+        int index = this.devCards.indexOf(card);
+        if (index < 0) {
+            return false;
+        }
+        this.devCards.remove(index);
+        if (recording()) {
+            this.journal.pushRef(card);
+            this.journal.push(this.id, index, Journal.PLAYER_CARD_REMOVED);
+        }
+        return true;
+    }
+
+    // removes the most recently added card; only used to undo a draw
+    void removeLastCard() {
+        this.devCards.remove(this.devCards.size() - 1);
+    }
+
+    // puts a removed card back where it was; only used to undo playing it
+    void insertCard(int index, String card) {
+        this.devCards.add(index, card);
     }
 
     public int getVictoryPoints(int playerId) {
@@ -289,7 +404,11 @@ public class Player {
         if (newCount < 0) {
             return false;
         }
-        this.structuresRemaining.put(type, newCount);
+        writableStructures().put(type, newCount);
+        if (change != 0 && recording()) {
+            int handle = config.handleOf(type);
+            this.journal.push(this.id, handle, change, Journal.PLAYER_PIECES);
+        }
         return true;
     }
 
@@ -302,7 +421,12 @@ public class Player {
      */
     public boolean setStructuresRemainingByType(String type, int count) {
         if (this.structuresRemaining.containsKey(type)) {
-            this.structuresRemaining.put(type, count);
+            int change = count - this.structuresRemaining.get(type);
+            writableStructures().put(type, count);
+            if (change != 0 && recording()) {
+                int handle = config.handleOf(type);
+                this.journal.push(this.id, handle, change, Journal.PLAYER_PIECES);
+            }
             return true;
         }
 
@@ -318,6 +442,7 @@ public class Player {
     public boolean replaceStructuresRemaining(HashMap<String, Integer> newStructures) {
         if (newStructures != null) {
             this.structuresRemaining = newStructures;
+            this.sharedStructures = false;
             return true;
         }
 
@@ -328,8 +453,9 @@ public class Player {
      * Fully empties the structuresRemaining; sets them all to 0
      */
     public void emptyStructuresRemaining() {
-        for (String key : this.structuresRemaining.keySet()) {
-            this.structuresRemaining.put(key, 0);
+        HashMap<String, Integer> structures = writableStructures();
+        for (String key : structures.keySet()) {
+            structures.put(key, 0);
         }
     }
 
@@ -339,6 +465,21 @@ public class Player {
 
     public void increaseTilesRestored(){
         this.tilesRestored++;
+        if (recording()) {
+            this.journal.push(this.id, Journal.PLAYER_TILES_RESTORED);
+        }
+    }
+
+    // sets the counters a save holds, e.g. when loading one; not recorded in the journal
+    void restoreCounts(int tilesRestored, int victoryPoints, int hiddenVictoryPoints){
+        this.tilesRestored = tilesRestored;
+        this.victoryPoints = victoryPoints;
+        this.hiddenVictoryPoints = hiddenVictoryPoints;
+    }
+
+    // only used to undo a restore
+    void decreaseTilesRestored(){
+        this.tilesRestored--;
     }
 
     /**
@@ -348,49 +489,108 @@ public class Player {
      */
     @Override
     public String toString() {
-        return "Player { id=" + this.id + ", name=" + this.name + ", resources=" + this.resources + ", devCards="
+        return "Player { id=" + this.id + ", name=" + this.name + ", resources=" + getResourcesMap() + ", devCards="
                 + this.devCards + ", hiddenVP=" + this.hiddenVictoryPoints + ", structuresRemaining="
                 + this.structuresRemaining + " }";
     }
 
     public boolean hasEnoughResourcesForStructure(String structureType) {
-        PlayerInfrastructureConfig structureConfig = ConfigService.getInfrastructure(structureType);
-        for (String resource : structureConfig.constructionCosts.keySet()) {
-            ResourceConfig resourceConfig = ConfigService.getResource(resource);
-            int cost = structureConfig.constructionCosts.get(resource);
-            if (this.getResourceCount(resourceConfig) < cost) {
+        return hasEnoughResourcesForStructure(config.getInfrastructure(structureType));
+    }
+
+    /**
+     * Checks the player can pay a structure's cost; one compare per resource type
+     * 
+     * @param structure the structure to check
+     * @return whether every resource count covers the cost
+     */
+    public boolean hasEnoughResourcesForStructure(PlayerInfrastructureConfig structure) {
+        int[] cost = structure.getCostVector();
+        for (int i = 0; i < cost.length; i++) {
+            if (this.resources[i] < cost[i]) {
                 return false;
             }
         }
         return true;
     }
 
+    /**
+     * Gets how many of a structure the player could pay for with their current resources
+     * 
+     * @param structure the structure to check
+     * @return number of times the cost fits in the hand; Integer.MAX_VALUE if the structure is free
+     */
+    public int affordableCount(PlayerInfrastructureConfig structure) {
+        int[] cost = structure.getCostVector();
+        int count = Integer.MAX_VALUE;
+        for (int i = 0; i < cost.length; i++) {
+            if (cost[i] > 0) {
+                count = Math.min(count, this.resources[i] / cost[i]);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gives the player a structure's cost; used for refunds and setup
+     * 
+     * @param structure the structure whose cost is added
+     */
+    public void addStructureResources(PlayerInfrastructureConfig structure) {
+        int[] cost = structure.getCostVector();
+        for (int i = 0; i < cost.length; i++) {
+            this.resources[i] += cost[i];
+            this.totalResources += cost[i];
+        }
+        if (recording()) {
+            this.journal.push(this.id, structure.getHandle(), +1, Journal.PLAYER_STRUCTURE_COST);
+        }
+    }
+
     public boolean deductStructureResources(String structureType) {
-        boolean success = true;
-        PlayerInfrastructureConfig structureConfig = ConfigService.getInfrastructure(structureType);
-        // System.out.println("Deducting resources for structure: " + structureType);
-        for (String resource : structureConfig.constructionCosts.keySet()) {
-            ResourceConfig resourceConfig = ConfigService.getResource(resource);
-            int cost = structureConfig.constructionCosts.get(resource);
-            // System.out.println(" - " + cost + " of " + resource);
-            // System.out.println(" Current amount: " +
-            // this.getResourceCount(resourceConfig));
-            success = success && this.changeResourceCount(resourceConfig, -cost);
+        return deductStructureResources(config.getInfrastructure(structureType));
+    }
+
+    /**
+     * Pays a structure's cost; nothing is deducted if the player cannot afford all of it
+     * 
+     * @param structure the structure being paid for
+     * @return success of the operation
+     */
+    public boolean deductStructureResources(PlayerInfrastructureConfig structure) {
+        if (!hasEnoughResourcesForStructure(structure)) {
+            return false;
+        }
+        int[] cost = structure.getCostVector();
+        for (int i = 0; i < cost.length; i++) {
+            this.resources[i] -= cost[i];
+            this.totalResources -= cost[i];
+        }
+        if (recording()) {
+            this.journal.push(this.id, structure.getHandle(), -1, Journal.PLAYER_STRUCTURE_COST);
         }
-        return success;
+        return true;
     }
 
     public ArrayList<Integer> getResourceCountsList() {
         ArrayList<Integer> counts = new ArrayList<>();
-        for (ResourceConfig resource : ResourceRegistry.getInstance().all()) {
-            System.out.println("Getting resource count for: " + resource.id);
+        for (ResourceConfig resource : config.getAllResources()) {
             counts.add(this.getResourceCount(resource));
         }
         return counts;
     }
 
+    /**
+     * Builds a map view of the resources for the view layer; changes to the map do not affect the player
+     * 
+     * @return resource to count map
+     */
     public HashMap<ResourceConfig, Integer> getResourcesMap() {
-        return this.resources;
+        HashMap<ResourceConfig, Integer> map = new HashMap<>();
+        for (int i = 0; i < this.resources.length; i++) {
+            map.put(config.getResource(i), this.resources[i]);
+        }
+        return map;
     }
 
     public int getTotalVictoryPoints() {
@@ -407,34 +607,50 @@ public class Player {
 
     public void changeVictoryPoints(int amount) {
         victoryPoints += amount;
+        if (amount != 0 && recording()) {
+            this.journal.push(this.id, amount, Journal.PLAYER_VICTORY_POINTS);
+        }
     }
 
     public void changeHiddenVictoryPoints(int amount) {
         hiddenVictoryPoints += amount;
+        if (amount != 0 && recording()) {
+            this.journal.push(this.id, amount, Journal.PLAYER_HIDDEN_POINTS);
+        }
     }
 
-    public ResourceConfig stealRandomResource() {
-        ArrayList<ResourceConfig> ownedResources = new ArrayList<>();
-        for (ResourceConfig resource : this.resources.keySet()) {
-            if (this.getResourceCount(resource) > 0) {
-                ownedResources.add(resource);
+    /**
+     * Removes one resource card chosen uniformly among the types the player owns
+     * @param random the game's random source
+     * @return the stolen resource, or null if the player has none
+     */
+    public ResourceConfig stealRandomResource(RandomGenerator random) {
+        int ownedTypes = 0;
+        for (int count : this.resources) {
+            if (count > 0) {
+                ownedTypes++;
             }
         }
 
-        if (ownedResources.isEmpty()) {
+        if (ownedTypes == 0) {
             return null; // No resources to steal
         }
 
-        int randomIndex = (int) (Math.random() * ownedResources.size());
-        ResourceConfig stolenResource = ownedResources.get(randomIndex);
-        this.changeResourceCount(stolenResource, -1); // Remove one of the stolen resource
-        return stolenResource;
+        // pick uniformly among the owned resource types, as before
+        int randomIndex = random.nextInt(ownedTypes);
+        for (int i = 0; i < this.resources.length; i++) {
+            if (this.resources[i] > 0 && randomIndex-- == 0) {
+                this.changeResourceCount(i, -1); // Remove one of the stolen resource
+                return config.getResource(i);
+            }
+        }
+        return null;
     }
 
     public ArrayList<DevCardConfig> getDevCards() {
         ArrayList<DevCardConfig> devCardConfigs = new ArrayList<>();
         for (String cardId : this.devCards) {
-            DevCardConfig cardConfig = ConfigService.getDevCard(cardId);
+            DevCardConfig cardConfig = config.getDevCard(cardId);
             if (cardConfig != null) {
                 devCardConfigs.add(cardConfig);
             }
@@ -2,20 +2,29 @@ package com.example.model;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
+import com.example.model.config.ConfigManager;
+import com.example.model.config.ConfigSnapshot;
 import com.example.model.config.PortConfig;
-import com.example.model.config.service.ConfigService;
 
 public class Ports {
 
+    private final ConfigSnapshot config;
     private ArrayList<Port> ports;
 
-    //generate ports
+    //generate ports with the default config snapshot
     public Ports() {
+        this(ConfigManager.getSnapshot(), new SplittableRandom());
+    }
+
+    //generate ports, placed in an order drawn from the game's random
+    public Ports(ConfigSnapshot config, RandomGenerator random) {
+        this.config = config;
 
         //read in all port types from JSON
-        Collection<PortConfig> portconfigs = ConfigService.getAllPorts();
+        Collection<PortConfig> portconfigs = config.getAllPorts();
         
         ports = new ArrayList<Port>();
 
@@ -28,21 +37,25 @@ public class Ports {
         }
 
         //randomise order of ports
-        Random rand = new Random();
-        ports = shuffleArray(ports, rand);
+        Shuffle.shuffle(ports, random);
 
         //port types all now set, vertices are next:
         ports = setAdjVerticesForEachPort(ports);
     }
 
-    private static ArrayList<Port> shuffleArray(ArrayList<Port> array, Random rand) {
-        for (int i = array.size() - 1; i > 0; i--) {
-            int j = rand.nextInt(i + 1);
-            Port temp = array.get(i);
-            array.set(i, array.get(j));
-            array.set(j, temp);
+    //place ports as in a pre-generated board
+    public Ports(ConfigSnapshot config, BoardLayout board) {
+        this.config = config;
+        ports = new ArrayList<Port>();
+        for (String portID : board.portIDs()) {
+            if (config.getPort(portID) == null) {
+                throw new IllegalArgumentException("Unknown port " + portID);
+            }
+            Port newPort = new Port();
+            newPort.setPortID(portID);
+            ports.add(newPort);
         }
-        return array;
+        ports = setAdjVerticesForEachPort(ports);
     }
 
     //sets all the vertices where ports are to be generated
@@ -54,12 +67,17 @@ public class Ports {
         return ports;
     }
 
+    //getter
+    public ArrayList<Port> getPorts() {
+        return ports;
+    }
+
     public ArrayList<PortConfig> getPortConfigsByPortNumbers(ArrayList<Integer> portNumbers){
         ArrayList<PortConfig> portConfigs = new ArrayList<PortConfig>();
 
         for (int p : portNumbers){
             Port currentPort = ports.get(p);
-            portConfigs.add(ConfigService.getPort(currentPort.getPortID()));
+            portConfigs.add(config.getPort(currentPort.getPortID()));
         }
         return portConfigs;
     }
@@ -0,0 +1,271 @@
+package com.example.model;
+
+import java.util.Arrays;
+
+import com.example.model.config.ResourceConfig;
+
+/**
+ * ProductionTable Class; precomputed resource payouts for every dice roll
+ * Each roll (2 to 12) maps to a packed int entry per producing settlement or city:
+ * player index (into the game's player list), resource ordinal, amount, city flag and robber flag.
+ * Tiles are refreshed lazily: build, robber and disaster events only mark tiles dirty, and the next
+ * roll rebuilds just those tiles, so distributing resources is an allocation free loop over an int array.
+ */
+public class ProductionTable {
+
+    public static final int MIN_ROLL = 2;
+    public static final int MAX_ROLL = 12;
+
+    // packed entry layout
+    private static final int PLAYER_MASK = 0xFF;          // bits 0-7
+    private static final int RESOURCE_SHIFT = 8;          // bits 8-15
+    private static final int RESOURCE_MASK = 0xFF;
+    private static final int AMOUNT_SHIFT = 16;           // bits 16-19
+    private static final int AMOUNT_MASK = 0xF;
+    private static final int CITY_FLAG = 1 << 20;
+    private static final int BLOCKED_FLAG = 1 << 21;
+
+    private int[][] tileEntries;         // tile index -> entries produced by that tile
+    private int[] tileEntryCount;
+    private boolean[] tileDirty;
+
+    private int[][] rollEntries;         // roll -> entries of every tile with that number
+    private int[] rollEntryCount;
+    private boolean[] rollDirty;
+    private int[] tileRoll;              // roll number each tile was last indexed under
+
+    // state shared with a fork: the small arrays are copied before the next change, the entries before the next rebuild
+    private boolean sharedState;
+    private boolean sharedEntries;
+
+    private int[] playerIndexByID = new int[0];
+    private long version; // bumped by every refresh that rebuilds something, for caches built on the entries
+
+    public ProductionTable() {
+        tileEntries = new int[Tiles.NUMBER_OF_HEXES][AdjacencyMaps.TileVertices[0].length];
+        tileEntryCount = new int[Tiles.NUMBER_OF_HEXES];
+        tileDirty = new boolean[Tiles.NUMBER_OF_HEXES];
+        tileRoll = new int[Tiles.NUMBER_OF_HEXES];
+        rollEntries = new int[MAX_ROLL + 1][];
+        rollEntryCount = new int[MAX_ROLL + 1];
+        rollDirty = new boolean[MAX_ROLL + 1];
+        for (int roll = 0; roll <= MAX_ROLL; roll++) {
+            // every tile could share a number if a config asks for it; sized once so refreshes never allocate
+            rollEntries[roll] = new int[Tiles.NUMBER_OF_HEXES * AdjacencyMaps.TileVertices[0].length];
+        }
+        invalidateAll();
+    }
+
+    /**
+     * Copy constructor; used when forking a game
+     * Every array is shared with the original until either side marks or rebuilds a tile.
+     * @param other table to copy
+     */
+    ProductionTable(ProductionTable other) {
+        tileEntries = other.tileEntries;
+        tileEntryCount = other.tileEntryCount;
+        tileDirty = other.tileDirty;
+        tileRoll = other.tileRoll;
+        rollEntries = other.rollEntries;
+        rollEntryCount = other.rollEntryCount;
+        rollDirty = other.rollDirty;
+        playerIndexByID = other.playerIndexByID; // replaced, never edited, by setPlayers
+        version = other.version;
+        sharedState = sharedEntries = true;
+        other.sharedState = other.sharedEntries = true;
+    }
+
+    // Helper function; takes private copies of the dirty flags and counts if they are shared with a fork
+    private void unshareState() {
+        if (!sharedState) {
+            return;
+        }
+        tileEntryCount = tileEntryCount.clone();
+        tileDirty = tileDirty.clone();
+        tileRoll = tileRoll.clone();
+        rollEntryCount = rollEntryCount.clone();
+        rollDirty = rollDirty.clone();
+        sharedState = false;
+    }
+
+    /**
+     * Sets the player order used for the player index of each entry
+     * @param playerIDs IDs of every player, in the same order as the game's player list
+     */
+    public void setPlayers(int[] playerIDs) {
+        int maxID = 0;
+        for (int id : playerIDs) {
+            maxID = Math.max(maxID, id);
+        }
+        playerIndexByID = new int[maxID + 1];
+        Arrays.fill(playerIndexByID, -1);
+        for (int i = 0; i < playerIDs.length; i++) {
+            if (playerIDs[i] >= 0) {
+                playerIndexByID[playerIDs[i]] = i;
+            }
+        }
+        invalidateAll();
+    }
+
+    // marks the tiles around a vertex dirty; call after a settlement or city is built on it
+    public void onVertexChanged(int vertex) {
+        unshareState();
+        for (int i = 0, n = AdjacencyMaps.vertexTileCount(vertex); i < n; i++) {
+            tileDirty[AdjacencyMaps.adjacentTile(vertex, i)] = true;
+        }
+    }
+
+    // marks a single tile dirty; call after the robber, a disaster or a restore changes it
+    public void onTileChanged(int tileIndex) {
+        if (tileIndex >= 0 && tileIndex < tileDirty.length) {
+            unshareState();
+            tileDirty[tileIndex] = true;
+        }
+    }
+
+    public void invalidateAll() {
+        unshareState();
+        Arrays.fill(tileDirty, true);
+    }
+
+    /**
+     * Rebuilds the entries of every dirty tile and of every roll they belong to
+     * @param tiles tiles on the board
+     * @param settlements settlements on the board
+     * @throws IllegalStateException if a settlement belongs to a player not passed to setPlayers
+     */
+    public void refresh(Tiles tiles, Settlements settlements) {
+        if (!hasDirtyTile()) {
+            return; // nothing changed since the last refresh
+        }
+        unshareState();
+        if (sharedEntries) {
+            tileEntries = deepCopy(tileEntries);
+            rollEntries = deepCopy(rollEntries);
+            sharedEntries = false;
+        }
+        Tile[] allTiles = tiles.getTiles();
+        for (int t = 0; t < tileDirty.length; t++) {
+            if (!tileDirty[t]) continue;
+            rollDirty[tileRoll[t]] = true;
+            tileRoll[t] = isValidRoll(allTiles[t].getNumber()) ? allTiles[t].getNumber() : 0;
+            rollDirty[tileRoll[t]] = true;
+            refreshTile(t, allTiles[t], settlements);
+            tileDirty[t] = false;
+        }
+
+        for (int roll = MIN_ROLL; roll <= MAX_ROLL; roll++) {
+            if (!rollDirty[roll]) continue;
+            int count = 0;
+            for (int t = 0; t < tileRoll.length; t++) {
+                if (tileRoll[t] != roll) continue;
+                System.arraycopy(tileEntries[t], 0, rollEntries[roll], count, tileEntryCount[t]);
+                count += tileEntryCount[t];
+            }
+            rollEntryCount[roll] = count;
+            rollDirty[roll] = false;
+        }
+        rollDirty[0] = false;
+        version++;
+    }
+
+    // changes whenever the entries of some roll may have changed
+    public long getVersion() {
+        return version;
+    }
+
+    // Helper function; checks whether the next refresh has any work to do
+    private boolean hasDirtyTile() {
+        for (boolean dirty : tileDirty) {
+            if (dirty) return true;
+        }
+        return false;
+    }
+
+    // Helper function; copies every row of an entry table
+    private static int[][] deepCopy(int[][] entries) {
+        int[][] copy = new int[entries.length][];
+        for (int i = 0; i < entries.length; i++) {
+            copy[i] = entries[i].clone();
+        }
+        return copy;
+    }
+
+    // Helper function; rebuilds the entries for a single tile
+    private void refreshTile(int tileIndex, Tile tile, Settlements settlements) {
+        tileEntryCount[tileIndex] = 0;
+        if (tile.getIsDestroyed() || tileRoll[tileIndex] == 0) {
+            return; // destroyed tiles and deserts produce nothing
+        }
+        ResourceConfig resourceConfig = tile.getResourceFromTileID();
+        if (resourceConfig == null) {
+            return;
+        }
+        int resource = resourceConfig.getOrdinal();
+
+        boolean blocked = tile.getIsBlocked();
+        for (int vertex : AdjacencyMaps.TileVertices[tileIndex]) {
+            Settlement s = settlements.GetSettlementFromVertex(vertex);
+            if (s == null) continue;
+
+            boolean city = s.isCity();
+            int amount = city ? 2 : 1;
+            if (blocked && !city) {
+                continue; // tile is blocked by the robber, settlements produce nothing
+            }
+            if (blocked) {
+                amount += 2; // double production for cities on blocked tiles
+            }
+
+            int playerID = s.getPlayerID();
+            int playerIndex = playerID >= 0 && playerID < playerIndexByID.length ? playerIndexByID[playerID] : -1;
+            if (playerIndex < 0) {
+                throw new IllegalStateException("Player not found for settlement");
+            }
+
+            int entry = playerIndex
+                    | (resource << RESOURCE_SHIFT)
+                    | (amount << AMOUNT_SHIFT)
+                    | (city ? CITY_FLAG : 0)
+                    | (blocked ? BLOCKED_FLAG : 0);
+            tileEntries[tileIndex][tileEntryCount[tileIndex]++] = entry;
+        }
+    }
+
+    /**
+     * Gets the packed entries for a roll; only the first getEntryCount(roll) are valid
+     * @param roll dice roll (2 to 12)
+     * @return backing entry array; must not be modified
+     */
+    public int[] getEntries(int roll) {
+        return isValidRoll(roll) ? rollEntries[roll] : rollEntries[0];
+    }
+
+    public int getEntryCount(int roll) {
+        return isValidRoll(roll) ? rollEntryCount[roll] : 0;
+    }
+
+    public static int resourceOrdinal(int entry) {
+        return (entry >>> RESOURCE_SHIFT) & RESOURCE_MASK;
+    }
+
+    public static int playerIndex(int entry) {
+        return entry & PLAYER_MASK;
+    }
+
+    public static int amount(int entry) {
+        return (entry >>> AMOUNT_SHIFT) & AMOUNT_MASK;
+    }
+
+    public static boolean isCity(int entry) {
+        return (entry & CITY_FLAG) != 0;
+    }
+
+    public static boolean isBlocked(int entry) {
+        return (entry & BLOCKED_FLAG) != 0;
+    }
+
+    private static boolean isValidRoll(int roll) {
+        return roll >= MIN_ROLL && roll <= MAX_ROLL;
+    }
+}
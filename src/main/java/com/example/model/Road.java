@@ -23,6 +23,14 @@ public class Road {
         this.roadType = "player_infrastructure.road";
     }
 
+    //copy constructor; the vertex array is board topology and is shared
+    public Road(Road other){
+        this.playerID = other.playerID;
+        this.vertices = other.vertices;
+        this.buildID = other.buildID;
+        this.roadType = other.roadType;
+    }
+
     //getters
     public int getPlayerID(){return this.playerID;}
     public int[] getVertices(){return this.vertices;}
@@ -1,10 +1,5 @@
 package com.example.model;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
 /**
  * Roads Class; stores all road objects and manages road building
  * @author 40452739
@@ -19,6 +14,19 @@ public class Roads {
     private int nextBuildID = 1; // ID to assign to the next built road
 
     private final Road[] roads; // array of all road objects; starts filled with unowned roads
+    private long writableLo; // roads this instance may modify; the rest are shared with a fork
+    private long writableHi;
+
+    // bitboards kept in sync with the roads array; see Bitboards for the two-word edge layout
+    private long ownedEdgesLo;
+    private long ownedEdgesHi;
+    private long[] playerEdgesLo = new long[0]; // indexed by player ID
+    private long[] playerEdgesHi = new long[0];
+    private long[] playerVertices = new long[0]; // vertices touched by each player's roads
+
+    private final LongestRoad longestRoad; // cached per component; updated on every build
+
+    private Journal journal; // records builds so GameModel can undo them; null when not recording
 
     public Roads() {
         roads = new Road[NUMBER_OF_ROADS];
@@ -26,6 +34,47 @@ public class Roads {
         for (int i = 0; i < NUMBER_OF_ROADS; i++) {
             roads[i] = new Road(Roads.UNOWNED_ROAD_ID, AdjacencyMaps.RoadConnections[i], 0);
         }
+        writableLo = -1L;
+        writableHi = -1L;
+        longestRoad = new LongestRoad();
+    }
+
+    /**
+     * Copy constructor; shares every Road object with the original until either side modifies it
+     * @param other roads to copy; also loses write access to the shared objects
+     */
+    Roads(Roads other) {
+        roads = other.roads.clone();
+        nextBuildID = other.nextBuildID;
+        ownedEdgesLo = other.ownedEdgesLo;
+        ownedEdgesHi = other.ownedEdgesHi;
+        playerEdgesLo = other.playerEdgesLo.clone();
+        playerEdgesHi = other.playerEdgesHi.clone();
+        playerVertices = other.playerVertices.clone();
+        longestRoad = new LongestRoad(other.longestRoad);
+        writableLo = 0L;
+        writableHi = 0L;
+        other.writableLo = 0L;
+        other.writableHi = 0L;
+    }
+
+    void setJournal(Journal journal) {
+        this.journal = journal;
+    }
+
+    // Helper function; gets the road on the edge, copying it first if it is shared with a fork
+    private Road writable(int index) {
+        long bit = Bitboards.edgeBit(index);
+        if (Bitboards.isLowEdge(index)) {
+            if ((writableLo & bit) == 0) {
+                roads[index] = new Road(roads[index]);
+                writableLo |= bit;
+            }
+        } else if ((writableHi & bit) == 0) {
+            roads[index] = new Road(roads[index]);
+            writableHi |= bit;
+        }
+        return roads[index];
     }
     
     /**
@@ -67,8 +116,14 @@ public class Roads {
     public boolean buildRoad(int index, int playerID) {
         if (isValidRoadIndex(index)) {
             if (roads[index].getPlayerID() == UNOWNED_ROAD_ID) {
-                roads[index].setPlayerID(playerID);
-                roads[index].setBuildID(nextBuildID++);
+                Road road = writable(index);
+                road.setPlayerID(playerID);
+                road.setBuildID(nextBuildID++);
+                setEdgeBits(index, playerID);
+                longestRoad.onRoadBuilt(index, playerID, road.getBuildID());
+                if (journal != null && journal.isRecording()) {
+                    journal.push(index, Journal.ROAD_BUILT);
+                }
                 
                 return true;
             }
@@ -149,16 +204,10 @@ public class Roads {
      * @return true if the vertex is connected by the player; false otherwise
      */ 
     public boolean isVertexConnectedByPlayer(int vertex, int playerID) {
-        for (int i = 0; i < NUMBER_OF_ROADS; i++) {
-            Road r = roads[i];
-            if (r.getPlayerID() == playerID) {
-                int[] v = r.getVertices();
-                if (v[0] == vertex || v[1] == vertex) {
-                    return true;
-                }
-            }
+        if (!Settlements.isValidVertex(vertex)) {
+            return false;
         }
-        return false;
+        return (getPlayerVertexMask(playerID) & Bitboards.vertexBit(vertex)) != 0;
     }
 
     /**
@@ -169,9 +218,95 @@ public class Roads {
      */
     public boolean isRoadConnectedByPlayer(int roadIndex, int playerID) {
         // road is connected if either vertex is connected
-        int[] verts = roads[roadIndex].getVertices();
+        return (getPlayerVertexMask(playerID) & Bitboards.endpoints(roadIndex)) != 0;
+    }
 
-        return isVertexConnectedByPlayer(verts[0], playerID) || isVertexConnectedByPlayer(verts[1], playerID);
+    /**
+     * Gets the bitboard of vertices touched by a player's roads
+     * @param playerID ID of the player
+     * @return mask with bit v set if any of the player's roads ends at vertex v
+     */
+    public long getPlayerVertexMask(int playerID) {
+        if (playerID < 0 || playerID >= playerVertices.length) {
+            return 0L;
+        }
+        return playerVertices[playerID];
+    }
+
+    /**
+     * Gets the low word of the player's edge bitboard (edges 0 to 63)
+     * @param playerID ID of the player
+     * @return low word of the mask of edges owned by the player
+     */
+    public long getPlayerEdgesLo(int playerID) {
+        if (playerID < 0 || playerID >= playerEdgesLo.length) {
+            return 0L;
+        }
+        return playerEdgesLo[playerID];
+    }
+
+    /**
+     * Gets the high word of the player's edge bitboard (edges 64 to 71)
+     * @param playerID ID of the player
+     * @return high word of the mask of edges owned by the player
+     */
+    public long getPlayerEdgesHi(int playerID) {
+        if (playerID < 0 || playerID >= playerEdgesHi.length) {
+            return 0L;
+        }
+        return playerEdgesHi[playerID];
+    }
+
+    public long getOwnedEdgesLo() {
+        return ownedEdgesLo;
+    }
+
+    public long getOwnedEdgesHi() {
+        return ownedEdgesHi;
+    }
+
+    // Helper function; marks an edge as owned by the player in every bitboard
+    private void setEdgeBits(int index, int playerID) {
+        long bit = Bitboards.edgeBit(index);
+        boolean low = Bitboards.isLowEdge(index);
+        if (low) {
+            ownedEdgesLo |= bit;
+        } else {
+            ownedEdgesHi |= bit;
+        }
+        if (playerID < 0) {
+            return;
+        }
+        playerEdgesLo = Bitboards.ensureCapacity(playerEdgesLo, playerID);
+        playerEdgesHi = Bitboards.ensureCapacity(playerEdgesHi, playerID);
+        playerVertices = Bitboards.ensureCapacity(playerVertices, playerID);
+        if (low) {
+            playerEdgesLo[playerID] |= bit;
+        } else {
+            playerEdgesHi[playerID] |= bit;
+        }
+        playerVertices[playerID] |= Bitboards.endpoints(index);
+    }
+
+    // Helper function; clears an edge from every bitboard
+    private void clearEdgeBits(int index, int playerID) {
+        long bit = Bitboards.edgeBit(index);
+        boolean low = Bitboards.isLowEdge(index);
+        if (low) {
+            ownedEdgesLo &= ~bit;
+        } else {
+            ownedEdgesHi &= ~bit;
+        }
+        if (playerID < 0 || playerID >= playerVertices.length) {
+            return;
+        }
+        if (low) {
+            playerEdgesLo[playerID] &= ~bit;
+        } else {
+            playerEdgesHi[playerID] &= ~bit;
+        }
+        // a vertex may still be touched by another of the player's roads, so rebuild from the edges
+        playerVertices[playerID] = Bitboards.endpointsOf(playerEdgesLo[playerID], playerEdgesHi[playerID]);
     }
 
 
@@ -189,10 +324,44 @@ public class Roads {
         if (roads[index].getPlayerID() == UNOWNED_ROAD_ID) {
             return false; // road is already unowned
         }
-        roads[index].setPlayerID(UNOWNED_ROAD_ID);
+        clearEdgeBits(index, roads[index].getPlayerID());
+        longestRoad.onRoadRemoved(index, roads[index].getPlayerID());
+        writable(index).setPlayerID(UNOWNED_ROAD_ID);
         return true;
     }
 
+    /**
+     * Puts a road back as it was saved, keeping its build ID; not recorded in the journal
+     * @param index index of the road (0 to 71)
+     * @param playerID owner, or UNOWNED_ROAD_ID for a road that was built and later removed
+     * @param buildID build ID the road had
+     */
+    void restoreRoad(int index, int playerID, int buildID) {
+        Road road = writable(index);
+        road.setPlayerID(playerID);
+        road.setBuildID(buildID);
+        if (playerID != UNOWNED_ROAD_ID) {
+            setEdgeBits(index, playerID);
+            longestRoad.onRoadBuilt(index, playerID, buildID);
+        }
+    }
+
+    // ID the next built road will get
+    int getNextBuildID() {
+        return nextBuildID;
+    }
+
+    void setNextBuildID(int nextBuildID) {
+        this.nextBuildID = nextBuildID;
+    }
+
+    // removes the most recently built road and gives back its build ID; only used to undo a build
+    void unbuildRoad(int index) {
+        removeRoad(index);
+        writable(index).setBuildID(0);
+        nextBuildID--;
+    }
+
         /**
      * Attempts to remove a road at the specified vertices for the given player.
      * @param vertex1   First vertex of the road to remove
@@ -206,107 +375,20 @@ public class Roads {
     }
 
     /**
-     * Helper function; compares two roads to see which is better for longest road calculation
-     * @param lenA length of road A
-     * @param maxBuildA maximum build ID on road A
-     * @param lenB length of road B
-     * @param maxBuildB maximum build ID on road B
-     * @return whether road A is better than road B
-     */
-    private static boolean isBetterRoad(int lenA, int maxBuildA, int lenB, int maxBuildB) {
-        if (lenA != lenB) return lenA > lenB;
-        return maxBuildA < maxBuildB;
-    }
-
-    /**
-     * Helper struct; stores result of a path search
-     */
-    private static class PathResult {
-        int length;
-        int maxBuildID;
-
-        PathResult(int length, int maxBuildID) {
-            this.length = length;
-            this.maxBuildID = maxBuildID;
-        }
-    }
-
-    /**
-     * Helper function; builds adjacency list of roads for the given player
-     * @param playerID ID of the player
-     * @return adjacency list mapping vertex to list of road indices
-     */
-    private Map<Integer, List<Integer>> buildAdjacencyForPlayer(int playerID) {
-        Map<Integer, List<Integer>> adj = new HashMap<>();
-
-        for (int i = 0; i < NUMBER_OF_ROADS; i++) {
-            Road r = roads[i];
-            if (r.getPlayerID() == playerID) {
-                int v1 = r.getVertices()[0];
-                int v2 = r.getVertices()[1];
-
-                adj.computeIfAbsent(v1, k -> new ArrayList<>()).add(i);
-                adj.computeIfAbsent(v2, k -> new ArrayList<>()).add(i);
-            }
-        }
-        return adj;
-    }
-
-    /**
-     * Helper function; performs DFS to find the longest road from the current vertex
-     * WARNING: recursive function
-     * @param currentVertex current vertex in the DFS
-     * @param adj adjacency list of roads
-     * @param usedEdge array tracking used edges
-     * @param currentLength current length of the road
-     * @param currentMaxBuild current maximum build ID on the road
-     * @param best best path result found so far
+     * Gets the longest road engine; GameModel reports settlements to it so they can break opponents' roads
+     * @return the longest road engine for these roads
      */
-    private void dfsLongestRoad(int currentVertex, Map<Integer, List<Integer>> adj, boolean[] usedEdge, int currentLength, int currentMaxBuild, PathResult best) {
-        // Update best result
-        if (isBetterRoad(currentLength, currentMaxBuild, best.length, best.maxBuildID)) {
-            best.length = currentLength;
-            best.maxBuildID = currentMaxBuild;
-        }
-
-        List<Integer> edges = adj.get(currentVertex);
-        if (edges == null) return;
-
-        for (int edgeIndex : edges) {
-            if (usedEdge[edgeIndex]) continue;
-
-            Road r = roads[edgeIndex];
-            int[] v = r.getVertices();
-            int nextVertex = (v[0] == currentVertex) ? v[1] : v[0];
-
-            usedEdge[edgeIndex] = true;
-            dfsLongestRoad(
-                    nextVertex,
-                    adj,
-                    usedEdge,
-                    currentLength + 1,
-                    Math.max(currentMaxBuild, r.getBuildID()),
-                    best
-            );
-            usedEdge[edgeIndex] = false;
-        }
+    public LongestRoad getLongestRoad() {
+        return longestRoad;
     }
 
     /**
-     * Gets the best (longest) road for the specified player
-     * @param playerID ID of the player
-     * @return PathResult containing length and max build ID of the best road
+     * Gets the owner and length of the longest road in a single evaluation
+     * @param playerIDs IDs of the players to compare
+     * @return standing holding the owner (or UNOWNED_ROAD_ID) and the longest length
      */
-    private PathResult getBestRoadForPlayer(int playerID) {
-        Map<Integer, List<Integer>> adj = buildAdjacencyForPlayer(playerID);
-        PathResult best = new PathResult(0, Integer.MAX_VALUE);
-        boolean[] usedEdge = new boolean[NUMBER_OF_ROADS];
-
-        for (Map.Entry<Integer, List<Integer>> entry : adj.entrySet()) {
-            int vertex = entry.getKey();
-            dfsLongestRoad(vertex, adj, usedEdge, 0, 0, best);
-        }
-        return best;
+    public LongestRoad.Standing getLongestRoadStanding(int[] playerIDs) {
+        return longestRoad.evaluate(playerIDs);
     }
 
     /**
@@ -314,22 +396,7 @@ public class Roads {
      * @return player ID of the longest road owner, or UNOWNED_ROAD_ID if none
      */
     public int longestRoadOwner(int[] playerIDs) {
-        int bestPlayer = UNOWNED_ROAD_ID;
-        int bestLength = 0;
-        int bestMaxBuild = Integer.MAX_VALUE;
-
-        for (int playerID : playerIDs) {
-            PathResult r = getBestRoadForPlayer(playerID);
-
-            if (r.length < minimumLongestRoadLength) continue;
-
-            if (isBetterRoad(r.length, r.maxBuildID, bestLength, bestMaxBuild)) {
-                bestLength = r.length;
-                bestMaxBuild = r.maxBuildID;
-                bestPlayer = playerID;
-            }
-        }
-        return bestPlayer;
+        return longestRoad.evaluate(playerIDs).getOwner();
     }
 
     /**
@@ -337,7 +404,7 @@ public class Roads {
      * @return whether a longest road exists
      */
     public boolean longestRoadExists(int[] playerIDs) {
-        return longestRoadOwner(playerIDs) != UNOWNED_ROAD_ID;
+        return longestRoad.evaluate(playerIDs).exists();
     }
 
     /**
@@ -345,11 +412,7 @@ public class Roads {
      * @return length of the longest road
      */
     public int getLongestRoadLength(int[] playerIDs) {
-        int best = 0;
-        for (int playerID : playerIDs) {
-            best = Math.max(best, getBestRoadForPlayer(playerID).length);
-        }
-        return best;
+        return longestRoad.evaluate(playerIDs).getLength();
     }
 
     /**
@@ -359,18 +422,7 @@ public class Roads {
      * @return the road index, or -1 if invalid vertices
      */
     public static int getRoadIndex(int vertex1, int vertex2) {
-        if (vertex1 > vertex2) { // swap to maintain order; vertex1 <= vertex2
-            int temp = vertex1;
-            vertex1 = vertex2;
-            vertex2 = temp;
-        }
-        for (int i = 0; i < NUMBER_OF_ROADS; i++) {
-            int[] roadVertices = AdjacencyMaps.RoadConnections[i];
-            if ((roadVertices[0] == vertex1 && roadVertices[1] == vertex2)) {
-                return i;
-            }
-        }
-        return -1; // invalid vertices
+        return AdjacencyMaps.edgeIndex(vertex1, vertex2); // -1 (NO_EDGE) if invalid vertices
     }
 
     // Helper function; returns if the road index is valid
@@ -381,18 +433,7 @@ public class Roads {
     
     // Helper function; returns the given road vertices are valid
     public static boolean isValidVertices(int vertex1, int vertex2) {
-        if (vertex1 > vertex2) { // swap to maintain order; vertex1 <= vertex2
-            int temp = vertex1;
-            vertex1 = vertex2;
-            vertex2 = temp;
-        }
-        for (int i = 0; i < NUMBER_OF_ROADS; i++) {
-            int[] roadVertices = AdjacencyMaps.RoadConnections[i];
-            if ((roadVertices[0] == vertex1 && roadVertices[1] == vertex2)) {
-                return true;
-            }
-        }
-        return false;
+        return AdjacencyMaps.edgeIndex(vertex1, vertex2) != AdjacencyMaps.NO_EDGE;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,223 @@
+package com.example.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * RobberAdvisor Class; rates every tile the robber could be moved to, for bots and as a hint in the UI
+ * Each candidate is played on its own fork of the game and valued by expectimax over what follows:
+ * - the dice: the exact income each player loses (or, for cities on the tile, gains) per roll, from
+ *   the IncomeModel, over the rolls the robber is expected to stay
+ * - the steal: the player picks the victim worth the most; the card taken is random, so its value is
+ *   averaged over the victim's hand
+ * Every player's losses are weighted by how close they are to winning, so blocking the leader counts
+ * most and blocking your own tiles counts against the move.
+ * Hands are read from the model, so the advice sees cards a human player could not.
+ */
+public class RobberAdvisor {
+
+    private static final double HORIZON_ROLLS = 6; // a 7 comes up once every 6 rolls on average
+    private static final double LEADER_WEIGHT = 2; // extra weight on a player who is about to win
+    private static final int NO_VICTIM = -1;
+    // candidates take microseconds each, so fewer than this run faster on the calling thread than handed out
+    private static final int MIN_PARALLEL_CANDIDATES = 64;
+
+    private final int threads;
+    private final int minParallelCandidates;
+
+    /**
+     * Advice Record; the value of moving the robber to one tile
+     * @param tile tile index
+     * @param score overall value, higher is better
+     * @param opponentLoss expected resources opponents lose per roll
+     * @param ownLoss expected resources the player loses per roll; negative if the player gains
+     * @param victim player the steal should target, or -1 if there is nobody to steal from
+     * @param stealChance chance the steal from the victim takes a card
+     */
+    public record Advice(int tile, double score, double opponentLoss, double ownLoss, int victim, double stealChance) {}
+
+    // advisor that may use the common pool on boards with enough candidates
+    public RobberAdvisor() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * RobberAdvisor Constructor
+     * @param threads 1 evaluates the candidates on the calling thread; more lets large boards spread them
+     *                over the common pool
+     */
+    public RobberAdvisor(int threads) {
+        this(threads, MIN_PARALLEL_CANDIDATES);
+    }
+
+    // advisor that goes parallel from the given candidate count; lets tests reach the parallel path
+    RobberAdvisor(int threads, int minParallelCandidates) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be positive, got " + threads);
+        }
+        this.threads = threads;
+        this.minParallelCandidates = minParallelCandidates;
+    }
+
+    /**
+     * Rates every tile the robber can move to, i.e. every tile but the one it is on
+     * @param game game to advise on; not changed, its random included, so advice never alters later draws
+     * @param playerID player moving the robber
+     * @return advice for each candidate tile, best first
+     */
+    public Advice[] rank(GameModel game, int playerID) {
+        int players = game.getPlayers().size();
+        double[] weights = new double[players];
+        double[] incomeBefore = new double[players];
+        for (int p = 0; p < players; p++) {
+            Player player = game.getPlayer(p);
+            weights[p] = 1 + LEADER_WEIGHT * player.getTotalVictoryPoints() / game.getConfig().getVictoryPointsToWin();
+            incomeBefore[p] = game.getExpectedIncomeTotal(p);
+        }
+
+        // forks are taken here, on the calling thread; each task then only touches its own copy
+        // forking splits the game's random, which advances it, so it is put back once the forks are made
+        long randomState = game.getRandom().getState();
+        CandidateTask[] tasks = new CandidateTask[game.getNumberOfTiles()];
+        int count = 0;
+        for (int tile = 0; tile < game.getNumberOfTiles(); tile++) {
+            if (game.getTiles()[tile].getIsBlocked()) continue;
+            tasks[count++] = new CandidateTask(game.fork(), playerID, tile, weights, incomeBefore);
+        }
+        game.getRandom().setState(randomState);
+        CandidateTask[] candidates = Arrays.copyOf(tasks, count);
+
+        if (threads == 1 || count < minParallelCandidates) {
+            for (CandidateTask task : candidates) task.compute();
+        } else {
+            ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(candidates);
+                }
+            });
+        }
+
+        Advice[] advice = new Advice[count];
+        for (int i = 0; i < count; i++) {
+            advice[i] = candidates[i].advice;
+        }
+        Arrays.sort(advice, (a, b) -> Double.compare(b.score(), a.score())); // stable, so ties keep tile order
+        return advice;
+    }
+
+    // best tile for the robber, or -1 if it cannot move anywhere
+    public int bestTile(GameModel game, int playerID) {
+        Advice[] advice = rank(game, playerID);
+        return advice.length == 0 ? -1 : advice[0].tile();
+    }
+
+    /**
+     * Picks whom to steal from once the robber has moved
+     * @param game the game, with the robber on its new tile
+     * @param playerID player stealing
+     * @return a vertex of the best victim that stealValid accepts, or -1 if there is nobody to steal from
+     */
+    public int bestStealVertex(GameModel game, int playerID) {
+        int tile = game.getBlockedTileIndex();
+        if (tile < 0) {
+            return -1;
+        }
+        int players = game.getPlayers().size();
+        double[] weights = new double[players];
+        for (int p = 0; p < players; p++) {
+            weights[p] = 1 + LEADER_WEIGHT * game.getPlayer(p).getTotalVictoryPoints()
+                    / game.getConfig().getVictoryPointsToWin();
+        }
+        int victim = bestVictim(game, playerID, tile, weights, game.getExpectedIncome(playerID));
+        if (victim == NO_VICTIM) {
+            return -1;
+        }
+        for (int vertex : game.getTiles()[tile].getAdjVertices()) {
+            if (game.stealValid(vertex, playerID) && game.getSettlmentOwner(vertex) == victim) {
+                return vertex;
+            }
+        }
+        return -1;
+    }
+
+    // Helper function; the opponent on the tile whose steal is worth the most, or NO_VICTIM
+    private static int bestVictim(GameModel game, int playerID, int tile, double[] weights, double[] ownIncome) {
+        int best = NO_VICTIM;
+        double bestValue = -1;
+        for (int vertex : game.getTiles()[tile].getAdjVertices()) {
+            int owner = game.getSettlmentOwner(vertex);
+            if (owner < 0 || owner == playerID) continue;
+            double value = stealValue(game.getPlayer(owner), weights[owner], ownIncome);
+            if (value > bestValue) {
+                bestValue = value;
+                best = owner;
+            }
+        }
+        return best;
+    }
+
+    // Helper function; expected value of a steal: the victim's weighted loss of a card plus what the card
+    // is worth to the thief, more for resources the thief rarely rolls
+    private static double stealValue(Player victim, double victimWeight, double[] ownIncome) {
+        int hand = victim.getTotalResources();
+        if (hand == 0) {
+            return 0;
+        }
+        double cardValue = 0;
+        for (int r = 0; r < ownIncome.length; r++) {
+            cardValue += (double) victim.getResourceCount(r) / hand * (1 + 1 / (1 + HORIZON_ROLLS * ownIncome[r]));
+        }
+        return victimWeight + cardValue;
+    }
+
+    // evaluates one candidate tile on its own fork
+    private static final class CandidateTask extends RecursiveAction {
+
+        private final GameModel game;
+        private final int playerID;
+        private final int tile;
+        private final double[] weights;
+        private final double[] incomeBefore;
+        private Advice advice;
+
+        CandidateTask(GameModel game, int playerID, int tile, double[] weights, double[] incomeBefore) {
+            this.game = game;
+            this.playerID = playerID;
+            this.tile = tile;
+            this.weights = weights;
+            this.incomeBefore = incomeBefore;
+        }
+
+        @Override
+        protected void compute() {
+            game.moveRobber(tile);
+
+            double opponentLoss = 0;
+            double ownLoss = 0;
+            double blockValue = 0;
+            for (int p = 0; p < weights.length; p++) {
+                double loss = incomeBefore[p] - game.getExpectedIncomeTotal(p);
+                if (p == playerID) {
+                    ownLoss = loss;
+                    blockValue -= weights[p] * loss;
+                } else {
+                    opponentLoss += loss;
+                    blockValue += weights[p] * loss;
+                }
+            }
+
+            double[] ownIncome = game.getExpectedIncome(playerID);
+            int victim = bestVictim(game, playerID, tile, weights, ownIncome);
+            double stealChance = 0;
+            double steal = 0;
+            if (victim != NO_VICTIM) {
+                Player player = game.getPlayer(victim);
+                stealChance = player.getTotalResources() > 0 ? 1 : 0;
+                steal = stealValue(player, weights[victim], ownIncome);
+            }
+            advice = new Advice(tile, HORIZON_ROLLS * blockValue + steal, opponentLoss, ownLoss, victim, stealChance);
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.example.model;
 
-import com.example.model.config.PlayerInfrastructureConfig;
-import com.example.model.config.service.ConfigService;
+import com.example.model.config.ConfigSnapshot;
 
 public class Settlement {
 
@@ -19,6 +18,13 @@ public class Settlement {
         this.settlementID = "player_infrastructure.settlement";
     }
 
+    //copy constructor
+    public Settlement(Settlement other){
+        this.playerID = other.playerID;
+        this.vertex = other.vertex;
+        this.settlementID = other.settlementID;
+    }
+
     public int getPlayerID(){return this.playerID;}
     public int getVertex(){return this.vertex;}
     public String getSettlementType(){return this.settlementID;}
@@ -34,9 +40,17 @@ public class Settlement {
         return false;
     }
 
-    public int getVictoryPoints(){
-        PlayerInfrastructureConfig thisConfig = ConfigService.getInfrastructure(settlementID);
-        return thisConfig.victoryPoints;
+    //reverses upgradeSettlementType; used when undoing a city
+    boolean downgradeSettlementType(){
+        if (this.settlementID.equals("player_infrastructure.city")){
+            this.settlementID = "player_infrastructure.settlement";
+            return true;
+        }
+        return false;
+    }
+
+    public int getVictoryPoints(ConfigSnapshot config){
+        return config.getInfrastructure(settlementID).victoryPoints;
     }
 
     public boolean isCity(){
@@ -2,20 +2,61 @@ package com.example.model;
 
 import java.util.ArrayList;
 
+import com.example.model.config.ConfigSnapshot;
+
 public class Settlements {
 
     public static final int NUMBER_OF_VERTICES = 54;
     public static final int UNOWNED_SETTLEMENT_ID = -1;
 
+    private final ConfigSnapshot config;
     private final Settlement[] settlements;
+    private long writableVertices; // settlements this instance may modify; the rest are shared with a fork
+
+    // bitboards kept in sync with the settlements array; bit v is vertex v
+    private long occupiedVertices; // every owned vertex
+    private long cityVertices; // every vertex upgraded to a city
+    private long[] playerVertices = new long[0]; // indexed by player ID
+
+    private Journal journal; // records builds so GameModel can undo them; null when not recording
 
-    public Settlements(){
+    public Settlements(ConfigSnapshot config){
 
+        this.config = config;
         settlements = new Settlement[NUMBER_OF_VERTICES];
 
         for (int i = 0; i < NUMBER_OF_VERTICES; i++){
             settlements[i] = new Settlement(UNOWNED_SETTLEMENT_ID, i);
         }
+        writableVertices = -1L;
+    }
+
+    /**
+     * Copy constructor; shares every Settlement object with the original until either side modifies it
+     * @param other settlements to copy; also loses write access to the shared objects
+     */
+    Settlements(Settlements other){
+        config = other.config;
+        settlements = other.settlements.clone();
+        occupiedVertices = other.occupiedVertices;
+        cityVertices = other.cityVertices;
+        playerVertices = other.playerVertices.clone();
+        writableVertices = 0L;
+        other.writableVertices = 0L;
+    }
+
+    void setJournal(Journal journal){
+        this.journal = journal;
+    }
+
+    // Helper function; gets the settlement on the vertex, copying it first if it is shared with a fork
+    private Settlement writable(int vertex){
+        long bit = Bitboards.vertexBit(vertex);
+        if ((writableVertices & bit) == 0){
+            settlements[vertex] = new Settlement(settlements[vertex]);
+            writableVertices |= bit;
+        }
+        return settlements[vertex];
     }
 
     public boolean buildSettlement(int vertex, int playerID){
@@ -28,13 +69,33 @@ public class Settlements {
             return false;
         }
 
-        settlements[vertex].setPlayerID(playerID);
+        writable(vertex).setPlayerID(playerID);
 
+        long bit = Bitboards.vertexBit(vertex);
+        occupiedVertices |= bit;
+        if (playerID >= 0) {
+            playerVertices = Bitboards.ensureCapacity(playerVertices, playerID);
+            playerVertices[playerID] |= bit;
+        }
+
+        if (journal != null && journal.isRecording()){
+            journal.push(vertex, Journal.SETTLEMENT_BUILT);
+        }
         return true;
 
     }
 
-    //do you need to be able to remove settlements??
+    // removes a settlement; only used to undo a build, so the vertex must hold a settlement (not a city)
+    void removeSettlement(int vertex){
+        int playerID = settlements[vertex].getPlayerID();
+        writable(vertex).setPlayerID(UNOWNED_SETTLEMENT_ID);
+
+        long bit = Bitboards.vertexBit(vertex);
+        occupiedVertices &= ~bit;
+        if (playerID >= 0 && playerID < playerVertices.length) {
+            playerVertices[playerID] &= ~bit;
+        }
+    }
 
     public int ownedByPlayer(int vertex){
 
@@ -52,16 +113,29 @@ public class Settlements {
             return false;
         }
 
-        Settlement s = settlements[vertex];
+        if (settlements[vertex].getPlayerID() != playerID){
+            return false;
+        }
 
-        if (s.getPlayerID() != playerID){
+        if (!writable(vertex).upgradeSettlementType()) {
             return false;
         }
 
-        return s.upgradeSettlementType();
+        cityVertices |= Bitboards.vertexBit(vertex);
+        if (journal != null && journal.isRecording()){
+            journal.push(vertex, Journal.CITY_BUILT);
+        }
+        return true;
 
     }
 
+    // turns a city back into a settlement; only used to undo an upgrade
+    void downgradeCity(int vertex){
+        if (writable(vertex).downgradeSettlementType()) {
+            cityVertices &= ~Bitboards.vertexBit(vertex);
+        }
+    }
+
     public Settlement[] getAllOwnedSettlements(){
 
         int count = 0;
@@ -95,7 +169,7 @@ public class Settlements {
 
         for (Settlement s : settlements){
             if (s.getPlayerID() == playerID){
-                points += s.getVictoryPoints();
+                points += s.getVictoryPoints(config);
             }
         }
 
@@ -118,53 +192,56 @@ public class Settlements {
             return false;
         }
 
-        for (Settlement s : settlements) {
-            if (s.getPlayerID() == Settlements.UNOWNED_SETTLEMENT_ID) {
-                continue;
-            }
-            if (s.getVertex() == vertex) {
-                continue; // skip if it is the current vertex
-            }
-
-            int svertex = s.getVertex();
+        // a vertex is never its own neighbour, so the settlement on it (if any) is skipped
+        return (occupiedVertices & Bitboards.neighbours(vertex)) != 0;
 
-            for (int[] adj : AdjacencyMaps.RoadConnections) {
-                if ((adj[0] == vertex || adj[1] == vertex) && (adj[0] == svertex || adj[1] == svertex)) {
-                    return true;
-                }
-            }
-        }
+    }
+   
+    /**
+     * Gets the bitboard of every owned vertex
+     * @return mask with bit v set if vertex v has a settlement or city
+     */
+    public long getOccupiedMask(){
+        return occupiedVertices;
+    }
 
-        return false;
+    /**
+     * Gets the bitboard of every city
+     * @return mask with bit v set if vertex v has a city
+     */
+    public long getCityMask(){
+        return cityVertices;
+    }
 
+    /**
+     * Gets the bitboard of a player's settlements and cities
+     * @param playerID ID of the player
+     * @return mask with bit v set if the player owns vertex v
+     */
+    public long getPlayerMask(int playerID){
+        if (playerID < 0 || playerID >= playerVertices.length){
+            return 0L;
+        }
+        return playerVertices[playerID];
     }
-   
-    //returns all the settlements on the tile
+
+    //returns the owned settlement on the vertex, or null if there is none
     public Settlement GetSettlementFromVertex(int vertex){
-        Settlement[] ownedSettlements = getAllOwnedSettlements();
-        for (int i = 0; i < ownedSettlements.length; i++){
-            if (ownedSettlements[i].getVertex() == vertex){
-                //settlement exists on vertex
-                return ownedSettlements[i];
-            }
+        if (!isValidVertex(vertex) || (occupiedVertices & Bitboards.vertexBit(vertex)) == 0){
+            return null; //no settlement
         }
-
-        //no settlement
-        return null;
+        return settlements[vertex];
     }
 
     public ArrayList<Integer> getPortsOwnedByPlayer(int playerID) {
         ArrayList<Integer> portsOwned = new ArrayList<>();
-        for (Settlement s : settlements) {
-            if (s.getPlayerID() == playerID) {
-                int vertex = s.getVertex();
-                for (int i = 0; i < AdjacencyMaps.PortVertices.length; i++) {
-                    int[] portVertices = AdjacencyMaps.PortVertices[i];
-                    if (portVertices[0] == vertex || portVertices[1] == vertex) {
-                        portsOwned.add(i);
-                    }
-                }
+        long owned = getPlayerMask(playerID);
+        while (owned != 0) {
+            int port = AdjacencyMaps.portAtVertex(Long.numberOfTrailingZeros(owned));
+            if (port != AdjacencyMaps.NO_PORT) {
+                portsOwned.add(port);
             }
+            owned &= owned - 1;
         }
         return portsOwned;
     }
@@ -0,0 +1,22 @@
+package com.example.model;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Shuffle Class; Fisher-Yates shuffle driven by a game's own random generator
+ * Collections.shuffle only accepts a java.util.Random, not the RandomGenerator the game draws from.
+ */
+final class Shuffle {
+
+    private Shuffle() {}
+
+    static <T> void shuffle(List<T> list, RandomGenerator random) {
+        for (int i = list.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            T temp = list.get(i);
+            list.set(i, list.get(j));
+            list.set(j, temp);
+        }
+    }
+}
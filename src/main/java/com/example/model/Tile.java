@@ -1,15 +1,15 @@
 package com.example.model;
 
-import java.util.Collection;
-
+import com.example.model.config.ConfigManager;
 import com.example.model.config.ResourceConfig;
-import com.example.model.config.TileConfig;
-import com.example.model.config.service.ConfigService;
 
 public class Tile {
 
     //the id of the tile
     private String tileID;
+    //the resource the tile produces, null for deserts; given by Tiles from the game's configs
+    private ResourceConfig resource;
+    private boolean resourceResolved; //false if only the ID was set; the resource is then looked up in the default configs
     //the number that needs rolled to produce said resource
     private int number;
     //stores every possible location for a settlement
@@ -22,6 +22,17 @@ public class Tile {
     //default constructor
     public Tile() {}
 
+    //copy constructor; the adjacent vertex array is board topology and is shared
+    public Tile(Tile other) {
+        this.tileID = other.tileID;
+        this.resource = other.resource;
+        this.resourceResolved = other.resourceResolved;
+        this.number = other.number;
+        this.adjVertices = other.adjVertices;
+        this.isBlocked = other.isBlocked;
+        this.isDestroyed = other.isDestroyed;
+    }
+
     //getters
     public String getTileID(){ return this.tileID; }
     public int getNumber(){ return this.number; }
@@ -30,22 +41,23 @@ public class Tile {
     public boolean getIsDestroyed(){ return this.isDestroyed; }
 
     //setters
-    public void setTileID(String _tileID){ this.tileID = _tileID;}
+    public void setTileID(String _tileID){ this.tileID = _tileID; this.resource = null; this.resourceResolved = false; }
+    public void setTileID(String _tileID, ResourceConfig _resource){ this.tileID = _tileID; this.resource = _resource; this.resourceResolved = true; }
     public void setNumber(int _number){ this.number = _number;}
     public void setAdjVertices(int[] _adjVertices){ this.adjVertices = _adjVertices;}
     public void setIsBlocked(boolean _isBlocked){ this.isBlocked = _isBlocked;}
     public void setIsDestroyed(boolean _isDestroyed){ this.isDestroyed = _isDestroyed;}
 
     public ResourceConfig getResourceFromTileID(){
-        Collection<TileConfig> allTiles = ConfigService.getAllTiles();
-        for (TileConfig tile : allTiles){
-
-            if (tile.id.equals(tileID)){
-                ResourceConfig resource = ConfigService.getResource(tile.resourceID);
-                return resource;
-            }
+        if (!resourceResolved){
+            resource = resourceOf(tileID);
+            resourceResolved = true;
         }
-        //failed
-        return null;
+        return resource;
+    }
+
+    // Helper function; gets the resource a tile type produces in the default configs, or null if none (desert or unknown tile)
+    public static ResourceConfig resourceOf(String tileID){
+        return ConfigManager.getSnapshot().getTileResource(tileID);
     }
 }
@@ -1,25 +1,102 @@
 package com.example.model;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
-import com.example.model.config.service.ConfigService;
+import com.example.model.config.ConfigManager;
+import com.example.model.config.ConfigSnapshot;
+import com.example.model.config.GameRulesConfig;
+import com.example.model.config.ResourceConfig;
 
 public class Tiles {
 
+    private final ConfigSnapshot config;
     private Tile[] tiles;
+    private int writableTiles; // tiles this instance may modify; the rest are shared with a fork
+    private final RandomGenerator random; // the game's random source; picks the layout and destroyed tiles
+    private LayoutGenerator.Layout layout; // how the number tokens were placed; shared with forks
+    private Journal journal; // records robber and disaster changes so GameModel can undo them; null when not recording
 
     // Board size, change if a bigger/smaller board is desired
     // 19 is a normal 3 hex-per-side board
     public static final int NUMBER_OF_HEXES = 19;
 
     public Tiles() {
+        this(ConfigManager.getSnapshot(), new SplittableRandom());
+    }
+
+    public Tiles(ConfigSnapshot config, RandomGenerator random) {
+        this.config = config;
+        this.random = random;
         setUpTiles();
     }
 
+    /**
+     * Tiles Constructor; lays out a pre-generated board instead of a random one
+     * @param config configs the board's tile IDs refer to
+     * @param random the game's random source; picks destroyed tiles
+     * @param board tiles and number tokens to place
+     */
+    public Tiles(ConfigSnapshot config, RandomGenerator random, BoardLayout board) {
+        this.config = config;
+        this.random = random;
+        tiles = new Tile[NUMBER_OF_HEXES];
+        writableTiles = -1;
+        for (int i = 0; i < NUMBER_OF_HEXES; i++) {
+            String tileID = board.tileIDs()[i];
+            if (config.getTile(tileID) == null) {
+                throw new IllegalArgumentException("Unknown tile " + tileID);
+            }
+            ResourceConfig resource = config.getTileResource(tileID);
+            tiles[i] = new Tile();
+            tiles[i].setTileID(tileID, resource);
+            tiles[i].setIsBlocked(resource == null);
+            tiles[i].setIsDestroyed(false);
+            tiles[i].setNumber(board.numbers()[i]);
+        }
+        setAdjVerticesForEachTile(tiles);
+    }
+
+    /**
+     * Copy constructor; shares every Tile object with the original until either side modifies it
+     * @param other tiles to copy; also loses write access to the shared objects
+     * @param random the fork's random source
+     */
+    Tiles(Tiles other, RandomGenerator random) {
+        this.config = other.config;
+        this.random = random;
+        this.layout = other.layout;
+        this.tiles = other.tiles.clone();
+        this.writableTiles = 0;
+        other.writableTiles = 0;
+    }
+
+    void setJournal(Journal journal) {
+        this.journal = journal;
+    }
+
+    // Helper function; checks whether changes should be pushed to the journal
+    private boolean recording() {
+        return journal != null && journal.isRecording();
+    }
+
+    // Helper function; gets the tile at the index, copying it first if it is shared with a fork
+    private Tile writable(int index) {
+        int bit = 1 << index;
+        if ((writableTiles & bit) == 0) {
+            tiles[index] = new Tile(tiles[index]);
+            writableTiles |= bit;
+        }
+        return tiles[index];
+    }
+
+    // how the number tokens were placed, including how long it took; null if the tiles were replaced with setTiles
+    public LayoutGenerator.Layout getLayout() {
+        return layout;
+    }
+
     // getter
     public Tile[] getTiles() {
         return this.tiles;
@@ -28,11 +105,14 @@ public class Tiles {
     // setter
     public void setTiles(Tile[] _tiles) {
         this.tiles = _tiles;
+        this.writableTiles = -1;
+        this.layout = null;
     }
 
     // set up all the tiles in the gameboard
     private void setUpTiles() {
         tiles = new Tile[NUMBER_OF_HEXES];
+        writableTiles = -1;
 
         // Instantiate tiles
         for (int i = 0; i < NUMBER_OF_HEXES; i++) {
@@ -41,54 +121,42 @@ public class Tiles {
 
         // Build the bag of tile IDs with correct quantities
         ArrayList<String> tileBag = new ArrayList<>();
-        for (String tileID : ConfigService.getAllTileIDs()) {
-            int maxQty = ConfigService.getTile(tileID).maxQuantity;
+        for (String tileID : config.getAllTileIDs()) {
+            int maxQty = config.getTile(tileID).maxQuantity;
             for (int j = 0; j < maxQty; j++) {
                 tileBag.add(tileID);
             }
         }
 
         // Shuffle the bag
-        java.util.Collections.shuffle(tileBag);
+        Shuffle.shuffle(tileBag, random);
 
-        int desertIndex = 0;
-
-        // Assign shuffled tiles to the tile array
+        // Assign shuffled tiles to the tile array; deserts get no number and start blocked
+        int[] groups = new int[NUMBER_OF_HEXES]; // resource of each tile, for the layout's pip balance
         for (int i = 0; i < NUMBER_OF_HEXES; i++) {
-    
-            tiles[i].setTileID(tileBag.get(i));
-            
-            String resourceID = ConfigService.getTile(tiles[i].getTileID()).resourceID;
-            if (resourceID.isEmpty()) {
-                desertIndex = i;
-            }
+            ResourceConfig resource = config.getTileResource(tileBag.get(i));
+            tiles[i].setTileID(tileBag.get(i), resource);
+            groups[i] = resource == null ? -1 : resource.getOrdinal();
         }
 
-        // Assign numbers and block deserts
-        int[] tokens = getTokens();
-        int[] numberSequence = generateValidLayout(tokens, desertIndex); // should have 19 numbers, 0 for deserts
-        int numberIndex = 0;
+        // Assign numbers
+        GameRulesConfig rules = config.getGameRules();
+        LayoutGenerator generator = new LayoutGenerator(AdjacencyMaps.TileAdjacency, rules.separateTwosAndTwelves,
+                rules.maxPipImbalance, LayoutGenerator.DEFAULT_MAX_STEPS);
+        layout = generator.generate(getTokens(), groups, random);
 
         for (int i = 0; i < NUMBER_OF_HEXES; i++) {
             Tile tile = tiles[i];
-            String resourceID = ConfigService.getTile(tile.getTileID()).resourceID;
-
-            if (resourceID.isEmpty()) { // desert
-                tile.setIsBlocked(true);
-                tile.setNumber(0); // desert has no number
-            } else {
-                tile.setIsBlocked(false);
-                tile.setIsDestroyed(false);
-                tile.setNumber(numberSequence[numberIndex]);
-                numberIndex++;
-            }
+            tile.setIsBlocked(groups[i] < 0);
+            tile.setIsDestroyed(false);
+            tile.setNumber(layout.numbers()[i]);
         }
 
         setAdjVerticesForEachTile(tiles);
     }
 
     private int[] getTokens() {
-        Map<Integer, Integer> numberTokens = ConfigService.getNumberTokens();
+        Map<Integer, Integer> numberTokens = config.getNumberTokens();
         int NUMBER_OF_TOKENS = numberTokens.values().stream().mapToInt(Integer::intValue).sum();
         int[] sequence = new int[NUMBER_OF_TOKENS];
 
@@ -104,45 +172,6 @@ public class Tiles {
         return sequence;
     }
 
-    private static final int MAX_ATTEMPTS = 30000000;
-
-    private static int[] generateValidLayout(int[] tokens, int desertIndex) {
-        Random rand = new Random();
-
-        // Convert int[] → mutable List<Integer>
-        List<Integer> layout = new ArrayList<>();
-        for (int token : tokens) {
-            layout.add(token);
-        }
-
-        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
-            Collections.shuffle(layout, rand);
-            layout.remove(Integer.valueOf(-1)); // remove desert placeholder
-            layout.add(desertIndex, -1); // add desert back in the correct spot
-
-            if (isValidLayout(layout)) {
-                layout.remove(Integer.valueOf(-1)); // remove desert placeholder
-                return layout.stream().mapToInt(Integer::intValue).toArray();
-            }
-        }
-
-        throw new RuntimeException(
-                "Couldn't find a valid layout after " + MAX_ATTEMPTS + " attempts");
-    }
-
-    private static boolean isValidLayout(List<Integer> layout) {
-        for (int i = 0; i < layout.size(); i++) {
-            if (layout.get(i) == 6 || layout.get(i) == 8) {
-                for (int adj : AdjacencyMaps.TileAdjacency[i]) {
-                    if (layout.get(adj) == 6 || layout.get(adj) == 8) {
-                        return false;
-                    }
-                }
-            }
-        }
-        return true;
-    }
-
     private Tile[] setAdjVerticesForEachTile(Tile[] tiles) {
         for (int i = 0; i < AdjacencyMaps.TileVertices.length; i++) {
             tiles[i].setAdjVertices(AdjacencyMaps.TileVertices[i]);
@@ -153,41 +182,41 @@ public class Tiles {
 
     public Tile[] getAdjTiles(int vertex){
         Tile[] adjTiles = new Tile[3];
-        int i = 0;
-        for (Tile t : tiles) {
-            for (int v: t.getAdjVertices()) {
-                if (vertex == v) { // vertex is next to tile
-                    adjTiles[i++] = t;
-                    break;
-                }
-            }
-            if (i==3) break; // exit early for safety
+        int count = Math.min(AdjacencyMaps.vertexTileCount(vertex), 3);
+        for (int i = 0; i < count; i++) {
+            adjTiles[i] = tiles[AdjacencyMaps.adjacentTile(vertex, i)];
         }
         return adjTiles;
     }
 
 
     //need to make sure its not destroying the same tile every time
-    public boolean destroyTile(String tileID){
-        ArrayList<Tile> canDestroy = new ArrayList<>();
-        for (Tile tile : tiles) {
-            if (tile.getTileID().equals(tileID) && !tile.getIsDestroyed()) {
-                canDestroy.add(tile);
+    //returns the index of the destroyed tile, or -1 if none could be destroyed
+    public int destroyTile(String tileID){
+        ArrayList<Integer> canDestroy = new ArrayList<>();
+        for (int i = 0; i < tiles.length; i++) {
+            if (tiles[i].getTileID().equals(tileID) && !tiles[i].getIsDestroyed()) {
+                canDestroy.add(i);
             }
         }
         if (!canDestroy.isEmpty()) {
-            Random rand = new Random();
-            int index = rand.nextInt(canDestroy.size());
-            canDestroy.get(index).setIsDestroyed(true);
-            return true;
+            int index = canDestroy.get(random.nextInt(canDestroy.size()));
+            writable(index).setIsDestroyed(true);
+            if (recording()) {
+                journal.push(index, Journal.TILE_DESTROYED);
+            }
+            return index;
         }
-        return false;
+        return -1;
     }
 
     //fix to be tile index instead of id
     public boolean restoreTile(int tileIndex){
         if (tileIndex >= 0 && tileIndex < tiles.length && tiles[tileIndex].getIsDestroyed()) {
-            tiles[tileIndex].setIsDestroyed(false);
+            writable(tileIndex).setIsDestroyed(false);
+            if (recording()) {
+                journal.push(tileIndex, Journal.TILE_RESTORED);
+            }
             return true;
         }
         return false;
@@ -216,15 +245,33 @@ public class Tiles {
     
     //Find robber tile and change it to the new robber tile
     public void changeBlockedTile(int destinationTileIndex){
-        for (Tile tile : tiles){
-            if (tile.getIsBlocked()){
-                tile.setIsBlocked(false);
+        int previous = -1;
+        for (int i = 0; i < tiles.length; i++){
+            if (tiles[i].getIsBlocked()){
+                writable(i).setIsBlocked(false);
+                previous = i;
                 break;
             }
         }
 
-        tiles[destinationTileIndex].setIsBlocked(true);
-        System.out.println("Robber moved to tile " + destinationTileIndex);
+        writable(destinationTileIndex).setIsBlocked(true);
+        if (recording()) {
+            journal.push(previous, Journal.ROBBER_MOVED);
+        }
+    }
+
+    // puts the robber back on a tile (or removes it when -1); only used to undo a move
+    void restoreBlockedTile(int tileIndex) {
+        for (int i = 0; i < tiles.length; i++) {
+            if (tiles[i].getIsBlocked() != (i == tileIndex)) {
+                writable(i).setIsBlocked(i == tileIndex);
+            }
+        }
+    }
+
+    // sets a tile's destroyed flag directly; only used to undo a disaster or a restore
+    void setDestroyed(int tileIndex, boolean destroyed) {
+        writable(tileIndex).setIsDestroyed(destroyed);
     }
 
     public int getBlockedTileIndex() {
@@ -237,8 +284,10 @@ public class Tiles {
     }
 
     public void repareTiles() {
-        for (Tile tile : tiles) {
-            tile.setIsDestroyed(false);
+        for (int i = 0; i < tiles.length; i++) {
+            if (tiles[i].getIsDestroyed()) {
+                writable(i).setIsDestroyed(false);
+            }
         }
     }
 
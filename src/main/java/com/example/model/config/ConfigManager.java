@@ -12,6 +12,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 public final class ConfigManager {
 
+    private static volatile ConfigSnapshot snapshot; // default snapshot for games that are not given one
+
     private ConfigManager() {} // prevent instantiation
 
     /** Load all configs in the proper order */
@@ -19,7 +21,7 @@ public final class ConfigManager {
         ObjectMapper mapper = new ObjectMapper();
 
         // Load singleton GameRulesConfig first
-        GameRulesRegistry.load(mapper, "/config/game_rules.json");
+        GameRulesRegistry.load(mapper, GameRulesRegistry.PATH);
 
         // Load registries
         ResourceRegistry.getInstance().load(mapper);
@@ -31,11 +33,14 @@ public final class ConfigManager {
 
         LangManager.load(mapper, "en_us");
 
+        snapshot = ConfigSnapshot.fromRegistries(); // shares the registries' objects, so the view and model agree
+
         // Optional: validate cross-references
         // validateConfigs();
     }
 
     public static void unloadAll() {
+        snapshot = null;
         GameRulesRegistry.unload();
         ResourceRegistry.getInstance().unload();
         DevCardRegistry.getInstance().unload();
@@ -45,6 +50,23 @@ public final class ConfigManager {
         DisasterCardRegistry.getInstance().unload();
     }
 
+    /**
+     * Gets the default snapshot: the one frozen by the last loadAll, or else one read from the bundled files on first use
+     * @return the default snapshot
+     */
+    public static ConfigSnapshot getSnapshot() {
+        ConfigSnapshot current = snapshot;
+        if (current == null) {
+            synchronized (ConfigManager.class) {
+                if (snapshot == null) {
+                    snapshot = ConfigSnapshot.load();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
     /** Validate that all configs are internally consistent */
     // private static void validateConfigs() {
     //     // Example: ensure ports reference valid resources
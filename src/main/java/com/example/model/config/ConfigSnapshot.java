@@ -0,0 +1,302 @@
+package com.example.model.config;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.model.config.registry.DevCardRegistry;
+import com.example.model.config.registry.DisasterCardRegistry;
+import com.example.model.config.registry.GameRulesRegistry;
+import com.example.model.config.registry.PlayerInfrastructureRegistry;
+import com.example.model.config.registry.PortRegistry;
+import com.example.model.config.registry.ResourceRegistry;
+import com.example.model.config.registry.TileRegistry;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * ConfigSnapshot Class; a frozen, deeply immutable set of every game config
+ * A snapshot is built once and then only read, so any number of games on any number of threads can
+ * share one without synchronization. Each GameModel is given the snapshot it plays by; games with
+ * different rules can run side by side in one JVM.
+ * Lists keep file order, which is also resource ordinal and structure handle order.
+ */
+public final class ConfigSnapshot {
+
+    private final GameRulesConfig gameRules;
+
+    private final List<ResourceConfig> resources; // index is the resource ordinal
+    private final Map<String, ResourceConfig> resourcesById;
+
+    private final List<DevCardConfig> devCards;
+    private final Map<String, DevCardConfig> devCardsById;
+
+    private final List<PortConfig> ports;
+    private final Map<String, PortConfig> portsById;
+
+    private final List<PlayerInfrastructureConfig> infrastructure; // index is the structure handle
+    private final Map<String, PlayerInfrastructureConfig> infrastructureById;
+    private final List<String> infrastructureIDs;
+
+    private final List<TileConfig> tiles;
+    private final Map<String, TileConfig> tilesById;
+    private final List<String> tileIDs;
+
+    private final List<DisasterCardConfig> disasterCards;
+    private final Map<String, DisasterCardConfig> disasterCardsById;
+
+    private ConfigSnapshot(GameRulesConfig gameRules, List<ResourceConfig> resources, List<DevCardConfig> devCards,
+            List<PortConfig> ports, List<PlayerInfrastructureConfig> infrastructure, List<TileConfig> tiles,
+            List<DisasterCardConfig> disasterCards) {
+        if (gameRules == null) {
+            throw new IllegalStateException("Game rules not loaded");
+        }
+        this.gameRules = gameRules;
+
+        this.resources = List.copyOf(resources);
+        this.resourcesById = byId(this.resources);
+        for (int i = 0; i < this.resources.size(); i++) {
+            this.resources.get(i).assignOrdinal(i);
+        }
+
+        this.devCards = List.copyOf(devCards);
+        this.devCardsById = byId(this.devCards);
+        this.ports = List.copyOf(ports);
+        this.portsById = byId(this.ports);
+
+        List<PlayerInfrastructureConfig> compiled = new ArrayList<>(infrastructure.size());
+        for (PlayerInfrastructureConfig structure : infrastructure) {
+            compiled.add(structure.compileCosts(resourcesById::get, this.resources.size())); // registry ones already are
+        }
+        this.infrastructure = List.copyOf(compiled);
+        this.infrastructureById = byId(this.infrastructure);
+        this.infrastructureIDs = ids(this.infrastructure);
+        for (int i = 0; i < this.infrastructure.size(); i++) {
+            this.infrastructure.get(i).assignHandle(i);
+        }
+
+        this.tiles = List.copyOf(tiles);
+        this.tilesById = byId(this.tiles);
+        this.tileIDs = ids(this.tiles);
+
+        this.disasterCards = List.copyOf(disasterCards);
+        this.disasterCardsById = byId(this.disasterCards);
+    }
+
+    /**
+     * Reads a new snapshot from the bundled JSON files; shares no objects with the registries or other snapshots
+     * @return the loaded snapshot
+     * @throws RuntimeException if a file is missing or malformed
+     */
+    public static ConfigSnapshot load() {
+        ObjectMapper mapper = new ObjectMapper();
+        GameRulesConfig rules;
+        try (InputStream is = ConfigSnapshot.class.getResourceAsStream(GameRulesRegistry.PATH)) {
+            if (is == null) throw new IllegalArgumentException("JSON file not found: " + GameRulesRegistry.PATH);
+            rules = mapper.readValue(is, GameRulesConfig.class);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to load game rules", e);
+        }
+        return new ConfigSnapshot(rules,
+                readList(mapper, ResourceRegistry.PATH, new TypeReference<List<ResourceConfig>>() {}),
+                readList(mapper, DevCardRegistry.PATH, new TypeReference<List<DevCardConfig>>() {}),
+                readList(mapper, PortRegistry.PATH, new TypeReference<List<PortConfig>>() {}),
+                readList(mapper, PlayerInfrastructureRegistry.PATH, new TypeReference<List<PlayerInfrastructureConfig>>() {}),
+                readList(mapper, TileRegistry.PATH, new TypeReference<List<TileConfig>>() {}),
+                readList(mapper, DisasterCardRegistry.PATH, new TypeReference<List<DisasterCardConfig>>() {}));
+    }
+
+    /**
+     * Freezes the configs currently loaded in the registries; the snapshot shares their config objects
+     * @return snapshot of the registries
+     * @throws IllegalStateException if the game rules are not loaded
+     */
+    public static ConfigSnapshot fromRegistries() {
+        ResourceRegistry resourceRegistry = ResourceRegistry.getInstance();
+        List<ResourceConfig> resources = new ArrayList<>(resourceRegistry.size());
+        for (int i = 0; i < resourceRegistry.size(); i++) {
+            resources.add(resourceRegistry.byOrdinal(i));
+        }
+        PlayerInfrastructureRegistry infrastructureRegistry = PlayerInfrastructureRegistry.getInstance();
+        List<PlayerInfrastructureConfig> infrastructure = new ArrayList<>(infrastructureRegistry.size());
+        for (int i = 0; i < infrastructureRegistry.size(); i++) {
+            infrastructure.add(infrastructureRegistry.byHandle(i));
+        }
+        return new ConfigSnapshot(GameRulesRegistry.isLoaded() ? GameRulesRegistry.get() : null, resources,
+                List.copyOf(DevCardRegistry.getInstance().all()),
+                List.copyOf(PortRegistry.getInstance().all()),
+                infrastructure,
+                List.copyOf(TileRegistry.getInstance().all()),
+                List.copyOf(DisasterCardRegistry.getInstance().all()));
+    }
+
+    /**
+     * Gets a snapshot that is the same as this one apart from the game rules
+     * @param rules rules to play by
+     * @return the new snapshot; every other config object is shared with this one
+     */
+    public ConfigSnapshot withGameRules(GameRulesConfig rules) {
+        return new ConfigSnapshot(rules, resources, devCards, ports, infrastructure, tiles, disasterCards);
+    }
+
+    // Helper function; reads one JSON list of configs
+    private static <T> List<T> readList(ObjectMapper mapper, String path, TypeReference<List<T>> type) {
+        try (InputStream is = ConfigSnapshot.class.getResourceAsStream(path)) {
+            if (is == null) throw new IllegalArgumentException("Resource not found: " + path);
+            return mapper.readValue(is, type);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to load config from " + path, e);
+        }
+    }
+
+    // Helper function; indexes configs by ID, rejecting duplicates
+    private static <T extends IdentifiableConfig> Map<String, T> byId(List<T> configs) {
+        Map<String, T> map = new HashMap<>();
+        for (T config : configs) {
+            if (map.put(config.getId(), config) != null) {
+                throw new IllegalStateException("Duplicate config ID: " + config.getId());
+            }
+        }
+        return Map.copyOf(map);
+    }
+
+    // Helper function; IDs of the configs, in order
+    private static List<String> ids(List<? extends IdentifiableConfig> configs) {
+        List<String> ids = new ArrayList<>(configs.size());
+        for (IdentifiableConfig config : configs) {
+            ids.add(config.getId());
+        }
+        return List.copyOf(ids);
+    }
+
+    // -------------------------
+    // Game Rules
+    // -------------------------
+    public GameRulesConfig getGameRules() {
+        return gameRules;
+    }
+
+    public int getVictoryPointsToWin() {
+        return gameRules.victoryPointsToWin;
+    }
+
+    public int getRobberCardLimit() {
+        return gameRules.robberCardLimit;
+    }
+
+    public Map<Integer, Integer> getNumberTokens() {
+        return gameRules.numberTokens;
+    }
+
+    // -------------------------
+    // Resource Config
+    // -------------------------
+    public ResourceConfig getResource(String id) {
+        return resourcesById.get(id);
+    }
+
+    public ResourceConfig getResource(int ordinal) {
+        return resources.get(ordinal);
+    }
+
+    public List<ResourceConfig> getAllResources() {
+        return resources;
+    }
+
+    public int getResourceCount() {
+        return resources.size();
+    }
+
+    // -------------------------
+    // Dev Card Config
+    // -------------------------
+    public DevCardConfig getDevCard(String id) {
+        return devCardsById.get(id);
+    }
+
+    public List<DevCardConfig> getAllDevCards() {
+        return devCards;
+    }
+
+    // -------------------------
+    // Port Config
+    // -------------------------
+    public PortConfig getPort(String id) {
+        return portsById.get(id);
+    }
+
+    public List<PortConfig> getAllPorts() {
+        return ports;
+    }
+
+    // -------------------------
+    // Player Infrastructure Config
+    // -------------------------
+    public PlayerInfrastructureConfig getInfrastructure(String id) {
+        return infrastructureById.get(id);
+    }
+
+    public PlayerInfrastructureConfig getInfrastructure(int handle) {
+        return infrastructure.get(handle);
+    }
+
+    /**
+     * Gets the integer handle for a structure ID
+     * @param id structure ID, e.g. "player_infrastructure.road"
+     * @return handle of the structure
+     * @throws IllegalArgumentException if no structure has that ID
+     */
+    public int handleOf(String id) {
+        PlayerInfrastructureConfig config = infrastructureById.get(id);
+        if (config == null) {
+            throw new IllegalArgumentException("Unknown structure: " + id);
+        }
+        return config.getHandle();
+    }
+
+    public List<PlayerInfrastructureConfig> getAllInfrastructure() {
+        return infrastructure;
+    }
+
+    public List<String> getAllInfrastructureIDs() {
+        return infrastructureIDs;
+    }
+
+    // -------------------------
+    //  Tile Config
+    // -------------------------
+    public TileConfig getTile(String id) {
+        return tilesById.get(id);
+    }
+
+    public List<TileConfig> getAllTiles() {
+        return tiles;
+    }
+
+    public List<String> getAllTileIDs() {
+        return tileIDs;
+    }
+
+    /**
+     * Gets the resource a tile type produces
+     * @param tileID tile type ID
+     * @return the resource, or null for deserts and unknown tiles
+     */
+    public ResourceConfig getTileResource(String tileID) {
+        TileConfig tile = tileID == null ? null : tilesById.get(tileID);
+        return tile == null || tile.resourceID == null ? null : resourcesById.get(tile.resourceID);
+    }
+
+    // -------------------------
+    // Disaster Card Config
+    // -------------------------
+    public DisasterCardConfig getDisasterCard(String id) {
+        return disasterCardsById.get(id);
+    }
+
+    public List<DisasterCardConfig> getAllDisasterCards() {
+        return disasterCards;
+    }
+}
@@ -15,7 +15,7 @@ public class DevCardConfig extends IdentifiableConfig {
             @JsonProperty("texturePath") String texturePath,
             @JsonProperty("actionType") String actionType, 
             @JsonProperty("count") int count) {
-        this.id = id;
+        super(id);
         this.texturePath = texturePath;
         this.actionType = actionType;
         this.count = count;
@@ -15,7 +15,7 @@ public class DisasterCardConfig extends IdentifiableConfig {
             @JsonProperty("texturePath") String texturePath,
             @JsonProperty("tileAffected") String tileAffected, 
             @JsonProperty("count") int count) {
-        this.id = id;
+        super(id);
         this.texturePath = texturePath;
         this.tileAffected = tileAffected;
         this.count = count;
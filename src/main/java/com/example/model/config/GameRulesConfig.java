@@ -1,6 +1,7 @@
 package com.example.model.config;
 
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
@@ -10,7 +11,14 @@ public class GameRulesConfig {
     public final int players;
     public final int victoryPointsToWin;
     public final int robberCardLimit;
-    public final HashMap<Integer, Integer> numberTokens; // tokenValue -> quantity
+    public final Map<Integer, Integer> numberTokens; // tokenValue -> quantity; unmodifiable, in file order
+    public final boolean separateTwosAndTwelves; // board layout also keeps 2s and 12s apart, as it always does 6s and 8s
+    public final int maxPipImbalance; // how far a resource's pips may be from its fair share; -1 for no limit
+
+    public GameRulesConfig(int players, int victoryPointsToWin, int robberCardLimit, Map<Integer, Integer> numberTokens,
+            int robberNumberToken) {
+        this(players, victoryPointsToWin, robberCardLimit, numberTokens, robberNumberToken, false, null);
+    }
 
     @JsonCreator
     public GameRulesConfig(
@@ -18,10 +26,14 @@ public class GameRulesConfig {
             @JsonProperty("victoryPointsToWin") int victoryPointsToWin,
             @JsonProperty("robberCardLimit") int robberCardLimit,
             @JsonProperty("numberTokens") Map<Integer, Integer> numberTokens,
-            @JsonProperty("robberNumberToken") int robberNumberToken) {
+            @JsonProperty("robberNumberToken") int robberNumberToken,
+            @JsonProperty("separateTwosAndTwelves") boolean separateTwosAndTwelves,
+            @JsonProperty("maxPipImbalance") Integer maxPipImbalance) {
         this.players = players;
         this.victoryPointsToWin = victoryPointsToWin;
         this.robberCardLimit = robberCardLimit;
-        this.numberTokens = new HashMap<>(numberTokens); // make mutable copy
+        this.numberTokens = Collections.unmodifiableMap(new LinkedHashMap<>(numberTokens));
+        this.separateTwosAndTwelves = separateTwosAndTwelves;
+        this.maxPipImbalance = maxPipImbalance == null ? -1 : maxPipImbalance;
     }
 }
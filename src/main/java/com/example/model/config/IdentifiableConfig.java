@@ -1,7 +1,16 @@
 package com.example.model.config;
 
 public abstract class IdentifiableConfig {
-    public String id;
+    public final String id;
+
+    protected IdentifiableConfig(String id) {
+        this.id = id;
+    }
+
+    // for configs that Jackson fills in field by field; the ID is still never changed after loading
+    protected IdentifiableConfig() {
+        this(null);
+    }
 
     public String getId() {
         return id;
@@ -1,7 +1,9 @@
 package com.example.model.config;
 
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.Function;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -9,10 +11,13 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 public class PlayerInfrastructureConfig extends IdentifiableConfig {
     public final String texturePath;
 
-    public final HashMap<String, Integer> constructionCosts; // resourceID -> quantity
+    public final Map<String, Integer> constructionCosts; // resourceID -> quantity; unmodifiable
     public final int maxQuantity;
     public final int victoryPoints;
 
+    private int handle = -1;   // dense index assigned by PlayerInfrastructureRegistry
+    private final int[] costVector; // constructionCosts indexed by ResourceConfig ordinal; null until compiled
+
     @JsonCreator
     public PlayerInfrastructureConfig(
             @JsonProperty("id") String id,
@@ -20,11 +25,85 @@ public class PlayerInfrastructureConfig extends IdentifiableConfig {
             @JsonProperty("constructionCosts") Map<String, Integer> constructionCosts,
             @JsonProperty("maxQuantity") int maxQuantity,
             @JsonProperty("victoryPoints") int victoryPoints) {
-        this.id = id;
+        super(id);
         this.texturePath = texturePath;
-        this.constructionCosts = new HashMap<>(constructionCosts);
+        this.constructionCosts = Collections.unmodifiableMap(new LinkedHashMap<>(constructionCosts));
         this.maxQuantity = maxQuantity;
         this.victoryPoints = victoryPoints;
+        this.costVector = null;
+    }
+
+    // compiled copy; see compileCosts
+    private PlayerInfrastructureConfig(PlayerInfrastructureConfig other, int[] costVector) {
+        super(other.id);
+        this.texturePath = other.texturePath;
+        this.constructionCosts = other.constructionCosts;
+        this.maxQuantity = other.maxQuantity;
+        this.victoryPoints = other.victoryPoints;
+        this.handle = other.handle;
+        this.costVector = costVector;
+    }
+
+    public int getHandle() {
+        return handle;
+    }
+
+    /**
+     * Assigns the dense handle; called once by whoever loads the config
+     * @param handle index of the structure in file order
+     * @throws IllegalStateException if a different handle was already assigned
+     */
+    public void assignHandle(int handle) {
+        if (this.handle != -1 && this.handle != handle) {
+            throw new IllegalStateException("Structure " + id + " already has handle " + this.handle);
+        }
+        this.handle = handle;
     }
 
+    /**
+     * Gets the cost of one resource by ordinal
+     * @param ordinal resource ordinal (see ResourceConfig.getOrdinal)
+     * @return quantity of that resource needed to build this structure
+     */
+    public int getCost(int ordinal) {
+        return getCostVector()[ordinal];
+    }
+
+    /**
+     * Gets the construction costs as a vector indexed by resource ordinal; shared, so must not be modified
+     * @return cost vector
+     * @throws IllegalStateException if this config was read but never compiled by a registry or snapshot
+     */
+    public int[] getCostVector() {
+        if (costVector == null) {
+            throw new IllegalStateException("Costs of " + id + " are not compiled; get it from a ConfigSnapshot");
+        }
+        return costVector;
+    }
+
+    public boolean isCompiled() {
+        return costVector != null;
+    }
+
+    /**
+     * Compiles constructionCosts into a cost vector
+     * @param resources looks up a resource by ID
+     * @param resourceCount number of resources, i.e. the length of the vector
+     * @return this config if it is already compiled, otherwise a compiled copy with the same handle
+     * @throws IllegalStateException if a cost names a resource that is not loaded
+     */
+    public PlayerInfrastructureConfig compileCosts(Function<String, ResourceConfig> resources, int resourceCount) {
+        if (costVector != null) {
+            return this;
+        }
+        int[] vector = new int[resourceCount];
+        for (Map.Entry<String, Integer> cost : constructionCosts.entrySet()) {
+            ResourceConfig resource = resources.apply(cost.getKey());
+            if (resource == null) {
+                throw new IllegalStateException("Unknown resource " + cost.getKey() + " in costs of " + id);
+            }
+            vector[resource.getOrdinal()] = cost.getValue();
+        }
+        return new PlayerInfrastructureConfig(this, vector);
+    }
 }
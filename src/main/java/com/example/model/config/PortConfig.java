@@ -19,7 +19,7 @@ public class PortConfig extends IdentifiableConfig {
             @JsonProperty("giveQuantity") int giveQuantity,
             @JsonProperty("receiveQuantity") int receiveQuantity,
             @JsonProperty("occurrences") int occurrences) {
-        this.id = id;
+        super(id);
         this.texturePath = texturePath;
         this.resourceID = resourceID;
         this.giveQuantity = giveQuantity;
@@ -9,6 +9,8 @@ public class ResourceConfig extends IdentifiableConfig {
     public final int maxQuantity;
     public final String colorHex;
 
+    private int ordinal = -1; // dense index assigned by ResourceRegistry; used by int[] resource vectors
+
     @JsonCreator
     public ResourceConfig(
             @JsonProperty("id") String id,
@@ -16,10 +18,27 @@ public class ResourceConfig extends IdentifiableConfig {
             @JsonProperty("texturePath") String texturePath,
             @JsonProperty("maxQuantity") int maxQuantity,
             @JsonProperty("colorHex") String colorHex) {
-        this.id = id;
+        super(id);
         this.symbol = symbol;
         this.texturePath = texturePath;
         this.maxQuantity = maxQuantity;
         this.colorHex = colorHex;
     }
+
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    /**
+     * Assigns the dense ordinal; called once by whoever loads the config
+     * @param ordinal index of the resource in file order
+     * @throws IllegalStateException if a different ordinal was already assigned
+     */
+    public void assignOrdinal(int ordinal) {
+        if (this.ordinal != -1 && this.ordinal != ordinal) {
+            throw new IllegalStateException("Resource " + id + " already has ordinal " + this.ordinal);
+        }
+        this.ordinal = ordinal;
+    }
 }
+
@@ -25,7 +25,7 @@ public class TileConfig extends IdentifiableConfig {
             @JsonProperty("resourceID") String resourceID,
             @JsonProperty("hasRobberDefault") boolean hasRobberDefault, 
             @JsonProperty("maxQuantity") int maxQuantity) {
-        this.id = id;
+        super(id);
         this.texturePath = texturePath;
         this.resourceID = resourceID;
         this.hasRobberDefault = hasRobberDefault;
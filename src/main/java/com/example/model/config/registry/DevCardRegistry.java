@@ -6,7 +6,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.example.model.config.DevCardConfig;
 
 public final class DevCardRegistry extends IdentifiableConfigRegistry<DevCardConfig> {
-    private static final String PATH = "/config/dev_cards.json";
+    public static final String PATH = "/config/dev_cards.json";
     private static final DevCardRegistry INSTANCE = new DevCardRegistry();
 
     private DevCardRegistry() {}
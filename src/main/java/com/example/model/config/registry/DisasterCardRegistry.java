@@ -6,7 +6,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.example.model.config.DisasterCardConfig;
 
 public final class DisasterCardRegistry extends IdentifiableConfigRegistry<DisasterCardConfig> {
-    private static final String PATH = "/config/disaster_cards.json";
+    public static final String PATH = "/config/disaster_cards.json";
     private static final DisasterCardRegistry INSTANCE = new DisasterCardRegistry();
 
     private DisasterCardRegistry() {}
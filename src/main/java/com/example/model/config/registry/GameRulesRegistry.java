@@ -9,6 +9,8 @@ import com.example.model.config.GameRulesConfig;
 
 public final class GameRulesRegistry {
 
+    public static final String PATH = "/config/game_rules.json";
+
     private static GameRulesConfig instance;
 
     private GameRulesRegistry() {} // prevent instantiation
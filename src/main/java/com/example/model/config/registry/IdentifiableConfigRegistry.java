@@ -9,7 +9,7 @@ import java.io.InputStream;
 import java.util.*;
 
 public abstract class IdentifiableConfigRegistry<T extends IdentifiableConfig> {
-    private final Map<String, T> entries = new HashMap<>();
+    private final Map<String, T> entries = new LinkedHashMap<>(); // file order, so all() iterates the same way every run
 
     public void load(ObjectMapper mapper, String jsonPath, TypeReference<List<T>> typeRef) {
         if (isLoaded()) {
@@ -20,18 +20,37 @@ public abstract class IdentifiableConfigRegistry<T extends IdentifiableConfig> {
                 throw new IllegalArgumentException("Resource not found: " + jsonPath);
             }
 
-            List<T> list = mapper.readValue(is, typeRef);
+            List<T> list = new ArrayList<>();
+            for (T read : mapper.readValue(is, typeRef)) {
+                list.add(prepare(read));
+            }
             for (T item : list) {
                 if (entries.containsKey(item.getId())) {
                     throw new IllegalStateException("Duplicate config ID: " + item.getId());
                 }
                 entries.put(item.getId(), item);
             }
+            afterLoad(list);
         } catch (Exception e) {
             throw new RuntimeException("Failed to load config from " + jsonPath, e);
         }
     }
 
+    /**
+     * Hook for registries that finish each config before it is stored, e.g. by resolving its references
+     * @param item config as read from the file
+     * @return the config to store; this one or a finished copy
+     */
+    protected T prepare(T item) {
+        return item;
+    }
+
+    /**
+     * Hook for registries that precompute data from their configs; called once per load
+     * @param items loaded configs, in file order
+     */
+    protected void afterLoad(List<T> items) {}
+
     public T get(String id) {
         return entries.get(id);
     }
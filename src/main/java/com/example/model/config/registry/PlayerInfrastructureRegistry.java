@@ -1,5 +1,7 @@
 package com.example.model.config.registry;
 
+import java.util.List;
+
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -7,7 +9,9 @@ import com.example.model.config.PlayerInfrastructureConfig;
 
 public final class PlayerInfrastructureRegistry extends IdentifiableConfigRegistry<PlayerInfrastructureConfig> {
     private static final PlayerInfrastructureRegistry INSTANCE = new PlayerInfrastructureRegistry();
-    private static final String PATH = "/config/player_infrastructure.json";
+    public static final String PATH = "/config/player_infrastructure.json";
+
+    private PlayerInfrastructureConfig[] byHandle = new PlayerInfrastructureConfig[0]; // dense handles in file order
 
     private PlayerInfrastructureRegistry() {}
 
@@ -18,4 +22,49 @@ public final class PlayerInfrastructureRegistry extends IdentifiableConfigRegist
     public void load(ObjectMapper mapper) {
         super.load(mapper, PATH, new TypeReference<>() {});
     }
-}
\ No newline at end of file
+
+    // compiles the costs as each structure is read, as loadAll loads resources first; loaded alone, the
+    // structures have no costs until a ConfigSnapshot compiles them
+    @Override
+    protected PlayerInfrastructureConfig prepare(PlayerInfrastructureConfig item) {
+        ResourceRegistry resources = ResourceRegistry.getInstance();
+        return resources.isLoaded() ? item.compileCosts(resources::get, resources.size()) : item;
+    }
+
+    @Override
+    protected void afterLoad(List<PlayerInfrastructureConfig> items) {
+        byHandle = items.toArray(new PlayerInfrastructureConfig[0]);
+        for (int i = 0; i < byHandle.length; i++) {
+            byHandle[i].assignHandle(i);
+        }
+    }
+
+    /**
+     * Gets a structure by its integer handle
+     * @param handle handle assigned at load time (0 to size() - 1)
+     * @return the structure with that handle
+     */
+    public PlayerInfrastructureConfig byHandle(int handle) {
+        return byHandle[handle];
+    }
+
+    /**
+     * Gets the integer handle for a structure ID
+     * @param id structure ID, e.g. "player_infrastructure.road"
+     * @return handle of the structure
+     * @throws IllegalArgumentException if no structure has that ID
+     */
+    public int handleOf(String id) {
+        PlayerInfrastructureConfig config = get(id);
+        if (config == null) {
+            throw new IllegalArgumentException("Unknown structure: " + id);
+        }
+        return config.getHandle();
+    }
+
+    @Override
+    public void unload() {
+        super.unload();
+        byHandle = new PlayerInfrastructureConfig[0];
+    }
+}
@@ -7,7 +7,7 @@ import com.example.model.config.PortConfig;
 
 public final class PortRegistry extends IdentifiableConfigRegistry<PortConfig> {
     private static final PortRegistry INSTANCE = new PortRegistry();
-    private static final String PATH = "/config/ports.json";
+    public static final String PATH = "/config/ports.json";
 
     private PortRegistry() {}
 
@@ -3,11 +3,15 @@ package com.example.model.config.registry;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.util.List;
+
 import com.example.model.config.ResourceConfig;
 
 public final class ResourceRegistry extends IdentifiableConfigRegistry<ResourceConfig> {
     private static final ResourceRegistry INSTANCE = new ResourceRegistry();
-    private static final String PATH = "/config/resources.json";
+    public static final String PATH = "/config/resources.json";
+
+    private ResourceConfig[] byOrdinal = new ResourceConfig[0]; // dense ordinals in file order
 
     private ResourceRegistry() {}
 
@@ -18,4 +22,27 @@ public final class ResourceRegistry extends IdentifiableConfigRegistry<ResourceC
     public void load(ObjectMapper mapper) {
         super.load(mapper, PATH, new TypeReference<>() {});
     }
-}
\ No newline at end of file
+
+    @Override
+    protected void afterLoad(List<ResourceConfig> items) {
+        byOrdinal = items.toArray(new ResourceConfig[0]);
+        for (int i = 0; i < byOrdinal.length; i++) {
+            byOrdinal[i].assignOrdinal(i);
+        }
+    }
+
+    /**
+     * Gets a resource by its dense ordinal
+     * @param ordinal index assigned at load time (0 to size() - 1)
+     * @return the resource with that ordinal
+     */
+    public ResourceConfig byOrdinal(int ordinal) {
+        return byOrdinal[ordinal];
+    }
+
+    @Override
+    public void unload() {
+        super.unload();
+        byOrdinal = new ResourceConfig[0];
+    }
+}
@@ -7,7 +7,7 @@ import com.example.model.config.TileConfig;
 
 public final class TileRegistry extends IdentifiableConfigRegistry<TileConfig> {
     private static final TileRegistry INSTANCE = new TileRegistry();
-    private static final String PATH = "/config/tiles.json";
+    public static final String PATH = "/config/tiles.json";
 
     private TileRegistry() {}
 
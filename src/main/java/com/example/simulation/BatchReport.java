@@ -0,0 +1,41 @@
+package com.example.simulation;
+
+/**
+ * BatchReport Record; merged stats of a batch and how long it took
+ * @param stats outcome counts of every game
+ * @param elapsedNanos wall clock time of the whole batch
+ * @param threads worker threads used
+ */
+public record BatchReport(BatchStats stats, long elapsedNanos, int threads) {
+
+    public double getGamesPerSecond() {
+        return stats.getGames() * 1e9 / elapsedNanos;
+    }
+
+    public double getTurnsPerSecond() {
+        return stats.getTotalTurns() * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Formats the report as a table for the console
+     * @param names bot name of each seat
+     * @return the formatted report
+     */
+    public String format(String[] names) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%d games on %d threads in %.2f s: %.1f games/s, %.0f turns/s%n",
+                stats.getGames(), threads, elapsedNanos / 1e9, getGamesPerSecond(), getTurnsPerSecond()));
+        sb.append(String.format("average length %.1f turns, %d unfinished%n", stats.getAverageTurns(), stats.getUnfinished()));
+        for (int seat = 0; seat < stats.getSeats(); seat++) {
+            sb.append(String.format("seat %d %-8s wins %6d (%5.1f%%)  avg VP %.2f%n", seat, names[seat],
+                    stats.getWins(seat), 100 * stats.getWinRate(seat), stats.getAverageVictoryPoints(seat)));
+        }
+        int[] histogram = stats.getTurnHistogram();
+        for (int i = 0; i < histogram.length; i++) {
+            if (histogram[i] > 0) {
+                sb.append(String.format("turns %4d+ %d%n", i * BatchStats.TURN_BUCKET, histogram[i]));
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.simulation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * BatchRunner Class; plays many games in parallel on a work-stealing pool
+ * The range of game indices is split in half until it is small enough to play on one thread; each
+ * leaf collects its own BatchStats and the halves are merged as they join. Game i is seeded from
+ * the batch seed and i only, so a batch gives the same stats whatever the thread count.
+ */
+public class BatchRunner {
+
+    private static final int GAMES_PER_TASK = 8; // leaf size; small enough to keep every thread busy near the end
+    private static final long SEED_STRIDE = 0x9E3779B97F4A7C15L;
+
+    private final GameRunner runner;
+    private final int threads;
+
+    public BatchRunner(GameRunner runner, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be positive, got " + threads);
+        }
+        this.runner = runner;
+        this.threads = threads;
+    }
+
+    /**
+     * Plays a batch of games
+     * @param games number of games to play
+     * @param seed batch seed; game i uses its own random derived from it
+     * @return merged stats and timing
+     */
+    public BatchReport run(int games, long seed) {
+        return play(games, seed, null);
+    }
+
+    /**
+     * Plays a batch of games, tracing each one into a game archive
+     * @param games number of games to play
+     * @param seed batch seed; game i uses its own random derived from it, and is game i in the archive
+     * @param archive archive to add every game to; left open
+     * @return merged stats and timing, the same as run without an archive
+     * @throws IOException if the archive cannot be written
+     */
+    public BatchReport run(int games, long seed, GameArchiveWriter archive) throws IOException {
+        try {
+            return play(games, seed, archive);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Helper function; plays the batch on a pool of its own
+    private BatchReport play(int games, long seed, GameArchiveWriter archive) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            long start = System.nanoTime();
+            BatchStats stats = pool.invoke(new GamesTask(0, games, seed, archive));
+            return new BatchReport(stats, System.nanoTime() - start, threads);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // random source of one game in the batch
+    static SplittableRandom gameRandom(long seed, int game) {
+        return new SplittableRandom(seed + game * SEED_STRIDE);
+    }
+
+    // plays games [from, to), splitting the range while it is larger than a leaf
+    private final class GamesTask extends RecursiveTask<BatchStats> {
+        private final int from;
+        private final int to;
+        private final long seed;
+        private final GameArchiveWriter archive; // null if the games are not archived
+
+        GamesTask(int from, int to, long seed, GameArchiveWriter archive) {
+            this.from = from;
+            this.to = to;
+            this.seed = seed;
+            this.archive = archive;
+        }
+
+        @Override
+        protected BatchStats compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                BatchStats stats = new BatchStats(runner.getSeats(), runner.getMaxTurns());
+                for (int i = from; i < to; i++) {
+                    if (archive == null) {
+                        stats.add(runner.play(gameRandom(seed, i)));
+                    } else {
+                        GameTrace trace = runner.trace(gameRandom(seed, i));
+                        archive.addUnchecked(i, trace);
+                        stats.add(trace.getResult());
+                    }
+                }
+                return stats;
+            }
+            int mid = (from + to) >>> 1;
+            GamesTask left = new GamesTask(from, mid, seed, archive);
+            left.fork();
+            BatchStats stats = new GamesTask(mid, to, seed, archive).compute();
+            stats.merge(left.join());
+            return stats;
+        }
+    }
+}
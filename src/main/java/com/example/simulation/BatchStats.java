@@ -0,0 +1,97 @@
+package com.example.simulation;
+
+import java.util.Arrays;
+
+/**
+ * BatchStats Class; outcome counts for a set of games
+ * Each worker fills its own instance and the instances are merged when the workers join,
+ * so no lock is ever taken while games are running.
+ */
+public class BatchStats {
+
+    public static final int TURN_BUCKET = 10; // width of each turn histogram bucket
+
+    private final int seats;
+    private int games;
+    private int unfinished;
+    private long totalTurns;
+    private final int[] wins;
+    private final long[] victoryPoints;
+    private final int[] turnHistogram;
+
+    public BatchStats(int seats, int maxTurns) {
+        this.seats = seats;
+        this.wins = new int[seats];
+        this.victoryPoints = new long[seats];
+        this.turnHistogram = new int[maxTurns / TURN_BUCKET + 1];
+    }
+
+    // adds one game's result
+    public void add(GameResult result) {
+        games++;
+        totalTurns += result.turns();
+        if (result.isFinished()) {
+            wins[result.winner()]++;
+        } else {
+            unfinished++;
+        }
+        for (int i = 0; i < seats; i++) {
+            victoryPoints[i] += result.victoryPoints()[i];
+        }
+        turnHistogram[Math.min(result.turns() / TURN_BUCKET, turnHistogram.length - 1)]++;
+    }
+
+    // adds every game counted by the other stats; both must have the same seats and turn limit
+    public void merge(BatchStats other) {
+        if (other.seats != seats || other.turnHistogram.length != turnHistogram.length) {
+            throw new IllegalArgumentException("Cannot merge stats of different batches");
+        }
+        games += other.games;
+        unfinished += other.unfinished;
+        totalTurns += other.totalTurns;
+        for (int i = 0; i < seats; i++) {
+            wins[i] += other.wins[i];
+            victoryPoints[i] += other.victoryPoints[i];
+        }
+        for (int i = 0; i < turnHistogram.length; i++) {
+            turnHistogram[i] += other.turnHistogram[i];
+        }
+    }
+
+    public int getSeats() {
+        return seats;
+    }
+
+    public int getGames() {
+        return games;
+    }
+
+    public int getUnfinished() {
+        return unfinished;
+    }
+
+    public long getTotalTurns() {
+        return totalTurns;
+    }
+
+    public int getWins(int seat) {
+        return wins[seat];
+    }
+
+    public double getWinRate(int seat) {
+        return games == 0 ? 0 : (double) wins[seat] / games;
+    }
+
+    public double getAverageVictoryPoints(int seat) {
+        return games == 0 ? 0 : (double) victoryPoints[seat] / games;
+    }
+
+    public double getAverageTurns() {
+        return games == 0 ? 0 : (double) totalTurns / games;
+    }
+
+    // game counts by length; bucket i holds games of i * TURN_BUCKET to (i + 1) * TURN_BUCKET - 1 turns
+    public int[] getTurnHistogram() {
+        return Arrays.copyOf(turnHistogram, turnHistogram.length);
+    }
+}
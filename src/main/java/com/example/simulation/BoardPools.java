@@ -0,0 +1,47 @@
+package com.example.simulation;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import com.example.model.BoardFairness;
+import com.example.model.BoardLayout;
+import com.example.model.BoardPool;
+import com.example.model.config.ConfigManager;
+import com.example.model.config.ConfigSnapshot;
+
+/**
+ * BoardPools Class; command line entry point that generates a pool of fair boards and saves it
+ * Usage: BoardPools [boards] [minScore] [file] [seed] [threads]
+ * The app draws new game boards from the default file when it exists.
+ */
+public class BoardPools {
+
+    public static final String DEFAULT_FILE = "boards.json";
+    private static final int DEFAULT_BOARDS = 5000;
+    private static final double DEFAULT_MIN_SCORE = 75; // about the best quarter of generated boards
+
+    public static void main(String[] args) throws IOException {
+        int boards = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_BOARDS;
+        double minScore = args.length > 1 ? Double.parseDouble(args[1]) : DEFAULT_MIN_SCORE;
+        Path file = Path.of(args.length > 2 ? args[2] : DEFAULT_FILE);
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+
+        ConfigManager.loadAll(); // registries must be loaded before any worker starts
+        ConfigSnapshot config = ConfigManager.getSnapshot();
+
+        long start = System.nanoTime();
+        BoardPool pool = BoardPool.generate(config, boards, minScore, seed, threads);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        pool.save(file);
+
+        double total = 0;
+        for (BoardLayout board : pool.getBoards()) {
+            total += BoardFairness.score(config, board).score();
+        }
+        System.out.println("seed " + seed);
+        System.out.printf("%d boards scoring at least %.1f (mean %.1f) in %.2f s, %.0f boards/s, %d threads%n",
+                boards, minScore, total / boards, seconds, boards / seconds, threads);
+        System.out.println("saved to " + file.toAbsolutePath());
+    }
+}
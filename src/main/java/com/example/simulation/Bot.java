@@ -0,0 +1,42 @@
+package com.example.simulation;
+
+import java.util.SplittableRandom;
+
+import com.example.model.GameModel;
+import com.example.model.config.ResourceConfig;
+
+/**
+ * Bot Interface; a headless player that makes every decision of a turn by calling GameModel directly
+ * Bots are shared by every game in a batch, so implementations must be stateless; per game randomness
+ * comes from the random passed in.
+ */
+public interface Bot {
+
+    String getName();
+
+    /**
+     * Plays the build and trade part of a turn; the dice have already been rolled and the robber handled
+     * @param game game being played
+     * @param playerID ID of the player whose turn it is
+     * @param random the game's random source
+     */
+    void playTurn(GameModel game, int playerID, SplittableRandom random);
+
+    /**
+     * Chooses where to move the robber after a 7 or an eco conference card
+     * @return index of the tile to block
+     */
+    int chooseRobberTile(GameModel game, int playerID, SplittableRandom random);
+
+    /**
+     * Chooses which opponent settlement on the robber's tile to steal from
+     * @return vertex to steal from, or -1 to skip stealing
+     */
+    int chooseStealVertex(GameModel game, int playerID, SplittableRandom random);
+
+    /**
+     * Chooses a resource for a trading frenzy or monopoly card
+     * @return the chosen resource
+     */
+    ResourceConfig chooseResource(GameModel game, int playerID, SplittableRandom random);
+}
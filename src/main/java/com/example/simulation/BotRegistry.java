@@ -0,0 +1,60 @@
+package com.example.simulation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * BotRegistry Class; bot strategies by name, so tools can pick them from the command line
+ * The random, greedy and mcts baselines are always registered. A factory is called once per tool run and
+ * its bot is shared by every game, so registered bots must be safe to use from several threads.
+ */
+public final class BotRegistry {
+
+    private static final long MCTS_BUDGET_MILLIS = 1000;
+    private static final int MCTS_ITERATIONS = 200; // reached well within the budget, so runs replay from their seed
+
+    private static final Map<String, Supplier<Bot>> BOTS = new LinkedHashMap<>();
+
+    static {
+        register("random", RandomBot::new);
+        register("greedy", GreedyBot::new);
+        // searches on one thread, as tools already play a game on every core
+        register("mcts", () -> new MctsBot(MCTS_BUDGET_MILLIS, MCTS_ITERATIONS, 1));
+    }
+
+    private BotRegistry() {}
+
+    /**
+     * Registers a bot strategy
+     * @param name name to create it by
+     * @param factory creates the bot
+     * @throws IllegalArgumentException if the name is taken
+     */
+    public static synchronized void register(String name, Supplier<Bot> factory) {
+        if (BOTS.putIfAbsent(name, factory) != null) {
+            throw new IllegalArgumentException("Bot already registered: " + name);
+        }
+    }
+
+    /**
+     * Creates a registered bot
+     * @param name name it was registered by
+     * @return the bot
+     * @throws IllegalArgumentException if no bot has that name
+     */
+    public static synchronized Bot create(String name) {
+        Supplier<Bot> factory = BOTS.get(name);
+        if (factory == null) {
+            throw new IllegalArgumentException("Unknown bot: " + name + ", expected one of " + BOTS.keySet());
+        }
+        return factory.get();
+    }
+
+    // names of every registered bot, in registration order
+    public static synchronized List<String> getNames() {
+        return new ArrayList<>(BOTS.keySet());
+    }
+}
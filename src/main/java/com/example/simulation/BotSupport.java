@@ -0,0 +1,232 @@
+package com.example.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.example.model.AdjacencyMaps;
+import com.example.model.Bitboards;
+import com.example.model.GameModel;
+import com.example.model.IncomeModel;
+import com.example.model.Player;
+import com.example.model.Roads;
+import com.example.model.Tile;
+import com.example.model.config.ConfigSnapshot;
+import com.example.model.config.DevCardConfig;
+import com.example.model.config.PortConfig;
+import com.example.model.config.ResourceConfig;
+import com.example.model.trading.TradeBank;
+import com.example.model.trading.TradePort;
+
+/**
+ * BotSupport Class; board evaluation and multi step actions shared by the bots
+ */
+final class BotSupport {
+
+    private BotSupport() {}
+
+    // number of dice combinations that roll the number; 0 for deserts and 7
+    static int pips(int number) {
+        return IncomeModel.pips(number);
+    }
+
+    // expected production of a vertex, in pips, from the tiles around it that still produce
+    static int vertexValue(GameModel game, int vertex) {
+        Tile[] tiles = game.getTiles();
+        int value = 0;
+        for (int i = 0, n = AdjacencyMaps.vertexTileCount(vertex); i < n; i++) {
+            Tile tile = tiles[AdjacencyMaps.adjacentTile(vertex, i)];
+            if (!tile.getIsDestroyed()) {
+                value += pips(tile.getNumber());
+            }
+        }
+        return value;
+    }
+
+    // Helper function; gets a uniformly random set bit of the mask, or -1 if it is empty
+    static int randomBit(long mask, SplittableRandom random) {
+        int count = Long.bitCount(mask);
+        if (count == 0) {
+            return -1;
+        }
+        return nthBit(mask, random.nextInt(count));
+    }
+
+    // Helper function; gets a uniformly random edge of a two word edge mask, or -1 if it is empty
+    static int randomEdge(long lo, long hi, SplittableRandom random) {
+        int count = Long.bitCount(lo) + Long.bitCount(hi);
+        if (count == 0) {
+            return -1;
+        }
+        int pick = random.nextInt(count);
+        int lowCount = Long.bitCount(lo);
+        if (pick < lowCount) {
+            return nthBit(lo, pick);
+        }
+        return 64 + nthBit(hi, pick - lowCount);
+    }
+
+    // Helper function; index of the nth set bit of the mask
+    private static int nthBit(long mask, int n) {
+        for (; n > 0; n--) {
+            mask &= mask - 1;
+        }
+        return Long.numberOfTrailingZeros(mask);
+    }
+
+    // Helper function; gets the vertex of the mask with the highest production, or -1 if it is empty
+    static int bestVertex(GameModel game, long mask) {
+        int best = -1;
+        int bestValue = -1;
+        while (mask != 0) {
+            int vertex = Long.numberOfTrailingZeros(mask);
+            int value = vertexValue(game, vertex);
+            if (value > bestValue) {
+                bestValue = value;
+                best = vertex;
+            }
+            mask &= mask - 1;
+        }
+        return best;
+    }
+
+    // Helper function; gets the legal road that leads to the most productive open vertex, or -1 if none
+    static int bestRoad(GameModel game, int playerID) {
+        long lo = game.getLegalRoadMaskLo(playerID);
+        long hi = game.getLegalRoadMaskHi(playerID);
+        int best = -1;
+        int bestValue = -1;
+        for (int edge = 0; edge < Bitboards.NUMBER_OF_EDGES; edge++) {
+            if (!Bitboards.hasEdge(lo, hi, edge)) continue;
+            long ends = Bitboards.endpoints(edge);
+            int value = 0;
+            while (ends != 0) {
+                int vertex = Long.numberOfTrailingZeros(ends);
+                if (game.getSettlmentOwner(vertex) == -1) {
+                    value = Math.max(value, vertexValue(game, vertex));
+                }
+                ends &= ends - 1;
+            }
+            if (value > bestValue) {
+                bestValue = value;
+                best = edge;
+            }
+        }
+        return best;
+    }
+
+    // Helper function; gets the opponent with the most victory points, or -1 if there are no opponents
+    static int leader(GameModel game, int playerID) {
+        int leader = -1;
+        int most = -1;
+        for (Player p : game.getPlayers()) {
+            if (p.getId() != playerID && p.getTotalVictoryPoints() > most) {
+                most = p.getTotalVictoryPoints();
+                leader = p.getId();
+            }
+        }
+        return leader;
+    }
+
+    /**
+     * Trades surplus resources for one the player wants; uses a matching 2:1 port if owned, otherwise the bank at 4:1
+     * @param game game being played
+     * @param playerID ID of the trading player
+     * @param want ordinal of the wanted resource
+     * @param keep resource counts the player wants to hold on to, by ordinal
+     * @return whether a trade was made
+     */
+    static boolean tradeFor(GameModel game, int playerID, int want, int[] keep) {
+        Player player = game.getPlayer(playerID);
+        ConfigSnapshot config = game.getConfig();
+        ResourceConfig wanted = config.getResource(want);
+
+        for (PortConfig port : game.getPlayerPorts(playerID)) {
+            ResourceConfig give = config.getResource(port.resourceID);
+            if (give == null || give == wanted) continue; // generic ports have no give resource
+            int surplus = player.getResourceCount(give) - keep[give.getOrdinal()];
+            if (surplus >= port.giveQuantity) {
+                TradePort trade = new TradePort(port, playerID, wanted);
+                if (game.validTrade(trade)) {
+                    return game.executeTrade(trade);
+                }
+            }
+        }
+
+        int give = -1;
+        int bestSurplus = TradeBank.TRADE_RATE - 1;
+        for (int i = 0; i < keep.length; i++) {
+            int surplus = player.getResourceCount(i) - keep[i];
+            if (i != want && surplus > bestSurplus) {
+                bestSurplus = surplus;
+                give = i;
+            }
+        }
+        if (give < 0) {
+            return false;
+        }
+        TradeBank trade = new TradeBank(playerID, config.getResource(give), wanted);
+        return game.validTrade(trade) && game.executeTrade(trade);
+    }
+
+    /**
+     * Plays a development card and carries out its effect with the bot's choices
+     * @param game game being played
+     * @param playerID ID of the player playing the card
+     * @param card card to play
+     * @param bot bot making the choices
+     * @param random the game's random source
+     * @return whether the card was played
+     */
+    static boolean playDevCard(GameModel game, int playerID, DevCardConfig card, Bot bot, SplittableRandom random) {
+        if (!game.playDevCard(playerID, card)) {
+            return false;
+        }
+        switch (card.actionType) {
+            case "ECO_CONFERENCE" -> {
+                game.moveRobber(bot.chooseRobberTile(game, playerID, random));
+                int vertex = bot.chooseStealVertex(game, playerID, random);
+                if (vertex >= 0) {
+                    game.stealResource(vertex, playerID);
+                }
+            }
+            case "HIGHWAY_MADNESS" -> {
+                long lo = game.getLegalRoadMaskLo(playerID);
+                long hi = game.getLegalRoadMaskHi(playerID);
+                int first = randomEdge(lo, hi, random);
+                if (first < 0) break;
+                // the second road may extend the first, so it is picked from both ends of the first
+                long ends = Bitboards.endpoints(first);
+                long secondLo = lo;
+                long secondHi = hi;
+                while (ends != 0) {
+                    int vertex = Long.numberOfTrailingZeros(ends);
+                    secondLo |= Bitboards.incidentEdgesLo(vertex);
+                    secondHi |= Bitboards.incidentEdgesHi(vertex);
+                    ends &= ends - 1;
+                }
+                for (int edge = 0; edge < Bitboards.NUMBER_OF_EDGES; edge++) {
+                    if (edge == first || game.getRoads()[edge].getPlayerID() != Roads.UNOWNED_ROAD_ID) {
+                        if (Bitboards.isLowEdge(edge)) secondLo &= ~Bitboards.edgeBit(edge);
+                        else secondHi &= ~Bitboards.edgeBit(edge);
+                    }
+                }
+                int second = randomEdge(secondLo, secondHi, random);
+                game.applyHighwayMadness(playerID, first, second < 0 ? first : second);
+                game.updateLongestRoad();
+            }
+            case "TRADING_FRENZY" -> {
+                List<ResourceConfig> resources = new ArrayList<>(3);
+                for (int i = 0; i < 3; i++) {
+                    resources.add(bot.chooseResource(game, playerID, random));
+                }
+                game.applyTradingFrenzy(playerID, resources);
+            }
+            case "MONOPOLY" -> game.applyMonopoly(playerID, bot.chooseResource(game, playerID, random));
+            default -> {
+                // victory point cards are never played
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.simulation;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * ColumnCodec Class; packs a column of ints into bytes for the game archive
+ * Each value is stored as its difference from the one before, zigzagged so small negative differences
+ * stay small, as a varint. A run of zero differences, which most columns are full of (victory points and
+ * climate hold for many turns, the game column for a whole game), is stored as a zero then the run length.
+ */
+final class ColumnCodec {
+
+    private ColumnCodec() {}
+
+    /**
+     * @param values column to encode
+     * @param count how many of the values to encode, from the start
+     * @return the encoded column
+     */
+    static byte[] encode(int[] values, int count) {
+        byte[] out = new byte[Math.max(16, count * 2)];
+        int size = 0;
+        int previous = 0;
+        int i = 0;
+        while (i < count) {
+            if (out.length - size < 10) {
+                out = Arrays.copyOf(out, out.length * 2);
+            }
+            int delta = values[i] - previous;
+            if (delta == 0) {
+                int run = 1;
+                while (i + run < count && values[i + run] == previous) {
+                    run++;
+                }
+                out[size++] = 0;
+                size = putVarint(out, size, run);
+                i += run;
+            } else {
+                size = putVarint(out, size, (delta << 1) ^ (delta >> 31));
+                previous = values[i];
+                i++;
+            }
+        }
+        return Arrays.copyOf(out, size);
+    }
+
+    // Helper function; writes an unsigned varint at the index, returning the index after it
+    private static int putVarint(byte[] out, int index, int value) {
+        while ((value & ~0x7F) != 0) {
+            out[index++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[index++] = (byte) value;
+        return index;
+    }
+
+    /**
+     * Decodes a column written with encode
+     * @param buffer buffer holding exactly the encoded column
+     * @param count number of values encoded
+     * @return the column
+     * @throws IOException if the bytes do not decode to count values
+     */
+    static int[] decode(ByteBuffer buffer, int count) throws IOException {
+        int[] values = new int[count];
+        int previous = 0;
+        int i = 0;
+        try {
+            while (i < count) {
+                int zigzag = getVarint(buffer);
+                if (zigzag == 0) {
+                    int run = getVarint(buffer);
+                    if (run < 1 || run > count - i) {
+                        throw new IOException("Damaged archive column");
+                    }
+                    Arrays.fill(values, i, i + run, previous);
+                    i += run;
+                } else {
+                    previous += (zigzag >>> 1) ^ -(zigzag & 1);
+                    values[i++] = previous;
+                }
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Damaged archive column", e);
+        }
+        if (buffer.hasRemaining()) {
+            throw new IOException("Damaged archive column");
+        }
+        return values;
+    }
+
+    // Helper function; reads an unsigned varint
+    private static int getVarint(ByteBuffer buffer) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Damaged archive column");
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.simulation;
+
+import java.util.Arrays;
+
+/**
+ * EloRatings Class; Elo ratings fitted to a tournament's head to head results
+ * Ratings are the maximum likelihood Bradley-Terry strengths, found with Hunter's MM iteration, on the
+ * Elo scale and centred on 1500. Draws count as half a win to each side, and every pair is given one
+ * extra virtual draw so a bot that wins every game still gets a finite rating. Errors are 95% intervals
+ * from the Fisher information of each rating with the others held fixed.
+ */
+public final class EloRatings {
+
+    public static final double MEAN_RATING = 1500;
+    private static final double ELO_PER_NATURAL_UNIT = 400 / Math.log(10);
+    private static final double Z_95 = 1.96;
+    private static final int MAX_ITERATIONS = 10_000;
+    private static final double TOLERANCE = 1e-10;
+
+    private final double[] ratings;
+    private final double[] errors;
+
+    private EloRatings(double[] ratings, double[] errors) {
+        this.ratings = ratings;
+        this.errors = errors;
+    }
+
+    /**
+     * Fits ratings to the results
+     * @param stats head to head results
+     * @return the fitted ratings
+     */
+    public static EloRatings fit(TournamentStats stats) {
+        int n = stats.getBots();
+        double[][] games = new double[n][n];
+        double[] points = new double[n];
+        for (int a = 0; a < n; a++) {
+            for (int b = 0; b < n; b++) {
+                if (a == b) continue;
+                games[a][b] = stats.getGames(a, b) + 1; // the virtual draw
+                points[a] += stats.getWins(a, b) + 0.5 * stats.getDraws(a, b) + 0.5;
+            }
+        }
+
+        double[] strength = new double[n];
+        Arrays.fill(strength, 1);
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            double change = 0;
+            double[] next = new double[n];
+            for (int a = 0; a < n; a++) {
+                double denominator = 0;
+                for (int b = 0; b < n; b++) {
+                    if (a != b) denominator += games[a][b] / (strength[a] + strength[b]);
+                }
+                next[a] = denominator == 0 ? strength[a] : points[a] / denominator;
+            }
+            normalise(next);
+            for (int a = 0; a < n; a++) {
+                change = Math.max(change, Math.abs(Math.log(next[a] / strength[a])));
+            }
+            strength = next;
+            if (change < TOLERANCE) break;
+        }
+
+        double[] ratings = new double[n];
+        double[] errors = new double[n];
+        for (int a = 0; a < n; a++) {
+            ratings[a] = MEAN_RATING + ELO_PER_NATURAL_UNIT * Math.log(strength[a]);
+            double information = 0;
+            for (int b = 0; b < n; b++) {
+                if (a == b) continue;
+                double p = strength[a] / (strength[a] + strength[b]);
+                information += games[a][b] * p * (1 - p);
+            }
+            errors[a] = information == 0 ? Double.POSITIVE_INFINITY : Z_95 * ELO_PER_NATURAL_UNIT / Math.sqrt(information);
+        }
+        return new EloRatings(ratings, errors);
+    }
+
+    // Helper function; scales the strengths to a geometric mean of one, i.e. a mean rating of MEAN_RATING
+    private static void normalise(double[] strength) {
+        double logSum = 0;
+        for (double s : strength) {
+            logSum += Math.log(s);
+        }
+        double scale = Math.exp(-logSum / strength.length);
+        for (int i = 0; i < strength.length; i++) {
+            strength[i] *= scale;
+        }
+    }
+
+    public double getRating(int bot) {
+        return ratings[bot];
+    }
+
+    // half width of the 95% interval of the rating
+    public double getError(int bot) {
+        return errors[bot];
+    }
+
+    // expected score of a against b under the fitted ratings
+    public double getExpectedScore(int a, int b) {
+        return 1 / (1 + Math.pow(10, (ratings[b] - ratings[a]) / 400));
+    }
+}
@@ -0,0 +1,358 @@
+package com.example.simulation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+/**
+ * GameArchive Class; reads a columnar archive of self-play games, for analytics over many games
+ * Two tables. The game table has a row per game: game, winner, turns, and for each seat s its final points
+ * vp.s, its opening settlement vertices opening.s.a and opening.s.b and their summed pips pips.s. The turn
+ * table has a row per turn: game, turn, player, roll, action (GameTrace flags), climate, then vp.s and
+ * resources.s.r for every seat s and resource r, as they were at the end of the turn.
+ * Rows are stored in row groups of up to GameArchiveWriter.GAMES_PER_GROUP games, each column of a group
+ * as its own ColumnCodec chunk, so a scan reads only the columns it needs and decodes groups in parallel.
+ * Layout, little endian: magic, version, seats, resources; the chunks; a footer of group count, chunk
+ * count and an index entry per chunk (table, column, group, rows, offset, length, CRC32); then the
+ * footer's offset and the magic again.
+ * Usage: GameArchive [archive]; prints the win rate by opening pips.
+ */
+public final class GameArchive implements Closeable {
+
+    public static final int MAGIC = 0x43524143; // "CARC" read little endian
+    public static final int VERSION = 1;
+
+    static final int GAME_TABLE = 0;
+    static final int TURN_TABLE = 1;
+    static final int HEADER_SIZE = 8;
+    static final int TRAILER_SIZE = 12;
+    static final int INDEX_ENTRY_SIZE = 27;
+
+    private final FileChannel channel;
+    private final int seats;
+    private final int resources;
+    private final List<String> gameColumns;
+    private final List<String> turnColumns;
+    private final Chunk[][][] chunks; // [table][group][column]
+    private final int[] groupGames;   // first game row of each group, then the total
+    private final int[] groupTurns;   // first turn row of each group, then the total
+
+    // where one column of one row group is in the file
+    private record Chunk(int rows, long offset, int length, int crc) {}
+
+    /**
+     * WinRate Record; how often seats with a value went on to win
+     * @param value the value, e.g. opening pips
+     * @param seats seats that had the value, over every game
+     * @param wins how many of those seats won
+     */
+    public record WinRate(int value, long seats, long wins) {
+
+        public double winRate() {
+            return seats == 0 ? 0 : (double) wins / seats;
+        }
+    }
+
+    private GameArchive(FileChannel channel, int seats, int resources, Chunk[][][] chunks) {
+        this.channel = channel;
+        this.seats = seats;
+        this.resources = resources;
+        this.gameColumns = gameColumns(seats);
+        this.turnColumns = turnColumns(seats, resources);
+        this.chunks = chunks;
+        int groups = chunks[GAME_TABLE].length;
+        this.groupGames = new int[groups + 1];
+        this.groupTurns = new int[groups + 1];
+        for (int g = 0; g < groups; g++) {
+            groupGames[g + 1] = groupGames[g] + chunks[GAME_TABLE][g][0].rows();
+            groupTurns[g + 1] = groupTurns[g] + chunks[TURN_TABLE][g][0].rows();
+        }
+    }
+
+    /**
+     * @param seats players per game
+     * @return names of the game table's columns, in order
+     */
+    public static List<String> gameColumns(int seats) {
+        List<String> columns = new ArrayList<>(List.of("game", "winner", "turns"));
+        for (int s = 0; s < seats; s++) {
+            columns.addAll(List.of("vp." + s, "opening." + s + ".a", "opening." + s + ".b", "pips." + s));
+        }
+        return List.copyOf(columns);
+    }
+
+    /**
+     * @param seats players per game
+     * @param resources resource types each player holds
+     * @return names of the turn table's columns, in order
+     */
+    public static List<String> turnColumns(int seats, int resources) {
+        List<String> columns = new ArrayList<>(List.of("game", "turn", "player", "roll", "action", "climate"));
+        for (int s = 0; s < seats; s++) {
+            columns.add("vp." + s);
+        }
+        for (int s = 0; s < seats; s++) {
+            for (int r = 0; r < resources; r++) {
+                columns.add("resources." + s + "." + r);
+            }
+        }
+        return List.copyOf(columns);
+    }
+
+    /**
+     * Opens an archive and reads its chunk index; columns are read as they are asked for
+     * @param file archive written by GameArchiveWriter
+     * @return the archive, open until closed
+     * @throws IOException if the file cannot be read or is not a complete archive
+     */
+    public static GameArchive open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return read(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Helper function; checks the header and trailer and loads the footer
+    private static GameArchive read(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < HEADER_SIZE + 8 + TRAILER_SIZE) {
+            throw new IOException("Not a game archive");
+        }
+        ByteBuffer header = readFully(channel, 0, HEADER_SIZE);
+        ByteBuffer trailer = readFully(channel, size - TRAILER_SIZE, TRAILER_SIZE);
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Not a game archive");
+        }
+        int version = header.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported game archive version " + version);
+        }
+        int seats = header.get();
+        int resources = header.get();
+        long footer = trailer.getLong();
+        if (trailer.getInt() != MAGIC || footer < HEADER_SIZE || footer > size - TRAILER_SIZE - 8) {
+            throw new IOException("Damaged or unfinished game archive");
+        }
+
+        ByteBuffer index = readFully(channel, footer, (int) (size - TRAILER_SIZE - footer));
+        try {
+            int groups = index.getInt();
+            int count = index.getInt();
+            int gameColumns = gameColumns(seats).size();
+            int turnColumns = turnColumns(seats, resources).size();
+            if (groups < 0 || count != groups * (gameColumns + turnColumns)
+                    || index.remaining() != count * INDEX_ENTRY_SIZE) {
+                throw new IOException("Damaged game archive");
+            }
+            Chunk[][][] chunks = {new Chunk[groups][gameColumns], new Chunk[groups][turnColumns]};
+            for (int i = 0; i < count; i++) {
+                int table = index.get();
+                int column = index.getShort();
+                int group = index.getInt();
+                Chunk chunk = new Chunk(index.getInt(), index.getLong(), index.getInt(), index.getInt());
+                if (chunk.rows() < 0 || chunk.length() < 0 || chunk.offset() < HEADER_SIZE
+                        || chunk.offset() + chunk.length() > footer) {
+                    throw new IOException("Damaged game archive");
+                }
+                chunks[table][group][column] = chunk;
+            }
+            for (Chunk[][] table : chunks) {
+                for (Chunk[] group : table) {
+                    for (Chunk chunk : group) {
+                        if (chunk == null || chunk.rows() != group[0].rows()) {
+                            throw new IOException("Damaged game archive");
+                        }
+                    }
+                }
+            }
+            return new GameArchive(channel, seats, resources, chunks);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Damaged game archive", e);
+        }
+    }
+
+    // Helper function; reads bytes at a position; safe from many threads at once
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Damaged game archive");
+            }
+        }
+        return buffer.flip();
+    }
+
+    public int getSeats() {
+        return seats;
+    }
+
+    public int getResources() {
+        return resources;
+    }
+
+    public int getRowGroupCount() {
+        return groupGames.length - 1;
+    }
+
+    public int getGameCount() {
+        return groupGames[groupGames.length - 1];
+    }
+
+    public int getTurnCount() {
+        return groupTurns[groupTurns.length - 1];
+    }
+
+    /**
+     * Reads a whole column of the game table, decoding row groups in parallel
+     * @param name column name, from gameColumns
+     * @return the column, a value per game
+     * @throws IOException if the column cannot be read or is damaged
+     */
+    public int[] readGameColumn(String name) throws IOException {
+        return readColumn(GAME_TABLE, columnIndex(gameColumns, name), groupGames);
+    }
+
+    /**
+     * Reads a whole column of the turn table, decoding row groups in parallel
+     * @param name column name, from turnColumns
+     * @return the column, a value per turn
+     * @throws IOException if the column cannot be read or is damaged
+     */
+    public int[] readTurnColumn(String name) throws IOException {
+        return readColumn(TURN_TABLE, columnIndex(turnColumns, name), groupTurns);
+    }
+
+    // Helper function; decodes every group's chunk of the column into place
+    private int[] readColumn(int table, int column, int[] starts) throws IOException {
+        int[] values = new int[starts[starts.length - 1]];
+        try {
+            IntStream.range(0, getRowGroupCount()).parallel().forEach(group -> {
+                int[] chunk = decode(table, group, column);
+                System.arraycopy(chunk, 0, values, starts[group], chunk.length);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return values;
+    }
+
+    private static int columnIndex(List<String> columns, String name) {
+        int column = columns.indexOf(name);
+        if (column < 0) {
+            throw new IllegalArgumentException("No column " + name + " in the game archive");
+        }
+        return column;
+    }
+
+    // Helper function; reads, checks and decodes one chunk; for use inside parallel streams
+    private int[] decode(int table, int group, int column) {
+        Chunk chunk = chunks[table][group][column];
+        try {
+            ByteBuffer bytes = readFully(channel, chunk.offset(), chunk.length());
+            CRC32 crc = new CRC32();
+            crc.update(bytes.duplicate());
+            if ((int) crc.getValue() != chunk.crc()) {
+                throw new IOException("Damaged game archive chunk");
+            }
+            return ColumnCodec.decode(bytes, chunk.rows());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Win rate of seats grouped by a per seat column of the game table, over every game
+     * Each row group is scanned on its own, in parallel, reading only the winner column and the seats'
+     * columns, and the counts are summed.
+     * @param prefix column name without the seat, e.g. "pips" for pips.0, pips.1, ...
+     * @return a row per value seen, in increasing order of value
+     * @throws IOException if a column cannot be read or is damaged
+     */
+    public List<WinRate> winRateBy(String prefix) throws IOException {
+        int[] columns = new int[seats];
+        for (int s = 0; s < seats; s++) {
+            columns[s] = columnIndex(gameColumns, prefix + "." + s);
+        }
+        int winnerColumn = columnIndex(gameColumns, "winner");
+        TreeMap<Integer, long[]> counts;
+        try {
+            counts = IntStream.range(0, getRowGroupCount()).parallel()
+                    .mapToObj(group -> {
+                        TreeMap<Integer, long[]> groupCounts = new TreeMap<>();
+                        int[] winners = decode(GAME_TABLE, group, winnerColumn);
+                        for (int s = 0; s < seats; s++) {
+                            int[] values = decode(GAME_TABLE, group, columns[s]);
+                            for (int game = 0; game < values.length; game++) {
+                                long[] count = groupCounts.computeIfAbsent(values[game], v -> new long[2]);
+                                count[0]++;
+                                if (winners[game] == s) {
+                                    count[1]++;
+                                }
+                            }
+                        }
+                        return groupCounts;
+                    })
+                    .reduce(new TreeMap<>(), GameArchive::merge);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        List<WinRate> rates = new ArrayList<>(counts.size());
+        counts.forEach((value, count) -> rates.add(new WinRate(value, count[0], count[1])));
+        return rates;
+    }
+
+    /**
+     * Win rate of seats grouped by the pips of their opening settlements
+     * @return a row per pips total seen, in increasing order
+     * @throws IOException if a column cannot be read or is damaged
+     */
+    public List<WinRate> winRateByOpeningPips() throws IOException {
+        return winRateBy("pips");
+    }
+
+    // Helper function; sums two sets of counts into a new one, leaving both alone
+    private static TreeMap<Integer, long[]> merge(TreeMap<Integer, long[]> a,
+            TreeMap<Integer, long[]> b) {
+        TreeMap<Integer, long[]> sum = new TreeMap<>();
+        for (TreeMap<Integer, long[]> counts : List.of(a, b)) {
+            counts.forEach((value, count) -> {
+                long[] total = sum.computeIfAbsent(value, v -> new long[2]);
+                total[0] += count[0];
+                total[1] += count[1];
+            });
+        }
+        return sum;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file = Path.of(args.length > 0 ? args[0] : "games.carc");
+        try (GameArchive archive = open(file)) {
+            System.out.printf("%d games, %d turns, %d row groups%n", archive.getGameCount(), archive.getTurnCount(),
+                    archive.getRowGroupCount());
+            System.out.println("opening pips   seats    wins  win rate");
+            for (WinRate rate : archive.winRateByOpeningPips()) {
+                System.out.printf("%12d %7d %7d %8.1f%%%n", rate.value(), rate.seats(), rate.wins(),
+                        100 * rate.winRate());
+            }
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.simulation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+/**
+ * GameArchiveWriter Class; writes traced self-play games to a columnar game archive
+ * Games are buffered column by column and written out as a row group every GAMES_PER_GROUP games: one
+ * ColumnCodec chunk per column of the game table and of the turn table, so a query only reads and decodes
+ * the columns it asks for. The chunk index goes in a footer on close. See GameArchive for the layout.
+ * add may be called from many threads at once, e.g. from every worker of a BatchRunner.
+ */
+public final class GameArchiveWriter implements Closeable {
+
+    public static final int GAMES_PER_GROUP = 1024;
+
+    private final FileChannel channel;
+    private final int seats;
+    private final int resources;
+    private final List<String> gameColumns;
+    private final List<String> turnColumns;
+
+    private final int[][] games; // game table columns of the row group being filled
+    private final int[][] turns; // turn table columns of the row group being filled
+    private int gameRows;
+    private int turnRows;
+
+    private long offset; // file position of the next chunk
+    private int groups;
+    private ByteBuffer index = newBuffer(4096); // footer entries of every chunk written
+    private int chunks;
+    private boolean closed;
+
+    /**
+     * Creates an archive, replacing the file if it exists
+     * @param file file to write
+     * @param seats players per game
+     * @param resources resource types each player holds
+     * @throws IOException if the file cannot be written
+     */
+    public GameArchiveWriter(Path file, int seats, int resources) throws IOException {
+        this.seats = seats;
+        this.resources = resources;
+        this.gameColumns = GameArchive.gameColumns(seats);
+        this.turnColumns = GameArchive.turnColumns(seats, resources);
+        this.games = new int[gameColumns.size()][GAMES_PER_GROUP];
+        this.turns = new int[turnColumns.size()][GAMES_PER_GROUP * 64];
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+
+        ByteBuffer header = newBuffer(GameArchive.HEADER_SIZE);
+        header.putInt(GameArchive.MAGIC);
+        header.putShort((short) GameArchive.VERSION);
+        header.put((byte) seats);
+        header.put((byte) resources);
+        write(header.flip());
+    }
+
+    /**
+     * Adds a game to the archive
+     * @param game the game's number, e.g. its index in the batch; kept in the game column of both tables
+     * @param trace the finished game's trace
+     * @throws IOException if a full row group cannot be written
+     */
+    public synchronized void add(int game, GameTrace trace) throws IOException {
+        if (closed) {
+            throw new IOException("Game archive is closed");
+        }
+        if (trace.getSeats() != seats || trace.getResources() != resources) {
+            throw new IllegalArgumentException("Game has " + trace.getSeats() + " seats and " + trace.getResources()
+                    + " resources, the archive " + seats + " and " + resources);
+        }
+        GameResult result = trace.getResult();
+        int column = 0;
+        games[column++][gameRows] = game;
+        games[column++][gameRows] = result.winner();
+        games[column++][gameRows] = result.turns();
+        for (int seat = 0; seat < seats; seat++) {
+            games[column++][gameRows] = result.victoryPoints()[seat];
+            games[column++][gameRows] = trace.getOpeningVertex(seat, 0);
+            games[column++][gameRows] = trace.getOpeningVertex(seat, 1);
+            games[column++][gameRows] = trace.getOpeningPips(seat);
+        }
+        gameRows++;
+
+        int rows = trace.getTurns();
+        if (turnRows + rows > turns[0].length) {
+            int capacity = Math.max(turns[0].length * 2, turnRows + rows);
+            for (int i = 0; i < turns.length; i++) {
+                turns[i] = Arrays.copyOf(turns[i], capacity);
+            }
+        }
+        for (int turn = 0; turn < rows; turn++, turnRows++) {
+            column = 0;
+            turns[column++][turnRows] = game;
+            turns[column++][turnRows] = turn;
+            turns[column++][turnRows] = trace.getPlayer(turn);
+            turns[column++][turnRows] = trace.getRoll(turn);
+            turns[column++][turnRows] = trace.getAction(turn);
+            turns[column++][turnRows] = trace.getClimateLevel(turn);
+            for (int seat = 0; seat < seats; seat++) {
+                turns[column++][turnRows] = trace.getVictoryPoints(turn, seat);
+            }
+            for (int seat = 0; seat < seats; seat++) {
+                for (int r = 0; r < resources; r++) {
+                    turns[column++][turnRows] = trace.getResourceCount(turn, seat, r);
+                }
+            }
+        }
+
+        if (gameRows == GAMES_PER_GROUP) {
+            writeGroup();
+        }
+    }
+
+    // Helper function; encodes every column of the buffered row group, in parallel, and writes the chunks
+    private void writeGroup() throws IOException {
+        int gameCount = gameRows;
+        int turnCount = turnRows;
+        byte[][] encoded = IntStream.range(0, games.length + turns.length).parallel()
+                .mapToObj(i -> i < games.length
+                        ? ColumnCodec.encode(games[i], gameCount)
+                        : ColumnCodec.encode(turns[i - games.length], turnCount))
+                .toArray(byte[][]::new);
+
+        CRC32 crc = new CRC32();
+        for (int i = 0; i < encoded.length; i++) {
+            boolean game = i < games.length;
+            crc.reset();
+            crc.update(encoded[i]);
+            if (index.remaining() < GameArchive.INDEX_ENTRY_SIZE) {
+                index = newBuffer(index.capacity() * 2).put(index.flip());
+            }
+            index.put((byte) (game ? GameArchive.GAME_TABLE : GameArchive.TURN_TABLE));
+            index.putShort((short) (game ? i : i - games.length));
+            index.putInt(groups);
+            index.putInt(game ? gameCount : turnCount);
+            index.putLong(offset);
+            index.putInt(encoded[i].length);
+            index.putInt((int) crc.getValue());
+            write(ByteBuffer.wrap(encoded[i]));
+            chunks++;
+        }
+        groups++;
+        gameRows = 0;
+        turnRows = 0;
+    }
+
+    // Helper function; writes the buffer at the end of the file
+    private void write(ByteBuffer buffer) throws IOException {
+        offset += buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Writes the last row group and the footer, and closes the file
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (gameRows > 0) {
+                writeGroup();
+            }
+            long footer = offset;
+            ByteBuffer head = newBuffer(8);
+            head.putInt(groups);
+            head.putInt(chunks);
+            write(head.flip());
+            write(index.flip());
+            ByteBuffer tail = newBuffer(GameArchive.TRAILER_SIZE);
+            tail.putLong(footer);
+            tail.putInt(GameArchive.MAGIC);
+            write(tail.flip());
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Adds a game from a worker that cannot throw checked exceptions
+     * @param game the game's number
+     * @param trace the finished game's trace
+     * @throws UncheckedIOException if a full row group cannot be written
+     */
+    void addUnchecked(int game, GameTrace trace) {
+        try {
+            add(game, trace);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ByteBuffer newBuffer(int capacity) {
+        return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
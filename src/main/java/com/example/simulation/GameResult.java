@@ -0,0 +1,14 @@
+package com.example.simulation;
+
+/**
+ * GameResult Record; outcome of one self-play game
+ * @param winner seat of the winning player, or -1 if the game hit the turn limit
+ * @param turns number of turns played
+ * @param victoryPoints final victory points of each seat, hidden points included
+ */
+public record GameResult(int winner, int turns, int[] victoryPoints) {
+
+    public boolean isFinished() {
+        return winner >= 0;
+    }
+}
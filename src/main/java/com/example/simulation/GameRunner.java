@@ -0,0 +1,167 @@
+package com.example.simulation;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+import com.example.model.BoardPool;
+import com.example.model.GameModel;
+import com.example.model.PlacementStrategy;
+import com.example.model.Player;
+import com.example.model.config.ConfigManager;
+
+/**
+ * GameRunner Class; plays complete games between bots without a view model
+ * Seat i is played by bots[i] and has player ID i. A runner holds no per game state, so one
+ * instance can be shared by every thread of a batch.
+ */
+public class GameRunner {
+
+    private static final int ROBBER_ROLL = 7;
+
+    private final Bot[] bots;
+    private final int maxTurns;
+    private final PlacementStrategy placement;
+    private final BoardPool boards; // null to generate every board from the game seed
+
+    /**
+     * @param bots bot for each seat, in turn order
+     * @param maxTurns turns after which an unfinished game is abandoned
+     */
+    public GameRunner(Bot[] bots, int maxTurns) {
+        this(bots, maxTurns, PlacementStrategy.HEURISTIC);
+    }
+
+    /**
+     * @param bots bot for each seat, in turn order
+     * @param maxTurns turns after which an unfinished game is abandoned
+     * @param placement chooses every seat's opening settlements
+     */
+    public GameRunner(Bot[] bots, int maxTurns, PlacementStrategy placement) {
+        this(bots, maxTurns, placement, null);
+    }
+
+    /**
+     * @param bots bot for each seat, in turn order
+     * @param maxTurns turns after which an unfinished game is abandoned
+     * @param placement chooses every seat's opening settlements
+     * @param boards pool every game's board is drawn from, or null to generate boards
+     */
+    public GameRunner(Bot[] bots, int maxTurns, PlacementStrategy placement, BoardPool boards) {
+        if (bots.length < 2) {
+            throw new IllegalArgumentException("At least two bots are needed, got " + bots.length);
+        }
+        this.bots = bots.clone();
+        this.maxTurns = maxTurns;
+        this.placement = placement;
+        this.boards = boards;
+    }
+
+    public int getSeats() {
+        return bots.length;
+    }
+
+    public int getMaxTurns() {
+        return maxTurns;
+    }
+
+    /**
+     * Plays one game from setup to a winner or the turn limit
+     * @param random the game's random source; the board seed and bot decisions are drawn from it, so the
+     *               same random state always plays out the same game
+     * @return the outcome
+     */
+    public GameResult play(SplittableRandom random) {
+        return run(newGame(random), random, null);
+    }
+
+    /**
+     * Plays one game like play, recording its features turn by turn for the game archive
+     * @param random the game's random source; the same state plays out the same game as play
+     * @return the game's trace, with its outcome
+     */
+    public GameTrace trace(SplittableRandom random) {
+        GameModel game = newGame(random);
+        GameTrace trace = new GameTrace(game);
+        trace.finish(run(game, random, trace));
+        return trace;
+    }
+
+    // Helper function; plays a set up game to a winner or the turn limit, tracing each turn if trace is not null
+    private GameResult run(GameModel game, SplittableRandom random, GameTrace trace) {
+        int playerID = 0;
+        int turns = 0;
+        int winner = -1;
+        while (turns < maxTurns) {
+            turns++;
+            if (trace != null) {
+                trace.beginTurn(game, playerID);
+            }
+            playTurn(game, playerID, random);
+            if (trace != null) {
+                trace.endTurn(game, playerID);
+            }
+            if (game.checkIfGameOver()) {
+                winner = leader(game);
+                break;
+            }
+            playerID = game.nextPlayer(playerID);
+        }
+
+        int[] victoryPoints = new int[bots.length];
+        for (Player p : game.getPlayers()) {
+            victoryPoints[p.getId()] = p.getTotalVictoryPoints();
+        }
+        return new GameResult(winner, turns, victoryPoints);
+    }
+
+    // Helper function; sets up players and a board, retrying until the initial placement succeeds
+    private GameModel newGame(SplittableRandom random) {
+        ArrayList<String> names = new ArrayList<>(bots.length);
+        for (int i = 0; i < bots.length; i++) {
+            names.add(bots[i].getName() + " " + i);
+        }
+        while (true) {
+            GameModel game = new GameModel(ConfigManager.getSnapshot(), random.nextLong(),
+                    boards == null ? null : boards.draw(random));
+            game.initializePlayers(names);
+            if (game.initializeBoard(placement)) {
+                return game;
+            }
+        }
+    }
+
+    // Helper function; plays one turn of the seat's bot
+    private void playTurn(GameModel game, int playerID, SplittableRandom random) {
+        game.rollDice();
+        resolveTurn(game, bots[playerID], playerID, random);
+    }
+
+    // Helper function; the rest of a turn once the dice are rolled: robber, the bot's own actions, then the
+    // end of turn awards
+    static void resolveTurn(GameModel game, Bot bot, int playerID, SplittableRandom random) {
+        if (game.getDice1() + game.getDice2() == ROBBER_ROLL) {
+            game.checkPlayerResources();
+            game.moveRobber(bot.chooseRobberTile(game, playerID, random));
+            int vertex = bot.chooseStealVertex(game, playerID, random);
+            if (vertex >= 0) {
+                game.stealResource(vertex, playerID);
+            }
+        }
+        bot.playTurn(game, playerID, random);
+        game.updateLongestRoad();
+        game.updateCleanestEnvironment();
+    }
+
+    // Helper function; seat with the most victory points, ties go to the earlier seat
+    static int leader(GameModel game) {
+        int leader = -1;
+        int most = -1;
+        for (Player p : game.getPlayers()) {
+            if (p.getTotalVictoryPoints() > most) {
+                most = p.getTotalVictoryPoints();
+                leader = p.getId();
+            }
+        }
+        return leader;
+    }
+}
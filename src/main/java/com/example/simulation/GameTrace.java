@@ -0,0 +1,203 @@
+package com.example.simulation;
+
+import java.util.Arrays;
+
+import com.example.model.AdjacencyMaps;
+import com.example.model.GameModel;
+import com.example.model.IncomeModel;
+import com.example.model.Player;
+import com.example.model.Settlement;
+import com.example.model.Tile;
+
+/**
+ * GameTrace Class; per turn features of one self-play game, for the game archive
+ * Records each seat's opening settlements and their pips, then one row per turn: whose turn it was, the
+ * roll, what the player did, the climate level, and every seat's victory points and resource counts at
+ * the end of the turn. The bots act on the model directly, so what a player did is worked out from
+ * what changed over the turn, as ACTION flags.
+ */
+public final class GameTrace {
+
+    // ACTION flags; what the player did during a turn
+    public static final int ROBBER = 1;          // rolled a seven and moved the robber
+    public static final int SETTLEMENT = 2;      // built at least one settlement
+    public static final int CITY = 4;            // built at least one city
+    public static final int ROAD = 8;            // built at least one road
+    public static final int DEV_CARD_BOUGHT = 16;
+    public static final int DEV_CARD_PLAYED = 32;
+
+    private static final int ROBBER_ROLL = 7;
+    private static final int OPENING_SETTLEMENTS = 2;
+    private static final String SETTLEMENT_ID = "player_infrastructure.settlement";
+    private static final String CITY_ID = "player_infrastructure.city";
+    private static final String ROAD_ID = "player_infrastructure.road";
+    private static final String DEV_CARD_ID = "player_infrastructure.dev_card";
+
+    private final int seats;
+    private final int resources;
+
+    private final int[] openingVertices; // OPENING_SETTLEMENTS per seat, -1 if the seat has fewer
+    private final int[] openingPips;     // per seat, summed over its opening settlements
+
+    private int turns;
+    private int[] players = new int[64];
+    private int[] rolls = new int[64];
+    private int[] actions = new int[64];
+    private int[] climate = new int[64];
+    private int[] victoryPoints;  // seats per turn
+    private int[] resourceCounts; // seats * resources per turn
+
+    // the current player's counts when the turn began
+    private int settlementsBefore;
+    private int citiesBefore;
+    private int roadsBefore;
+    private int devCardsBefore;
+    private int handBefore;
+
+    private GameResult result;
+
+    /**
+     * Starts a trace of a game that has just finished setup
+     * @param game the game, with every seat's opening settlements placed
+     */
+    public GameTrace(GameModel game) {
+        this.seats = game.getPlayers().size();
+        this.resources = game.getConfig().getResourceCount();
+        this.victoryPoints = new int[64 * seats];
+        this.resourceCounts = new int[64 * seats * resources];
+
+        openingVertices = new int[seats * OPENING_SETTLEMENTS];
+        openingPips = new int[seats];
+        Arrays.fill(openingVertices, -1);
+        int[] placed = new int[seats];
+        Settlement[] settlements = game.getSettlements();
+        Tile[] tiles = game.getTiles();
+        for (int vertex = 0; vertex < settlements.length; vertex++) {
+            int owner = settlements[vertex].getPlayerID();
+            if (owner < 0 || placed[owner] == OPENING_SETTLEMENTS) {
+                continue;
+            }
+            openingVertices[owner * OPENING_SETTLEMENTS + placed[owner]++] = vertex;
+            for (int i = 0, n = AdjacencyMaps.vertexTileCount(vertex); i < n; i++) {
+                openingPips[owner] += IncomeModel.pips(tiles[AdjacencyMaps.adjacentTile(vertex, i)].getNumber());
+            }
+        }
+    }
+
+    /**
+     * Notes the player's pieces and cards before their turn
+     * @param game the game
+     * @param playerID player whose turn starts
+     */
+    public void beginTurn(GameModel game, int playerID) {
+        Player player = game.getPlayer(playerID);
+        settlementsBefore = player.getStructuresRemaining(SETTLEMENT_ID);
+        citiesBefore = player.getStructuresRemaining(CITY_ID);
+        roadsBefore = player.getStructuresRemaining(ROAD_ID);
+        devCardsBefore = player.getStructuresRemaining(DEV_CARD_ID);
+        handBefore = player.getDevCards().size();
+    }
+
+    /**
+     * Records the row of a turn that has just been played
+     * @param game the game
+     * @param playerID player whose turn it was
+     */
+    public void endTurn(GameModel game, int playerID) {
+        if (turns == players.length) {
+            int capacity = turns * 2;
+            players = Arrays.copyOf(players, capacity);
+            rolls = Arrays.copyOf(rolls, capacity);
+            actions = Arrays.copyOf(actions, capacity);
+            climate = Arrays.copyOf(climate, capacity);
+            victoryPoints = Arrays.copyOf(victoryPoints, capacity * seats);
+            resourceCounts = Arrays.copyOf(resourceCounts, capacity * seats * resources);
+        }
+        Player current = game.getPlayer(playerID);
+        int roll = game.getDice1() + game.getDice2();
+        int bought = devCardsBefore - current.getStructuresRemaining(DEV_CARD_ID);
+        int cities = citiesBefore - current.getStructuresRemaining(CITY_ID);
+        // a city hands its settlement piece back, so count those to see settlements placed
+        int settlements = settlementsBefore - current.getStructuresRemaining(SETTLEMENT_ID) + cities;
+        int action = 0;
+        if (roll == ROBBER_ROLL) action |= ROBBER;
+        if (settlements > 0) action |= SETTLEMENT;
+        if (cities > 0) action |= CITY;
+        if (current.getStructuresRemaining(ROAD_ID) < roadsBefore) action |= ROAD;
+        if (bought > 0) action |= DEV_CARD_BOUGHT;
+        if (current.getDevCards().size() < handBefore + bought) action |= DEV_CARD_PLAYED;
+
+        players[turns] = playerID;
+        rolls[turns] = roll;
+        actions[turns] = action;
+        climate[turns] = game.getClimateTracker().getClimateLevel();
+        for (Player player : game.getPlayers()) {
+            int seat = player.getId();
+            victoryPoints[turns * seats + seat] = player.getTotalVictoryPoints();
+            for (int r = 0; r < resources; r++) {
+                resourceCounts[(turns * seats + seat) * resources + r] = player.getResourceCount(r);
+            }
+        }
+        turns++;
+    }
+
+    // records how the game ended
+    void finish(GameResult result) {
+        this.result = result;
+    }
+
+    public GameResult getResult() {
+        return result;
+    }
+
+    public int getSeats() {
+        return seats;
+    }
+
+    public int getResources() {
+        return resources;
+    }
+
+    public int getTurns() {
+        return turns;
+    }
+
+    /**
+     * @param seat seat
+     * @param i which opening settlement, 0 or 1, in vertex order
+     * @return its vertex, or -1 if the seat did not place it
+     */
+    public int getOpeningVertex(int seat, int i) {
+        return openingVertices[seat * OPENING_SETTLEMENTS + i];
+    }
+
+    // pips of the seat's opening settlements: the number of the 36 rolls paying each, summed
+    public int getOpeningPips(int seat) {
+        return openingPips[seat];
+    }
+
+    public int getPlayer(int turn) {
+        return players[turn];
+    }
+
+    public int getRoll(int turn) {
+        return rolls[turn];
+    }
+
+    // ACTION flags of the turn
+    public int getAction(int turn) {
+        return actions[turn];
+    }
+
+    public int getClimateLevel(int turn) {
+        return climate[turn];
+    }
+
+    public int getVictoryPoints(int turn, int seat) {
+        return victoryPoints[turn * seats + seat];
+    }
+
+    public int getResourceCount(int turn, int seat, int resource) {
+        return resourceCounts[(turn * seats + seat) * resources + resource];
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.simulation;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+import com.example.model.GameModel;
+import com.example.model.Player;
+import com.example.model.RobberAdvisor;
+import com.example.model.config.ConfigSnapshot;
+import com.example.model.config.DevCardConfig;
+import com.example.model.config.PlayerInfrastructureConfig;
+import com.example.model.config.ResourceConfig;
+
+/**
+ * GreedyBot Class; takes the best immediate action each step until nothing more can be done
+ * Order of preference: play a card, city, settlement, road (only when no settlement spot is open),
+ * repair a tile, buy a card, then trade toward whatever the next build is missing. The robber goes
+ * where RobberAdvisor rates best.
+ */
+public class GreedyBot implements Bot {
+
+    private static final int MAX_ACTIONS = 16; // guards against trade loops
+    private static final RobberAdvisor ROBBER_ADVISOR = new RobberAdvisor(1); // batches already use every core
+
+    @Override
+    public String getName() {
+        return "greedy";
+    }
+
+    @Override
+    public void playTurn(GameModel game, int playerID, SplittableRandom random) {
+        ArrayList<DevCardConfig> cards = game.getPlayerDevCards(playerID);
+        if (!cards.isEmpty()) {
+            BotSupport.playDevCard(game, playerID, cards.get(0), this, random);
+        }
+
+        for (int i = 0; i < MAX_ACTIONS; i++) {
+            if (!takeAction(game, playerID)) {
+                return;
+            }
+        }
+    }
+
+    // Helper function; makes the best available action, returns false when there is nothing left to do
+    private boolean takeAction(GameModel game, int playerID) {
+        if (game.playerHasCityResources(playerID)) {
+            return game.buildCity(BotSupport.bestVertex(game, game.getLegalCityMask(playerID)), playerID);
+        }
+        if (game.playerHasSettlementResources(playerID)) {
+            return game.buildSettlement(BotSupport.bestVertex(game, game.getLegalSettlementMask(playerID)), playerID);
+        }
+        if (game.getLegalSettlementMask(playerID) == 0 && game.playerHasRoadResources(playerID)) {
+            return game.buildRoad(BotSupport.bestRoad(game, playerID), playerID);
+        }
+        for (int tile = 0; tile < game.getNumberOfTiles(); tile++) {
+            if (game.playerCanRepairTile(playerID, tile)) {
+                return game.tileRestore(tile, playerID);
+            }
+        }
+        if (game.playerHasDevCardResources(playerID) && game.getLegalCityMask(playerID) == 0) {
+            return game.buyDevelopmentCard(playerID);
+        }
+
+        PlayerInfrastructureConfig target = nextBuild(game, playerID);
+        if (target == null) {
+            return false;
+        }
+        int[] cost = target.getCostVector();
+        Player player = game.getPlayer(playerID);
+        for (int i = 0; i < cost.length; i++) {
+            if (player.getResourceCount(i) < cost[i]) {
+                return BotSupport.tradeFor(game, playerID, i, cost);
+            }
+        }
+        return false;
+    }
+
+    // Helper function; gets the structure the player is saving for, or null if there is nowhere to build
+    private static PlayerInfrastructureConfig nextBuild(GameModel game, int playerID) {
+        Player player = game.getPlayer(playerID);
+        ConfigSnapshot config = game.getConfig();
+        if (game.getLegalCityMask(playerID) != 0 && player.getStructuresRemaining("player_infrastructure.city") > 0) {
+            return config.getInfrastructure("player_infrastructure.city");
+        }
+        if (game.getLegalSettlementMask(playerID) != 0 && player.getStructuresRemaining("player_infrastructure.settlement") > 0) {
+            return config.getInfrastructure("player_infrastructure.settlement");
+        }
+        if ((game.getLegalRoadMaskLo(playerID) | game.getLegalRoadMaskHi(playerID)) != 0
+                && player.getStructuresRemaining("player_infrastructure.road") > 0) {
+            return config.getInfrastructure("player_infrastructure.road");
+        }
+        return null;
+    }
+
+    // blocks the tile the robber advisor rates best: most income taken from the leaders, least from this player
+    @Override
+    public int chooseRobberTile(GameModel game, int playerID, SplittableRandom random) {
+        return ROBBER_ADVISOR.bestTile(game, playerID);
+    }
+
+    // steals from the opponent the robber advisor rates best
+    @Override
+    public int chooseStealVertex(GameModel game, int playerID, SplittableRandom random) {
+        return ROBBER_ADVISOR.bestStealVertex(game, playerID);
+    }
+
+    // picks the resource this player holds the fewest of
+    @Override
+    public ResourceConfig chooseResource(GameModel game, int playerID, SplittableRandom random) {
+        Player player = game.getPlayer(playerID);
+        ConfigSnapshot config = game.getConfig();
+        int best = 0;
+        for (int i = 1; i < config.getResourceCount(); i++) {
+            if (player.getResourceCount(i) < player.getResourceCount(best)) {
+                best = i;
+            }
+        }
+        return config.getResource(best);
+    }
+}
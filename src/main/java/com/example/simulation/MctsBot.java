@@ -0,0 +1,575 @@
+package com.example.simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import com.example.model.GameModel;
+import com.example.model.Player;
+import com.example.model.Tile;
+import com.example.model.config.ConfigSnapshot;
+import com.example.model.config.DevCardConfig;
+import com.example.model.config.PortConfig;
+import com.example.model.config.ResourceConfig;
+import com.example.model.trading.TradeBank;
+import com.example.model.trading.TradePort;
+
+/**
+ * MctsBot Class; chooses each action of its turns by Monte Carlo Tree Search
+ * The tree holds the bot's own decisions: robber moves, builds, card buys and plays, repairs, bank and
+ * port trades, and ending the turn. Ending the turn leads to a chance node; below it the opponents'
+ * turns are played by the greedy policy and the bot's next roll picks the child by dice sum, so the
+ * tree carries on into the following turn and is reused once the real dice are known.
+ * The search is open loop: every iteration replays its path on a fresh fork of the game, so dice, card
+ * draws and opponents vary between iterations, and only the actions legal in the replayed state are
+ * considered. Hidden information (deck order, opponents' hands) is visible to the forks.
+ * Each worker thread grows its own tree from its own fork (root parallelism) and their visit counts are
+ * summed to choose. Iterations stop at the time budget or the iteration limit, whichever comes first.
+ * Card effects, steals and resource choices are made the greedy way, both in the search and in play.
+ */
+public class MctsBot implements Bot {
+
+    private static final int MAX_ACTIONS = 16; // per turn, as for GreedyBot; guards against trade loops
+    private static final int ROLLOUT_ROUNDS = 4; // rounds of greedy play after leaving the tree
+    private static final double EXPLORATION = 0.7;
+    private static final Bot GREEDY = new GreedyBot();
+
+    // action codes; the type is in the high bits and its argument in the low 16 bits
+    static final int END_TURN = 0;
+    static final int SETTLEMENT = 1 << 16;
+    static final int CITY = 2 << 16;
+    static final int ROAD = 3 << 16;
+    static final int BUY_CARD = 4 << 16;
+    static final int PLAY_CARD = 5 << 16; // argument is the card's index in the config
+    static final int REPAIR = 6 << 16;
+    static final int TRADE_BANK = 7 << 16; // argument is give ordinal * 16 + want ordinal
+    static final int TRADE_PORT = 8 << 16; // argument is give ordinal * 16 + want ordinal
+    static final int ROBBER = 9 << 16;
+    private static final int TYPE_MASK = -1 << 16;
+    private static final int ARG_MASK = 0xFFFF;
+
+    private final long budgetNanos;
+    private final int maxIterations;
+    private final int workers; // a single worker searches on the calling thread, more on the common pool
+    private final Map<GameModel, Seat[]> seats = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // one second per decision on every core
+    public MctsBot() {
+        this(1000, Integer.MAX_VALUE, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * MctsBot Constructor
+     * @param budgetMillis time allowed for each decision; every worker runs at least one iteration
+     * @param maxIterations most iterations per worker and decision; when reached before the budget, play
+     *                      depends only on the game's random
+     * @param threads workers, each growing its own tree; more than one run on the common pool
+     */
+    public MctsBot(long budgetMillis, int maxIterations, int threads) {
+        if (budgetMillis < 0 || maxIterations < 1 || threads < 1) {
+            throw new IllegalArgumentException("Invalid MCTS settings");
+        }
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.maxIterations = maxIterations;
+        this.workers = threads;
+    }
+
+    @Override
+    public String getName() {
+        return "mcts";
+    }
+
+    @Override
+    public void playTurn(GameModel game, int playerID, SplittableRandom random) {
+        Seat seat = seat(game, playerID);
+        seat.startTurn(game, false);
+        while (true) {
+            int action = search(game, playerID, seat, random);
+            if (action == END_TURN) {
+                break;
+            }
+            apply(game, playerID, action, random);
+            seat.advance(action);
+        }
+        seat.advance(END_TURN);
+    }
+
+    @Override
+    public int chooseRobberTile(GameModel game, int playerID, SplittableRandom random) {
+        Seat seat = seat(game, playerID);
+        seat.startTurn(game, true);
+        int action = search(game, playerID, seat, random);
+        seat.advance(action); // the caller moves the robber and steals as the search assumed
+        return action & ARG_MASK;
+    }
+
+    @Override
+    public int chooseStealVertex(GameModel game, int playerID, SplittableRandom random) {
+        return GREEDY.chooseStealVertex(game, playerID, random);
+    }
+
+    @Override
+    public ResourceConfig chooseResource(GameModel game, int playerID, SplittableRandom random) {
+        return GREEDY.chooseResource(game, playerID, random);
+    }
+
+    // Helper function; search state of the player in the game, kept between turns
+    private Seat seat(GameModel game, int playerID) {
+        synchronized (seats) {
+            Seat[] gameSeats = seats.computeIfAbsent(game, g -> new Seat[g.getPlayers().size()]);
+            if (gameSeats[playerID] == null) {
+                gameSeats[playerID] = new Seat(workers);
+            }
+            return gameSeats[playerID];
+        }
+    }
+
+    // -------------------------
+    // Search
+    // -------------------------
+
+    // Helper function; grows every worker's tree for the budget, then picks the most visited legal action
+    private int search(GameModel game, int playerID, Seat seat, SplittableRandom random) {
+        int[] legal = legalActions(game, playerID, seat.robberPhase, seat.turnActions);
+        if (legal.length == 1) {
+            return legal[0];
+        }
+
+        long deadline = System.nanoTime() + budgetNanos;
+        List<Callable<Void>> tasks = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            // forks and randoms are made here, on the calling thread; each worker then only uses its own
+            Search search = new Search(playerID, seat.roots[w], game.fork(), random.split());
+            tasks.add(() -> {
+                search.run(deadline);
+                return null;
+            });
+        }
+        if (workers == 1) {
+            try {
+                tasks.get(0).call();
+            } catch (Exception e) {
+                throw new IllegalStateException("Search failed", e);
+            }
+        } else {
+            for (Future<Void> future : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                try {
+                    future.get();
+                } catch (InterruptedException | ExecutionException e) {
+                    throw new IllegalStateException("Search failed", e);
+                }
+            }
+        }
+
+        int best = legal[0];
+        int mostVisits = -1;
+        for (int action : legal) {
+            int visits = 0;
+            for (Node root : seat.roots) {
+                Node child = root.children.get(action);
+                if (child != null) visits += child.visits;
+            }
+            if (visits > mostVisits) {
+                mostVisits = visits;
+                best = action;
+            }
+        }
+        return best;
+    }
+
+    // one worker's iterations for one decision
+    private final class Search {
+
+        private final int playerID;
+        private final Node root;
+        private final GameModel base;
+        private final SplittableRandom random;
+        private final ArrayList<Node> path = new ArrayList<>();
+
+        Search(int playerID, Node root, GameModel base, SplittableRandom random) {
+            this.playerID = playerID;
+            this.root = root;
+            this.base = base;
+            this.random = random;
+        }
+
+        void run(long deadline) {
+            for (int i = 0; i < maxIterations; i++) {
+                if (i > 0 && System.nanoTime() >= deadline) {
+                    return;
+                }
+                iterate();
+            }
+        }
+
+        // Helper function; selection and expansion down the tree, a greedy rollout, then backpropagation
+        private void iterate() {
+            GameModel game = base.fork();
+            path.clear();
+            path.add(root);
+            Node node = root;
+            double value = -1;
+
+            while (value < 0) {
+                int[] legal = legalActions(game, playerID, node.robberPhase, node.turnActions);
+                for (int a : legal) {
+                    Node tried = node.children.get(a);
+                    if (tried != null) tried.availability++;
+                }
+                int action = select(node, legal);
+                Node child = node.children.get(action);
+                boolean expanded = child == null;
+                if (expanded) {
+                    child = new Node(false, node.turnActions + 1);
+                    child.availability = 1;
+                    node.children.put(action, child);
+                }
+                path.add(child);
+                apply(game, playerID, action, random);
+
+                if (action == END_TURN) {
+                    if (!playUntilNextRoll(game)) {
+                        value = evaluate(game, playerID);
+                        break;
+                    }
+                    int sum = game.getDice1() + game.getDice2();
+                    if (child.chance == null) {
+                        child.chance = new Node[13];
+                    }
+                    Node next = child.chance[sum];
+                    if (next == null) {
+                        next = new Node(sum == 7, 0);
+                        child.chance[sum] = next;
+                        expanded = true;
+                    }
+                    path.add(next);
+                    child = next;
+                }
+                node = child;
+
+                if (game.checkIfGameOver()) {
+                    value = evaluate(game, playerID);
+                } else if (expanded) {
+                    value = rollout(game, node);
+                }
+            }
+
+            for (Node n : path) {
+                n.visits++;
+                n.value += value;
+            }
+        }
+
+        // Helper function; untried legal actions first, in random order, then the best by UCB
+        private int select(Node node, int[] legal) {
+            int untried = 0;
+            for (int action : legal) {
+                if (!node.children.containsKey(action)) untried++;
+            }
+            if (untried > 0) {
+                int pick = random.nextInt(untried);
+                for (int action : legal) {
+                    if (!node.children.containsKey(action) && pick-- == 0) return action;
+                }
+            }
+
+            int best = legal[0];
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int action : legal) {
+                Node child = node.children.get(action);
+                double score = child.value / child.visits
+                        + EXPLORATION * Math.sqrt(Math.log(child.availability) / child.visits);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = action;
+                }
+            }
+            return best;
+        }
+
+        // Helper function; ends the bot's turn, plays the opponents greedily and rolls for the bot's next turn
+        // returns false if the game ends before the bot rolls again
+        private boolean playUntilNextRoll(GameModel game) {
+            game.updateLongestRoad();
+            game.updateCleanestEnvironment();
+            if (game.checkIfGameOver()) {
+                return false;
+            }
+            for (int p = game.nextPlayer(playerID); p != playerID; p = game.nextPlayer(p)) {
+                game.rollDice();
+                GameRunner.resolveTurn(game, GREEDY, p, random);
+                if (game.checkIfGameOver()) {
+                    return false;
+                }
+            }
+            game.rollDice();
+            if (game.getDice1() + game.getDice2() == 7) {
+                game.checkPlayerResources();
+            }
+            return true;
+        }
+
+        // Helper function; the rest of the bot's turn and a few more rounds, all played greedily
+        private double rollout(GameModel game, Node node) {
+            if (node.robberPhase) {
+                game.moveRobber(GREEDY.chooseRobberTile(game, playerID, random));
+                int vertex = GREEDY.chooseStealVertex(game, playerID, random);
+                if (vertex >= 0) {
+                    game.stealResource(vertex, playerID);
+                }
+            }
+            GREEDY.playTurn(game, playerID, random);
+            game.updateLongestRoad();
+            game.updateCleanestEnvironment();
+
+            int current = playerID;
+            for (int turn = 0, turns = ROLLOUT_ROUNDS * game.getPlayers().size(); turn < turns; turn++) {
+                if (game.checkIfGameOver()) {
+                    break;
+                }
+                current = game.nextPlayer(current);
+                game.rollDice();
+                GameRunner.resolveTurn(game, GREEDY, current, random);
+            }
+            return evaluate(game, playerID);
+        }
+    }
+
+    // Helper function; 1 for a win, 0 for a loss, otherwise in between by the lead over the best opponent
+    static double evaluate(GameModel game, int playerID) {
+        if (game.checkIfGameOver()) {
+            return GameRunner.leader(game) == playerID ? 1 : 0;
+        }
+        int own = game.getPlayer(playerID).getTotalVictoryPoints();
+        int best = 0;
+        for (Player p : game.getPlayers()) {
+            if (p.getId() != playerID) best = Math.max(best, p.getTotalVictoryPoints());
+        }
+        double lead = (double) (own - best) / game.getConfig().getVictoryPointsToWin();
+        return 0.5 + 0.5 * Math.max(-1, Math.min(1, lead));
+    }
+
+    // -------------------------
+    // Actions
+    // -------------------------
+
+    /**
+     * Lists the actions the player may take
+     * @param game game being played
+     * @param playerID ID of the player to move
+     * @param robberPhase whether the player must move the robber first
+     * @param turnActions actions already taken this turn
+     * @return action codes; never empty
+     */
+    static int[] legalActions(GameModel game, int playerID, boolean robberPhase, int turnActions) {
+        if (robberPhase) {
+            Tile[] tiles = game.getTiles();
+            int[] actions = new int[tiles.length];
+            int count = 0;
+            for (int i = 0; i < tiles.length; i++) {
+                if (!tiles[i].getIsBlocked()) actions[count++] = ROBBER | i;
+            }
+            return count == actions.length ? actions : Arrays.copyOf(actions, count);
+        }
+
+        ArrayList<Integer> actions = new ArrayList<>();
+        actions.add(END_TURN);
+        if (turnActions >= MAX_ACTIONS) {
+            return new int[]{END_TURN};
+        }
+        if (game.playerHasSettlementResources(playerID)) {
+            addBits(actions, SETTLEMENT, game.getLegalSettlementMask(playerID), 0);
+        }
+        if (game.playerHasCityResources(playerID)) {
+            addBits(actions, CITY, game.getLegalCityMask(playerID), 0);
+        }
+        if (game.playerHasRoadResources(playerID)) {
+            addBits(actions, ROAD, game.getLegalRoadMaskLo(playerID), 0);
+            addBits(actions, ROAD, game.getLegalRoadMaskHi(playerID), 64);
+        }
+        if (game.playerHasDevCardResources(playerID)) {
+            actions.add(BUY_CARD);
+        }
+
+        ConfigSnapshot config = game.getConfig();
+        List<DevCardConfig> cards = config.getAllDevCards();
+        ArrayList<DevCardConfig> hand = game.getPlayerDevCards(playerID);
+        for (int i = 0; i < cards.size(); i++) {
+            if (hand.contains(cards.get(i)) && !"VICTORY_POINT".equals(cards.get(i).actionType)) {
+                actions.add(PLAY_CARD | i);
+            }
+        }
+        for (int tile = 0; tile < game.getNumberOfTiles(); tile++) {
+            if (game.playerCanRepairTile(playerID, tile)) actions.add(REPAIR | tile);
+        }
+
+        Player player = game.getPlayer(playerID);
+        int resources = config.getResourceCount();
+        for (int give = 0; give < resources; give++) {
+            if (player.getResourceCount(give) >= TradeBank.TRADE_RATE) {
+                addTrades(actions, TRADE_BANK, give, resources);
+            }
+        }
+        for (PortConfig port : game.getPlayerPorts(playerID)) {
+            ResourceConfig give = config.getResource(port.resourceID);
+            if (give != null && player.getResourceCount(give) >= port.giveQuantity) { // generic ports have no give resource
+                addTrades(actions, TRADE_PORT, give.getOrdinal(), resources);
+            }
+        }
+
+        int[] codes = new int[actions.size()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = actions.get(i);
+        }
+        return codes;
+    }
+
+    // Helper function; adds an action for every set bit of the mask
+    private static void addBits(List<Integer> actions, int type, long mask, int offset) {
+        while (mask != 0) {
+            actions.add(type | (offset + Long.numberOfTrailingZeros(mask)));
+            mask &= mask - 1;
+        }
+    }
+
+    // Helper function; adds a trade of the given resource for every other resource
+    private static void addTrades(List<Integer> actions, int type, int give, int resources) {
+        for (int want = 0; want < resources; want++) {
+            if (want != give) actions.add(type | give << 4 | want);
+        }
+    }
+
+    /**
+     * Carries out an action
+     * @param game game being played
+     * @param playerID ID of the acting player
+     * @param action action code from legalActions
+     * @param random random for the greedy choices the action involves
+     * @return whether the game accepted the action
+     */
+    static boolean apply(GameModel game, int playerID, int action, SplittableRandom random) {
+        int arg = action & ARG_MASK;
+        ConfigSnapshot config = game.getConfig();
+        switch (action & TYPE_MASK) {
+            case END_TURN:
+                return true;
+            case SETTLEMENT:
+                return game.buildSettlement(arg, playerID);
+            case CITY:
+                return game.buildCity(arg, playerID);
+            case ROAD:
+                return game.buildRoad(arg, playerID);
+            case BUY_CARD:
+                return game.buyDevelopmentCard(playerID);
+            case PLAY_CARD:
+                return BotSupport.playDevCard(game, playerID, config.getAllDevCards().get(arg), GREEDY, random);
+            case REPAIR:
+                return game.tileRestore(arg, playerID);
+            case TRADE_BANK: {
+                TradeBank trade = new TradeBank(playerID, config.getResource(arg >> 4), config.getResource(arg & 15));
+                return game.validTrade(trade) && game.executeTrade(trade);
+            }
+            case TRADE_PORT: {
+                ResourceConfig give = config.getResource(arg >> 4);
+                for (PortConfig port : game.getPlayerPorts(playerID)) {
+                    if (give.id.equals(port.resourceID)) {
+                        TradePort trade = new TradePort(port, playerID, config.getResource(arg & 15));
+                        return game.validTrade(trade) && game.executeTrade(trade);
+                    }
+                }
+                return false;
+            }
+            case ROBBER: {
+                game.moveRobber(arg);
+                int vertex = GREEDY.chooseStealVertex(game, playerID, random);
+                if (vertex >= 0) {
+                    game.stealResource(vertex, playerID);
+                }
+                return true;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown action " + action);
+        }
+    }
+
+    // -------------------------
+    // Tree
+    // -------------------------
+
+    // a decision of the bot; children by action code, and for ending the turn, the next turn by dice sum
+    private static final class Node {
+        final boolean robberPhase;
+        final int turnActions;
+        final HashMap<Integer, Node> children = new HashMap<>();
+        Node[] chance;
+        int visits;
+        int availability; // visits of the parent in which this action was legal
+        double value;
+
+        Node(boolean robberPhase, int turnActions) {
+            this.robberPhase = robberPhase;
+            this.turnActions = turnActions;
+        }
+    }
+
+    // where each worker's tree stands in the player's turns
+    private static final class Seat {
+        final Node[] roots;
+        boolean robberPhase;
+        int turnActions;
+        boolean awaitingRoll; // the roots are chance nodes until the real dice are known
+
+        Seat(int workers) {
+            this.roots = new Node[workers];
+        }
+
+        // Helper function; moves the roots below the real dice roll, or starts new trees
+        void startTurn(GameModel game, boolean robber) {
+            if (awaitingRoll) {
+                int sum = game.getDice1() + game.getDice2();
+                for (int w = 0; w < roots.length; w++) {
+                    Node chance = roots[w];
+                    roots[w] = chance == null || chance.chance == null ? null : chance.chance[sum];
+                }
+                awaitingRoll = false;
+                turnActions = 0;
+                robberPhase = robber;
+            } else if (robber) {
+                Arrays.fill(roots, null); // a robber move outside the search's plan
+                turnActions = 0;
+                robberPhase = true;
+            }
+            for (int w = 0; w < roots.length; w++) {
+                if (roots[w] == null || roots[w].robberPhase != robberPhase || roots[w].turnActions != turnActions) {
+                    roots[w] = new Node(robberPhase, turnActions);
+                }
+            }
+        }
+
+        // Helper function; moves the roots to the child of the action just taken
+        void advance(int action) {
+            if (action == END_TURN) {
+                for (int w = 0; w < roots.length; w++) {
+                    roots[w] = roots[w].children.get(END_TURN);
+                }
+                awaitingRoll = true;
+                return;
+            }
+            robberPhase = false;
+            turnActions++;
+            for (int w = 0; w < roots.length; w++) {
+                Node child = roots[w].children.get(action);
+                roots[w] = child != null ? child : new Node(false, turnActions);
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.simulation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.example.model.GameModel;
+import com.example.model.PlacementStrategy;
+import com.example.model.Player;
+import com.example.model.Settlement;
+
+/**
+ * MonteCarloPlacement Class; picks opening settlements by playing the game on from each candidate
+ * The best rated candidates each get a fork-join task that repeatedly forks the game, settles the
+ * candidate, lets the heuristic finish the setup and has the rollout bot play every seat for a few
+ * rounds. A candidate scores by how often the player leads when the rollout ends plus the resources
+ * the player's dice rolls bring in; ties go to the better rated candidate.
+ * Rollouts stop at the time budget, which keeps setup interactive. When maxRollouts is reached first
+ * the choice depends only on the game seed.
+ */
+public class MonteCarloPlacement implements PlacementStrategy {
+
+    private static final double INCOME_WEIGHT = 0.05; // one resource per round is worth a 5% higher win rate
+    private static final long SEED_STRIDE = 0x9E3779B97F4A7C15L;
+
+    private final Bot rolloutBot;
+    private final int candidates;
+    private final int rolloutRounds;
+    private final int maxRollouts;
+    private final long budgetNanos;
+    private final int threads;
+
+    // greedy rollouts of 12 rounds over the top 5 vertices, for at most a quarter second per settlement
+    public MonteCarloPlacement() {
+        this(new GreedyBot(), 5, 12, 500, 250, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * MonteCarloPlacement Constructor
+     * @param rolloutBot bot that plays every seat during rollouts; must be safe to share between threads
+     * @param candidates how many of the best rated vertices are evaluated
+     * @param rolloutRounds rounds of turns played after the setup in each rollout
+     * @param maxRollouts most rollouts per candidate
+     * @param budgetMillis time allowed for each settlement choice; every candidate gets at least one rollout
+     * @param threads 1 to run the candidates on the calling thread, more to run them on the common pool
+     */
+    public MonteCarloPlacement(Bot rolloutBot, int candidates, int rolloutRounds, int maxRollouts, long budgetMillis,
+            int threads) {
+        if (candidates < 1 || rolloutRounds < 1 || maxRollouts < 1 || budgetMillis < 0 || threads < 1) {
+            throw new IllegalArgumentException("Invalid Monte Carlo placement settings");
+        }
+        this.rolloutBot = rolloutBot;
+        this.candidates = candidates;
+        this.rolloutRounds = rolloutRounds;
+        this.maxRollouts = maxRollouts;
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.threads = threads;
+    }
+
+    @Override
+    public int chooseSettlement(GameModel game, int playerID, int[] candidates) {
+        int count = Math.min(this.candidates, candidates.length);
+        if (count == 1) {
+            return candidates[0];
+        }
+        long deadline = System.nanoTime() + budgetNanos;
+        long seed = game.getSeed() + settlementsPlaced(game) * SEED_STRIDE;
+
+        // forks are taken here, on the calling thread; each task then forks only its own copy
+        CandidateTask[] tasks = new CandidateTask[count];
+        for (int i = 0; i < count; i++) {
+            tasks[i] = new CandidateTask(game.fork(), playerID, candidates[i],
+                    new SplittableRandom(seed + (i + 1) * SEED_STRIDE), deadline);
+        }
+        if (threads == 1) {
+            for (CandidateTask task : tasks) task.compute();
+        } else {
+            ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+        }
+
+        int best = 0;
+        for (int i = 1; i < count; i++) {
+            if (tasks[i].score() > tasks[best].score()) {
+                best = i;
+            }
+        }
+        return candidates[best];
+    }
+
+    // Helper function; number of settlements on the board, i.e. how far into the setup the game is
+    private static int settlementsPlaced(GameModel game) {
+        int placed = 0;
+        for (Settlement s : game.getSettlements()) {
+            if (s.getPlayerID() >= 0) placed++;
+        }
+        return placed;
+    }
+
+    // plays rollouts of one candidate until the budget or rollout limit runs out
+    private final class CandidateTask extends RecursiveAction {
+
+        private final GameModel base;
+        private final int playerID;
+        private final int vertex;
+        private final SplittableRandom random;
+        private final long deadline;
+
+        private int rollouts;
+        private double wins;
+        private long income;
+
+        CandidateTask(GameModel base, int playerID, int vertex, SplittableRandom random, long deadline) {
+            this.base = base;
+            this.playerID = playerID;
+            this.vertex = vertex;
+            this.random = random;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected void compute() {
+            while (rollouts < maxRollouts && (rollouts == 0 || System.nanoTime() < deadline)) {
+                rollouts++;
+                GameModel game = base.fork();
+                if (game.continueSetup(vertex)) {
+                    playOut(game);
+                }
+            }
+        }
+
+        // Helper function; plays the rollout rounds, then credits the player if they lead
+        private void playOut(GameModel game) {
+            Player player = game.getPlayer(playerID);
+            int current = 0;
+            for (int turn = 0, turns = rolloutRounds * game.getPlayers().size(); turn < turns; turn++) {
+                int before = player.getTotalResources();
+                game.rollDice();
+                income += player.getTotalResources() - before;
+                GameRunner.resolveTurn(game, rolloutBot, current, random);
+                if (game.checkIfGameOver()) {
+                    break;
+                }
+                current = game.nextPlayer(current);
+            }
+
+            int leaders = 0;
+            for (Player p : game.getPlayers()) {
+                if (p.getTotalVictoryPoints() > player.getTotalVictoryPoints()) {
+                    return;
+                }
+                if (p.getTotalVictoryPoints() == player.getTotalVictoryPoints()) {
+                    leaders++;
+                }
+            }
+            wins += 1.0 / leaders; // a shared lead counts as a part win
+        }
+
+        double score() {
+            return wins / rollouts + INCOME_WEIGHT * income / ((double) rollouts * rolloutRounds);
+        }
+    }
+}
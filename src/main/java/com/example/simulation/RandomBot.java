@@ -0,0 +1,116 @@
+package com.example.simulation;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+import com.example.model.GameModel;
+import com.example.model.Tile;
+import com.example.model.config.ConfigSnapshot;
+import com.example.model.config.DevCardConfig;
+import com.example.model.config.ResourceConfig;
+
+/**
+ * RandomBot Class; picks uniformly among the actions available each step, ending the turn is always one of them
+ * Used as a baseline opponent and to exercise as much of the rules as possible.
+ */
+public class RandomBot implements Bot {
+
+    private static final int MAX_ACTIONS = 16;
+
+    // action codes
+    private static final int END_TURN = 0;
+    private static final int SETTLEMENT = 1;
+    private static final int CITY = 2;
+    private static final int ROAD = 3;
+    private static final int BUY_CARD = 4;
+    private static final int PLAY_CARD = 5;
+    private static final int REPAIR = 6;
+    private static final int TRADE = 7;
+
+    @Override
+    public String getName() {
+        return "random";
+    }
+
+    @Override
+    public void playTurn(GameModel game, int playerID, SplittableRandom random) {
+        int[] actions = new int[8];
+        for (int step = 0; step < MAX_ACTIONS; step++) {
+            int count = 0;
+            actions[count++] = END_TURN;
+            if (game.playerHasSettlementResources(playerID)) actions[count++] = SETTLEMENT;
+            if (game.playerHasCityResources(playerID)) actions[count++] = CITY;
+            if (game.playerHasRoadResources(playerID)) actions[count++] = ROAD;
+            if (game.playerHasDevCardResources(playerID)) actions[count++] = BUY_CARD;
+            if (!game.getPlayerDevCards(playerID).isEmpty()) actions[count++] = PLAY_CARD;
+            if (game.playerCanRepairAnyTile(playerID)) actions[count++] = REPAIR;
+            if (game.getPlayer(playerID).getTotalResources() >= 4) actions[count++] = TRADE;
+
+            int action = actions[random.nextInt(count)];
+            if (action == END_TURN) {
+                return;
+            }
+            apply(game, playerID, action, random);
+        }
+    }
+
+    // Helper function; carries out one of the available actions with random arguments
+    private void apply(GameModel game, int playerID, int action, SplittableRandom random) {
+        switch (action) {
+            case SETTLEMENT -> game.buildSettlement(BotSupport.randomBit(game.getLegalSettlementMask(playerID), random), playerID);
+            case CITY -> game.buildCity(BotSupport.randomBit(game.getLegalCityMask(playerID), random), playerID);
+            case ROAD -> game.buildRoad(BotSupport.randomEdge(game.getLegalRoadMaskLo(playerID),
+                    game.getLegalRoadMaskHi(playerID), random), playerID);
+            case BUY_CARD -> game.buyDevelopmentCard(playerID);
+            case PLAY_CARD -> {
+                ArrayList<DevCardConfig> cards = game.getPlayerDevCards(playerID);
+                BotSupport.playDevCard(game, playerID, cards.get(random.nextInt(cards.size())), this, random);
+            }
+            case REPAIR -> {
+                for (int tile = 0; tile < game.getNumberOfTiles(); tile++) {
+                    if (game.playerCanRepairTile(playerID, tile)) {
+                        game.tileRestore(tile, playerID);
+                        return;
+                    }
+                }
+            }
+            case TRADE -> {
+                int resources = game.getConfig().getResourceCount();
+                BotSupport.tradeFor(game, playerID, random.nextInt(resources), new int[resources]);
+            }
+            default -> throw new IllegalStateException("Unknown action " + action);
+        }
+    }
+
+    @Override
+    public int chooseRobberTile(GameModel game, int playerID, SplittableRandom random) {
+        Tile[] tiles = game.getTiles();
+        int tile;
+        do {
+            tile = random.nextInt(tiles.length);
+        } while (tiles[tile].getIsBlocked());
+        return tile;
+    }
+
+    @Override
+    public int chooseStealVertex(GameModel game, int playerID, SplittableRandom random) {
+        for (Tile tile : game.getTiles()) {
+            if (!tile.getIsBlocked()) continue;
+            int[] vertices = tile.getAdjVertices();
+            int start = random.nextInt(vertices.length);
+            for (int i = 0; i < vertices.length; i++) {
+                int vertex = vertices[(start + i) % vertices.length];
+                if (game.stealValid(vertex, playerID)) {
+                    return vertex;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public ResourceConfig chooseResource(GameModel game, int playerID, SplittableRandom random) {
+        ConfigSnapshot config = game.getConfig();
+        return config.getResource(random.nextInt(config.getResourceCount()));
+    }
+}
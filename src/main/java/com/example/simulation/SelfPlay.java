@@ -0,0 +1,57 @@
+package com.example.simulation;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import com.example.model.config.ConfigManager;
+
+/**
+ * SelfPlay Class; command line entry point for headless batches of bot games
+ * Usage: SelfPlay [games] [bots] [seed] [threads] [maxTurns] [archive]
+ * where bots is a comma separated list of registered bot names, one per seat, e.g. greedy,greedy,random,random,
+ * and archive is a file to write every game's turn by turn features to, for querying with GameArchive
+ */
+public class SelfPlay {
+
+    private static final int DEFAULT_GAMES = 1000;
+    private static final String DEFAULT_BOTS = "greedy,greedy,random,random";
+    private static final int DEFAULT_MAX_TURNS = 500;
+
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        String[] names = (args.length > 1 ? args[1] : DEFAULT_BOTS).split(",");
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        int maxTurns = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_MAX_TURNS;
+        Path archiveFile = args.length > 5 ? Path.of(args[5]) : null;
+
+        ConfigManager.loadAll(); // registries must be loaded before any worker starts
+
+        Bot[] bots = new Bot[names.length];
+        for (int i = 0; i < names.length; i++) {
+            bots[i] = createBot(names[i].trim());
+        }
+
+        BatchRunner batch = new BatchRunner(new GameRunner(bots, maxTurns), threads);
+        BatchReport report;
+        if (archiveFile == null) {
+            report = batch.run(games, seed);
+        } else {
+            try (GameArchiveWriter archive = new GameArchiveWriter(archiveFile, bots.length,
+                    ConfigManager.getSnapshot().getResourceCount())) {
+                report = batch.run(games, seed, archive);
+            }
+        }
+        System.out.println("seed " + seed);
+        System.out.print(report.format(names));
+    }
+
+    /**
+     * Creates a bot by name
+     * @param name a name registered in BotRegistry, e.g. "greedy", "random" or "mcts"
+     * @return the bot
+     */
+    public static Bot createBot(String name) {
+        return BotRegistry.create(name);
+    }
+}
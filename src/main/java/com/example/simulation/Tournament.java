@@ -0,0 +1,39 @@
+package com.example.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.model.config.ConfigManager;
+
+/**
+ * Tournament Class; command line entry point for round robin bot tournaments
+ * Usage: Tournament [boards] [bots] [seed] [threads] [seats] [maxTurns]
+ * where bots is a comma separated list of registered bot names, e.g. random,greedy,mcts
+ * Rerunning with the same seed after a change shows any shift in bot strength or engine speed.
+ */
+public class Tournament {
+
+    private static final int DEFAULT_BOARDS = 500;
+    private static final String DEFAULT_BOTS = "random,greedy";
+    private static final int DEFAULT_SEATS = 4;
+    private static final int DEFAULT_MAX_TURNS = 500;
+
+    public static void main(String[] args) {
+        int boards = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_BOARDS;
+        List<String> names = new ArrayList<>();
+        for (String name : (args.length > 1 ? args[1] : DEFAULT_BOTS).split(",")) {
+            names.add(name.trim());
+        }
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        int seats = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_SEATS;
+        int maxTurns = args.length > 5 ? Integer.parseInt(args[5]) : DEFAULT_MAX_TURNS;
+
+        ConfigManager.loadAll(); // registries must be loaded before any worker starts
+
+        TournamentRunner tournament = new TournamentRunner(names, seats, boards, maxTurns, threads);
+        TournamentReport report = tournament.run(seed);
+        System.out.println("seed " + seed);
+        System.out.print(report.format());
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.simulation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * TournamentReport Record; results and ratings of a tournament and how long it took
+ * @param names bot names, indexed as in the stats
+ * @param stats head to head results
+ * @param ratings ratings fitted to the results
+ * @param elapsedNanos wall clock time of the whole tournament
+ * @param threads worker threads used
+ */
+public record TournamentReport(List<String> names, TournamentStats stats, EloRatings ratings, long elapsedNanos,
+        int threads) {
+
+    public double getGamesPerSecond() {
+        return stats.getGames() * 1e9 / elapsedNanos;
+    }
+
+    public double getTurnsPerSecond() {
+        return stats.getTotalTurns() * 1e9 / elapsedNanos;
+    }
+
+    // engine and bot time per turn, summed over every thread
+    public double getMicrosPerTurn() {
+        return stats.getTotalTurns() == 0 ? 0 : elapsedNanos * threads / 1e3 / stats.getTotalTurns();
+    }
+
+    /**
+     * Formats the report as tables for the console: ratings best first, then every pairing
+     * @return the formatted report
+     */
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%d games on %d threads in %.2f s: %.1f games/s, %.0f turns/s, %.1f us/turn%n",
+                stats.getGames(), threads, elapsedNanos / 1e9, getGamesPerSecond(), getTurnsPerSecond(),
+                getMicrosPerTurn()));
+
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparingDouble(i -> -ratings.getRating(i)));
+        sb.append(String.format("%-4s %-10s %7s %6s %7s %6s%n", "rank", "bot", "elo", "+/-", "score", "games"));
+        for (int rank = 0; rank < order.size(); rank++) {
+            int bot = order.get(rank);
+            int played = stats.getGamesPlayed(bot);
+            sb.append(String.format("%-4d %-10s %7.0f %6.0f %6.1f%% %6d%n", rank + 1, names.get(bot),
+                    ratings.getRating(bot), ratings.getError(bot),
+                    played == 0 ? 0 : 100 * stats.getScore(bot) / played, played));
+        }
+
+        sb.append("pairings (wins-draws-losses)\n");
+        for (int a = 0; a < names.size(); a++) {
+            for (int b = a + 1; b < names.size(); b++) {
+                sb.append(String.format("%-10s vs %-10s %d-%d-%d%n", names.get(a), names.get(b),
+                        stats.getWins(a, b), stats.getDraws(a, b), stats.getWins(b, a)));
+            }
+        }
+        return sb.toString();
+    }
+}
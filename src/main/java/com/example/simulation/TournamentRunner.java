@@ -0,0 +1,128 @@
+package com.example.simulation;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * TournamentRunner Class; plays a round robin between bots on a work-stealing pool
+ * Every pair of bots plays on the same seeded boards. Each board is played twice, once with each bot in
+ * the even seats and once in the odd seats, and the pattern shifts by one seat from board to board, so
+ * neither bot gains from where it sits or from the setup order its board's seed happens to shuffle.
+ * A game is won by the bot in the winning seat; games that reach the turn limit are draws.
+ * The game indices are split across the pool as in BatchRunner, so results depend only on the seed.
+ */
+public class TournamentRunner {
+
+    private static final int GAMES_PER_TASK = 4;
+
+    private final List<String> names;
+    private final Bot[] bots;
+    private final int seats;
+    private final int boards;
+    private final int maxTurns;
+    private final int threads;
+
+    /**
+     * TournamentRunner Constructor
+     * @param names registered names of the bots taking part; see BotRegistry
+     * @param seats seats at every game, shared alternately by the two bots playing
+     * @param boards boards every pair plays on, each played twice
+     * @param maxTurns turns after which a game is a draw
+     * @param threads worker threads
+     */
+    public TournamentRunner(List<String> names, int seats, int boards, int maxTurns, int threads) {
+        if (names.size() < 2 || seats < 2 || boards < 1 || threads < 1) {
+            throw new IllegalArgumentException("Invalid tournament settings");
+        }
+        this.names = List.copyOf(names);
+        this.bots = new Bot[names.size()];
+        for (int i = 0; i < bots.length; i++) {
+            bots[i] = BotRegistry.create(names.get(i));
+        }
+        this.seats = seats;
+        this.boards = boards;
+        this.maxTurns = maxTurns;
+        this.threads = threads;
+    }
+
+    public int getPairs() {
+        return bots.length * (bots.length - 1) / 2;
+    }
+
+    // games in the whole tournament
+    public int getGames() {
+        return getPairs() * boards * 2;
+    }
+
+    /**
+     * Plays the tournament
+     * @param seed tournament seed; board i of every pair is seeded from it and i only
+     * @return results, ratings and timing
+     */
+    public TournamentReport run(long seed) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            long start = System.nanoTime();
+            TournamentStats stats = pool.invoke(new GamesTask(0, getGames(), seed));
+            return new TournamentReport(names, stats, EloRatings.fit(stats), System.nanoTime() - start, threads);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Helper function; plays game i of the schedule into the stats
+    private void play(int game, long seed, TournamentStats stats) {
+        int pair = game / (boards * 2);
+        int board = (game / 2) % boards;
+        int swap = game % 2;
+
+        // the pair's index among all pairs a < b
+        int a = 0;
+        int remaining = pair;
+        while (remaining >= bots.length - 1 - a) {
+            remaining -= bots.length - 1 - a;
+            a++;
+        }
+        int b = a + 1 + remaining;
+
+        int[] seatBots = new int[seats];
+        Bot[] seated = new Bot[seats];
+        for (int seat = 0; seat < seats; seat++) {
+            seatBots[seat] = (seat + board + swap) % 2 == 0 ? a : b;
+            seated[seat] = bots[seatBots[seat]];
+        }
+        GameResult result = new GameRunner(seated, maxTurns).play(BatchRunner.gameRandom(seed, board));
+        stats.add(a, b, result.isFinished() ? seatBots[result.winner()] : -1, result.turns());
+    }
+
+    // plays games [from, to), splitting the range while it is larger than a leaf
+    private final class GamesTask extends RecursiveTask<TournamentStats> {
+        private final int from;
+        private final int to;
+        private final long seed;
+
+        GamesTask(int from, int to, long seed) {
+            this.from = from;
+            this.to = to;
+            this.seed = seed;
+        }
+
+        @Override
+        protected TournamentStats compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                TournamentStats stats = new TournamentStats(bots.length);
+                for (int i = from; i < to; i++) {
+                    play(i, seed, stats);
+                }
+                return stats;
+            }
+            int mid = (from + to) >>> 1;
+            GamesTask left = new GamesTask(from, mid, seed);
+            left.fork();
+            TournamentStats stats = new GamesTask(mid, to, seed).compute();
+            stats.merge(left.join());
+            return stats;
+        }
+    }
+}
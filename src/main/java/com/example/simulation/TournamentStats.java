@@ -0,0 +1,97 @@
+package com.example.simulation;
+
+/**
+ * TournamentStats Class; head to head results between every pair of bots in a tournament
+ * As with BatchStats, each worker fills its own instance and they are merged when the workers join.
+ */
+public class TournamentStats {
+
+    private final int bots;
+    private final int[][] wins; // wins[a][b] is how many games a won against b
+    private final int[][] draws; // unfinished games, counted in both draws[a][b] and draws[b][a]
+    private int games;
+    private long totalTurns;
+
+    public TournamentStats(int bots) {
+        this.bots = bots;
+        this.wins = new int[bots][bots];
+        this.draws = new int[bots][bots];
+    }
+
+    /**
+     * Adds one game between two bots
+     * @param a one bot
+     * @param b the other bot
+     * @param winner a or b, or -1 if the game was unfinished
+     * @param turns turns the game lasted
+     */
+    public void add(int a, int b, int winner, int turns) {
+        games++;
+        totalTurns += turns;
+        if (winner == a) {
+            wins[a][b]++;
+        } else if (winner == b) {
+            wins[b][a]++;
+        } else {
+            draws[a][b]++;
+            draws[b][a]++;
+        }
+    }
+
+    // adds every game counted by the other stats; both must have the same bots
+    public void merge(TournamentStats other) {
+        if (other.bots != bots) {
+            throw new IllegalArgumentException("Cannot merge stats of different tournaments");
+        }
+        games += other.games;
+        totalTurns += other.totalTurns;
+        for (int a = 0; a < bots; a++) {
+            for (int b = 0; b < bots; b++) {
+                wins[a][b] += other.wins[a][b];
+                draws[a][b] += other.draws[a][b];
+            }
+        }
+    }
+
+    public int getBots() {
+        return bots;
+    }
+
+    public int getGames() {
+        return games;
+    }
+
+    public long getTotalTurns() {
+        return totalTurns;
+    }
+
+    public int getWins(int a, int b) {
+        return wins[a][b];
+    }
+
+    public int getDraws(int a, int b) {
+        return draws[a][b];
+    }
+
+    // games a and b played against each other
+    public int getGames(int a, int b) {
+        return wins[a][b] + wins[b][a] + draws[a][b];
+    }
+
+    // points of a over all its games, a win counting 1 and a draw 1/2
+    public double getScore(int a) {
+        double score = 0;
+        for (int b = 0; b < bots; b++) {
+            score += wins[a][b] + 0.5 * draws[a][b];
+        }
+        return score;
+    }
+
+    public int getGamesPlayed(int a) {
+        int played = 0;
+        for (int b = 0; b < bots; b++) {
+            if (b != a) played += getGames(a, b);
+        }
+        return played;
+    }
+}
@@ -1,10 +1,18 @@
 package com.example.view;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
 
+import com.example.model.ActionLog;
+import com.example.model.Autosave;
+import com.example.model.BoardPool;
 import com.example.model.GameModel;
 import com.example.model.config.ConfigManager;
+import com.example.model.config.ConfigSnapshot;
 import com.example.service.NavigationService;
+import com.example.viewmodel.GameViewModel;
 import com.example.viewmodel.TitleViewModel;
 
 import javafx.application.Application;
@@ -18,13 +26,19 @@ import javafx.stage.Stage;
 public class App extends Application {
 
     private static Scene scene;
+    private static final Path BOARD_POOL = Path.of("boards.json"); // written by the boardPool task
 
     @Override
     public void start(Stage stage) throws IOException {
-        GameModel model = new GameModel();
+        GameModel model = newGameModel();
 
         NavigationService navigationService = new NavigationService(stage);
 
+        // Pick up a game that did not finish, if the last run left one
+        if (resumeGame(navigationService)) {
+            return;
+        }
+
         // Start with the first screen, passing the model
         TitleViewModel titleVM = new TitleViewModel(model, navigationService);
         navigationService.navigateTo("titleScreen", titleVM);
@@ -33,6 +47,58 @@ public class App extends Application {
         // Font.getFamilies().forEach(System.out::println);
     }
 
+    // Helper function; rebuilds an unfinished game from its action log, or failing that its autosave, and
+    // opens it where it was left; returns false, leaving the files alone, if there is neither or neither loads
+    private static boolean resumeGame(NavigationService navigationService) {
+        ActionLog.Recovery recovery = null;
+        if (Files.exists(ActionLog.DEFAULT_FILE)) {
+            try {
+                recovery = ActionLog.recover(ConfigManager.getSnapshot(), ActionLog.DEFAULT_FILE);
+            } catch (IOException e) {
+                System.err.println("Could not recover the unfinished game in " + ActionLog.DEFAULT_FILE + ": " + e.getMessage());
+            }
+        }
+        if (recovery == null && Files.exists(Autosave.DEFAULT_FILE)) {
+            try {
+                recovery = Autosave.load(ConfigManager.getSnapshot(), Autosave.DEFAULT_FILE);
+            } catch (IOException e) {
+                System.err.println("Could not load the autosave in " + Autosave.DEFAULT_FILE + ": " + e.getMessage());
+            }
+        }
+        if (recovery == null) {
+            return false;
+        }
+
+        ActionLog actionLog = null;
+        try {
+            // start a fresh log from the recovered game, which also drops any torn tail of the old one
+            actionLog = ActionLog.create(ActionLog.DEFAULT_FILE, recovery.game(), recovery.currentPlayer(),
+                    recovery.rolled(), recovery.robberPending());
+        } catch (IOException e) {
+            System.err.println("Could not start the action log: " + e.getMessage());
+        }
+        GameViewModel gameVM = new GameViewModel(recovery.game(), navigationService, actionLog,
+                new Autosave(Autosave.DEFAULT_FILE));
+        gameVM.resumeTurn(recovery.currentPlayer(), recovery.rolled(), recovery.robberPending());
+        navigationService.navigateTo("gameScreen", gameVM);
+        return true;
+    }
+
+    // Helper function; starts on a board from the pre-generated pool if there is one, otherwise a random board
+    private static GameModel newGameModel() {
+        if (Files.exists(BOARD_POOL)) {
+            try {
+                ConfigSnapshot config = ConfigManager.getSnapshot();
+                BoardPool pool = BoardPool.load(BOARD_POOL, config);
+                long seed = new SplittableRandom().nextLong();
+                return new GameModel(config, seed, pool.draw(new SplittableRandom(seed)));
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Could not use board pool " + BOARD_POOL + ": " + e.getMessage());
+            }
+        }
+        return new GameModel();
+    }
+
     static void setRoot(String fxml) throws IOException {
         scene.setRoot(loadFXML(fxml));
     }
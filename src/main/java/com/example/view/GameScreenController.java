@@ -27,6 +27,7 @@ import javafx.geometry.Bounds;
 import javafx.geometry.VPos;
 import javafx.scene.Group;
 import javafx.scene.Node;
+import javafx.scene.effect.DropShadow;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.StackPane;
@@ -344,10 +345,13 @@ public class GameScreenController implements ViewModelAware<GameViewModel> {
             setTileDestroyed(index, val);
         });
 
+        state.recommended.addListener((obs, old, val) -> setTileRecommended(index, val));
+
         setTile(index, state.number.get(), resolveColor(state.resource.get()));
         attachTileClickHandler(index, tileGroup[index]);
         setTileDisabled(index, state.blocked.get());
         setTileDestroyed(index, state.destroyed.get());
+        setTileRecommended(index, state.recommended.get());
 
     }
 
@@ -905,6 +909,13 @@ public class GameScreenController implements ViewModelAware<GameViewModel> {
         });
     }
 
+    private void setTileRecommended(int index, boolean recommended) {
+        if (!isValidIndex(index))
+            return;
+
+        Platform.runLater(() -> tileGroup[index].setEffect(recommended ? new DropShadow(25, Color.GOLD) : null));
+    }
+
     private void setTileDestroyed(int index, boolean destroyed) {
         if (!isValidIndex(index))
             return;
@@ -1,12 +1,20 @@
 package com.example.viewmodel;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 
+import com.example.model.ActionLog;
+import com.example.model.ActionRecord;
 import com.example.model.AdjacencyMaps;
+import com.example.model.Autosave;
+import com.example.model.Bitboards;
+import com.example.model.GameAction;
 import com.example.model.GameModel;
+import com.example.model.GameReplay;
 import com.example.model.Player;
+import com.example.model.RobberAdvisor;
 import com.example.model.Road;
 import com.example.model.Settlement;
 import com.example.model.Tile;
@@ -27,8 +35,10 @@ import com.example.viewmodel.viewstates.RoadViewState;
 import com.example.viewmodel.viewstates.TileViewState;
 import com.example.viewmodel.viewstates.VertexViewState;
 
+import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
@@ -65,10 +75,36 @@ public final class GameViewModel {
     private final IntegerProperty climateTracker = new SimpleIntegerProperty();
 
     private TurnState previousState = TurnState.DICE_ROLL;
+    private final RobberAdvisor robberAdvisor = new RobberAdvisor(1); // called on the FX thread; well under a millisecond
+    private final ActionLog actionLog; // null when the game is not being logged
+    private final Autosave autosave;   // null when the game is not autosaved
+
+    // replay; while replaying, gameModel is a rebuilt past game and liveModel the game being played
+    private GameReplay replay;
+    private GameModel liveModel;
+    private TurnState liveState;
+    private int livePlayerID;
+    private final BooleanProperty replaying = new SimpleBooleanProperty(false);
+    private final IntegerProperty replayTurn = new SimpleIntegerProperty(0);
+    private final IntegerProperty replayTurnCount = new SimpleIntegerProperty(1);
 
     public GameViewModel(GameModel gameModel, NavigationService navigationService) {
+        this(gameModel, navigationService, null, null);
+    }
+
+    /**
+     * Game screen that keeps the game safe from crashes
+     * @param gameModel game to play
+     * @param navigationService navigation between screens
+     * @param actionLog log to apply actions through, or null; deleted when the game ends
+     * @param autosave autosave to save to at the end of every turn, or null; deleted when the game ends
+     */
+    public GameViewModel(GameModel gameModel, NavigationService navigationService, ActionLog actionLog,
+            Autosave autosave) {
         this.gameModel = gameModel;
         this.navigationService = navigationService;
+        this.actionLog = actionLog;
+        this.autosave = autosave;
 
         // Initialize TileViewStates
         for (Tile tile : gameModel.getTiles()) {
@@ -111,6 +147,9 @@ public final class GameViewModel {
             roads.add(roadState);
         }
 
+        replay = new GameReplay(gameModel, firstPlayer.getId(), GameReplay.DEFAULT_SNAPSHOT_INTERVAL);
+        replayTurn.addListener((obs, oldTurn, newTurn) -> showReplayTurn(newTurn.intValue()));
+
         turnState.addListener((obs, oldState, newState) -> updateTurnHintText(newState));
         updateTurnHintText(turnState.get());
         bankState.set(setUpBankViewState());
@@ -206,13 +245,9 @@ public final class GameViewModel {
 
     private void updateResourceCounts(PlayerViewState playerState) {
         Player player = gameModel.getPlayer(playerState.idProperty().get());
-        Map<ResourceConfig, Integer> resources = player.getResourcesMap();
 
         for (ResourceViewState rvs : playerState.getResources()) {
-            Integer newValue = resources.get(rvs.configProperty().get());
-            if (newValue != null) {
-                rvs.countProperty().set(newValue);
-            }
+            rvs.countProperty().set(player.getResourceCount(rvs.configProperty().get()));
         }
     }
 
@@ -303,7 +338,7 @@ public final class GameViewModel {
             return;
         }
 
-        boolean success = gameModel.buildSettlement(vertexIndex, getCurrentPlayer().idProperty().get());
+        boolean success = perform(GameAction.buildSettlement(getCurrentPlayer().idProperty().get(), vertexIndex));
         if (success) {
             int playerID = getCurrentPlayer().idProperty().get();
             vertices.get(vertexIndex).owner.set(playerID);
@@ -316,7 +351,7 @@ public final class GameViewModel {
             return;
         }
 
-        boolean success = gameModel.buildCity(vertexIndex, getCurrentPlayer().idProperty().get());
+        boolean success = perform(GameAction.buildCity(getCurrentPlayer().idProperty().get(), vertexIndex));
         if (success) {
             int playerID = getCurrentPlayer().idProperty().get();
             vertices.get(vertexIndex).type.set(gameModel.getSettlmentType(vertexIndex));
@@ -328,18 +363,17 @@ public final class GameViewModel {
         if (turnState.get() != TurnState.BUILD_ROAD) {
             return;
         }
-        boolean success = gameModel.buildRoad(roadIndex, currentPlayer.get().idProperty().get());
+        boolean success = perform(GameAction.buildRoad(currentPlayer.get().idProperty().get(), roadIndex));
         if (success) {
             int playerID = currentPlayer.get().idProperty().get();
             roads.get(roadIndex).owner.set(playerID);
 
-            gameModel.updateLongestRoad();
             this.updatePlayerViewStates(); // update the viewstates, in case the longest road has changed
         }
     }
 
     public void buildDevCard() {
-        boolean success = gameModel.buyDevelopmentCard(currentPlayer.get().idProperty().get());
+        boolean success = perform(GameAction.buyDevCard(currentPlayer.get().idProperty().get()));
         if (success) {
             updatePlayerViewState(currentPlayer.get());
             updateBankViewState(bankState.get());
@@ -350,7 +384,7 @@ public final class GameViewModel {
         if (turnState.get() != TurnState.STEAL_RESOURCE) {
             return;
         }
-        boolean success = gameModel.stealResource(vertexIndex, currentPlayer.get().idProperty().get());
+        boolean success = perform(GameAction.steal(currentPlayer.get().idProperty().get(), vertexIndex));
         if (success) {
             updatePlayerViewState(currentPlayer.get());
         }
@@ -360,9 +394,8 @@ public final class GameViewModel {
         if (turnState.get() != TurnState.REPAIR_TILE) {
             return false;
         }
-        boolean success = gameModel.tileRestore(tileIndex, currentPlayer.get().idProperty().get());
+        boolean success = perform(GameAction.restoreTile(currentPlayer.get().idProperty().get(), tileIndex));
         if (success) {
-            gameModel.updateCleanestEnvironment();
             this.updatePlayerViewStates(); // update the viewstates, in case the cleanest environment has changed
             updateTileViewStates();
             return true;
@@ -424,15 +457,14 @@ public final class GameViewModel {
                 }
                 if (highwaySelectedRoads.size() == 2) {
                     int pId = currentPlayer.get().idProperty().get();
-                    boolean success = gameModel.applyHighwayMadness(pId, highwaySelectedRoads.get(0),
-                            highwaySelectedRoads.get(1));
+                    boolean success = perform(GameAction.highwayMadness(pId, highwaySelectedRoads.get(0),
+                            highwaySelectedRoads.get(1)));
                     if (success) {
                         int playerID = pId;
                         for (int idx : highwaySelectedRoads) {
                             roads.get(idx).owner.set(playerID);
                             roads.get(idx).visible.set(true);
                         }
-                        gameModel.updateLongestRoad();
                         this.updatePlayerViewStates();
                     }
                     highwaySelectedRoads.clear();
@@ -451,7 +483,7 @@ public final class GameViewModel {
                 frenzySelectedResources.add(resource);
                 if (frenzySelectedResources.size() == 3) {
                     int pId = currentPlayer.get().idProperty().get();
-                    boolean success = gameModel.applyTradingFrenzy(pId, new ArrayList<>(frenzySelectedResources));
+                    boolean success = perform(GameAction.tradingFrenzy(pId, frenzySelectedResources));
                     if (success) {
                         updatePlayerViewState(getCurrentPlayer());
                         for (int i = 0; i < players.size(); i++) {
@@ -465,7 +497,7 @@ public final class GameViewModel {
             case MONOPOLY -> {
                 monopolySelectedResource = resource;
                 int pId = currentPlayer.get().idProperty().get();
-                boolean success = gameModel.applyMonopoly(pId, monopolySelectedResource);
+                boolean success = perform(GameAction.monopoly(pId, monopolySelectedResource));
                 if (success) {
                     updatePlayerViewState(getCurrentPlayer());
                     for (int i = 0; i < players.size(); i++) {
@@ -483,7 +515,7 @@ public final class GameViewModel {
 
     public void playDevCard(DevCardConfig devCardConfig) {
         int playerId = getCurrentPlayer().idProperty().get();
-        boolean success = gameModel.playDevCard(playerId, devCardConfig);
+        boolean success = perform(GameAction.playDevCard(gameModel.getConfig(), playerId, devCardConfig));
         if (!success) {
             return; // card play failed (card not found, not in hand, etc.)
         }
@@ -504,17 +536,21 @@ public final class GameViewModel {
         }
     }
 
-    private boolean canCurrentPlayerBuildSettlement(int i) {
-
-        return gameModel.settlementValid(i, getCurrentPlayer().idProperty().get());
-    }
-
-    private boolean canCurrentPlayerBuildRoad(int i) {
-        return gameModel.roadValid(i, getCurrentPlayer().idProperty().get());
+    // shows only the vertices set in the mask
+    private void showVertices(long vertexMask) {
+        for (int i = 0; i < vertices.size(); i++) {
+            vertices.get(i).visible.set((vertexMask & Bitboards.vertexBit(i)) != 0);
+        }
     }
 
-    private boolean canCurrentPlayerBuildCity(int i) {
-        return gameModel.cityValid(i, getCurrentPlayer().idProperty().get());
+    // shows only the roads the current player can legally build
+    private void showBuildableRoads() {
+        int playerID = getCurrentPlayer().idProperty().get();
+        long legalLo = gameModel.getLegalRoadMaskLo(playerID);
+        long legalHi = gameModel.getLegalRoadMaskHi(playerID);
+        for (int i = 0; i < roads.size(); i++) {
+            roads.get(i).visible.set(Bitboards.hasEdge(legalLo, legalHi, i));
+        }
     }
 
     private boolean canCurrentPlayerSteal(int i) {
@@ -582,7 +618,7 @@ public final class GameViewModel {
         if (turnState.get() != TurnState.DICE_ROLL) {
             return;
         }
-        gameModel.rollDice();
+        perform(GameAction.roll(getCurrentPlayer().idProperty().get()));
         updateDiceRoll();
 
         if (diceRoll.get().dice1Property().get() + diceRoll.get().dice2Property().get() == 7) {
@@ -616,9 +652,7 @@ public final class GameViewModel {
             return;
         }
         turnState.set(TurnState.BUILD_SETTLEMENT);
-        for (int i = 0; i < vertices.size(); i++) {
-            vertices.get(i).visible.set(canCurrentPlayerBuildSettlement(i));
-        }
+        showVertices(gameModel.getLegalSettlementMask(getCurrentPlayer().idProperty().get()));
         for (int i = 0; i < roads.size(); i++) {
             roads.get(i).visible.set(isRoadOwned(i));
         }
@@ -634,9 +668,7 @@ public final class GameViewModel {
         for (int i = 0; i < vertices.size(); i++) {
             vertices.get(i).visible.set(isVertexOwned(i));
         }
-        for (int i = 0; i < roads.size(); i++) {
-            roads.get(i).visible.set(canCurrentPlayerBuildRoad(i));
-        }
+        showBuildableRoads();
         updatePlayerViewStates();
         updateBankViewState(bankState.get());
         climateTracker.set(gameModel.getClimateTracker().getClimateLevel());
@@ -648,9 +680,7 @@ public final class GameViewModel {
             return;
         }
         turnState.set(TurnState.BUILD_CITY);
-        for (int i = 0; i < vertices.size(); i++) {
-            vertices.get(i).visible.set(canCurrentPlayerBuildCity(i));
-        }
+        showVertices(gameModel.getLegalCityMask(getCurrentPlayer().idProperty().get()));
         for (int i = 0; i < roads.size(); i++) {
             roads.get(i).visible.set(isRoadOwned(i));
         }
@@ -667,7 +697,22 @@ public final class GameViewModel {
         updateBankViewState(bankState.get());
         climateTracker.set(gameModel.getClimateTracker().getClimateLevel());
         updateTileViewStates();
+        showRobberAdvice();
+
+    }
 
+    // highlights the tile the robber advisor rates best for the current player
+    private void showRobberAdvice() {
+        int best = robberAdvisor.bestTile(gameModel, getCurrentPlayer().idProperty().get());
+        for (int i = 0; i < tiles.size(); i++) {
+            tiles.get(i).recommended.set(i == best);
+        }
+    }
+
+    private void clearRobberAdvice() {
+        for (TileViewState tile : tiles) {
+            tile.recommended.set(false);
+        }
     }
 
     public void switchToStealResourceState() {
@@ -697,15 +742,14 @@ public final class GameViewModel {
         updatePlayerViewStates();
         climateTracker.set(gameModel.getClimateTracker().getClimateLevel());
         updateTileViewStates();
+        showRobberAdvice();
 
     }
 
     public void switchToHighwayMadnessState() {
         previousState = turnState.get();
         turnState.set(TurnState.HIGHWAY_MADNESS);
-        for (int i = 0; i < roads.size(); i++) {
-            roads.get(i).visible.set(canCurrentPlayerBuildRoad(i));
-        }
+        showBuildableRoads();
         updatePlayerViewStates();
         climateTracker.set(gameModel.getClimateTracker().getClimateLevel());
         updateTileViewStates();
@@ -750,14 +794,22 @@ public final class GameViewModel {
     }
 
     public void endTurn() { 
+        if (replaying.get()) {
+            return;
+        }
         if (isGameOver()) {
             // switch to stats screen
+            deleteRecoveryFiles(); // nothing left to recover
             StatsViewModel statsViewModel = new StatsViewModel(gameModel, navigationService);
             navigationService.navigateTo("stats", statsViewModel);
             return;
         }
 
+        perform(GameAction.endTurn(getCurrentPlayer().idProperty().get()));
         nextPlayer();
+        if (autosave != null) {
+            autosave.save(gameModel, getCurrentPlayer().idProperty().get()); // the writing happens off this thread
+        }
         switchToRollDiceState();
     }
 
@@ -775,11 +827,12 @@ public final class GameViewModel {
 
     public void moveRobber(int index) {
         if (turnState.get() == TurnState.MOVE_ROBBER_STATE) {
-            gameModel.checkPlayerResources();
-            gameModel.moveRobber(index);
+            clearRobberAdvice();
+            perform(GameAction.moveRobber(getCurrentPlayer().idProperty().get(), index, true)); // discards first
             switchToStealResourceState();
         } else if (turnState.get() == TurnState.ECO_CONFERENCE) {
-            gameModel.moveRobber(index);
+            clearRobberAdvice();
+            perform(GameAction.moveRobber(getCurrentPlayer().idProperty().get(), index, false));
             switchToStealResourceState();
         }
         updateTileViewStates();
@@ -788,8 +841,7 @@ public final class GameViewModel {
 
     public void setBankTrade(ResourceConfig giveResource, ResourceConfig receiveResource) {
         TradeBank tradeBank = new TradeBank(currentPlayer.get().idProperty().get(), giveResource, receiveResource);
-        if (gameModel.validTrade(tradeBank)) {
-            gameModel.executeTrade(tradeBank);
+        if (perform(GameAction.trade(tradeBank))) {
             updatePlayerViewState(currentPlayer.get());
             updateBankViewState(bankState.get());
         }
@@ -797,8 +849,7 @@ public final class GameViewModel {
 
     public void setPortTrade(PortConfig portConfig, ResourceConfig receiveResource) {
         TradePort tradePort = new TradePort(portConfig, currentPlayer.get().idProperty().get(), receiveResource);
-        if (gameModel.validTrade(tradePort)) {
-            gameModel.executeTrade(tradePort);
+        if (perform(GameAction.trade(gameModel.getConfig(), tradePort))) {
             updatePlayerViewState(currentPlayer.get());
             updateBankViewState(bankState.get());
         }
@@ -808,13 +859,154 @@ public final class GameViewModel {
             HashMap<ResourceConfig, Integer> receiveResource) {
         TradePlayer tradePlayer = new TradePlayer(currentPlayer.get().idProperty().get(), playerID, giveResource,
                 receiveResource);
-        if (gameModel.validTrade(tradePlayer)) {
-            gameModel.executeTrade(tradePlayer);
+        if (perform(GameAction.trade(gameModel.getConfig(), tradePlayer))) {
             System.out.println("Trade executed successfully");
             updatePlayerViewStates();
         }
     }
 
+    // Helper function; makes an action on the game, recording it for replay and in the action log if there is one
+    private boolean perform(GameAction action) {
+        if (replaying.get()) {
+            return false; // a replayed game is only for looking at
+        }
+        ActionRecord record = ActionRecord.apply(gameModel, action);
+        if (actionLog != null) {
+            actionLog.append(record);
+        }
+        replay.record(gameModel, record);
+        replayTurnCount.set(replay.getTurnCount());
+        return record.success();
+    }
+
+    private void deleteRecoveryFiles() {
+        try {
+            if (actionLog != null) {
+                actionLog.delete();
+            }
+            if (autosave != null) {
+                autosave.delete();
+            }
+        } catch (IOException e) {
+            System.err.println("Could not delete the finished game's recovery files: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Picks up a recovered game in the middle of a turn
+     * @param playerID ID of the player whose turn it is
+     * @param rolled whether they have rolled
+     * @param robberPending whether they rolled a seven and have not moved the robber yet
+     */
+    public void resumeTurn(int playerID, boolean rolled, boolean robberPending) {
+        showPlayer(playerID);
+        replay = new GameReplay(gameModel, playerID, GameReplay.DEFAULT_SNAPSHOT_INTERVAL); // replays start here
+        replayTurnCount.set(replay.getTurnCount());
+        updateDiceRoll();
+        if (!rolled) {
+            switchToRollDiceState();
+        } else if (robberPending) {
+            switchToMoveRobberState();
+        } else {
+            switchToTradeState();
+        }
+    }
+
+    // Helper function; makes a player the current player shown, keeping the others in turn order
+    private void showPlayer(int playerID) {
+        int index = getIndexOfPlayerWithID(playerID);
+        if (index >= 0) {
+            players.add(getCurrentPlayer());
+            currentPlayer.set(players.remove(index));
+        }
+    }
+
+    /**
+     * Switches the board to showing earlier turns; set replayTurnProperty to pick the turn
+     * Only starts between actions (rolling, trading or building), and nothing can be done to the game until
+     * stopReplay. Starts on the current turn.
+     */
+    public void startReplay() {
+        TurnState state = turnState.get();
+        if (replaying.get() || (state != TurnState.DICE_ROLL && state != TurnState.TRADE && state != TurnState.BUILD)) {
+            return;
+        }
+        liveModel = gameModel;
+        liveState = state;
+        livePlayerID = getCurrentPlayer().idProperty().get();
+        replaying.set(true);
+        turnState.set(TurnState.REPLAY);
+        int lastTurn = replay.getTurnCount() - 1;
+        if (replayTurn.get() == lastTurn) {
+            showReplayTurn(lastTurn); // the listener only runs on a change
+        } else {
+            replayTurn.set(lastTurn);
+        }
+    }
+
+    /**
+     * Goes back to the game being played, as it was when the replay started
+     */
+    public void stopReplay() {
+        if (!replaying.get()) {
+            return;
+        }
+        gameModel = liveModel;
+        liveModel = null;
+        replaying.set(false);
+        showPlayer(livePlayerID);
+        showGame();
+        turnState.set(liveState);
+    }
+
+    // Helper function; shows the game as it was at the start of a turn
+    private void showReplayTurn(int turn) {
+        if (!replaying.get() || turn < 0 || turn >= replay.getTurnCount()) {
+            return;
+        }
+        gameModel = replay.seek(turn);
+        showPlayer(replay.getPlayerAt(turn));
+        showGame();
+    }
+
+    // Helper function; updates every view state from gameModel, for when it has been swapped
+    private void showGame() {
+        Settlement[] settlements = gameModel.getSettlements();
+        for (int i = 0; i < vertices.size(); i++) {
+            vertices.get(i).owner.set(settlements[i].getPlayerID());
+            vertices.get(i).type.set(settlements[i].getSettlementType());
+        }
+        Road[] modelRoads = gameModel.getRoads();
+        for (int i = 0; i < roads.size(); i++) {
+            roads.get(i).owner.set(modelRoads[i].getPlayerID());
+        }
+        setDefaultVisibility();
+        clearRobberAdvice();
+        updateTileViewStates();
+        updatePlayerViewStates();
+        updateBankViewState(bankState.get());
+        updateDiceRoll();
+        climateTracker.set(gameModel.getClimateTracker().getClimateLevel());
+    }
+
+    public BooleanProperty replayingProperty() {
+        return replaying;
+    }
+
+    // turn shown while replaying, from 0; scrub by setting it
+    public IntegerProperty replayTurnProperty() {
+        return replayTurn;
+    }
+
+    // turns recorded so far, counting the one in progress
+    public IntegerProperty replayTurnCountProperty() {
+        return replayTurnCount;
+    }
+
+    public GameReplay getReplay() {
+        return replay;
+    }
+
     private static final Color[] PLAYER_COLOURS = {
             Color.web("#e43b29"), // player 1 red
             Color.web("#4fa6eb"), // player 2 blue
@@ -825,7 +1017,7 @@ public final class GameViewModel {
     private static final Color UNOWNED_COLOR = Color.GRAY;
 
     public Color getPlayerColor(int owner) {
-        owner = owner - 1; // player IDs are 1-indexed, but our array is 0-indexed
+        // player IDs are 0-indexed per game, matching the colour array
         return (owner >= 0 && owner < PLAYER_COLOURS.length)
                 ? PLAYER_COLOURS[owner]
                 : UNOWNED_COLOR;
@@ -833,14 +1025,18 @@ public final class GameViewModel {
 
     // TESTING METHODS
     public void giveCityResources() {
-        gameModel.giveCityResources(getCurrentPlayer().idProperty().get());
+        grant("player_infrastructure.city");
     }
 
     public void giveSettlementResources() {
-        gameModel.giveSettlementResources(getCurrentPlayer().idProperty().get());
+        grant("player_infrastructure.settlement");
     }
 
     public void giveRoadResources() {
-        gameModel.giveRoadResources(getCurrentPlayer().idProperty().get());
+        grant("player_infrastructure.road");
+    }
+
+    private void grant(String structureID) {
+        perform(GameAction.grant(getCurrentPlayer().idProperty().get(), gameModel.getConfig().getInfrastructure(structureID)));
     }
 }
@@ -1,7 +1,10 @@
 package com.example.viewmodel;
 
+import java.io.IOException;
 import java.util.ArrayList;
 
+import com.example.model.ActionLog;
+import com.example.model.Autosave;
 import com.example.model.GameModel;
 import com.example.service.NavigationService;
 
@@ -12,6 +15,8 @@ import javafx.beans.property.StringProperty;
 
 public class SetupViewModel {
 
+    private static final int MAX_NAME_LENGTH = 32; // characters; keeps every name well inside what a save holds
+
     private GameModel gameModel;
     private NavigationService navigationService;
 
@@ -69,18 +74,34 @@ public class SetupViewModel {
 
     public void startGame() {
         ArrayList<String> playerNames = new ArrayList<>();
-        playerNames.add(player1Name.get());
-        playerNames.add(player2Name.get());
-        playerNames.add(player3Name.get());
+        playerNames.add(capName(player1Name.get()));
+        playerNames.add(capName(player2Name.get()));
+        playerNames.add(capName(player3Name.get()));
         if (numPlayers.get() == 4) {
-            playerNames.add(player4Name.get());
+            playerNames.add(capName(player4Name.get()));
         }
         gameModel.initializePlayers(playerNames);
         
         boolean settlementSetupSuccess = gameModel.initializeBoard();
         if (!settlementSetupSuccess) {System.err.println("Starting settlements/roads did not setup correctly!");} // should never run
         
-        GameViewModel gameVM = new GameViewModel(gameModel, navigationService);
+        ActionLog actionLog = null; // the game still runs if it cannot be logged, it just cannot be recovered
+        try {
+            actionLog = ActionLog.create(ActionLog.DEFAULT_FILE, gameModel, 0, false, false);
+        } catch (IOException e) {
+            System.err.println("Could not start the action log: " + e.getMessage());
+        }
+
+        GameViewModel gameVM = new GameViewModel(gameModel, navigationService, actionLog,
+                new Autosave(Autosave.DEFAULT_FILE));
         navigationService.navigateTo("gameScreen", gameVM);
     }
+
+    // Helper function; cuts a name down to MAX_NAME_LENGTH characters, counting a surrogate pair as one
+    private static String capName(String name) {
+        if (name == null || name.codePointCount(0, name.length()) <= MAX_NAME_LENGTH) {
+            return name;
+        }
+        return name.substring(0, name.offsetByCodePoints(0, MAX_NAME_LENGTH));
+    }
 }
@@ -15,7 +15,8 @@ public enum TurnState {
     TRADE_FRENZY("hint.turn.trading_frenzy"),
     MONOPOLY("hint.turn.monopoly"),
     STEAL_RESOURCE("hint.turn.steal_resource"),
-    REPAIR_TILE("hint.turn.repair_tile");
+    REPAIR_TILE("hint.turn.repair_tile"),
+    REPLAY("hint.turn.replay");
 
     private final String hintKey;
 
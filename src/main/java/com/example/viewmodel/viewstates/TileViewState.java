@@ -12,4 +12,5 @@ public final class TileViewState {
     public final ObjectProperty<String> resource = new SimpleObjectProperty<>();
     public final BooleanProperty blocked = new SimpleBooleanProperty();
     public final BooleanProperty destroyed = new SimpleBooleanProperty();
+    public final BooleanProperty recommended = new SimpleBooleanProperty(); // best tile for the robber, while it is being moved
 }
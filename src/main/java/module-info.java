@@ -13,5 +13,6 @@ module com.example {
     exports com.example.viewmodel;
     exports com.example.model;
     exports com.example.service;
+    exports com.example.simulation;
     opens com.example.viewmodel to javafx.fxml;
 }
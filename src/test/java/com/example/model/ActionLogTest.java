@@ -0,0 +1,188 @@
+package com.example.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.model.config.ConfigManager;
+import com.example.model.config.DevCardConfig;
+import com.example.model.trading.TradeBank;
+
+public class ActionLogTest {
+
+    private Path dir;
+    private Path file;
+
+    @BeforeAll
+    public static void initConfig() {
+        try {ConfigManager.loadAll();} catch (Exception e) { } // needed to load ResourceRegistry
+    }
+
+    @BeforeEach
+    public void createDir() throws IOException {
+        dir = Files.createTempDirectory("action-log");
+        file = dir.resolve("game.log");
+    }
+
+    @AfterEach
+    public void deleteDir() throws IOException {
+        Files.deleteIfExists(dir.resolve("game.log.tmp"));
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir);
+    }
+
+    @Test
+    public void testRecover_rebuildsTheExactGame() throws IOException {
+        for (long seed = 1; seed <= 5; seed++) {
+            GameModel game = TestGames.newGame(seed);
+            int currentPlayer;
+            try (ActionLog log = ActionLog.create(file, game, 0, false, false)) {
+                currentPlayer = play(game, log, new SplittableRandom(seed), 40);
+            }
+
+            ActionLog.Recovery recovery = ActionLog.recover(game.getConfig(), file);
+            assertArrayEquals(TestGames.saveBytes(game), TestGames.saveBytes(recovery.game()));
+            assertEquals(currentPlayer, recovery.currentPlayer());
+            assertFalse(recovery.rolled());
+            assertTrue(recovery.actions() > 40);
+        }
+    }
+
+    @Test
+    public void testCreate_fitsLongNames() throws IOException {
+        GameModel game = new GameModel(ConfigManager.getSnapshot(), 6);
+        game.initializePlayers(new ArrayList<>(List.of("Ann".repeat(10_000), "Bo")));
+        assertTrue(game.initializeBoard());
+        try (ActionLog log = ActionLog.create(file, game, 1, false, false)) {
+            log.apply(game, GameAction.roll(1));
+        }
+        assertArrayEquals(TestGames.saveBytes(game), TestGames.saveBytes(ActionLog.recover(game.getConfig(), file).game()));
+    }
+
+    @Test
+    public void testRecover_tracksTheTurnInProgress() throws IOException {
+        GameModel game = TestGames.newGame(3);
+        try (ActionLog log = ActionLog.create(file, game, 2, false, false)) {
+            log.apply(game, GameAction.endTurn(2));
+            log.apply(game, GameAction.roll(0));
+            log.apply(game, GameAction.buildCity(0, 0)); // fails, but still logged
+        }
+        ActionLog.Recovery recovery = ActionLog.recover(game.getConfig(), file);
+        assertEquals(0, recovery.currentPlayer());
+        assertTrue(recovery.rolled());
+        assertEquals(game.getDice1() + game.getDice2() == 7, recovery.robberPending());
+        assertEquals(3, recovery.actions());
+        assertArrayEquals(TestGames.saveBytes(game), TestGames.saveBytes(recovery.game()));
+    }
+
+    @Test
+    public void testRecover_stopsAtATornRecord() throws IOException {
+        GameModel game = TestGames.newGame(8);
+        ActionLog log = ActionLog.create(file, game, 0, false, false);
+        play(game, log, new SplittableRandom(8), 10);
+        log.flush();
+        byte[] before = TestGames.saveBytes(game);
+        long size = Files.size(file);
+        log.apply(game, GameAction.roll(0));
+        log.close();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(file) - 3); // the crash hit in the middle of the last record
+        }
+        ActionLog.Recovery recovery = ActionLog.recover(game.getConfig(), file);
+        assertArrayEquals(before, TestGames.saveBytes(recovery.game()));
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0x55}), size + 5); // garbage in the torn record changes nothing
+        }
+        assertArrayEquals(before, TestGames.saveBytes(ActionLog.recover(game.getConfig(), file).game()));
+    }
+
+    @Test
+    public void testRecover_rejectsDamagedHeaders() throws IOException {
+        GameModel game = TestGames.newGame(4);
+        ActionLog.create(file, game, 0, false, false).close();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0}), 0);
+        }
+        assertThrows(IOException.class, () -> ActionLog.recover(game.getConfig(), file));
+    }
+
+    @Test
+    public void testFlush_makesEveryAppliedActionDurable() throws IOException {
+        GameModel game = TestGames.newGame(6);
+        try (ActionLog log = ActionLog.create(file, game, 0, false, false)) {
+            long header = Files.size(file);
+            log.apply(game, GameAction.roll(0));
+            log.apply(game, GameAction.endTurn(0));
+            log.flush();
+            assertTrue(Files.size(file) > header);
+            assertEquals(2, ActionLog.recover(game.getConfig(), file).actions());
+        }
+    }
+
+    @Test
+    public void testCreate_replacesAnOldLog() throws IOException {
+        GameModel game = TestGames.newGame(2);
+        try (ActionLog log = ActionLog.create(file, game, 0, false, false)) {
+            play(game, log, new SplittableRandom(2), 5);
+        }
+        try (ActionLog log = ActionLog.create(file, game, 1, true, false)) {
+            log.flush();
+        }
+        ActionLog.Recovery recovery = ActionLog.recover(game.getConfig(), file);
+        assertEquals(0, recovery.actions());
+        assertEquals(1, recovery.currentPlayer());
+        assertTrue(recovery.rolled());
+        assertArrayEquals(TestGames.saveBytes(game), TestGames.saveBytes(recovery.game()));
+        assertFalse(Files.exists(dir.resolve("game.log.tmp")));
+    }
+
+    // Helper function; plays turns through the log the way the game screen does, forking the game between
+    // actions as the robber advice does; returns whose turn it is after the last turn
+    private static int play(GameModel game, ActionLog log, SplittableRandom random, int turns) {
+        int playerID = 0;
+        for (int turn = 0; turn < turns && !game.checkIfGameOver(); turn++) {
+            log.apply(game, GameAction.roll(playerID));
+            if (game.getDice1() + game.getDice2() == 7) {
+                game.fork(); // draws from the game's random outside the log
+                log.apply(game, GameAction.moveRobber(playerID, random.nextInt(game.getNumberOfTiles()), true));
+                log.apply(game, GameAction.steal(playerID, random.nextInt(54)));
+            }
+            log.apply(game, GameAction.grant(playerID, game.getConfig().getInfrastructure("player_infrastructure.road")));
+            long lo = game.getLegalRoadMaskLo(playerID);
+            if (lo != 0) {
+                log.apply(game, GameAction.buildRoad(playerID, Long.numberOfTrailingZeros(lo)));
+            }
+            log.apply(game, GameAction.buildCity(playerID, random.nextInt(54)));
+            log.apply(game, GameAction.grant(playerID, game.getConfig().getInfrastructure("player_infrastructure.dev_card")));
+            log.apply(game, GameAction.buyDevCard(playerID));
+            game.fork();
+            ArrayList<DevCardConfig> cards = game.getPlayerDevCards(playerID);
+            if (!cards.isEmpty()) {
+                log.apply(game, GameAction.playDevCard(game.getConfig(), playerID, cards.get(0)));
+            }
+            log.apply(game, GameAction.trade(new TradeBank(playerID, game.getConfig().getResource(0),
+                    game.getConfig().getResource(1))));
+            log.apply(game, GameAction.endTurn(playerID));
+            playerID = game.nextPlayer(playerID);
+        }
+        return playerID;
+    }
+}
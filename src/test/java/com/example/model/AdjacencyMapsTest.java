@@ -0,0 +1,81 @@
+package com.example.model;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the precomputed incidence tables in AdjacencyMaps
+ */
+public class AdjacencyMapsTest {
+
+    @Test
+    public void testEdgeIndexMatchesRoadConnections() {
+        for (int e = 0; e < AdjacencyMaps.RoadConnections.length; e++) {
+            int v1 = AdjacencyMaps.RoadConnections[e][0];
+            int v2 = AdjacencyMaps.RoadConnections[e][1];
+            assertEquals(e, AdjacencyMaps.edgeIndex(v1, v2));
+            assertEquals(e, AdjacencyMaps.edgeIndex(v2, v1)); // order shouldn't matter
+        }
+    }
+
+    @Test
+    public void testEdgeIndexInvalid() {
+        assertEquals(AdjacencyMaps.NO_EDGE, AdjacencyMaps.edgeIndex(0, 2)); // not adjacent
+        assertEquals(AdjacencyMaps.NO_EDGE, AdjacencyMaps.edgeIndex(0, 0));
+        assertEquals(AdjacencyMaps.NO_EDGE, AdjacencyMaps.edgeIndex(-1, 0));
+        assertEquals(AdjacencyMaps.NO_EDGE, AdjacencyMaps.edgeIndex(100, 200));
+    }
+
+    @Test
+    public void testIncidentEdgesAndNeighboursAgree() {
+        int totalSlots = 0;
+        for (int v = 0; v < AdjacencyMaps.NUMBER_OF_VERTICES; v++) {
+            for (int i = 0; i < AdjacencyMaps.vertexDegree(v); i++) {
+                int e = AdjacencyMaps.incidentEdge(v, i);
+                int[] ends = AdjacencyMaps.RoadConnections[e];
+                int other = ends[0] == v ? ends[1] : ends[0];
+                assertEquals(other, AdjacencyMaps.neighbour(v, i));
+                totalSlots++;
+            }
+        }
+        assertEquals(2 * AdjacencyMaps.RoadConnections.length, totalSlots); // every edge seen from both ends
+    }
+
+    @Test
+    public void testAdjacentTilesMatchTileVertices() {
+        for (int v = 0; v < AdjacencyMaps.NUMBER_OF_VERTICES; v++) {
+            ArrayList<Integer> expected = new ArrayList<>();
+            for (int t = 0; t < AdjacencyMaps.TileVertices.length; t++) {
+                for (int tv : AdjacencyMaps.TileVertices[t]) {
+                    if (tv == v) expected.add(t);
+                }
+            }
+            assertEquals(expected.size(), AdjacencyMaps.vertexTileCount(v));
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals((int) expected.get(i), AdjacencyMaps.adjacentTile(v, i));
+            }
+        }
+    }
+
+    @Test
+    public void testPortAtVertex() {
+        for (int p = 0; p < AdjacencyMaps.PortVertices.length; p++) {
+            for (int v : AdjacencyMaps.PortVertices[p]) {
+                assertEquals(p, AdjacencyMaps.portAtVertex(v));
+            }
+        }
+        assertEquals(AdjacencyMaps.NO_PORT, AdjacencyMaps.portAtVertex(10)); // inland vertex
+    }
+
+    @Test
+    public void testGetAdjacentVertices() {
+        ArrayList<Integer> adjacent = AdjacencyMaps.getAdjacentVertices(10);
+        assertEquals(3, adjacent.size());
+        assertTrue(adjacent.contains(2));
+        assertTrue(adjacent.contains(9));
+        assertTrue(adjacent.contains(11));
+    }
+}
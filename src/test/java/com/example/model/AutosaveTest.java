@@ -0,0 +1,140 @@
+package com.example.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.model.config.ConfigManager;
+
+public class AutosaveTest {
+
+    private Path dir;
+    private Path file;
+
+    @BeforeAll
+    public static void initConfig() {
+        try {ConfigManager.loadAll();} catch (Exception e) { } // needed to load ResourceRegistry
+    }
+
+    @BeforeEach
+    public void createDir() throws IOException {
+        dir = Files.createTempDirectory("autosave");
+        file = dir.resolve("autosave.sav");
+    }
+
+    @AfterEach
+    public void deleteDir() throws IOException {
+        Files.deleteIfExists(dir.resolve("autosave.sav.tmp"));
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir);
+    }
+
+    @Test
+    public void testSave_writesALoadableGame() throws IOException {
+        GameModel game = TestGames.played(4, 20);
+        try (Autosave autosave = new Autosave(file)) {
+            autosave.save(game, 2);
+            autosave.flush();
+            ActionLog.Recovery loaded = Autosave.load(game.getConfig(), file);
+            assertArrayEquals(TestGames.saveBytes(game), TestGames.saveBytes(loaded.game()));
+            assertEquals(2, loaded.currentPlayer());
+            assertFalse(loaded.rolled());
+            assertFalse(Files.exists(dir.resolve("autosave.sav.tmp")));
+        }
+    }
+
+    @Test
+    public void testSave_newestSnapshotWins() throws IOException {
+        GameModel game = TestGames.played(6, 0);
+        byte[] last = null;
+        try (Autosave autosave = new Autosave(file)) {
+            for (int turn = 0; turn < 30; turn++) {
+                game.rollDice();
+                autosave.save(game, turn % 3);
+                last = TestGames.saveBytes(game);
+            }
+        } // close writes whatever is still waiting
+        ActionLog.Recovery loaded = Autosave.load(game.getConfig(), file);
+        assertArrayEquals(last, TestGames.saveBytes(loaded.game()));
+        assertEquals(29 % 3, loaded.currentPlayer());
+    }
+
+    @Test
+    public void testSave_snapshotsOnTheCallersThread() throws IOException {
+        GameModel game = TestGames.played(8, 40);
+        byte[] saved = TestGames.saveBytes(game);
+        try (Autosave autosave = new Autosave(file)) {
+            autosave.save(game, 1);
+            for (int i = 0; i < 20; i++) {
+                game.rollDice(); // the writer may not have run yet; it must still write the game as it was
+            }
+            autosave.flush();
+        }
+        assertArrayEquals(saved, TestGames.saveBytes(Autosave.load(game.getConfig(), file).game()));
+    }
+
+    @Test
+    public void testSave_replacesTheOldAutosaveWhole() throws IOException {
+        GameModel game = TestGames.played(9, 10);
+        try (Autosave autosave = new Autosave(file)) {
+            autosave.save(TestGames.played(10, 0), 0);
+            autosave.flush();
+            autosave.save(game, 2);
+            autosave.flush();
+            assertFalse(Files.exists(dir.resolve("autosave.sav.tmp")));
+        }
+        ActionLog.Recovery loaded = Autosave.load(game.getConfig(), file);
+        assertArrayEquals(TestGames.saveBytes(game), TestGames.saveBytes(loaded.game()));
+        assertEquals(2, loaded.currentPlayer());
+    }
+
+    @Test
+    public void testSave_doesNotChangeTheGame() throws IOException {
+        GameModel game = TestGames.played(3, 10);
+        byte[] before = TestGames.saveBytes(game);
+        try (Autosave autosave = new Autosave(file)) {
+            autosave.save(game, 1);
+        }
+        assertArrayEquals(before, TestGames.saveBytes(game));
+    }
+
+    @Test
+    public void testDelete_removesTheAutosave() throws IOException {
+        GameModel game = TestGames.played(5, 5);
+        Autosave autosave = new Autosave(file);
+        autosave.save(game, 0);
+        autosave.flush();
+        assertTrue(Files.exists(file));
+        autosave.delete();
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    public void testLoad_rejectsDamagedFiles() throws IOException {
+        GameModel game = TestGames.played(7, 5);
+        try (Autosave autosave = new Autosave(file)) {
+            autosave.save(game, 0);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0x11}), Files.size(file) / 2);
+        }
+        assertThrows(IOException.class, () -> Autosave.load(game.getConfig(), file));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(4);
+        }
+        assertThrows(IOException.class, () -> Autosave.load(game.getConfig(), file));
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for Bitboards class
+ */
+public class BitboardsTest {
+
+    @Test
+    public void testNeighboursMatchRoadConnections() {
+        for (int v = 0; v < Bitboards.NUMBER_OF_VERTICES; v++) {
+            long expected = 0L;
+            for (int[] edge : AdjacencyMaps.RoadConnections) {
+                if (edge[0] == v) expected |= Bitboards.vertexBit(edge[1]);
+                if (edge[1] == v) expected |= Bitboards.vertexBit(edge[0]);
+            }
+            assertEquals(expected, Bitboards.neighbours(v));
+            assertEquals(0L, Bitboards.neighbours(v) & Bitboards.vertexBit(v)); // never its own neighbour
+        }
+    }
+
+    @Test
+    public void testEndpointsHaveTwoBits() {
+        for (int e = 0; e < Bitboards.NUMBER_OF_EDGES; e++) {
+            assertEquals(2, Long.bitCount(Bitboards.endpoints(e)));
+        }
+    }
+
+    @Test
+    public void testIncidentEdgesMatchDegree() {
+        for (int v = 0; v < Bitboards.NUMBER_OF_VERTICES; v++) {
+            int degree = Long.bitCount(Bitboards.incidentEdgesLo(v)) + Long.bitCount(Bitboards.incidentEdgesHi(v));
+            assertEquals(Long.bitCount(Bitboards.neighbours(v)), degree);
+            assertTrue(degree == 2 || degree == 3);
+        }
+    }
+
+    @Test
+    public void testHasEdgeUsesCorrectWord() {
+        assertTrue(Bitboards.hasEdge(Bitboards.edgeBit(3), 0L, 3));
+        assertFalse(Bitboards.hasEdge(0L, Bitboards.edgeBit(3), 3));
+        assertTrue(Bitboards.hasEdge(0L, Bitboards.edgeBit(70), 70));
+        assertFalse(Bitboards.hasEdge(Bitboards.edgeBit(70), 0L, 70));
+    }
+
+    @Test
+    public void testEndpointsOf() {
+        long lo = Bitboards.edgeBit(0) | Bitboards.edgeBit(1); // {0,1} and {1,2}
+        long hi = Bitboards.edgeBit(71); // {52,53}
+        long expected = Bitboards.vertexBit(0) | Bitboards.vertexBit(1) | Bitboards.vertexBit(2)
+                | Bitboards.vertexBit(52) | Bitboards.vertexBit(53);
+        assertEquals(expected, Bitboards.endpointsOf(lo, hi));
+        assertEquals(0L, Bitboards.endpointsOf(0L, 0L));
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.example.model.config.ConfigManager;
+import com.example.model.config.ConfigSnapshot;
+
+public class BoardPoolTest {
+
+    @BeforeAll
+    public static void initConfig() {
+        try {ConfigManager.loadAll();} catch (Exception e) { } // needed to load ResourceRegistry
+    }
+
+    @Test
+    public void testScore_measuresMatchTheBoard() {
+        ConfigSnapshot config = ConfigManager.getSnapshot();
+        BoardLayout board = BoardLayout.generate(config, new SplittableRandom(3));
+        BoardFairness.Score score = BoardFairness.score(config, board);
+
+        int best = 0;
+        for (int vertex = 0; vertex < AdjacencyMaps.NUMBER_OF_VERTICES; vertex++) {
+            int sum = 0;
+            for (int i = 0; i < AdjacencyMaps.vertexTileCount(vertex); i++) {
+                sum += LayoutGenerator.pips(board.numbers()[AdjacencyMaps.adjacentTile(vertex, i)]);
+            }
+            best = Math.max(best, sum);
+        }
+        assertEquals(best, score.maxVertexPips());
+        assertTrue(score.resourceImbalance() >= 0);
+        assertTrue(score.score() >= 0 && score.score() <= BoardFairness.MAX_SCORE);
+    }
+
+    @Test
+    public void testGenerate_everyBoardMeetsTheThreshold() {
+        ConfigSnapshot config = ConfigManager.getSnapshot();
+        BoardPool pool = BoardPool.generate(config, 100, 75, 11, 2);
+        assertEquals(100, pool.getBoards().size());
+        for (BoardLayout board : pool.getBoards()) {
+            assertTrue(BoardFairness.score(config, board).score() >= 75);
+        }
+    }
+
+    @Test
+    public void testGenerate_sameSeedSamePoolWhateverTheThreads() {
+        ConfigSnapshot config = ConfigManager.getSnapshot();
+        List<BoardLayout> one = BoardPool.generate(config, 150, 60, 5, 1).getBoards();
+        List<BoardLayout> three = BoardPool.generate(config, 150, 60, 5, 3).getBoards();
+        for (int i = 0; i < one.size(); i++) {
+            assertArrayEquals(one.get(i).tileIDs(), three.get(i).tileIDs());
+            assertArrayEquals(one.get(i).numbers(), three.get(i).numbers());
+            assertArrayEquals(one.get(i).portIDs(), three.get(i).portIDs());
+        }
+    }
+
+    @Test
+    public void testGenerate_unreachableThresholdThrows() {
+        ConfigSnapshot config = ConfigManager.getSnapshot();
+        assertThrows(IllegalStateException.class,
+                () -> BoardPool.generate(config, 1, BoardFairness.MAX_SCORE + 1, 1, 1));
+    }
+
+    @Test
+    public void testSaveAndLoad_roundTrips() throws Exception {
+        ConfigSnapshot config = ConfigManager.getSnapshot();
+        BoardPool pool = BoardPool.generate(config, 20, 70, 2, 1);
+        Path file = Files.createTempFile("boards", ".json");
+        try {
+            pool.save(file);
+            BoardPool loaded = BoardPool.load(file, config);
+            assertEquals(70, loaded.getMinScore());
+            assertEquals(20, loaded.getBoards().size());
+            for (int i = 0; i < 20; i++) {
+                assertArrayEquals(pool.getBoards().get(i).tileIDs(), loaded.getBoards().get(i).tileIDs());
+                assertArrayEquals(pool.getBoards().get(i).numbers(), loaded.getBoards().get(i).numbers());
+                assertArrayEquals(pool.getBoards().get(i).portIDs(), loaded.getBoards().get(i).portIDs());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testLoad_rejectsBoardsThatDoNotFitTheConfigs() throws Exception {
+        ConfigSnapshot config = ConfigManager.getSnapshot();
+        BoardLayout board = BoardLayout.generate(config, new SplittableRandom(4));
+        board.checkFits(config);
+
+        String[] tileIDs = board.tileIDs().clone();
+        int desert = Arrays.asList(tileIDs).indexOf("tile.desert");
+        int other = desert == 0 ? 1 : 0;
+        tileIDs[desert] = tileIDs[other]; // one tile too many, and its hex has no number
+        int[] numbers = board.numbers().clone();
+        numbers[0]++;
+        String[] portIDs = board.portIDs().clone();
+        portIDs[0] = portIDs[1];
+        List<BoardLayout> wrong = List.of(
+                new BoardLayout(tileIDs, board.numbers(), board.portIDs()),
+                new BoardLayout(board.tileIDs(), numbers, board.portIDs()),
+                new BoardLayout(board.tileIDs(), board.numbers(), portIDs));
+
+        Path file = Files.createTempFile("boards", ".json");
+        try {
+            for (BoardLayout stale : wrong) {
+                assertThrows(IllegalArgumentException.class, () -> stale.checkFits(config));
+                new BoardPool(70, List.of(board, stale)).save(file);
+                assertThrows(IOException.class, () -> BoardPool.load(file, config));
+            }
+            Files.writeString(file, "{\"minScore\": 70, \"boards\": [{\"tileIDs\": [\"tile.desert\"], "
+                    + "\"numbers\": [0], \"portIDs\": []}]}"); // a board of another size
+            assertThrows(IOException.class, () -> BoardPool.load(file, config));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testGameModel_playsOnTheDrawnBoard() {
+        ConfigSnapshot config = ConfigManager.getSnapshot();
+        BoardLayout board = BoardPool.generate(config, 5, 70, 9, 1).draw(new SplittableRandom(1));
+        GameModel game = new GameModel(config, 42, board);
+        BoardLayout played = game.getBoard();
+        assertArrayEquals(board.tileIDs(), played.tileIDs());
+        assertArrayEquals(board.numbers(), played.numbers());
+        assertArrayEquals(board.portIDs(), played.portIDs());
+        assertTrue(Arrays.stream(game.getTiles()).anyMatch(Tile::getIsBlocked)); // robber starts on the desert
+    }
+}
@@ -115,6 +115,47 @@ public class GameModelTest {
         assertEquals(player1Id, gameModel.nextPlayer(player3Id));
     }
 
+    @Test
+    public void testPlayerIdsArePerGame() {
+        gameModel.initializePlayers(playerNames);
+        GameModel otherGame = new GameModel();
+        otherGame.initializePlayers(playerNames);
+
+        for (int i = 0; i < playerNames.size(); i++) {
+            assertEquals(i, gameModel.getPlayers().get(i).getId());
+            assertEquals(i, otherGame.getPlayers().get(i).getId());
+        }
+        assertNull(gameModel.getPlayer(-1));
+        assertEquals(-1, gameModel.nextPlayer(playerNames.size()));
+    }
+
+    @Test
+    public void testFork_isIndependentOfOriginal() {
+        gameModel.initializePlayers(playerNames);
+        int playerId = gameModel.getPlayers().get(0).getId();
+        gameModel.giveSettlementResources(playerId);
+        gameModel.giveCityResources(playerId);
+        assertTrue(gameModel.buildSettlement(0, playerId));
+
+        GameModel fork = gameModel.fork();
+        assertTrue(fork.buildCity(0, playerId));
+        assertEquals("player_infrastructure.settlement", gameModel.getSettlmentType(0));
+        assertEquals("player_infrastructure.city", fork.getSettlmentType(0));
+        assertEquals(1, gameModel.getPlayerVictoryPoints(playerId));
+        assertEquals(2, fork.getPlayerVictoryPoints(playerId));
+
+        // the original keeps playing without touching the fork
+        gameModel.giveRoadResources(playerId);
+        assertTrue(gameModel.buildRoad(0, playerId));
+        assertEquals(playerId, gameModel.getRoads()[0].getPlayerID());
+        assertEquals(Roads.UNOWNED_ROAD_ID, fork.getRoads()[0].getPlayerID());
+
+        boolean forkBlocked = fork.getTiles()[5].getIsBlocked();
+        gameModel.moveRobber(5);
+        assertTrue(gameModel.getTiles()[5].getIsBlocked());
+        assertEquals(forkBlocked, fork.getTiles()[5].getIsBlocked());
+    }
+
     @Test
     public void testNextPlayerSinglePlayer() {
         ArrayList<String> singlePlayer = new ArrayList<>();
@@ -322,4 +363,41 @@ public class GameModelTest {
         boolean result = gameModel.executeTrade(trade); // player has brick to trade
         assertTrue(result);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testCheckPlayerResources_discardsReturnToBank() {
+        gameModel.initializePlayers(playerNames);
+        ResourceConfig brick = ConfigService.getResource("resource.brick");
+        int playerId = gameModel.getPlayers().get(0).getId();
+        gameModel.getPlayer(playerId).setResourceCount(brick, 10);
+        int bankBefore = gameModel.getBankResources().get(brick);
+
+        gameModel.checkPlayerResources();
+        assertEquals(5, gameModel.getPlayer(playerId).getResourceCount(brick));
+        assertEquals(bankBefore + 5, (int) gameModel.getBankResources().get(brick));
+    }
+
+    @Test
+    public void testSameSeed_playsTheSameGame() {
+        GameModel a = new GameModel(ConfigManager.getSnapshot(), 1234);
+        GameModel b = new GameModel(ConfigManager.getSnapshot(), 1234);
+        assertEquals(1234, a.getSeed());
+        a.initializePlayers(playerNames);
+        b.initializePlayers(playerNames);
+        assertEquals(a.initializeBoard(), b.initializeBoard());
+
+        for (int i = 0; i < a.getNumberOfTiles(); i++) {
+            assertEquals(a.getTiles()[i].getTileID(), b.getTiles()[i].getTileID());
+            assertEquals(a.getTiles()[i].getNumber(), b.getTiles()[i].getNumber());
+        }
+        for (int vertex = 0; vertex < a.getSettlements().length; vertex++) {
+            assertEquals(a.getSettlmentOwner(vertex), b.getSettlmentOwner(vertex));
+        }
+        for (int roll = 0; roll < 50; roll++) {
+            a.rollDice();
+            b.rollDice();
+            assertEquals(a.getDice1(), b.getDice1());
+            assertEquals(a.getDice2(), b.getDice2());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.model;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+public class GameRandomTest {
+
+    @Test
+    public void testDraws_matchSplittableRandom() {
+        for (long seed : new long[] {0, 1, -7, 0x123456789ABCDEFL}) {
+            SplittableRandom expected = new SplittableRandom(seed);
+            GameRandom actual = new GameRandom(seed);
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(expected.nextLong(), actual.nextLong());
+                assertEquals(expected.nextInt(), actual.nextInt());
+                assertEquals(expected.nextInt(6), actual.nextInt(6));
+                assertEquals(expected.nextInt(1 + i), actual.nextInt(1 + i));
+                assertEquals(expected.nextDouble(), actual.nextDouble());
+            }
+        }
+    }
+
+    @Test
+    public void testSplit_matchesSplittableRandom() {
+        SplittableRandom expected = new SplittableRandom(99);
+        GameRandom actual = new GameRandom(99);
+        for (int i = 0; i < 50; i++) {
+            SplittableRandom expectedChild = expected.split();
+            GameRandom actualChild = actual.split();
+            for (int j = 0; j < 20; j++) {
+                assertEquals(expectedChild.nextLong(), actualChild.nextLong());
+            }
+            assertEquals(expected.nextInt(), actual.nextInt()); // the parent moved on the same way
+        }
+    }
+
+    @Test
+    public void testSetState_repeatsDraws() {
+        GameRandom random = new GameRandom(5);
+        random.split();
+        long state = random.getState();
+        long first = random.nextLong();
+        random.nextLong();
+        random.setState(state);
+        assertEquals(first, random.nextLong());
+
+        GameRandom child = new GameRandom(5).split();
+        GameRandom copy = new GameRandom(1);
+        copy.setState(child.getState(), child.getGamma());
+        assertEquals(child.nextLong(), copy.nextLong());
+        assertThrows(IllegalArgumentException.class, () -> copy.setState(0, 2));
+    }
+}
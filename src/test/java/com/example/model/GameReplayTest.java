@@ -0,0 +1,151 @@
+package com.example.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.example.model.config.ConfigManager;
+import com.example.model.config.DevCardConfig;
+
+public class GameReplayTest {
+
+    @BeforeAll
+    public static void initConfig() {
+        try {ConfigManager.loadAll();} catch (Exception e) { } // needed to load ResourceRegistry
+    }
+
+    @Test
+    public void testSeek_rebuildsEveryTurn() {
+        for (int interval : new int[] {1, 4, GameReplay.DEFAULT_SNAPSHOT_INTERVAL, 1000}) {
+            GameModel game = TestGames.newGame(3);
+            GameReplay replay = new GameReplay(game, 1, interval);
+            List<byte[]> turnStarts = play(game, replay, 1, new SplittableRandom(3), 45);
+
+            assertEquals(turnStarts.size(), replay.getTurnCount());
+            for (int turn = 0; turn < replay.getTurnCount(); turn++) {
+                assertArrayEquals(turnStarts.get(turn), TestGames.saveBytes(replay.seek(turn)));
+                assertEquals((1 + turn) % 3, replay.getPlayerAt(turn));
+            }
+            assertArrayEquals(TestGames.saveBytes(game), TestGames.saveBytes(replay.seekAction(replay.getActionCount())));
+        }
+    }
+
+    @Test
+    public void testSeek_leavesTheRecordedGameAlone() {
+        GameModel game = TestGames.newGame(5);
+        GameReplay replay = new GameReplay(game, 0, 3);
+        play(game, replay, 0, new SplittableRandom(5), 12);
+        byte[] before = TestGames.saveBytes(game);
+        replay.seek(4);
+        replay.seek(0);
+        assertArrayEquals(before, TestGames.saveBytes(game));
+
+        GameModel seeked = replay.seek(2);
+        replay.apply(seeked, GameAction.roll(2)); // the seeked game is a separate game
+        assertArrayEquals(before, TestGames.saveBytes(game));
+        assertThrows(IllegalArgumentException.class, () -> replay.seek(replay.getTurnCount()));
+        assertThrows(IllegalArgumentException.class, () -> replay.seekAction(-1));
+    }
+
+    @Test
+    public void testSnapshot_fitsLongNames() {
+        GameModel game = new GameModel(ConfigManager.getSnapshot(), 8);
+        game.initializePlayers(new ArrayList<>(List.of("Ann".repeat(10_000), "Bo")));
+        assertTrue(game.initializeBoard());
+        GameReplay replay = new GameReplay(game, 0, 1);
+        play(game, replay, 0, new SplittableRandom(8), 3);
+        assertEquals("Ann".repeat(10_000), replay.seek(2).getPlayer(0).getName());
+    }
+
+    @Test
+    public void testSaveAndLoad_throughAFile() throws IOException {
+        GameModel game = TestGames.newGame(9);
+        GameReplay replay = new GameReplay(game, 0, 5);
+        List<byte[]> turnStarts = play(game, replay, 0, new SplittableRandom(9), 30);
+        Path file = Files.createTempFile("game", ".replay");
+        try {
+            replay.save(file);
+            GameReplay loaded = GameReplay.load(game.getConfig(), file);
+            assertEquals(replay.getTurnCount(), loaded.getTurnCount());
+            assertEquals(replay.getActionCount(), loaded.getActionCount());
+            assertEquals(5, loaded.getSnapshotInterval());
+            for (int turn = 0; turn < loaded.getTurnCount(); turn++) {
+                assertArrayEquals(turnStarts.get(turn), TestGames.saveBytes(loaded.seek(turn)));
+                assertEquals(replay.getPlayerAt(turn), loaded.getPlayerAt(turn));
+            }
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(new byte[] {0x7F}), Files.size(file) / 2);
+            }
+            assertThrows(IOException.class, () -> GameReplay.load(game.getConfig(), file));
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(3);
+            }
+            assertThrows(IOException.class, () -> GameReplay.load(game.getConfig(), file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testSeek_fromTheNearestSnapshotOnly() {
+        GameModel game = TestGames.newGame(2);
+        GameReplay replay = new GameReplay(game, 0, 10);
+        play(game, replay, 0, new SplittableRandom(2), 40);
+        // a replay seeks the same whatever its interval, so a broken snapshot would show in the turns after it
+        GameModel game2 = TestGames.newGame(2);
+        GameReplay every = new GameReplay(game2, 0, 1);
+        play(game2, every, 0, new SplittableRandom(2), 40);
+        for (int turn = 0; turn < replay.getTurnCount(); turn += 7) {
+            assertArrayEquals(TestGames.saveBytes(every.seek(turn)), TestGames.saveBytes(replay.seek(turn)));
+        }
+        assertTrue(replay.getTurnStart(39) < replay.getActionCount());
+    }
+
+    // Helper function; plays turns through the replay, forking between actions as the robber advice does;
+    // returns the saved game at the start of every turn, the one in progress included
+    private static List<byte[]> play(GameModel game, GameReplay replay, int firstPlayer, SplittableRandom random,
+            int turns) {
+        List<byte[]> turnStarts = new ArrayList<>();
+        turnStarts.add(TestGames.saveBytes(game));
+        int playerID = firstPlayer;
+        for (int turn = 0; turn < turns; turn++) {
+            replay.apply(game, GameAction.roll(playerID));
+            if (game.getDice1() + game.getDice2() == 7) {
+                game.fork();
+                replay.apply(game, GameAction.moveRobber(playerID, random.nextInt(game.getNumberOfTiles()), true));
+                replay.apply(game, GameAction.steal(playerID, random.nextInt(54)));
+            }
+            replay.apply(game, GameAction.grant(playerID, game.getConfig().getInfrastructure("player_infrastructure.road")));
+            long lo = game.getLegalRoadMaskLo(playerID);
+            if (lo != 0) {
+                replay.apply(game, GameAction.buildRoad(playerID, Long.numberOfTrailingZeros(lo)));
+            }
+            replay.apply(game, GameAction.buildSettlement(playerID, random.nextInt(54)));
+            replay.apply(game, GameAction.grant(playerID, game.getConfig().getInfrastructure("player_infrastructure.dev_card")));
+            replay.apply(game, GameAction.buyDevCard(playerID));
+            ArrayList<DevCardConfig> cards = game.getPlayerDevCards(playerID);
+            if (!cards.isEmpty()) {
+                replay.apply(game, GameAction.playDevCard(game.getConfig(), playerID, cards.get(0)));
+            }
+            game.fork();
+            replay.apply(game, GameAction.endTurn(playerID));
+            turnStarts.add(TestGames.saveBytes(game));
+            playerID = game.nextPlayer(playerID);
+        }
+        return turnStarts;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.example.model.config.ConfigManager;
+import com.example.model.config.ConfigSnapshot;
+
+public class GameSaveTest {
+
+    private static final int ROUNDS = 30; // enough for every kind of piece and card
+    private static final int SEED_OFFSET = 12; // magic, version and config counts come before the seed
+    private static final int BODY_OFFSET = SEED_OFFSET + 3 * Long.BYTES; // seed, random state and gamma
+
+    @BeforeAll
+    public static void initConfig() {
+        try {ConfigManager.loadAll();} catch (Exception e) { } // needed to load ResourceRegistry
+    }
+
+    @Test
+    public void testRead_roundTripsEverySavedField() throws IOException {
+        for (long seed = 1; seed <= 20; seed++) {
+            GameModel game = TestGames.played(seed, ROUNDS);
+            GameModel loaded = GameSave.read(game.getConfig(), toBuffer(game));
+            assertArrayEquals(body(game), body(loaded)); // saving the loaded game writes the same state
+            assertSameDerivedState(game, loaded);
+        }
+    }
+
+    @Test
+    public void testSaveAndLoad_throughAFile() throws IOException {
+        GameModel game = TestGames.played(42, ROUNDS);
+        Path file = Files.createTempFile("game", ".sav");
+        try {
+            GameSave.save(game, file);
+            assertTrue(Files.size(file) < 1024);
+            GameModel loaded = GameSave.load(game.getConfig(), file);
+            assertArrayEquals(body(game), body(loaded));
+            assertSameDerivedState(game, loaded);
+
+            GameSave.save(game, file); // overwrites, leaving no trailing bytes from the old save
+            assertEquals(toBuffer(game).remaining(), Files.size(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testRead_loadedGameKeepsPlayingTheSameWay() throws IOException {
+        GameModel game = TestGames.played(7, ROUNDS);
+        ByteBuffer save = toBuffer(game);
+        GameModel loaded = GameSave.read(game.getConfig(), save.duplicate());
+        assertEquals(game.getSeed(), loaded.getSeed());
+        TestGames.play(game, new SplittableRandom(3), 20);
+        TestGames.play(loaded, new SplittableRandom(3), 20);
+        assertArrayEquals(TestGames.saveBytes(game), TestGames.saveBytes(loaded)); // same rolls, so the same game, random state included
+
+        // the loaded game can be undone back to the loaded state; the random is not rewound
+        GameModel undone = GameSave.read(game.getConfig(), save.duplicate());
+        int mark = undone.getJournalMark();
+        TestGames.play(undone, new SplittableRandom(4), 5);
+        undone.undoTo(mark);
+        assertArrayEquals(body(GameSave.read(game.getConfig(), save.duplicate())), body(undone));
+    }
+
+    @Test
+    public void testRead_rejectsDamagedSaves() {
+        GameModel game = TestGames.played(9, ROUNDS);
+        ConfigSnapshot config = game.getConfig();
+
+        ByteBuffer flipped = toBuffer(game);
+        flipped.put(BODY_OFFSET + 5, (byte) (flipped.get(BODY_OFFSET + 5) ^ 1));
+        assertThrows(IOException.class, () -> GameSave.read(config, flipped));
+
+        ByteBuffer truncated = toBuffer(game);
+        truncated.limit(truncated.limit() - 10);
+        assertThrows(IOException.class, () -> GameSave.read(config, truncated));
+
+        ByteBuffer wrongMagic = toBuffer(game);
+        wrongMagic.putInt(0, 0);
+        assertThrows(IOException.class, () -> GameSave.read(config, wrongMagic));
+
+        ByteBuffer wrongVersion = toBuffer(game);
+        wrongVersion.putShort(4, (short) (GameSave.VERSION + 1));
+        assertThrows(IOException.class, () -> GameSave.read(config, wrongVersion));
+
+        ByteBuffer wrongConfigs = toBuffer(game);
+        wrongConfigs.put(6, (byte) (wrongConfigs.get(6) + 1)); // resource count
+        assertThrows(IOException.class, () -> GameSave.read(config, wrongConfigs));
+    }
+
+    @Test
+    public void testWrite_refusedDuringSetup() {
+        GameModel game = new GameModel(ConfigManager.getSnapshot(), 5);
+        game.initializePlayers(new ArrayList<>(List.of("a", "b", "c")));
+        assertTrue(game.initializeBoard((setupGame, playerID, candidates) -> {
+            assertThrows(IllegalStateException.class, () -> GameSave.write(setupGame, ByteBuffer.allocate(4096)));
+            return candidates[0];
+        }));
+        GameSave.write(game, ByteBuffer.allocate(4096)); // fine once setup is over
+    }
+
+    @Test
+    public void testWrite_refusesNamesTooLongForTheLengthPrefix() throws IOException {
+        GameModel game = new GameModel(ConfigManager.getSnapshot(), 7);
+        game.initializePlayers(new ArrayList<>(List.of("é".repeat(0xFFFF / 2) + "a", "b", "c")));
+        assertTrue(game.initializeBoard());
+        ByteBuffer saved = ByteBuffer.wrap(GameSave.toBytes(game)); // exactly 0xFFFF bytes still fits
+        assertEquals(game.getPlayer(0).getName(), GameSave.read(game.getConfig(), saved).getPlayer(0).getName());
+
+        GameModel tooLong = new GameModel(ConfigManager.getSnapshot(), 7);
+        tooLong.initializePlayers(new ArrayList<>(List.of("é".repeat(0x8000), "b", "c")));
+        assertTrue(tooLong.initializeBoard());
+        assertThrows(IllegalArgumentException.class, () -> GameSave.toBytes(tooLong));
+    }
+
+    @Test
+    public void testWrite_doesNotChangeTheGame() throws IOException {
+        GameModel game = TestGames.played(11, ROUNDS);
+        GameModel twin = TestGames.played(11, ROUNDS);
+        toBuffer(game);
+        TestGames.play(game, new SplittableRandom(1), 10);
+        TestGames.play(twin, new SplittableRandom(1), 10);
+        assertArrayEquals(body(twin), body(game)); // saving drew nothing from the game's random
+    }
+
+    private static ByteBuffer toBuffer(GameModel game) {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        GameSave.write(game, buffer);
+        return buffer.flip();
+    }
+
+    // Helper function; the saved state without the header and checksum, which hold the seed and random
+    private static byte[] body(GameModel game) {
+        ByteBuffer buffer = toBuffer(game);
+        return Arrays.copyOfRange(buffer.array(), BODY_OFFSET, buffer.limit() - Integer.BYTES);
+    }
+
+    // Helper function; checks what the load rebuilds rather than reads
+    private static void assertSameDerivedState(GameModel expected, GameModel actual) {
+        for (int p = 0; p < expected.getPlayers().size(); p++) {
+            assertEquals(expected.getLegalSettlementMask(p), actual.getLegalSettlementMask(p));
+            assertEquals(expected.getLegalCityMask(p), actual.getLegalCityMask(p));
+            assertEquals(expected.getLegalRoadMaskLo(p), actual.getLegalRoadMaskLo(p));
+            assertEquals(expected.getLegalRoadMaskHi(p), actual.getLegalRoadMaskHi(p));
+            assertEquals(expected.playerHasLongestRoad(p), actual.playerHasLongestRoad(p));
+            assertArrayEquals(expected.getExpectedIncome(p), actual.getExpectedIncome(p));
+        }
+        assertEquals(expected.getBlockedTileIndex(), actual.getBlockedTileIndex());
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.example.model.config.ConfigManager;
+
+public class IncomeModelTest {
+
+    @BeforeAll
+    public static void initConfig() {
+        try {ConfigManager.loadAll();} catch (Exception e) { } // needed to load ResourceRegistry
+    }
+
+    @Test
+    public void testPips_coverEveryRollButSeven() {
+        int total = 0;
+        for (int roll = ProductionTable.MIN_ROLL; roll <= ProductionTable.MAX_ROLL; roll++) {
+            total += IncomeModel.pips(roll);
+        }
+        assertEquals(IncomeModel.DICE_OUTCOMES - 6, total);
+        assertEquals(0, IncomeModel.pips(7));
+        assertEquals(5, IncomeModel.pips(8));
+    }
+
+    @Test
+    public void testExpectedIncome_matchesPayoutsAfterSetup() {
+        GameModel game = TestGames.newGame(5);
+        assertMatchesPayouts(game);
+        assertTrue(game.getExpectedIncomeTotal(0) > 0);
+    }
+
+    @Test
+    public void testExpectedIncome_citiesAndRobber() {
+        GameModel game = TestGames.newGame(6);
+        int vertex = Long.numberOfTrailingZeros(game.getLegalCityMask(0));
+        game.giveCityResources(0);
+        assertTrue(game.buildCity(vertex, 0));
+        double before = game.getExpectedIncomeTotal(0);
+        assertMatchesPayouts(game);
+
+        // the robber on one of the city's tiles: the city still produces, double
+        int tile = -1;
+        for (int i = 0; i < AdjacencyMaps.vertexTileCount(vertex); i++) {
+            int t = AdjacencyMaps.adjacentTile(vertex, i);
+            if (IncomeModel.pips(game.getTiles()[t].getNumber()) > 0) tile = t;
+        }
+        game.moveRobber(tile);
+        assertNotEquals(before, game.getExpectedIncomeTotal(0));
+        assertMatchesPayouts(game);
+    }
+
+    @Test
+    public void testExpectedIncome_bankScarcity() {
+        GameModel game = TestGames.newGame(7);
+        double before = game.getExpectedIncomeTotal(0) + game.getExpectedIncomeTotal(1) + game.getExpectedIncomeTotal(2);
+        for (int roll = ProductionTable.MIN_ROLL; roll <= ProductionTable.MAX_ROLL; roll++) {
+            for (int i = 0; i < 10; i++) game.giveResourcesToPlayers(roll); // drains the bank
+        }
+        double after = game.getExpectedIncomeTotal(0) + game.getExpectedIncomeTotal(1) + game.getExpectedIncomeTotal(2);
+        assertTrue(after < before);
+        assertMatchesPayouts(game);
+    }
+
+    @Test
+    public void testExpectedIncome_destroyedTiles() {
+        GameModel game = TestGames.newGame(8);
+        for (int i = 0; i < 200 && !anyDestroyed(game); i++) {
+            game.increaseClimateAndDistributeDisasterCards();
+        }
+        assertTrue(anyDestroyed(game));
+        assertMatchesPayouts(game);
+    }
+
+    @Test
+    public void testExpectedIncome_followsNewSettlements() {
+        GameModel game = TestGames.newGame(9);
+        double before = game.getExpectedIncomeTotal(1);
+        assertEquals(before, game.getExpectedIncomeTotal(1)); // cached
+        // a settlement touching producing tiles, connected by new roads if need be
+        int vertex = -1;
+        for (int attempt = 0; attempt < 3 && vertex < 0; attempt++) {
+            long legal = game.getLegalSettlementMask(1);
+            for (; legal != 0 && vertex < 0; legal &= legal - 1) {
+                int v = Long.numberOfTrailingZeros(legal);
+                if (vertexPips(game, v) > 0) vertex = v;
+            }
+            if (vertex < 0) {
+                long lo = game.getLegalRoadMaskLo(1);
+                game.giveRoadResources(1);
+                game.buildRoad(lo != 0 ? Long.numberOfTrailingZeros(lo)
+                        : 64 + Long.numberOfTrailingZeros(game.getLegalRoadMaskHi(1)), 1);
+            }
+        }
+        game.giveSettlementResources(1);
+        assertTrue(game.buildSettlement(vertex, 1));
+        assertTrue(game.getExpectedIncomeTotal(1) > before);
+        assertMatchesPayouts(game);
+        assertThrows(IllegalArgumentException.class, () -> game.getExpectedIncome(7));
+    }
+
+    private static boolean anyDestroyed(GameModel game) {
+        for (Tile tile : game.getTiles()) {
+            if (tile.getIsDestroyed()) return true;
+        }
+        return false;
+    }
+
+    // Helper function; pays out every roll on a fork and checks the weighted total against the model
+    private static void assertMatchesPayouts(GameModel game) {
+        int players = game.getPlayers().size();
+        int resources = game.getConfig().getResourceCount();
+        int[][] total = new int[players][resources];
+        for (int roll = ProductionTable.MIN_ROLL; roll <= ProductionTable.MAX_ROLL; roll++) {
+            GameModel fork = game.fork();
+            int[][] before = new int[players][resources];
+            for (int p = 0; p < players; p++) {
+                for (int r = 0; r < resources; r++) before[p][r] = fork.getPlayer(p).getResourceCount(r);
+            }
+            fork.giveResourcesToPlayers(roll);
+            for (int p = 0; p < players; p++) {
+                for (int r = 0; r < resources; r++) {
+                    total[p][r] += IncomeModel.pips(roll) * (fork.getPlayer(p).getResourceCount(r) - before[p][r]);
+                }
+            }
+        }
+        for (int p = 0; p < players; p++) {
+            double[] expected = game.getExpectedIncome(p);
+            for (int r = 0; r < resources; r++) {
+                assertEquals((double) total[p][r] / IncomeModel.DICE_OUTCOMES, expected[r], 1e-12);
+            }
+        }
+    }
+
+    // Helper function; pips of the tiles touching a vertex
+    private static int vertexPips(GameModel game, int vertex) {
+        int sum = 0;
+        for (int i = 0; i < AdjacencyMaps.vertexTileCount(vertex); i++) {
+            sum += IncomeModel.pips(game.getTiles()[AdjacencyMaps.adjacentTile(vertex, i)].getNumber());
+        }
+        return sum;
+    }
+}
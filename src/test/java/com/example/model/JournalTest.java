@@ -0,0 +1,167 @@
+package com.example.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.model.config.ConfigManager;
+import com.example.model.config.ResourceConfig;
+import com.example.model.config.service.ConfigService;
+import com.example.model.trading.TradeBank;
+
+public class JournalTest {
+
+    private GameModel game;
+
+    @BeforeAll
+    public static void setUpAll(){
+        try {ConfigManager.loadAll();} catch (Exception e) { } // needed to load ResourceRegistry if not loaded, throws if already loaded
+    }
+
+    @BeforeEach
+    public void setUp(){
+        game = new GameModel();
+        game.initializePlayers(new ArrayList<>(List.of("Alice", "Bob", "Charlie")));
+        assertTrue(game.initializeBoard());
+    }
+
+    // Helper function; describes every part of the game state an undo must restore
+    private String snapshot(GameModel g) {
+        StringBuilder sb = new StringBuilder();
+        for (Player p : g.getPlayers()) {
+            sb.append(p.getId()).append(':');
+            for (ResourceConfig r : ConfigService.getAllResources()) {
+                sb.append(p.getResourceCount(r)).append(',');
+            }
+            sb.append(p.getTotalResources()).append(' ').append(p.getKnownVictoryPoints()).append(' ')
+                    .append(p.getHiddenVictoryPoints()).append(' ').append(p.numberOfCards()).append(' ')
+                    .append(p.getTilesRestored()).append(' ');
+            for (String structureID : ConfigService.getAllInfrastructureIDs()) {
+                sb.append(p.getStructuresRemaining(structureID)).append(',');
+            }
+            sb.append(g.getLegalSettlementMask(p.getId())).append(' ').append(g.getLegalCityMask(p.getId())).append(' ')
+                    .append(g.getLegalRoadMaskLo(p.getId())).append(' ').append(g.getLegalRoadMaskHi(p.getId())).append(' ')
+                    .append(g.playerHasLongestRoad(p.getId())).append('\n');
+        }
+        sb.append(g.getBankResources().values().stream().mapToInt(Integer::intValue).sum()).append('\n');
+        for (Settlement s : g.getSettlements()) {
+            sb.append(s.getPlayerID()).append(s.isCity() ? 'c' : 's');
+        }
+        sb.append('\n');
+        for (Road r : g.getRoads()) {
+            sb.append(r.getPlayerID()).append(',');
+        }
+        sb.append('\n');
+        for (Tile t : g.getTiles()) {
+            sb.append(t.getIsBlocked() ? 'b' : '-').append(t.getIsDestroyed() ? 'd' : '-');
+        }
+        sb.append(g.getClimateTracker().getClimateLevel()).append(' ').append(g.getDice1()).append(g.getDice2());
+        return sb.toString();
+    }
+
+    // Helper function; gets any legal road edge for the player, or -1
+    private int anyLegalRoad(int playerID) {
+        long lo = game.getLegalRoadMaskLo(playerID);
+        long hi = game.getLegalRoadMaskHi(playerID);
+        if (lo != 0) return Long.numberOfTrailingZeros(lo);
+        if (hi != 0) return 64 + Long.numberOfTrailingZeros(hi);
+        return -1;
+    }
+
+    @Test
+    public void testUndo_restoresWholeTurn(){
+        String before = snapshot(game);
+        int mark = game.getJournalMark();
+
+        int playerID = game.getPlayers().get(0).getId();
+        for (int i = 0; i < 3; i++) {
+            game.giveRoadResources(playerID);
+            int edge = anyLegalRoad(playerID);
+            assertTrue(edge >= 0);
+            assertTrue(game.buildRoad(edge, playerID));
+        }
+        long settlementMask = game.getLegalSettlementMask(playerID);
+        if (settlementMask != 0) {
+            game.giveSettlementResources(playerID);
+            assertTrue(game.buildSettlement(Long.numberOfTrailingZeros(settlementMask), playerID));
+        }
+        int cityVertex = Long.numberOfTrailingZeros(game.getLegalCityMask(playerID));
+        game.giveCityResources(playerID);
+        assertTrue(game.buildCity(cityVertex, playerID));
+        game.updateLongestRoad();
+
+        for (int i = 0; i < 20; i++) {
+            game.rollDice();
+        }
+        game.moveRobber(3);
+        game.checkPlayerResources();
+        ResourceConfig resource = ConfigService.getAllResources().iterator().next();
+        game.getPlayer(playerID).changeResourceCount(resource, TradeBank.TRADE_RATE);
+        for (ResourceConfig other : ConfigService.getAllResources()) {
+            if (other != resource) {
+                game.executeTrade(new TradeBank(playerID, resource, other));
+                break;
+            }
+        }
+        game.applyMonopoly(playerID, resource);
+        for (int i = 0; i < 3; i++) {
+            game.getPlayer(playerID).addStructureResources(ConfigService.getInfrastructure("player_infrastructure.dev_card"));
+            game.buyDevelopmentCard(playerID);
+        }
+        assertNotEquals(before, snapshot(game));
+
+        game.undoTo(mark);
+        assertEquals(before, snapshot(game));
+        assertEquals(mark, game.getJournalMark());
+    }
+
+    @Test
+    public void testUndo_repeatedSearchReusesJournal(){
+        int playerID = game.getPlayers().get(1).getId();
+        String before = snapshot(game);
+        int mark = game.getJournalMark();
+
+        for (int i = 0; i < 1000; i++) {
+            game.giveRoadResources(playerID);
+            assertTrue(game.buildRoad(anyLegalRoad(playerID), playerID));
+            game.undoTo(mark);
+        }
+        assertEquals(before, snapshot(game));
+        assertEquals(mark, game.getJournalMark());
+    }
+
+    @Test
+    public void testUndo_partialKeepsEarlierChanges(){
+        int playerID = game.getPlayers().get(0).getId();
+        game.giveRoadResources(playerID);
+        assertTrue(game.buildRoad(anyLegalRoad(playerID), playerID));
+        String afterFirst = snapshot(game);
+        int mark = game.getJournalMark();
+
+        game.giveRoadResources(playerID);
+        assertTrue(game.buildRoad(anyLegalRoad(playerID), playerID));
+        game.undoTo(mark);
+        assertEquals(afterFirst, snapshot(game));
+    }
+
+    @Test
+    public void testForkAndSetup_startWithEmptyJournal(){
+        assertEquals(0, game.getJournalMark());
+        game.rollDice();
+        assertTrue(game.getJournalMark() > 0);
+        assertEquals(0, game.fork().getJournalMark());
+    }
+
+    @Test
+    public void testInvalidMark_throws(){
+        assertThrows(IllegalArgumentException.class, () -> game.undoTo(game.getJournalMark() + 1));
+        assertThrows(IllegalArgumentException.class, () -> game.undoTo(-1));
+    }
+}
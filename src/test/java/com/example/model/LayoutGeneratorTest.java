@@ -0,0 +1,128 @@
+package com.example.model;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class LayoutGeneratorTest {
+
+    private static final int[] STANDARD_TOKENS = {-1, 2, 3, 3, 4, 4, 5, 5, 6, 6, 8, 8, 9, 9, 10, 10, 11, 11, 12};
+    // resource of each tile on a standard board, the desert at tile 9
+    private static final int[] STANDARD_GROUPS = {0, 1, 2, 3, 4, 0, 1, 2, 3, -1, 4, 0, 1, 2, 3, 4, 0, 3, 4};
+
+    @Test
+    public void testGenerate_keepsSixesAndEightsApart() {
+        LayoutGenerator generator = new LayoutGenerator(AdjacencyMaps.TileAdjacency);
+        for (long seed = 0; seed < 200; seed++) {
+            int[] numbers = generator.generate(STANDARD_TOKENS, STANDARD_GROUPS, new SplittableRandom(seed)).numbers();
+            assertEquals(0, numbers[9]);
+            assertNoAdjacent(numbers, 6, 8);
+
+            int[] placed = Arrays.stream(numbers).filter(n -> n != 0).sorted().toArray();
+            assertArrayEquals(Arrays.copyOfRange(STANDARD_TOKENS, 1, STANDARD_TOKENS.length), placed);
+        }
+    }
+
+    @Test
+    public void testGenerate_extraConstraints() {
+        LayoutGenerator generator = new LayoutGenerator(AdjacencyMaps.TileAdjacency, true, 2, LayoutGenerator.DEFAULT_MAX_STEPS);
+        int totalPips = 0;
+        for (int token : STANDARD_TOKENS) totalPips += LayoutGenerator.pips(token);
+        for (long seed = 0; seed < 500; seed++) {
+            int[] numbers = generator.generate(STANDARD_TOKENS, STANDARD_GROUPS, new SplittableRandom(seed)).numbers();
+            assertNoAdjacent(numbers, 6, 8);
+            assertNoAdjacent(numbers, 2, 12);
+
+            int[] groupPips = new int[5];
+            int[] groupTiles = new int[5];
+            for (int i = 0; i < numbers.length; i++) {
+                if (STANDARD_GROUPS[i] < 0) continue;
+                groupPips[STANDARD_GROUPS[i]] += LayoutGenerator.pips(numbers[i]);
+                groupTiles[STANDARD_GROUPS[i]]++;
+            }
+            for (int g = 0; g < 5; g++) {
+                double fair = (double) totalPips * groupTiles[g] / 18;
+                assertTrue(Math.abs(groupPips[g] - fair) <= 2, "resource " + g + " has " + groupPips[g] + " pips");
+            }
+        }
+    }
+
+    @Test
+    public void testGenerate_sameRandomSameLayout() {
+        LayoutGenerator generator = new LayoutGenerator(AdjacencyMaps.TileAdjacency);
+        LayoutGenerator.Layout a = generator.generate(STANDARD_TOKENS, STANDARD_GROUPS, new SplittableRandom(8));
+        LayoutGenerator.Layout b = generator.generate(STANDARD_TOKENS, STANDARD_GROUPS, new SplittableRandom(8));
+        assertArrayEquals(a.numbers(), b.numbers());
+        assertTrue(a.steps() >= 18);
+        assertTrue(a.nanos() > 0);
+    }
+
+    @Test
+    public void testGenerate_largerBoard() {
+        // 8 x 8 grid where each square touches its eight neighbours, 64 tokens with 12 sixes and eights
+        int size = 8;
+        int[][] adjacency = new int[size * size][];
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                int[] adj = new int[8];
+                int n = 0;
+                for (int dr = -1; dr <= 1; dr++) {
+                    for (int dc = -1; dc <= 1; dc++) {
+                        int rr = r + dr;
+                        int cc = c + dc;
+                        if ((dr != 0 || dc != 0) && rr >= 0 && rr < size && cc >= 0 && cc < size) adj[n++] = rr * size + cc;
+                    }
+                }
+                adjacency[r * size + c] = Arrays.copyOf(adj, n);
+            }
+        }
+        int[] tokens = new int[size * size];
+        int[] values = {6, 8, 2, 3, 4, 5, 9, 10, 11, 12};
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = i < 12 ? values[i % 2] : values[2 + i % 8];
+        }
+        int[] groups = new int[size * size];
+        for (int i = 0; i < groups.length; i++) groups[i] = i % 5;
+
+        int[] numbers = new LayoutGenerator(adjacency).generate(tokens, groups, new SplittableRandom(1)).numbers();
+        for (int i = 0; i < numbers.length; i++) {
+            if (numbers[i] != 6 && numbers[i] != 8) continue;
+            for (int adj : adjacency[i]) {
+                assertFalse(numbers[adj] == 6 || numbers[adj] == 8);
+            }
+        }
+    }
+
+    @Test
+    public void testGenerate_impossibleLayoutsTerminate() {
+        int[] allHot = {-1, 6, 6, 6, 6, 6, 6, 6, 6, 6, 8, 8, 8, 8, 8, 8, 8, 8, 8};
+        LayoutGenerator generator = new LayoutGenerator(AdjacencyMaps.TileAdjacency);
+        assertThrows(IllegalStateException.class, () -> generator.generate(allHot, STANDARD_GROUPS, new SplittableRandom(1)));
+
+        LayoutGenerator limited = new LayoutGenerator(AdjacencyMaps.TileAdjacency, true, 0, 10);
+        assertThrows(IllegalStateException.class, () -> limited.generate(STANDARD_TOKENS, STANDARD_GROUPS, new SplittableRandom(1)));
+    }
+
+    @Test
+    public void testGenerate_tokenCountMustMatch() {
+        LayoutGenerator generator = new LayoutGenerator(AdjacencyMaps.TileAdjacency);
+        int[] tooFew = Arrays.copyOf(STANDARD_TOKENS, 18);
+        assertThrows(IllegalArgumentException.class, () -> generator.generate(tooFew, STANDARD_GROUPS, new SplittableRandom(1)));
+    }
+
+    // Helper function; asserts no two tiles with either number touch
+    private static void assertNoAdjacent(int[] numbers, int first, int second) {
+        for (int i = 0; i < numbers.length; i++) {
+            if (numbers[i] != first && numbers[i] != second) continue;
+            for (int adj : AdjacencyMaps.TileAdjacency[i]) {
+                assertFalse(numbers[adj] == first || numbers[adj] == second, "tiles " + i + " and " + adj);
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.example.model.config.ConfigManager;
+
+public class LegalMoveIndexTest {
+
+    private Settlements settlements;
+    private Roads roads;
+    private LegalMoveIndex index;
+
+    @BeforeAll
+    public static void setUpAll(){
+        try {ConfigManager.loadAll();} catch (Exception e) { } // needed to load ResourceRegistry if not loaded, throws if already loaded
+    }
+
+    @BeforeEach
+    public void setUp(){
+        settlements = new Settlements(ConfigManager.getSnapshot());
+        roads = new Roads();
+        index = new LegalMoveIndex();
+    }
+
+    // Helper function; builds a settlement on the board and in the index
+    private void settle(int vertex, int playerID) {
+        assertTrue(settlements.buildSettlement(vertex, playerID));
+        index.onSettlementBuilt(vertex, playerID);
+    }
+
+    // Helper function; builds a road on the board and in the index
+    private void road(int v1, int v2, int playerID) {
+        assertTrue(roads.buildRoad(v1, v2, playerID));
+        index.onRoadBuilt(Roads.getRoadIndex(v1, v2), playerID);
+    }
+
+    @Test
+    public void testEmptyBoard_noPlayerMoves(){
+        assertEquals(0L, index.getSettlementMask(1));
+        assertEquals(0L, index.getCityMask(1));
+        assertEquals(0L, index.getRoadMaskLo(1));
+        assertEquals(0L, index.getRoadMaskHi(1));
+        assertEquals(Bitboards.NUMBER_OF_VERTICES, Long.bitCount(index.getOpenVertexMask()));
+        assertEquals(Bitboards.NUMBER_OF_EDGES,
+                Long.bitCount(index.getOpenEdgesLo()) + Long.bitCount(index.getOpenEdgesHi()));
+    }
+
+    @Test
+    public void testSettlement_blocksNeighboursAndAllowsCity(){
+        settle(0, 1);
+
+        long open = index.getOpenVertexMask();
+        assertEquals(0L, open & Bitboards.vertexBit(0));
+        assertEquals(0L, open & Bitboards.neighbours(0));
+        assertEquals(Bitboards.vertexBit(0), index.getCityMask(1));
+        assertEquals(0L, index.getCityMask(2));
+
+        settlements.upgradeSettlement(0, 1);
+        index.onCityBuilt(0, 1);
+        assertEquals(0L, index.getCityMask(1));
+    }
+
+    @Test
+    public void testRoad_extendsSettlementAndRoadMasks(){
+        settle(0, 1);
+        road(0, 1, 1);
+        road(1, 2, 1);
+
+        // vertex 1 is next to the settlement, vertex 2 is two edges away
+        assertFalse((index.getSettlementMask(1) & Bitboards.vertexBit(1)) != 0);
+        assertTrue((index.getSettlementMask(1) & Bitboards.vertexBit(2)) != 0);
+        assertEquals(0L, index.getSettlementMask(2));
+
+        assertFalse(Bitboards.hasEdge(index.getRoadMaskLo(1), index.getRoadMaskHi(1), Roads.getRoadIndex(0, 1)));
+        assertFalse(Bitboards.hasEdge(index.getRoadMaskLo(2), index.getRoadMaskHi(2), Roads.getRoadIndex(2, 3)));
+    }
+
+    @Test
+    public void testIncrementalMatchesScan(){
+        settle(0, 1);
+        road(0, 1, 1);
+        road(1, 2, 1);
+        road(2, 3, 1);
+        settle(10, 2);
+        road(10, 11, 2);
+        settle(3, 1);
+
+        for (int playerID = 1; playerID <= 2; playerID++) {
+            long settlementScan = 0L;
+            long cityScan = 0L;
+            for (int v = 0; v < Bitboards.NUMBER_OF_VERTICES; v++) {
+                if (settlements.ownedByPlayer(v) == Settlements.UNOWNED_SETTLEMENT_ID
+                        && !settlements.nearbySettlement(v)
+                        && roads.isVertexConnectedByPlayer(v, playerID)) {
+                    settlementScan |= Bitboards.vertexBit(v);
+                }
+                if (settlements.ownedByPlayer(v) == playerID && !settlements.GetSettlementFromVertex(v).isCity()) {
+                    cityScan |= Bitboards.vertexBit(v);
+                }
+            }
+            long roadScanLo = 0L;
+            long roadScanHi = 0L;
+            for (int e = 0; e < Bitboards.NUMBER_OF_EDGES; e++) {
+                if (!roads.isRoadOwned(e) && roads.isRoadConnectedByPlayer(e, playerID)) {
+                    if (Bitboards.isLowEdge(e)) roadScanLo |= Bitboards.edgeBit(e);
+                    else roadScanHi |= Bitboards.edgeBit(e);
+                }
+            }
+            assertEquals(settlementScan, index.getSettlementMask(playerID));
+            assertEquals(cityScan, index.getCityMask(playerID));
+            assertEquals(roadScanLo, index.getRoadMaskLo(playerID));
+            assertEquals(roadScanHi, index.getRoadMaskHi(playerID));
+        }
+    }
+
+    @Test
+    public void testRebuild_matchesIncremental(){
+        settle(0, 1);
+        road(0, 1, 1);
+        road(1, 2, 1);
+        settle(20, 2);
+        road(20, 21, 2);
+
+        LegalMoveIndex rebuilt = new LegalMoveIndex();
+        rebuilt.rebuild(settlements, roads);
+
+        assertEquals(index.getOpenVertexMask(), rebuilt.getOpenVertexMask());
+        for (int playerID = 1; playerID <= 2; playerID++) {
+            assertEquals(index.getSettlementMask(playerID), rebuilt.getSettlementMask(playerID));
+            assertEquals(index.getCityMask(playerID), rebuilt.getCityMask(playerID));
+            assertEquals(index.getRoadMaskLo(playerID), rebuilt.getRoadMaskLo(playerID));
+            assertEquals(index.getRoadMaskHi(playerID), rebuilt.getRoadMaskHi(playerID));
+        }
+    }
+
+    @Test
+    public void testJournal_savesOnlyChangedWords(){
+        settle(0, 0);
+        settle(20, 1);
+        settle(40, 2);
+        Journal journal = new Journal();
+        index.setJournal(journal);
+        long settlementMask = index.getSettlementMask(1);
+        long roadsLo = index.getRoadMaskLo(0);
+        long roadsHi = index.getRoadMaskHi(0);
+
+        road(0, Long.numberOfTrailingZeros(Bitboards.neighbours(0)), 0);
+        // 4 ints per changed word, at most: owned edges, and the builder's reach, settlements and two road words
+        assertTrue(journal.mark() <= 4 * 6);
+
+        while (!journal.isEmpty()) {
+            assertEquals(Journal.LEGAL_MOVES, journal.pop());
+            index.restore(journal);
+        }
+        assertEquals(settlementMask, index.getSettlementMask(1));
+        assertEquals(roadsLo, index.getRoadMaskLo(0));
+        assertEquals(roadsHi, index.getRoadMaskHi(0));
+    }
+}
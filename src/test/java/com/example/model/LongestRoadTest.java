@@ -0,0 +1,120 @@
+package com.example.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class LongestRoadTest {
+
+    private Roads roads;
+    private int savedMinimum;
+
+    @BeforeEach
+    public void setUp() {
+        roads = new Roads();
+        savedMinimum = Roads.minimumLongestRoadLength;
+        Roads.minimumLongestRoadLength = 5;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Roads.minimumLongestRoadLength = savedMinimum;
+    }
+
+    // Helper function; builds a chain of roads along the given vertices
+    private void chain(int playerID, int... vertices) {
+        for (int i = 0; i + 1 < vertices.length; i++) {
+            assertTrue(roads.buildRoad(vertices[i], vertices[i + 1], playerID));
+        }
+    }
+
+    @Test
+    public void testStanding_ownerAndLengthTogether() {
+        chain(1, 0, 1, 2, 3, 4, 5);
+        chain(2, 16, 17, 18);
+        int[] players = {1, 2};
+
+        LongestRoad.Standing standing = roads.getLongestRoadStanding(players);
+        assertTrue(standing.exists());
+        assertEquals(1, standing.getOwner());
+        assertEquals(5, standing.getLength());
+    }
+
+    @Test
+    public void testBelowMinimum_noOwnerButLengthReported() {
+        chain(1, 0, 1, 2);
+        LongestRoad.Standing standing = roads.getLongestRoadStanding(new int[]{1});
+        assertFalse(standing.exists());
+        assertEquals(2, standing.getLength());
+    }
+
+    @Test
+    public void testSeparateRoadsMerge() {
+        chain(1, 0, 1, 2);
+        chain(1, 3, 4, 5);
+        assertEquals(2, roads.getLongestRoad().getPlayerLength(1));
+
+        chain(1, 2, 3); // joins both pieces
+        assertEquals(5, roads.getLongestRoad().getPlayerLength(1));
+    }
+
+    @Test
+    public void testOpponentSettlementBreaksRoad() {
+        chain(1, 0, 1, 2, 3, 4, 5);
+        assertEquals(5, roads.getLongestRoad().getPlayerLength(1));
+
+        roads.getLongestRoad().onSettlementBuilt(2, 2);
+        assertEquals(3, roads.getLongestRoad().getPlayerLength(1)); // 2-3-4-5 remains
+
+        roads.getLongestRoad().onSettlementBuilt(0, 1); // own settlement does not break the road
+        assertEquals(3, roads.getLongestRoad().getPlayerLength(1));
+    }
+
+    @Test
+    public void testSettlementAtRoadEnd_keepsLength() {
+        chain(1, 0, 1, 2, 3, 4, 5);
+        roads.getLongestRoad().onSettlementBuilt(5, 2);
+        assertEquals(5, roads.getLongestRoad().getPlayerLength(1));
+    }
+
+    @Test
+    public void testTie_earlierRoadWins() {
+        chain(2, 16, 17, 18, 19, 20, 21);
+        chain(1, 0, 1, 2, 3, 4, 5);
+        assertEquals(2, roads.longestRoadOwner(new int[]{1, 2}));
+        assertEquals(2, roads.longestRoadOwner(new int[]{2, 1}));
+    }
+
+    @Test
+    public void testRemoveRoad_splitsComponent() {
+        chain(1, 0, 1, 2, 3, 4, 5);
+        roads.removeRoad(2, 3);
+        assertEquals(2, roads.getLongestRoad().getPlayerLength(1));
+        assertFalse(roads.longestRoadExists(new int[]{1}));
+    }
+
+    @Test
+    public void testCopy_updatesDoNotLeak() {
+        chain(1, 0, 1, 2, 3, 4, 5);
+        Roads copy = new Roads(roads);
+
+        copy.getLongestRoad().onSettlementBuilt(2, 2);
+        assertEquals(3, copy.getLongestRoad().getPlayerLength(1));
+        assertEquals(5, roads.getLongestRoad().getPlayerLength(1));
+
+        roads.removeRoad(0, 1);
+        assertEquals(4, roads.getLongestRoad().getPlayerLength(1));
+        assertEquals(1, copy.getRoad(Roads.getRoadIndex(0, 1)).getPlayerID());
+        assertEquals(3, copy.getLongestRoad().getPlayerLength(1));
+    }
+
+    @Test
+    public void testLoop_countsEveryEdge() {
+        // hexagon around the first tile: 0-1-2-10-9-8-0
+        chain(1, 0, 1, 2, 10, 9, 8, 0);
+        assertEquals(6, roads.getLongestRoad().getPlayerLength(1));
+    }
+}
@@ -11,7 +11,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import com.example.model.config.ConfigManager;
+import com.example.model.config.PlayerInfrastructureConfig;
+import com.example.model.config.ResourceConfig;
 import com.example.model.config.registry.ResourceRegistry;
+import com.example.model.config.service.ConfigService;
 
 
 
@@ -180,4 +183,44 @@ public class PlayerTest {
         // removed resourceID, as ResourceConfig does not have toString implemented
         assertTrue(s.contains("dev.foo"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void resourceVector_ordinalAndConfigAccessAgree() {
+        Player p = new Player("Vector");
+        ResourceRegistry registry = ResourceRegistry.getInstance();
+        ResourceConfig wood = registry.get("resource.wood");
+
+        assertTrue(p.changeResourceCount(wood.getOrdinal(), 3));
+        assertEquals(3, p.getResourceCount(wood));
+        assertFalse(p.changeResourceCount(wood, -4)); // cannot go negative
+        assertEquals(3, p.getTotalResources());
+
+        p.setResourceCount(registry.get("resource.ore"), 2);
+        assertEquals(5, p.getTotalResources());
+        assertEquals(Integer.valueOf(2), p.getResourcesMap().get(registry.get("resource.ore")));
+
+        assertEquals(0, p.getResourceCount((ResourceConfig) null));
+    }
+
+    @Test
+    public void structureCosts_affordDeductAndCount() {
+        Player p = new Player("Builder");
+        PlayerInfrastructureConfig road = ConfigService.getInfrastructure("player_infrastructure.road");
+        assertFalse(p.hasEnoughResourcesForStructure(road));
+        assertEquals(0, p.affordableCount(road));
+
+        p.addStructureResources(road);
+        p.addStructureResources(road);
+        p.addStructureResources(road);
+        assertTrue(p.hasEnoughResourcesForStructure("player_infrastructure.road"));
+        assertEquals(3, p.affordableCount(road));
+
+        assertTrue(p.deductStructureResources(road));
+        assertEquals(2, p.affordableCount(road));
+
+        // a failed deduction leaves the hand untouched
+        int before = p.getTotalResources();
+        assertFalse(p.deductStructureResources("player_infrastructure.city"));
+        assertEquals(before, p.getTotalResources());
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.example.model.config.ConfigManager;
+
+public class ProductionTableTest {
+
+    private Tiles tiles;
+    private Settlements settlements;
+    private ProductionTable table;
+    private int tileIndex;
+    private int roll;
+    private int vertex;
+
+    @BeforeAll
+    public static void setUpAll(){
+        try {ConfigManager.loadAll();} catch (Exception e) { } // needed to load ResourceRegistry if not loaded, throws if already loaded
+    }
+
+    @BeforeEach
+    public void setUp(){
+        tiles = new Tiles();
+        settlements = new Settlements(ConfigManager.getSnapshot());
+        table = new ProductionTable();
+        table.setPlayers(new int[]{4, 7});
+
+        // first producing tile on the board
+        tileIndex = 0;
+        while (tiles.getTiles()[tileIndex].getNumber() == 0) {
+            tileIndex++;
+        }
+        roll = tiles.getTiles()[tileIndex].getNumber();
+        vertex = AdjacencyMaps.TileVertices[tileIndex][0];
+    }
+
+    // Helper function; sums the amount of every entry on the roll owned by the player index
+    private int payout(int playerIndex) {
+        table.refresh(tiles, settlements);
+        int total = 0;
+        int[] entries = table.getEntries(roll);
+        for (int i = 0; i < table.getEntryCount(roll); i++) {
+            if (ProductionTable.playerIndex(entries[i]) == playerIndex) {
+                total += ProductionTable.amount(entries[i]);
+            }
+        }
+        return total;
+    }
+
+    @Test
+    public void testEmptyBoard_noEntries(){
+        table.refresh(tiles, settlements);
+        for (int r = ProductionTable.MIN_ROLL; r <= ProductionTable.MAX_ROLL; r++) {
+            assertEquals(0, table.getEntryCount(r));
+        }
+        assertEquals(0, table.getEntryCount(7));
+        assertEquals(0, table.getEntryCount(99));
+    }
+
+    @Test
+    public void testSettlementAndCity_amounts(){
+        settlements.buildSettlement(vertex, 7);
+        table.onVertexChanged(vertex);
+        assertEquals(1, payout(1));
+        assertEquals(0, payout(0));
+
+        int[] entries = table.getEntries(roll);
+        assertEquals(tiles.getTiles()[tileIndex].getResourceFromTileID(), ConfigManager.getSnapshot().getResource(ProductionTable.resourceOrdinal(entries[0])));
+        assertFalse(ProductionTable.isCity(entries[0]));
+
+        settlements.upgradeSettlement(vertex, 7);
+        table.onVertexChanged(vertex);
+        assertEquals(2, payout(1));
+        assertTrue(ProductionTable.isCity(table.getEntries(roll)[0]));
+    }
+
+    @Test
+    public void testRobber_blocksSettlementsAndBoostsCities(){
+        settlements.buildSettlement(vertex, 4);
+        table.onVertexChanged(vertex);
+        tiles.changeBlockedTile(tileIndex);
+        table.invalidateAll();
+        assertEquals(0, payout(0));
+
+        settlements.upgradeSettlement(vertex, 4);
+        table.onVertexChanged(vertex);
+        assertEquals(4, payout(0));
+        assertTrue(ProductionTable.isBlocked(table.getEntries(roll)[0]));
+    }
+
+    @Test
+    public void testDestroyAndRestore(){
+        settlements.buildSettlement(vertex, 4);
+        table.onVertexChanged(vertex);
+        assertEquals(1, payout(0));
+
+        tiles.getTiles()[tileIndex].setIsDestroyed(true);
+        table.onTileChanged(tileIndex);
+        assertEquals(0, payout(0));
+
+        assertTrue(tiles.restoreTile(tileIndex));
+        table.onTileChanged(tileIndex);
+        assertEquals(1, payout(0));
+    }
+
+    @Test
+    public void testUnknownPlayer_throws(){
+        settlements.buildSettlement(vertex, 99);
+        table.onVertexChanged(vertex);
+        assertThrows(IllegalStateException.class, () -> table.refresh(tiles, settlements));
+    }
+}
@@ -278,4 +278,22 @@ public class RoadsTest {
         field.setAccessible(true);
         assertEquals(4, field.getInt(roads));
     }
+
+    @Test
+    public void testBitboardsTrackBuildsAndRemovals() {
+        roads.buildRoad(0, 1); // {0, 1}
+        roads.buildRoad(1, 1); // {1, 2}
+        roads.buildRoad(70, 2); // {51, 52}
+
+        assertEquals(Bitboards.edgeBit(0) | Bitboards.edgeBit(1), roads.getPlayerEdgesLo(1));
+        assertEquals(Bitboards.edgeBit(70), roads.getPlayerEdgesHi(2));
+        assertEquals(Bitboards.edgeBit(0) | Bitboards.edgeBit(1), roads.getOwnedEdgesLo());
+        assertEquals(Bitboards.edgeBit(70), roads.getOwnedEdgesHi());
+
+        roads.removeRoad(0);
+        assertFalse(roads.isVertexConnectedByPlayer(0, 1)); // only touched by the removed road
+        assertTrue(roads.isVertexConnectedByPlayer(1, 1)); // still touched by road {1, 2}
+        assertTrue(roads.isRoadConnectedByPlayer(0, 1));
+        assertFalse(roads.isRoadConnectedByPlayer(0, 2));
+    }
 }
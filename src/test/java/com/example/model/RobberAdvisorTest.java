@@ -0,0 +1,99 @@
+package com.example.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.example.model.config.ConfigManager;
+
+public class RobberAdvisorTest {
+
+    @BeforeAll
+    public static void initConfig() {
+        try {ConfigManager.loadAll();} catch (Exception e) { } // needed to load ResourceRegistry
+    }
+
+    @Test
+    public void testRank_everyTileButTheRobbers() {
+        GameModel game = TestGames.newGame(3);
+        RobberAdvisor.Advice[] advice = new RobberAdvisor(1).rank(game, 0);
+        assertEquals(game.getNumberOfTiles() - 1, advice.length);
+        for (int i = 0; i < advice.length; i++) {
+            assertNotEquals(game.getBlockedTileIndex(), advice[i].tile());
+            if (i > 0) assertTrue(advice[i - 1].score() >= advice[i].score());
+        }
+    }
+
+    @Test
+    public void testRank_doesNotChangeTheGame() {
+        GameModel game = TestGames.newGame(4);
+        int robber = game.getBlockedTileIndex();
+        double income = game.getExpectedIncomeTotal(1);
+        byte[] before = TestGames.saveBytes(game); // holds the random's state too
+        new RobberAdvisor(2).rank(game, 0);
+        assertEquals(robber, game.getBlockedTileIndex());
+        assertEquals(income, game.getExpectedIncomeTotal(1));
+        assertArrayEquals(before, TestGames.saveBytes(game));
+    }
+
+    @Test
+    public void testRank_lossesMatchTheIncomeModel() {
+        GameModel game = TestGames.newGame(5);
+        for (RobberAdvisor.Advice advice : new RobberAdvisor(1).rank(game, 0)) {
+            GameModel fork = game.fork();
+            double opponentsBefore = 0;
+            for (int p = 1; p < 3; p++) opponentsBefore += fork.getExpectedIncomeTotal(p);
+            double ownBefore = fork.getExpectedIncomeTotal(0);
+            fork.moveRobber(advice.tile());
+            double opponentsAfter = 0;
+            for (int p = 1; p < 3; p++) opponentsAfter += fork.getExpectedIncomeTotal(p);
+            assertEquals(opponentsBefore - opponentsAfter, advice.opponentLoss(), 1e-9);
+            assertEquals(ownBefore - fork.getExpectedIncomeTotal(0), advice.ownLoss(), 1e-9);
+        }
+    }
+
+    @Test
+    public void testBestTile_sameWhateverTheThreads() {
+        GameModel game = TestGames.newGame(6);
+        for (int i = 0; i < 3; i++) {
+            game.giveSettlementResources(1); // give the victims cards to steal
+            game.giveCityResources(2);
+        }
+        RobberAdvisor.Advice[] serial = new RobberAdvisor(1).rank(game, 0);
+        RobberAdvisor.Advice[] parallel = new RobberAdvisor(3, 1).rank(game, 0);
+        for (int i = 0; i < serial.length; i++) {
+            assertEquals(serial[i].tile(), parallel[i].tile());
+            assertEquals(serial[i].score(), parallel[i].score());
+        }
+        RobberAdvisor.Advice best = serial[0];
+        assertTrue(best.opponentLoss() > 0);
+        assertTrue(best.ownLoss() <= 0 || best.opponentLoss() > best.ownLoss());
+    }
+
+    @Test
+    public void testBestStealVertex_picksAValidVictim() {
+        GameModel game = TestGames.newGame(7);
+        game.giveCityResources(1);
+        game.giveCityResources(2);
+        RobberAdvisor advisor = new RobberAdvisor(1);
+        for (RobberAdvisor.Advice advice : advisor.rank(game, 0)) {
+            if (advice.victim() < 0) continue;
+            game.moveRobber(advice.tile());
+            int vertex = advisor.bestStealVertex(game, 0);
+            assertTrue(game.stealValid(vertex, 0));
+            assertEquals(advice.victim(), game.getSettlmentOwner(vertex));
+            assertEquals(1.0, advice.stealChance());
+            return;
+        }
+        throw new AssertionError("no tile with a victim");
+    }
+
+    @Test
+    public void testConstructor_rejectsNoThreads() {
+        assertThrows(IllegalArgumentException.class, () -> new RobberAdvisor(0));
+    }
+}
@@ -21,14 +21,14 @@ public class SettlementsTest {
     
     @BeforeEach
     public void setUp(){
-        settlements = new Settlements();
+        settlements = new Settlements(ConfigManager.getSnapshot());
     }
 
-    //Settlements()
+    //Settlements(ConfigSnapshot)
 
     @Test
     public void testConstructor_initialState(){
-        Settlements s = new Settlements();
+        Settlements s = new Settlements(ConfigManager.getSnapshot());
 
         assertEquals(Settlements.NUMBER_OF_VERTICES, s.getAllSettlements().length); // test that all vertices have unowned settlements associated
 
@@ -171,4 +171,28 @@ public class SettlementsTest {
         assertFalse(settlements.nearbySettlement(15)); // not near any settlement
     }
 
+    //bitboards
+
+    @Test
+    void testBitboardsTrackBuildsAndUpgrades() {
+        settlements.buildSettlement(10, 1);
+        settlements.buildSettlement(20, 2);
+        settlements.upgradeSettlement(20, 2);
+
+        assertEquals(Bitboards.vertexBit(10) | Bitboards.vertexBit(20), settlements.getOccupiedMask());
+        assertEquals(Bitboards.vertexBit(10), settlements.getPlayerMask(1));
+        assertEquals(Bitboards.vertexBit(20), settlements.getPlayerMask(2));
+        assertEquals(Bitboards.vertexBit(20), settlements.getCityMask());
+        assertEquals(0L, settlements.getPlayerMask(99));
+    }
+
+    //GetSettlementFromVertex()
+
+    @Test
+    public void testGetSettlementFromVertex(){
+        assertEquals(null, settlements.GetSettlementFromVertex(7));
+        settlements.buildSettlement(7, 1);
+        assertEquals(7, settlements.GetSettlementFromVertex(7).getVertex());
+        assertEquals(null, settlements.GetSettlementFromVertex(-1));
+    }
 }
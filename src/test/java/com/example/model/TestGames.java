@@ -0,0 +1,78 @@
+package com.example.model;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.example.model.config.ConfigManager;
+
+/**
+ * TestGames Class; seeded games shared by the model tests
+ * Games have three players, one with a non-ASCII name so every save also covers the name encoding.
+ * ConfigManager.loadAll must have run, as every test's setUpAll does.
+ */
+final class TestGames {
+
+    private TestGames() {}
+
+    // Helper function; a three player game after the opening placements
+    static GameModel newGame(long seed) {
+        GameModel game = new GameModel(ConfigManager.getSnapshot(), seed);
+        game.initializePlayers(new ArrayList<>(List.of("Ann", "Bé", "Cy")));
+        assertTrue(game.initializeBoard());
+        return game;
+    }
+
+    // Helper function; a three player game played for some rounds, with every kind of piece and card
+    static GameModel played(long seed, int rounds) {
+        GameModel game = newGame(seed);
+        play(game, new SplittableRandom(seed), rounds);
+        return game;
+    }
+
+    // Helper function; plays rounds of rolls, builds, card buys and robber moves
+    static void play(GameModel game, SplittableRandom random, int rounds) {
+        int players = game.getPlayers().size();
+        for (int round = 0; round < rounds; round++) {
+            int playerID = round % players;
+            game.rollDice();
+            int roll = game.getDice1() + game.getDice2();
+            if (roll == 7) {
+                game.moveRobber(random.nextInt(game.getNumberOfTiles()));
+            } else {
+                game.giveResourcesToPlayers(roll);
+            }
+
+            game.giveRoadResources(playerID);
+            long lo = game.getLegalRoadMaskLo(playerID);
+            long hi = game.getLegalRoadMaskHi(playerID);
+            if (lo != 0) {
+                game.buildRoad(Long.numberOfTrailingZeros(lo), playerID);
+            } else if (hi != 0) {
+                game.buildRoad(64 + Long.numberOfTrailingZeros(hi), playerID);
+            }
+            game.updateLongestRoad();
+            if (round % 3 == 0 && game.getLegalSettlementMask(playerID) != 0) {
+                game.giveSettlementResources(playerID);
+                game.buildSettlement(Long.numberOfTrailingZeros(game.getLegalSettlementMask(playerID)), playerID);
+            }
+            if (round % 4 == 1 && game.getLegalCityMask(playerID) != 0) {
+                game.giveCityResources(playerID);
+                game.buildCity(Long.numberOfTrailingZeros(game.getLegalCityMask(playerID)), playerID);
+            }
+            if (round % 5 == 2) {
+                game.getPlayer(playerID).addStructureResources(
+                        game.getConfig().getInfrastructure("player_infrastructure.dev_card"));
+                game.buyDevelopmentCard(playerID);
+            }
+            game.updateCleanestEnvironment();
+        }
+    }
+
+    // Helper function; the game as GameSave writes it, for comparing games byte for byte
+    static byte[] saveBytes(GameModel game) {
+        return GameSave.toBytes(game);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.model.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.example.model.GameModel;
+
+public class ConfigSnapshotTest {
+
+    @Test
+    public void testLoad_ordinalsAndHandlesFollowFileOrder() {
+        ConfigSnapshot config = ConfigSnapshot.load();
+        assertTrue(config.getResourceCount() > 0);
+        for (int i = 0; i < config.getResourceCount(); i++) {
+            ResourceConfig resource = config.getResource(i);
+            assertEquals(i, resource.getOrdinal());
+            assertSame(resource, config.getResource(resource.id));
+        }
+        for (int i = 0; i < config.getAllInfrastructure().size(); i++) {
+            PlayerInfrastructureConfig structure = config.getInfrastructure(i);
+            assertEquals(i, config.handleOf(structure.id));
+            assertEquals(config.getResourceCount(), structure.getCostVector().length);
+        }
+        assertNull(config.getTileResource("tile.desert"));
+        assertNull(config.getTileResource(null));
+    }
+
+    @Test
+    public void testLoad_isDeeplyImmutable() {
+        ConfigSnapshot config = ConfigSnapshot.load();
+        assertThrows(UnsupportedOperationException.class, () -> config.getAllResources().clear());
+        assertThrows(UnsupportedOperationException.class, () -> config.getAllTileIDs().add("tile.gold"));
+        assertThrows(UnsupportedOperationException.class, () -> config.getNumberTokens().put(7, 1));
+        PlayerInfrastructureConfig road = config.getInfrastructure("player_infrastructure.road");
+        assertThrows(UnsupportedOperationException.class, () -> road.constructionCosts.clear());
+        assertTrue(road.isCompiled()); // compiled when frozen, never lazily from the global registries
+        assertSame(road, road.compileCosts(id -> null, 0));
+        assertThrows(IllegalStateException.class, () -> config.getResource(0).assignOrdinal(1));
+        assertThrows(IllegalArgumentException.class, () -> config.handleOf("player_infrastructure.castle"));
+    }
+
+    @Test
+    public void testLoad_sharesNothingWithOtherSnapshots() {
+        ConfigSnapshot a = ConfigSnapshot.load();
+        ConfigSnapshot b = ConfigSnapshot.load();
+        assertNotSame(a.getResource(0), b.getResource(0));
+        assertEquals(a.getResource(0), b.getResource(0));
+    }
+
+    @Test
+    public void testWithGameRules_gamesUseTheirOwnRules() {
+        ConfigSnapshot standard = ConfigSnapshot.load();
+        GameRulesConfig rules = standard.getGameRules();
+        ConfigSnapshot quick = standard.withGameRules(
+                new GameRulesConfig(rules.players, 2, rules.robberCardLimit, rules.numberTokens, 0));
+        assertSame(standard.getResource(0), quick.getResource(0));
+
+        GameModel standardGame = newGame(standard);
+        GameModel quickGame = newGame(quick);
+        assertSame(quick, quickGame.getConfig());
+        assertFalse(standardGame.checkIfGameOver());
+        assertTrue(quickGame.checkIfGameOver()); // every player starts with two settlements
+    }
+
+    // Helper function; sets up a three player game on the configs
+    private GameModel newGame(ConfigSnapshot config) {
+        while (true) {
+            GameModel game = new GameModel(config);
+            game.initializePlayers(new ArrayList<>(List.of("Alice", "Bob", "Charlie")));
+            if (game.initializeBoard()) {
+                return game;
+            }
+        }
+    }
+}
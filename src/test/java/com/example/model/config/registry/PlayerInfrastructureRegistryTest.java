@@ -35,4 +35,14 @@ class PlayerInfrastructureRegistryTest {
     void testLoadDoesNotThrowException() {
         assertDoesNotThrow(() -> registry.load(mapper), "load should not throw an exception");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testLoadAssignsHandles() {
+        registry.load(mapper);
+        for (var structure : registry.all()) {
+            assertSame(structure, registry.byHandle(structure.getHandle()));
+            assertEquals(structure.getHandle(), registry.handleOf(structure.id));
+        }
+        assertThrows(IllegalArgumentException.class, () -> registry.handleOf("player_infrastructure.missing"));
+    }
+}
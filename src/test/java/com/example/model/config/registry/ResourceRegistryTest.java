@@ -38,4 +38,17 @@ class ResourceRegistryTest {
     void testLoadDoesNotThrowException() {
         assertDoesNotThrow(() -> registry.load(mapper), "load should not throw an exception");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testLoadAssignsDenseOrdinals() {
+        registry.load(mapper);
+        boolean[] seen = new boolean[registry.size()];
+        for (var resource : registry.all()) {
+            int ordinal = resource.getOrdinal();
+            assertTrue(ordinal >= 0 && ordinal < registry.size(), "ordinal should be in range");
+            assertFalse(seen[ordinal], "ordinals should be unique");
+            seen[ordinal] = true;
+            assertSame(resource, registry.byOrdinal(ordinal));
+        }
+    }
+}
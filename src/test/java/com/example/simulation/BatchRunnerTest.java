@@ -0,0 +1,98 @@
+package com.example.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.example.model.config.ConfigManager;
+
+public class BatchRunnerTest {
+
+    private static final int MAX_TURNS = 300;
+
+    @BeforeAll
+    public static void setUpAll(){
+        try {ConfigManager.loadAll();} catch (Exception e) { } // needed to load ResourceRegistry if not loaded, throws if already loaded
+    }
+
+    private GameRunner runner() {
+        return new GameRunner(new Bot[]{new GreedyBot(), new GreedyBot(), new RandomBot(), new RandomBot()}, MAX_TURNS);
+    }
+
+    @Test
+    public void testGame_endsWithWinnerOrTurnLimit(){
+        for (int i = 0; i < 20; i++) {
+            GameResult result = runner().play(BatchRunner.gameRandom(42, i));
+            assertTrue(result.turns() > 0 && result.turns() <= MAX_TURNS);
+            if (result.isFinished()) {
+                assertTrue(result.victoryPoints()[result.winner()] >= 10);
+            } else {
+                assertEquals(MAX_TURNS, result.turns());
+            }
+        }
+    }
+
+    @Test
+    public void testBatch_countsEveryGame(){
+        BatchReport report = new BatchRunner(runner(), 4).run(40, 7);
+        BatchStats stats = report.stats();
+        assertEquals(40, stats.getGames());
+
+        int wins = 0;
+        for (int seat = 0; seat < stats.getSeats(); seat++) {
+            wins += stats.getWins(seat);
+        }
+        assertEquals(40, wins + stats.getUnfinished());
+
+        int histogramTotal = 0;
+        for (int count : stats.getTurnHistogram()) {
+            histogramTotal += count;
+        }
+        assertEquals(40, histogramTotal);
+        assertTrue(report.getGamesPerSecond() > 0);
+    }
+
+    @Test
+    public void testBatch_sameSeedSameStats(){
+        BatchStats single = new BatchRunner(runner(), 1).run(16, 99).stats();
+        BatchStats parallel = new BatchRunner(runner(), 3).run(16, 99).stats();
+        assertEquals(single.getTotalTurns(), parallel.getTotalTurns());
+        assertEquals(single.getUnfinished(), parallel.getUnfinished());
+        for (int seat = 0; seat < single.getSeats(); seat++) {
+            assertEquals(single.getWins(seat), parallel.getWins(seat));
+            assertEquals(single.getAverageVictoryPoints(seat), parallel.getAverageVictoryPoints(seat));
+        }
+        assertArrayEquals(single.getTurnHistogram(), parallel.getTurnHistogram());
+    }
+
+    @Test
+    public void testStats_mergeMatchesSingleStats(){
+        GameResult a = new GameResult(1, 55, new int[]{4, 10, 3});
+        GameResult b = new GameResult(-1, 300, new int[]{7, 8, 9});
+
+        BatchStats whole = new BatchStats(3, MAX_TURNS);
+        whole.add(a);
+        whole.add(b);
+        BatchStats left = new BatchStats(3, MAX_TURNS);
+        left.add(a);
+        BatchStats right = new BatchStats(3, MAX_TURNS);
+        right.add(b);
+        left.merge(right);
+
+        assertEquals(whole.getGames(), left.getGames());
+        assertEquals(1, left.getUnfinished());
+        assertEquals(355, left.getTotalTurns());
+        assertEquals(1, left.getWins(1));
+        assertEquals(5.5, left.getAverageVictoryPoints(0));
+        assertArrayEquals(whole.getTurnHistogram(), left.getTurnHistogram());
+        assertThrows(IllegalArgumentException.class, () -> left.merge(new BatchStats(4, MAX_TURNS)));
+    }
+
+    @Test
+    public void testTooFewBots_throws(){
+        assertThrows(IllegalArgumentException.class, () -> new GameRunner(new Bot[]{new RandomBot()}, MAX_TURNS));
+    }
+}
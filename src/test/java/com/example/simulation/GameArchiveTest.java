@@ -0,0 +1,166 @@
+package com.example.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.model.config.ConfigManager;
+
+public class GameArchiveTest {
+
+    private static final int MAX_TURNS = 300;
+    private static final int GAMES = 24;
+
+    private Path dir;
+    private Path file;
+
+    @BeforeAll
+    public static void setUpAll(){
+        try {ConfigManager.loadAll();} catch (Exception e) { } // needed to load ResourceRegistry if not loaded, throws if already loaded
+    }
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("archive");
+        file = dir.resolve("games.carc");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir);
+    }
+
+    private GameRunner runner() {
+        return new GameRunner(new Bot[]{new GreedyBot(), new GreedyBot(), new RandomBot(), new RandomBot()}, MAX_TURNS);
+    }
+
+    private int resources() {
+        return ConfigManager.getSnapshot().getResourceCount();
+    }
+
+    @Test
+    public void testCodec_roundTrips() throws IOException {
+        int[] values = {0, 0, 0, 5, 5, 5, 5, -3, 7, Integer.MAX_VALUE, Integer.MIN_VALUE, 0, 1, 1, 1, 2};
+        byte[] encoded = ColumnCodec.encode(values, values.length);
+        assertArrayEquals(values, ColumnCodec.decode(ByteBuffer.wrap(encoded), values.length));
+
+        int[] constant = new int[10_000];
+        Arrays.fill(constant, 9);
+        encoded = ColumnCodec.encode(constant, constant.length);
+        assertTrue(encoded.length < 8); // one value, then a single run
+        assertArrayEquals(constant, ColumnCodec.decode(ByteBuffer.wrap(encoded), constant.length));
+
+        assertThrows(IOException.class, () -> ColumnCodec.decode(ByteBuffer.wrap(new byte[]{0, 5}), 3));
+    }
+
+    @Test
+    public void testTrace_playsTheSameGame(){
+        for (int i = 0; i < 5; i++) {
+            GameResult played = runner().play(BatchRunner.gameRandom(3, i));
+            GameTrace trace = runner().trace(BatchRunner.gameRandom(3, i));
+            assertEquals(played.winner(), trace.getResult().winner());
+            assertEquals(played.turns(), trace.getResult().turns());
+            assertArrayEquals(played.victoryPoints(), trace.getResult().victoryPoints());
+            assertEquals(played.turns(), trace.getTurns());
+
+            int last = trace.getTurns() - 1;
+            for (int seat = 0; seat < trace.getSeats(); seat++) {
+                assertEquals(played.victoryPoints()[seat], trace.getVictoryPoints(last, seat));
+                assertTrue(trace.getOpeningVertex(seat, 1) >= 0);
+                assertTrue(trace.getOpeningPips(seat) > 0);
+            }
+            for (int turn = 0; turn < trace.getTurns(); turn++) {
+                assertTrue(trace.getRoll(turn) >= 2 && trace.getRoll(turn) <= 12);
+                assertEquals(trace.getRoll(turn) == 7, (trace.getAction(turn) & GameTrace.ROBBER) != 0);
+            }
+        }
+    }
+
+    @Test
+    public void testArchive_columnsMatchTheTraces() throws IOException {
+        GameTrace[] traces = new GameTrace[GAMES];
+        try (GameArchiveWriter writer = new GameArchiveWriter(file, 4, resources())) {
+            for (int i = 0; i < GAMES; i++) {
+                traces[i] = runner().trace(BatchRunner.gameRandom(11, i));
+                writer.add(i, traces[i]);
+            }
+        }
+
+        try (GameArchive archive = GameArchive.open(file)) {
+            assertEquals(GAMES, archive.getGameCount());
+            assertEquals(1, archive.getRowGroupCount());
+            int[] winners = archive.readGameColumn("winner");
+            int[] pips = archive.readGameColumn("pips.2");
+            int[] game = archive.readTurnColumn("game");
+            int[] rolls = archive.readTurnColumn("roll");
+            int[] points = archive.readTurnColumn("vp.1");
+            int[] ore = archive.readTurnColumn("resources.3." + (resources() - 1));
+
+            int row = 0;
+            for (int i = 0; i < GAMES; i++) {
+                assertEquals(traces[i].getResult().winner(), winners[i]);
+                assertEquals(traces[i].getOpeningPips(2), pips[i]);
+                for (int turn = 0; turn < traces[i].getTurns(); turn++, row++) {
+                    assertEquals(i, game[row]);
+                    assertEquals(traces[i].getRoll(turn), rolls[row]);
+                    assertEquals(traces[i].getVictoryPoints(turn, 1), points[row]);
+                    assertEquals(traces[i].getResourceCount(turn, 3, resources() - 1), ore[row]);
+                }
+            }
+            assertEquals(archive.getTurnCount(), row);
+        }
+    }
+
+    @Test
+    public void testWinRateByOpeningPips_countsEverySeat() throws IOException {
+        BatchReport report;
+        try (GameArchiveWriter writer = new GameArchiveWriter(file, 4, resources())) {
+            report = new BatchRunner(runner(), 2).run(GAMES, 5, writer);
+        }
+        assertEquals(GAMES, report.stats().getGames());
+
+        try (GameArchive archive = GameArchive.open(file)) {
+            List<GameArchive.WinRate> rates = archive.winRateByOpeningPips();
+            long seats = 0;
+            long wins = 0;
+            for (GameArchive.WinRate rate : rates) {
+                seats += rate.seats();
+                wins += rate.wins();
+                assertTrue(rate.winRate() >= 0 && rate.winRate() <= 1);
+            }
+            assertEquals(GAMES * 4L, seats);
+            assertEquals(GAMES - report.stats().getUnfinished(), wins);
+        }
+    }
+
+    @Test
+    public void testOpen_rejectsDamagedFiles() throws IOException {
+        try (GameArchiveWriter writer = new GameArchiveWriter(file, 4, resources())) {
+            writer.add(0, runner().trace(BatchRunner.gameRandom(1, 0)));
+        }
+        byte[] bytes = Files.readAllBytes(file);
+
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+        assertThrows(IOException.class, () -> GameArchive.open(file));
+
+        bytes[GameArchive.HEADER_SIZE] ^= 0x55; // inside the first chunk, the game column
+        Files.write(file, bytes);
+        try (GameArchive archive = GameArchive.open(file)) {
+            assertThrows(IOException.class, () -> archive.readGameColumn("game"));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.example.model.GameModel;
+import com.example.model.config.ConfigManager;
+
+public class MctsBotTest {
+
+    private static final int MAX_TURNS = 80;
+
+    @BeforeAll
+    public static void setUpAll(){
+        try {ConfigManager.loadAll();} catch (Exception e) { } // needed to load ResourceRegistry if not loaded, throws if already loaded
+    }
+
+    private GameModel newGame(long seed) {
+        GameModel game = new GameModel(ConfigManager.getSnapshot(), seed);
+        game.initializePlayers(new ArrayList<>(List.of("Alice", "Bob", "Charlie")));
+        while (!game.initializeBoard()) {
+            game = new GameModel(ConfigManager.getSnapshot(), ++seed);
+            game.initializePlayers(new ArrayList<>(List.of("Alice", "Bob", "Charlie")));
+        }
+        return game;
+    }
+
+    @Test
+    public void testLegalActions_robberPhaseSkipsBlockedTile(){
+        GameModel game = newGame(4);
+        int[] actions = MctsBot.legalActions(game, 0, true, 0);
+        assertEquals(game.getNumberOfTiles() - 1, actions.length); // the desert starts blocked
+        for (int action : actions) {
+            assertFalse(game.getTiles()[action & 0xFFFF].getIsBlocked());
+        }
+    }
+
+    @Test
+    public void testLegalActions_endTurnAlwaysAvailable(){
+        GameModel game = newGame(4);
+        game.giveSettlementResources(0);
+        game.giveCityResources(0);
+        assertEquals(MctsBot.END_TURN, MctsBot.legalActions(game, 0, false, 0)[0]);
+        assertArrayEquals(new int[]{MctsBot.END_TURN}, MctsBot.legalActions(game, 0, false, 16));
+        for (int action : MctsBot.legalActions(game, 0, false, 0)) {
+            GameModel fork = game.fork();
+            assertTrue(MctsBot.apply(fork, 0, action, new SplittableRandom(1)), "action " + Integer.toHexString(action));
+        }
+    }
+
+    @Test
+    public void testEvaluate_staysInUnitRange(){
+        GameModel game = newGame(9);
+        double value = MctsBot.evaluate(game, 0);
+        assertEquals(0.5, value); // everyone starts level
+        game.getPlayer(0).changeHiddenVictoryPoints(30);
+        assertEquals(1.0, MctsBot.evaluate(game, 0));
+        assertEquals(0.0, MctsBot.evaluate(game, 1));
+    }
+
+    @Test
+    public void testGames_sameSeedSameResult(){
+        GameRunner runner = new GameRunner(new Bot[]{new MctsBot(60_000, 20, 1), new GreedyBot(), new GreedyBot()}, MAX_TURNS);
+        GameResult a = runner.play(new SplittableRandom(21));
+        GameResult b = runner.play(new SplittableRandom(21));
+        assertEquals(a.turns(), b.turns());
+        assertArrayEquals(a.victoryPoints(), b.victoryPoints());
+    }
+
+    @Test
+    public void testParallelSearch_playsLegalGame(){
+        GameRunner runner = new GameRunner(new Bot[]{new MctsBot(60_000, 10, 2), new RandomBot(), new GreedyBot()}, MAX_TURNS);
+        GameResult result = runner.play(new SplittableRandom(5));
+        assertTrue(result.turns() > 0 && result.turns() <= MAX_TURNS);
+    }
+
+    @Test
+    public void testInvalidSettings_throw(){
+        assertThrows(IllegalArgumentException.class, () -> new MctsBot(100, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new MctsBot(100, 10, 0));
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.example.model.GameModel;
+import com.example.model.PlacementStrategy;
+import com.example.model.config.ConfigManager;
+
+public class MonteCarloPlacementTest {
+
+    private static final ArrayList<String> NAMES = new ArrayList<>(List.of("Alice", "Bob", "Charlie"));
+
+    @BeforeAll
+    public static void setUpAll(){
+        try {ConfigManager.loadAll();} catch (Exception e) { } // needed to load ResourceRegistry if not loaded, throws if already loaded
+    }
+
+    // few rollouts and a generous budget, so the rollout limit is always reached first
+    private MonteCarloPlacement placement() {
+        return new MonteCarloPlacement(new GreedyBot(), 3, 4, 3, 60_000, 2);
+    }
+
+    private GameModel newGame(long seed) {
+        GameModel game = new GameModel(ConfigManager.getSnapshot(), seed);
+        game.initializePlayers(NAMES);
+        return game;
+    }
+
+    @Test
+    public void testSetup_placesTwoSettlementsEach(){
+        GameModel game = newGame(5);
+        for (long seed = 6; !game.initializeBoard(placement()); seed++) {
+            game = newGame(seed); // some boards cannot be set up, as with the heuristic alone
+        }
+        for (int id = 0; id < NAMES.size(); id++) {
+            assertEquals(2, game.getNumSettlementsOwnedByPlayer(id));
+        }
+        assertEquals(0, game.getJournalMark());
+    }
+
+    @Test
+    public void testSetup_sameSeedSamePlacements(){
+        GameModel a = newGame(11);
+        GameModel b = newGame(11);
+        assertEquals(a.initializeBoard(placement()), b.initializeBoard(placement()));
+        for (int vertex = 0; vertex < a.getSettlements().length; vertex++) {
+            assertEquals(a.getSettlmentOwner(vertex), b.getSettlmentOwner(vertex));
+        }
+    }
+
+    @Test
+    public void testChoice_isCandidateAndLeavesGameUnchanged(){
+        MonteCarloPlacement placement = placement();
+        List<Integer> chosen = new ArrayList<>();
+        PlacementStrategy checking = (game, playerID, candidates) -> {
+            int[] owners = owners(game);
+            int resources = game.getPlayer(playerID).getTotalResources();
+            int vertex = placement.chooseSettlement(game, playerID, candidates);
+            assertArrayEquals(owners, owners(game));
+            assertEquals(resources, game.getPlayer(playerID).getTotalResources());
+            assertTrue(IntStream.of(candidates).anyMatch(c -> c == vertex));
+            chosen.add(vertex);
+            return vertex;
+        };
+        newGame(3).initializeBoard(checking);
+        assertFalse(chosen.isEmpty());
+    }
+
+    // Helper function; owner of every vertex
+    private static int[] owners(GameModel game) {
+        int[] owners = new int[game.getSettlements().length];
+        for (int vertex = 0; vertex < owners.length; vertex++) {
+            owners[vertex] = game.getSettlmentOwner(vertex);
+        }
+        return owners;
+    }
+
+    @Test
+    public void testContinueSetup_outsideSetup_throws(){
+        GameModel game = newGame(1);
+        assertThrows(IllegalStateException.class, () -> game.continueSetup(0));
+    }
+
+    @Test
+    public void testInvalidSettings_throw(){
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloPlacement(new GreedyBot(), 0, 4, 3, 100, 1));
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloPlacement(new GreedyBot(), 3, 4, 3, 100, 0));
+    }
+}
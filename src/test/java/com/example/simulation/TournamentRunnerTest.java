@@ -0,0 +1,92 @@
+package com.example.simulation;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.example.model.config.ConfigManager;
+
+public class TournamentRunnerTest {
+
+    private static final int MAX_TURNS = 300;
+
+    @BeforeAll
+    public static void setUpAll(){
+        try {ConfigManager.loadAll();} catch (Exception e) { } // needed to load ResourceRegistry if not loaded, throws if already loaded
+    }
+
+    @Test
+    public void testTournament_playsEveryPairingOnEveryBoardTwice(){
+        TournamentRunner tournament = new TournamentRunner(List.of("random", "greedy", "random"), 3, 4, MAX_TURNS, 2);
+        assertEquals(3, tournament.getPairs());
+        TournamentReport report = tournament.run(17);
+        TournamentStats stats = report.stats();
+        assertEquals(24, stats.getGames());
+        for (int a = 0; a < 3; a++) {
+            for (int b = a + 1; b < 3; b++) {
+                assertEquals(8, stats.getGames(a, b));
+            }
+            assertEquals(16, stats.getGamesPlayed(a));
+        }
+        assertTrue(report.getTurnsPerSecond() > 0);
+        assertTrue(report.format().contains("greedy"));
+    }
+
+    @Test
+    public void testTournament_sameSeedSameResults(){
+        TournamentStats one = new TournamentRunner(List.of("random", "greedy"), 4, 6, MAX_TURNS, 1).run(3).stats();
+        TournamentStats two = new TournamentRunner(List.of("random", "greedy"), 4, 6, MAX_TURNS, 3).run(3).stats();
+        assertEquals(one.getWins(0, 1), two.getWins(0, 1));
+        assertEquals(one.getWins(1, 0), two.getWins(1, 0));
+        assertEquals(one.getTotalTurns(), two.getTotalTurns());
+    }
+
+    @Test
+    public void testRatings_evenResultsRateEqually(){
+        TournamentStats stats = new TournamentStats(3);
+        for (int i = 0; i < 10; i++) {
+            stats.add(0, 1, 0, 50);
+            stats.add(0, 1, 1, 50);
+            stats.add(1, 2, -1, 50);
+            stats.add(0, 2, 2, 50);
+            stats.add(0, 2, 0, 50);
+        }
+        EloRatings ratings = EloRatings.fit(stats);
+        for (int bot = 0; bot < 3; bot++) {
+            assertEquals(EloRatings.MEAN_RATING, ratings.getRating(bot), 1e-6);
+        }
+    }
+
+    @Test
+    public void testRatings_strongerBotRatesHigherWithNarrowingError(){
+        TournamentStats few = new TournamentStats(2);
+        TournamentStats many = new TournamentStats(2);
+        for (int i = 0; i < 100; i++) {
+            int winner = i % 4 == 0 ? 0 : 1; // bot 1 wins three games in four
+            if (i < 12) few.add(0, 1, winner, 50);
+            many.add(0, 1, winner, 50);
+        }
+        EloRatings fewRatings = EloRatings.fit(few);
+        EloRatings manyRatings = EloRatings.fit(many);
+        assertTrue(manyRatings.getRating(1) > manyRatings.getRating(0));
+        assertEquals(0.75, manyRatings.getExpectedScore(1, 0), 0.02);
+        assertTrue(manyRatings.getError(1) < fewRatings.getError(1));
+
+        TournamentStats sweep = new TournamentStats(2);
+        for (int i = 0; i < 20; i++) {
+            sweep.add(0, 1, 1, 50);
+        }
+        assertTrue(Double.isFinite(EloRatings.fit(sweep).getRating(1)));
+    }
+
+    @Test
+    public void testRegistry_rejectsUnknownAndDuplicateNames(){
+        assertTrue(BotRegistry.getNames().containsAll(List.of("random", "greedy", "mcts")));
+        assertThrows(IllegalArgumentException.class, () -> BotRegistry.create("oracle"));
+        assertThrows(IllegalArgumentException.class, () -> BotRegistry.register("greedy", GreedyBot::new));
+    }
+}